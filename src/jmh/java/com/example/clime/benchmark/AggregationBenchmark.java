@@ -0,0 +1,99 @@
+package com.example.clime.benchmark;
+
+import com.example.clime.module.climate.service.RainfallAnalysisService;
+import com.example.clime.module.climatev2.model.RainfallCube;
+import com.example.clime.module.climatev2.model.RainfallRecord;
+import com.example.clime.module.climatev2.service.RainfallDataService;
+import com.example.clime.module.dataset.service.SeasonalStatisticsEngine;
+import com.example.clime.module.dataset.service.WeatherDataStore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Aggregate computation over already loaded data: the rainfall cube and summary, and
+ * the rainy-day and rainfall statistics computed from the daily weather snapshot.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AggregationBenchmark {
+
+    private String key;
+    private List<RainfallRecord> rainfallRecords;
+    private RainfallDataService rainfallDataService;
+    private com.example.clime.module.climate.service.StatisticsService statisticsService;
+    private com.example.clime.module.climatev2.service.StatisticsService statisticsServiceV2;
+    private RainfallAnalysisService rainfallAnalysisService;
+
+    @Setup
+    public void setUp() throws Exception {
+        key = BenchmarkFixtures.unscrambleKey();
+        rainfallDataService = new RainfallDataService();
+        rainfallRecords = rainfallDataService.getAllData();
+
+        WeatherDataStore store = new WeatherDataStore();
+        store.getColumns();
+        SeasonalStatisticsEngine engine = BenchmarkFixtures.inject(new SeasonalStatisticsEngine(),
+                "weatherRepository", store);
+        engine.getAggregates();
+        statisticsService = new com.example.clime.module.climate.service.StatisticsService();
+        BenchmarkFixtures.inject(statisticsService, "unscrambleKey", key);
+        BenchmarkFixtures.inject(statisticsService, "seasonalStatisticsEngine", engine);
+        statisticsServiceV2 = new com.example.clime.module.climatev2.service.StatisticsService();
+        BenchmarkFixtures.inject(statisticsServiceV2, "unscrambleKey", key);
+        BenchmarkFixtures.inject(statisticsServiceV2, "seasonalStatisticsEngine", engine);
+        rainfallAnalysisService = new RainfallAnalysisService();
+        BenchmarkFixtures.inject(rainfallAnalysisService, "unscrambleKey", key);
+        BenchmarkFixtures.inject(rainfallAnalysisService, "seasonalStatisticsEngine", engine);
+    }
+
+    @Benchmark
+    public RainfallCube buildRainfallCube() {
+        return RainfallCube.build(rainfallRecords);
+    }
+
+    @Benchmark
+    public Map<String, Object> rainfallBasicStatistics() {
+        return rainfallDataService.getBasicStatistics();
+    }
+
+    @Benchmark
+    public Map<String, Object> rainyDays() {
+        return statisticsService.getRainyDaysStatistics(key);
+    }
+
+    @Benchmark
+    public Map<String, Object> rainyDaysV2() {
+        return statisticsServiceV2.getRainyDaysStatistics(key);
+    }
+
+    @Benchmark
+    public Map<String, Object> seasonalRainyDays() {
+        return statisticsService.getSeasonalRainyDaysStatistics(key, "winter");
+    }
+
+    @Benchmark
+    public Map<String, Object> totalRainfall() {
+        return rainfallAnalysisService.getTotalRainfallStatistics(key);
+    }
+
+    @Benchmark
+    public Map<String, Object> seasonalRainfall() {
+        return rainfallAnalysisService.getSeasonalRainfallStatistics(key, "winter");
+    }
+}
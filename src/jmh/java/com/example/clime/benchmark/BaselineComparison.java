@@ -0,0 +1,113 @@
+package com.example.clime.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Compares a JMH JSON result file against the committed baseline and prints the change
+ * per benchmark. Exits with status 1 when any benchmark got slower than the threshold
+ * (in percent) beyond the combined score error, so a regression fails the build step.
+ * A missing baseline or result file exits with status 2: without a baseline there is
+ * nothing to gate on, and that must not pass as "no regressions".
+ *
+ * Usage: BaselineComparison baseline.json current.json [thresholdPercent]
+ */
+public final class BaselineComparison {
+
+    private BaselineComparison() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: BaselineComparison <baseline.json> <current.json> [thresholdPercent]");
+            System.exit(2);
+        }
+        File baselineFile = new File(args[0]);
+        File currentFile = new File(args[1]);
+        if (!baselineFile.isFile()) {
+            System.err.println("❌ No baseline at " + baselineFile + "; record one as described in src/jmh/baseline/README.md");
+            System.exit(2);
+        }
+        if (!currentFile.isFile()) {
+            System.err.println("❌ No benchmark results at " + currentFile + "; run the benchmarks first");
+            System.exit(2);
+        }
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) : 10.0;
+
+        Map<String, JsonNode> baseline = read(baselineFile);
+        Map<String, JsonNode> current = read(currentFile);
+
+        int regressions = 0;
+        System.out.println(String.format("%-80s %16s %16s %9s", "Benchmark", "Baseline", "Current", "Change"));
+        for (Map.Entry<String, JsonNode> entry : current.entrySet()) {
+            JsonNode now = entry.getValue();
+            JsonNode before = baseline.get(entry.getKey());
+            JsonNode metric = now.get("primaryMetric");
+            String unit = metric.get("scoreUnit").asText();
+            double score = metric.get("score").asDouble();
+            if (before == null) {
+                System.out.println(String.format("%-80s %16s %10.3f %s %9s", entry.getKey(), "-", score, unit, "new"));
+                continue;
+            }
+            JsonNode beforeMetric = before.get("primaryMetric");
+            double beforeScore = beforeMetric.get("score").asDouble();
+            double change = (score - beforeScore) / beforeScore * 100.0;
+            // Throughput modes improve upwards, time modes downwards
+            boolean higherIsBetter = "thrpt".equals(now.get("mode").asText());
+            double worse = higherIsBetter ? -change : change;
+            double noise = (errorOf(metric) + errorOf(beforeMetric)) / beforeScore * 100.0;
+            boolean regression = worse > threshold && worse > noise;
+            if (regression) {
+                regressions++;
+            }
+            System.out.println(String.format("%-80s %10.3f %s %10.3f %s %+8.1f%%%s", entry.getKey(),
+                    beforeScore, unit, score, unit, change, regression ? "  ❌ REGRESSION" : ""));
+        }
+        for (String name : baseline.keySet()) {
+            if (!current.containsKey(name)) {
+                System.out.println(String.format("%-80s %16s", name, "not run"));
+            }
+        }
+
+        if (regressions > 0) {
+            System.out.println("❌ " + regressions + " benchmark(s) regressed by more than " + threshold + "%");
+            System.exit(1);
+        }
+        System.out.println("✅ No regressions beyond " + threshold + "%");
+    }
+
+    /** Results keyed by benchmark name plus parameters, e.g. "...streaming{page=2020_01}". */
+    private static Map<String, JsonNode> read(File file) throws IOException {
+        Map<String, JsonNode> results = new LinkedHashMap<>();
+        for (JsonNode result : new ObjectMapper().readTree(file)) {
+            StringBuilder name = new StringBuilder(result.get("benchmark").asText());
+            JsonNode params = result.get("params");
+            if (params != null && params.size() > 0) {
+                name.append('{');
+                Iterator<Map.Entry<String, JsonNode>> fields = params.fields();
+                while (fields.hasNext()) {
+                    Map.Entry<String, JsonNode> param = fields.next();
+                    name.append(param.getKey()).append('=').append(param.getValue().asText());
+                    if (fields.hasNext()) {
+                        name.append(',');
+                    }
+                }
+                name.append('}');
+            }
+            results.put(name.toString(), result);
+        }
+        return results;
+    }
+
+    private static double errorOf(JsonNode metric) {
+        double error = metric.path("scoreError").asDouble(0.0);
+        // JMH reports NaN when there were too few iterations to estimate the error
+        return Double.isNaN(error) ? 0.0 : error;
+    }
+}
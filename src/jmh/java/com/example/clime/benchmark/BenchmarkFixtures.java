@@ -0,0 +1,33 @@
+package com.example.clime.benchmark;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Field;
+import java.util.Properties;
+
+/**
+ * Wires services by hand for benchmarks, the way Spring would: field injection plus the
+ * unscramble key from application.properties. Keeps the benchmarks free of an
+ * application context, whose startup cost would otherwise dominate the measurements.
+ */
+final class BenchmarkFixtures {
+
+    private BenchmarkFixtures() {
+    }
+
+    static String unscrambleKey() throws IOException {
+        Properties properties = new Properties();
+        try (InputStream in = BenchmarkFixtures.class.getResourceAsStream("/application.properties")) {
+            properties.load(in);
+        }
+        return properties.getProperty("weather.unscramble.key");
+    }
+
+    /** Sets a private (autowired or @Value) field on the target. */
+    static <T> T inject(T target, String fieldName, Object value) throws ReflectiveOperationException {
+        Field field = target.getClass().getDeclaredField(fieldName);
+        field.setAccessible(true);
+        field.set(target, value);
+        return target;
+    }
+}
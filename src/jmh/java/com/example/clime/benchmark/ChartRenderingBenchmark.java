@@ -0,0 +1,115 @@
+package com.example.clime.benchmark;
+
+import com.example.clime.module.climate.service.RainfallAnalysisService;
+import com.example.clime.module.climatev2.model.RainfallRecord;
+import com.example.clime.module.climatev2.service.RainfallAnalyticsService;
+import com.example.clime.module.climatev2.service.RainfallDataService;
+import com.example.clime.module.climatev2.service.StatisticsService;
+import com.example.clime.module.dataset.model.WeatherRecord;
+import com.example.clime.module.dataset.service.SeasonalStatisticsEngine;
+import com.example.clime.module.dataset.service.WeatherDataRetrievalService;
+import com.example.clime.module.dataset.service.WeatherDataStore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rendering of the SVG charts and HTML tables, uncached, from already loaded data.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ChartRenderingBenchmark {
+
+    private String key;
+    private RainfallDataService rainfallDataService;
+    private RainfallAnalyticsService rainfallAnalyticsService;
+    private StatisticsService statisticsService;
+    private RainfallAnalysisService rainfallAnalysisService;
+    private WeatherDataRetrievalService weatherDataRetrievalService;
+    private List<RainfallRecord> rainfallRecords;
+    private List<WeatherRecord> weatherYear;
+
+    @Setup
+    public void setUp() throws Exception {
+        key = BenchmarkFixtures.unscrambleKey();
+        rainfallDataService = new RainfallDataService();
+        rainfallRecords = rainfallDataService.getAllData();
+        rainfallAnalyticsService = BenchmarkFixtures.inject(new RainfallAnalyticsService(),
+                "rainfallDataService", rainfallDataService);
+
+        WeatherDataStore store = new WeatherDataStore();
+        store.getColumns();
+        SeasonalStatisticsEngine engine = BenchmarkFixtures.inject(new SeasonalStatisticsEngine(),
+                "weatherRepository", store);
+        engine.getAggregates();
+        statisticsService = new StatisticsService();
+        BenchmarkFixtures.inject(statisticsService, "unscrambleKey", key);
+        BenchmarkFixtures.inject(statisticsService, "seasonalStatisticsEngine", engine);
+        rainfallAnalysisService = new RainfallAnalysisService();
+        BenchmarkFixtures.inject(rainfallAnalysisService, "unscrambleKey", key);
+        BenchmarkFixtures.inject(rainfallAnalysisService, "seasonalStatisticsEngine", engine);
+        weatherDataRetrievalService = new WeatherDataRetrievalService();
+        BenchmarkFixtures.inject(weatherDataRetrievalService, "unscrambleKey", key);
+        BenchmarkFixtures.inject(weatherDataRetrievalService, "weatherRepository", store);
+        weatherYear = weatherDataRetrievalService.getWeatherDataForYear("2015", key);
+    }
+
+    @Benchmark
+    public String yearlyLineChart() {
+        return rainfallAnalyticsService.generateYearlyRainfallLineChartHtml();
+    }
+
+    @Benchmark
+    public String decadeChart() {
+        return rainfallAnalyticsService.generateDecadeComparisonChartHtml();
+    }
+
+    @Benchmark
+    public String decadeOffsetChart() {
+        return rainfallAnalyticsService.generateDecadeComparisonChartHtmlWithOffset(5);
+    }
+
+    @Benchmark
+    public String monthlyTrendChart() {
+        return rainfallAnalyticsService.generateMonthlyTrendLineChartHtml(11);
+    }
+
+    @Benchmark
+    public String trendAnalysis() {
+        return rainfallAnalyticsService.generateRainfallTrendAnalysisHtml();
+    }
+
+    @Benchmark
+    public String rainyDaysChart() {
+        return statisticsService.generateRainyDaysChart(key);
+    }
+
+    @Benchmark
+    public String totalRainfallChart() {
+        return rainfallAnalysisService.generateTotalRainfallChart(key);
+    }
+
+    @Benchmark
+    public String rainfallTable() {
+        return rainfallDataService.generateRainfallTableHtml(rainfallRecords);
+    }
+
+    @Benchmark
+    public String weatherTableOneYear() {
+        return weatherDataRetrievalService.generateHtmlTable(weatherYear, "Weather Data V2");
+    }
+}
@@ -0,0 +1,195 @@
+package com.example.clime.benchmark;
+
+import com.example.clime.module.dataset.csv.MappedCsvReader;
+import com.example.clime.module.dataset.model.CompassDirection;
+import com.example.clime.module.dataset.model.WeatherColumns;
+import com.example.clime.module.dataset.model.WeatherFields;
+import com.example.clime.module.dataset.service.WeatherDataStore;
+import com.opencsv.CSVReader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.io.ClassPathResource;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * OpenCSV and BufferedReader/split parsing versus {@link MappedCsvReader} on
+ * multi-megabyte station files: a monthly rainfall file in the chennai-monthly-rains.csv
+ * layout for {@code stations} stations of 100 years each, and the daily weather dataset
+ * repeated {@code weatherCopies} times with shifted years.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CsvParsingBenchmark {
+
+    @Param({"500"})
+    public int stations;
+
+    @Param({"8"})
+    public int weatherCopies;
+
+    private Path directory;
+    private Path monthlyFile;
+    private Path dailyFile;
+    private int monthlyRows;
+
+    @Setup
+    public void writeFiles() throws IOException {
+        directory = Files.createTempDirectory("csv-benchmark");
+        monthlyFile = directory.resolve("stations-monthly.csv");
+        dailyFile = directory.resolve("stations-daily.csv");
+
+        Random random = new Random(42);
+        try (BufferedWriter out = Files.newBufferedWriter(monthlyFile, StandardCharsets.UTF_8)) {
+            out.write("Year,Jan,Feb,Mar,April,May,June,July,Aug,Sept,Oct,Nov,Dec,Total\n");
+            for (int station = 0; station < stations; station++) {
+                for (int year = 1901; year <= 2000; year++) {
+                    StringBuilder row = new StringBuilder().append(year);
+                    double total = 0;
+                    for (int month = 0; month < 12; month++) {
+                        double rain = random.nextDouble() * 400;
+                        total += rain;
+                        row.append(',').append(String.format(Locale.ROOT, "%.9f", rain));
+                    }
+                    out.write(row.append(',').append(String.format(Locale.ROOT, "%.6f", total)).append('\n').toString());
+                    monthlyRows++;
+                }
+            }
+        }
+
+        List<String> lines;
+        try (BufferedReader in = new BufferedReader(new InputStreamReader(
+                new ClassPathResource("scrambled_weather_data.csv").getInputStream(), StandardCharsets.UTF_8))) {
+            lines = in.lines().collect(Collectors.toList());
+        }
+        try (BufferedWriter out = Files.newBufferedWriter(dailyFile, StandardCharsets.UTF_8)) {
+            out.write(lines.get(0) + "\n");
+            for (int copy = 0; copy < weatherCopies; copy++) {
+                for (String line : lines.subList(1, lines.size())) {
+                    String[] fields = line.split(",", -1);
+                    fields[1] = Integer.toString(Integer.parseInt(fields[1]) + copy * 25);
+                    out.write(String.join(",", fields) + "\n");
+                }
+            }
+        }
+        System.out.println(String.format("Monthly file %.1f MB, daily file %.1f MB",
+                Files.size(monthlyFile) / 1048576.0, Files.size(dailyFile) / 1048576.0));
+    }
+
+    @TearDown
+    public void deleteFiles() throws IOException {
+        Files.deleteIfExists(monthlyFile);
+        Files.deleteIfExists(dailyFile);
+        Files.deleteIfExists(directory);
+    }
+
+    @Benchmark
+    public double[] monthlyOpenCsv() throws Exception {
+        double[] columns = new double[monthlyRows * 14];
+        int row = 0;
+        try (CSVReader csvReader = new CSVReader(Files.newBufferedReader(monthlyFile, StandardCharsets.UTF_8))) {
+            csvReader.readNext(); // Skip header
+            String[] line;
+            while ((line = csvReader.readNext()) != null) {
+                columns[row * 14] = Integer.parseInt(line[0].trim());
+                for (int i = 1; i < 14; i++) {
+                    columns[row * 14 + i] = Double.parseDouble(line[i].trim());
+                }
+                row++;
+            }
+        }
+        return columns;
+    }
+
+    @Benchmark
+    public double[] monthlySplit() throws IOException {
+        // The original RainfallDataService loop
+        double[] columns = new double[monthlyRows * 14];
+        int row = 0;
+        try (BufferedReader reader = Files.newBufferedReader(monthlyFile, StandardCharsets.UTF_8)) {
+            reader.readLine(); // Skip header
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] parts = line.split(",");
+                columns[row * 14] = Integer.parseInt(parts[0]);
+                for (int i = 1; i < 14; i++) {
+                    columns[row * 14 + i] = Double.parseDouble(parts[i]);
+                }
+                row++;
+            }
+        }
+        return columns;
+    }
+
+    @Benchmark
+    public double[] monthlyMapped() throws IOException {
+        double[] columns = new double[monthlyRows * 14];
+        int row = 0;
+        MappedCsvReader reader = MappedCsvReader.open(monthlyFile);
+        reader.nextRow(); // Skip header
+        while (reader.nextRow()) {
+            columns[row * 14] = reader.getInt(0);
+            for (int i = 1; i < 14; i++) {
+                columns[row * 14 + i] = reader.getDouble(i);
+            }
+            row++;
+        }
+        return columns;
+    }
+
+    @Benchmark
+    public WeatherColumns dailyOpenCsv() throws Exception {
+        // The previous WeatherDataStore.readColumns, field by field through WeatherFields
+        WeatherColumns.Builder builder = new WeatherColumns.Builder(8192);
+        try (CSVReader csvReader = new CSVReader(Files.newBufferedReader(dailyFile, StandardCharsets.UTF_8))) {
+            csvReader.readNext(); // Skip header
+            String[] line;
+            while ((line = csvReader.readNext()) != null) {
+                String[] f = line.length >= 20 ? line : Arrays.copyOf(line, 20);
+                float rain = WeatherFields.parseLenientFloat(f[11]);
+                builder.add(f[0], Integer.parseInt(f[1].trim()), Integer.parseInt(f[2].trim()), Integer.parseInt(f[3].trim()),
+                        WeatherFields.parseFloat(f[4]), WeatherFields.parseFloat(f[5]), WeatherFields.parseTime(f[6]),
+                        WeatherFields.parseFloat(f[7]), WeatherFields.parseTime(f[8]),
+                        WeatherFields.parseShort(f[9]), WeatherFields.parseShort(f[10]),
+                        Float.isNaN(rain) ? 0.0f : rain,
+                        WeatherFields.parseShort(f[12]), WeatherFields.parseShort(f[13]), WeatherFields.parseTime(f[14]),
+                        CompassDirection.parse(f[15]), WeatherFields.parseFloat(f[16]), WeatherFields.parseShort(f[17]),
+                        "Y".equals(f[18] == null ? "" : f[18].trim()), f[19] == null ? "" : f[19]);
+            }
+        }
+        return builder.build();
+    }
+
+    @Benchmark
+    public WeatherColumns dailyMapped() throws ReflectiveOperationException {
+        WeatherDataStore store = new WeatherDataStore();
+        BenchmarkFixtures.inject(store, "dataFile", dailyFile.toString());
+        return store.getColumns();
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.clime.benchmark;
+
+import com.example.clime.module.climatev2.model.RainfallRecord;
+import com.example.clime.module.climatev2.service.KwsRainfallDataService;
+import com.example.clime.module.climatev2.service.RainfallDataService;
+import com.example.clime.module.dataset.model.WeatherColumns;
+import com.example.clime.module.dataset.model.WeatherRecord;
+import com.example.clime.module.dataset.service.WeatherDataRetrievalService;
+import com.example.clime.module.dataset.service.WeatherDataStore;
+import com.example.clime.module.dataset.snapshot.DatasetSnapshots;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.file.Files;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CSV loading for the rainfall, KWS and daily weather datasets against loading the same
+ * data from binary snapshots, and the keyed weather lookups served from the loaded store.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DataLoadingBenchmark {
+
+    private String key;
+    private WeatherDataRetrievalService weatherDataRetrievalService;
+    private DatasetSnapshots snapshots;
+
+    @Setup
+    public void setUp() throws Exception {
+        key = BenchmarkFixtures.unscrambleKey();
+        WeatherDataStore store = new WeatherDataStore();
+        store.getColumns();
+        weatherDataRetrievalService = new WeatherDataRetrievalService();
+        BenchmarkFixtures.inject(weatherDataRetrievalService, "unscrambleKey", key);
+        BenchmarkFixtures.inject(weatherDataRetrievalService, "weatherRepository", store);
+
+        // The first loads parse the CSVs and write the snapshots the *Snapshot benchmarks map
+        snapshots = new DatasetSnapshots(Files.createTempDirectory("snapshots").toString());
+        new RainfallDataService(snapshots);
+        snapshotWeatherStore().getColumns();
+    }
+
+    private WeatherDataStore snapshotWeatherStore() throws ReflectiveOperationException {
+        WeatherDataStore store = new WeatherDataStore();
+        BenchmarkFixtures.inject(store, "datasetSnapshots", snapshots);
+        return store;
+    }
+
+    @Benchmark
+    public RainfallDataService loadRainfallCsv() {
+        // The constructor parses the CSV and builds the aggregate cube
+        return new RainfallDataService();
+    }
+
+    @Benchmark
+    public RainfallDataService loadRainfallSnapshot() {
+        return new RainfallDataService(snapshots);
+    }
+
+    @Benchmark
+    public List<RainfallRecord> loadKwsCsv() throws Exception {
+        KwsRainfallDataService service = new KwsRainfallDataService();
+        service.init();
+        return service.getAllData();
+    }
+
+    @Benchmark
+    public WeatherColumns loadWeatherCsv() {
+        return new WeatherDataStore().getColumns();
+    }
+
+    @Benchmark
+    public WeatherColumns loadWeatherSnapshot() throws ReflectiveOperationException {
+        return snapshotWeatherStore().getColumns();
+    }
+
+    @Benchmark
+    public List<WeatherRecord> weatherMonth() {
+        return weatherDataRetrievalService.getWeatherData("2015", "11", key);
+    }
+
+    @Benchmark
+    public List<WeatherRecord> weatherRangeAllYears() {
+        return weatherDataRetrievalService.getWeatherDataRange("2005", "1", "2025", "12", key);
+    }
+}
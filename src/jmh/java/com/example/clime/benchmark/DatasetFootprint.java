@@ -0,0 +1,96 @@
+package com.example.clime.benchmark;
+
+import com.example.clime.module.dataset.model.WeatherColumns;
+import com.example.clime.module.dataset.model.WeatherRecord;
+import com.example.clime.module.dataset.service.WeatherDataStore;
+import com.opencsv.CSVReader;
+import org.springframework.core.io.ClassPathResource;
+
+import java.io.InputStreamReader;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Retained heap of the daily weather dataset held the way the climate and climatev2
+ * APIs used to hold it (one parsed copy per API version) against the single shared
+ * {@link WeatherColumns} snapshot both now query through the repository.
+ *
+ * Sizes are measured as used heap after a full GC, so run it in a fresh JVM with
+ * nothing else going on and treat the numbers as estimates:
+ *   java -cp target/classes:&lt;dependencies&gt; com.example.clime.benchmark.DatasetFootprint
+ */
+public final class DatasetFootprint {
+
+    private static final MemoryMXBean MEMORY = ManagementFactory.getMemoryMXBean();
+
+    /** Keeps the layout being measured reachable across the second GC. */
+    private static Object retained;
+
+    private DatasetFootprint() {
+    }
+
+    public static void main(String[] args) {
+        int rows = new WeatherDataStore().getColumns().size();
+
+        System.out.println(String.format("Weather dataset: %d rows%n", rows));
+        System.out.println(String.format("%-52s %12s %10s", "Layout", "Retained", "Per row"));
+        long stringRows = report("String fields, one copy per API version (x2)", rows,
+                () -> new Object[] {readStringRows(), readStringRows()});
+        long records = report("WeatherRecord list, one copy per API version (x2)", rows,
+                () -> new Object[] {readRecords(), readRecords()});
+        long shared = report("Shared WeatherColumns snapshot (x1)", rows,
+                () -> new WeatherDataStore().getColumns());
+
+        System.out.println();
+        System.out.println(String.format("Shared snapshot uses %.1f%% of the per-version String copies and %.1f%% of the per-version record lists",
+                shared * 100.0 / stringRows, shared * 100.0 / records));
+    }
+
+    private static long report(String layout, int rows, Supplier<Object> load) {
+        long before = usedAfterGc();
+        retained = load.get();
+        long bytes = usedAfterGc() - before;
+        retained = null;
+        System.out.println(String.format("%-52s %9.1f MB %7d B", layout, bytes / (1024.0 * 1024.0),
+                rows > 0 ? bytes / rows : 0));
+        return bytes;
+    }
+
+    /** One String per CSV field and row, as the original per-version services parsed it. */
+    private static List<String[]> readStringRows() {
+        List<String[]> rows = new ArrayList<>();
+        try (CSVReader csvReader = new CSVReader(new InputStreamReader(
+                new ClassPathResource("scrambled_weather_data.csv").getInputStream(), StandardCharsets.UTF_8))) {
+            csvReader.readNext(); // Skip header
+            String[] line;
+            while ((line = csvReader.readNext()) != null) {
+                rows.add(line);
+            }
+        } catch (Exception e) {
+            throw new IllegalStateException("Cannot read weather data: " + e.getMessage(), e);
+        }
+        return rows;
+    }
+
+    private static List<WeatherRecord> readRecords() {
+        WeatherDataStore store = new WeatherDataStore();
+        WeatherColumns columns = store.getColumns();
+        return store.findMonths(columns.getYear(0), 1, columns.getYear(columns.size() - 1), 12);
+    }
+
+    private static long usedAfterGc() {
+        for (int i = 0; i < 4; i++) {
+            System.gc();
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return MEMORY.getHeapMemoryUsage().getUsed();
+    }
+}
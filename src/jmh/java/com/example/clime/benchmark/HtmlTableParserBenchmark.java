@@ -0,0 +1,112 @@
+package com.example.clime.benchmark;
+
+import com.example.clime.module.dataset.fetch.HtmlTableStreamParser;
+import com.example.clime.module.dataset.model.WeatherRecord;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Scanner;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Regex page parsing (the original WeatherDataService.parseWeatherData) versus the
+ * streaming {@link HtmlTableStreamParser}, on recorded summary pages.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HtmlTableParserBenchmark {
+
+    @Param({"2020_01", "2020_07"})
+    public String page;
+
+    private String html;
+
+    @Setup
+    public void loadPage() throws IOException {
+        try (InputStream in = HtmlTableParserBenchmark.class.getResourceAsStream("/pages/" + page + ".html");
+             Scanner scanner = new Scanner(in, StandardCharsets.UTF_8.name())) {
+            html = scanner.useDelimiter("\\A").next();
+        }
+    }
+
+    @Benchmark
+    public List<WeatherRecord> regex() throws IOException {
+        // Same steps as before: buffer the page line by line, then run the DOTALL patterns
+        StringBuilder content = new StringBuilder();
+        try (BufferedReader reader = new BufferedReader(new StringReader(html))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                content.append(line).append("\n");
+            }
+        }
+        return parseWithRegex(content.toString(), 2020, 1);
+    }
+
+    @Benchmark
+    public List<WeatherRecord> streaming() throws IOException {
+        List<WeatherRecord> records = new ArrayList<>();
+        new HtmlTableStreamParser().parse(new StringReader(html), (rowIndex, cells) -> {
+            if (rowIndex > 0 && cells.size() >= 16) {
+                records.add(toRecord("2020", "1", cells));
+            }
+        });
+        return records;
+    }
+
+    static List<WeatherRecord> parseWithRegex(String html, int year, int month) {
+        List<WeatherRecord> records = new ArrayList<>();
+
+        Pattern rowPattern = Pattern.compile("<tr[^>]*>(.*?)</tr>", Pattern.DOTALL);
+        Pattern cellPattern = Pattern.compile("<td[^>]*>(.*?)</td>", Pattern.DOTALL);
+
+        Matcher rowMatcher = rowPattern.matcher(html);
+        boolean isFirstRow = true;
+
+        while (rowMatcher.find()) {
+            if (isFirstRow) {
+                isFirstRow = false;
+                continue;
+            }
+            Matcher cellMatcher = cellPattern.matcher(rowMatcher.group(1));
+            List<String> cells = new ArrayList<>();
+            while (cellMatcher.find()) {
+                String cellContent = cellMatcher.group(1);
+                cellContent = cellContent.replaceAll("<[^>]+>", "");
+                cellContent = cellContent.replaceAll("&nbsp;", " ").trim();
+                cells.add(cellContent);
+            }
+            if (cells.size() >= 16) {
+                records.add(toRecord(String.valueOf(year), String.valueOf(month), cells));
+            }
+        }
+        return records;
+    }
+
+    private static WeatherRecord toRecord(String year, String month, List<String> cells) {
+        return new WeatherRecord(year, month, cells.get(0), cells.get(1), cells.get(2), cells.get(3),
+                cells.get(4), cells.get(5), cells.get(6), cells.get(7), cells.get(8), cells.get(9),
+                cells.get(10), cells.get(11), cells.get(12), cells.get(13), cells.get(14));
+    }
+}
@@ -0,0 +1,125 @@
+package com.example.clime.benchmark;
+
+import com.example.clime.module.quote.RouteClassifier;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Route type and address classification per quote: the original per-call HashSets and
+ * lower-cased concatenation versus the precomputed {@link RouteClassifier} tables. Run
+ * with {@code -prof gc} to compare allocation per operation as well.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RouteClassificationBenchmark {
+
+    private static final int PAIRS = 8;
+
+    private final String[][] countries = {
+        {"India", "China"}, {"India", "Germany"}, {"United Kingdom", "United Kingdom"}, {"France", "Spain"},
+        {"Canada", "Brazil"}, {"Australia", "Japan"}, {"Kenya", "Egypt"}, {"New Zealand", "Australia"}
+    };
+
+    private final String[][] addresses = {
+        {"12 Market Street, Leeds", "4 Harbour Road, Hull"},
+        {"Mumbai Port Trust, India", "Rotterdam, Europe"},
+        {"Warehouse 9, Chicago USA", "Toronto Distribution Centre"},
+        {"Unit 3, Dukes Park", "Chelmsford"},
+        {"Nairobi Freight Terminal", "Lagos, Africa"},
+        {"Berlin", "Berlin Mitte"},
+        {"International Airport Cargo Village", "Downtown depot"},
+        {"Sydney, Australia", "Auckland"}
+    };
+
+    @Benchmark
+    @OperationsPerInvocation(PAIRS)
+    public void routeTypeOriginal(Blackhole blackhole) {
+        for (String[] pair : countries) {
+            blackhole.consume(originalRouteType(pair[0], pair[1]));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PAIRS)
+    public void routeTypeTables(Blackhole blackhole) {
+        for (String[] pair : countries) {
+            blackhole.consume(RouteClassifier.routeType(pair[0], pair[1]));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PAIRS)
+    public void addressOriginal(Blackhole blackhole) {
+        for (String[] pair : addresses) {
+            blackhole.consume(originalDistanceFactor(pair[0], pair[1]));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PAIRS)
+    public void addressClassifier(Blackhole blackhole) {
+        for (String[] pair : addresses) {
+            blackhole.consume(classifierDistanceFactor(pair[0], pair[1]));
+        }
+    }
+
+    // As AirFreightQuoteService.determineRouteType was written
+    private static String originalRouteType(String origin, String destination) {
+        if (origin == null || destination == null) return "REGIONAL";
+        if (origin.equals(destination)) {
+            return "DOMESTIC";
+        }
+        Set<String> asia = new HashSet<>(Arrays.asList("India", "China", "Japan", "Thailand", "Singapore", "Malaysia"));
+        Set<String> europe = new HashSet<>(Arrays.asList("United Kingdom", "Germany", "France", "Netherlands", "Italy", "Spain"));
+        Set<String> americas = new HashSet<>(Arrays.asList("United States", "Canada", "Mexico", "Brazil", "Argentina"));
+        Set<String> oceania = new HashSet<>(Arrays.asList("Australia", "New Zealand"));
+        for (Set<String> region : Arrays.asList(asia, europe, americas, oceania)) {
+            if (region.contains(origin) && region.contains(destination)) {
+                return "REGIONAL";
+            }
+        }
+        return "INTERCONTINENTAL";
+    }
+
+    // As SpotQuoteService.getDistanceFactor and isInternational were written
+    private static double originalDistanceFactor(String departure, String delivery) {
+        if (departure.toLowerCase().contains(delivery.toLowerCase())
+                || delivery.toLowerCase().contains(departure.toLowerCase())) {
+            return 0.5;
+        }
+        String[] internationalKeywords = {"international", "usa", "uk", "europe", "asia", "africa", "australia"};
+        String combined = (departure + " " + delivery).toLowerCase();
+        for (String keyword : internationalKeywords) {
+            if (combined.contains(keyword)) {
+                return 2.5;
+            }
+        }
+        return 1.0;
+    }
+
+    private static double classifierDistanceFactor(String departure, String delivery) {
+        if (RouteClassifier.containsIgnoreCase(departure, delivery)
+                || RouteClassifier.containsIgnoreCase(delivery, departure)) {
+            return 0.5;
+        }
+        return RouteClassifier.isInternational(departure, delivery) ? 2.5 : 1.0;
+    }
+}
@@ -1,7 +1,10 @@
 package com.example.clime.config;
 
 import com.example.clime.module.climate.service.WeatherDataService;
+import com.example.clime.module.dataset.service.WeatherDataStore;
+import com.example.clime.module.dataset.service.WeatherDatasetRefresher;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.core.io.ClassPathResource;
 import org.springframework.stereotype.Component;
@@ -14,14 +17,31 @@ public class DataInitializer implements CommandLineRunner {
     @Autowired
     private WeatherDataService weatherDataService;
     
+    @Autowired
+    private WeatherDatasetRefresher weatherDatasetRefresher;
+    
+    @Autowired
+    private WeatherDataStore weatherDataStore;
+    
+    @Value("${weather.refresh.on-startup:false}")
+    private boolean refreshOnStartup;
+    
     @Override
     public void run(String... args) throws Exception {
         // Check if data file already exists
-        File csvFile = new File("src/main/resources/scrambled_weather_data.csv");
+        File csvFile = weatherDataStore.getDataFile().toFile();
         
         if (csvFile.exists() && csvFile.length() > 0) {
             System.out.println("Weather data already exists. Skipping data fetch.");
             System.out.println("File size: " + csvFile.length() + " bytes");
+            if (refreshOnStartup) {
+                // Only fetch months newer than the data on disk
+                try {
+                    System.out.println("Incremental refresh: " + weatherDatasetRefresher.refresh());
+                } catch (Exception e) {
+                    System.err.println("Error during incremental refresh: " + e.getMessage());
+                }
+            }
         } else {
             System.out.println("Weather data not found or empty. Fetching data from remote source...");
             System.out.println("This may take a few minutes...");
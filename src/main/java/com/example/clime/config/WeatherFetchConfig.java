@@ -0,0 +1,31 @@
+package com.example.clime.config;
+
+import com.example.clime.module.dataset.fetch.MonthCheckpointStore;
+import com.example.clime.module.dataset.fetch.MonthFetchEngine;
+import com.example.clime.module.dataset.fetch.TokenBucket;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import java.nio.file.Paths;
+
+@Configuration
+@EnableScheduling
+public class WeatherFetchConfig {
+
+    @Bean
+    public MonthFetchEngine monthFetchEngine(
+            @Value("${weather.fetch.checkpoint-dir:data/weather-fetch}") String checkpointDir,
+            @Value("${weather.fetch.parallelism:4}") int parallelism,
+            @Value("${weather.fetch.requests-per-second:5}") double requestsPerSecond,
+            @Value("${weather.fetch.max-attempts:4}") int maxAttempts,
+            @Value("${weather.fetch.initial-backoff-ms:500}") long initialBackoffMs,
+            @Value("${weather.fetch.connect-timeout-ms:5000}") int connectTimeoutMs,
+            @Value("${weather.fetch.read-timeout-ms:10000}") int readTimeoutMs) {
+        return new MonthFetchEngine(
+                new MonthCheckpointStore(Paths.get(checkpointDir)),
+                new TokenBucket(requestsPerSecond, parallelism),
+                parallelism, maxAttempts, initialBackoffMs, connectTimeoutMs, readTimeoutMs);
+    }
+}
@@ -1,10 +1,14 @@
 package com.example.clime.module.climate.controller;
 
 import com.example.clime.module.climate.service.RainfallAnalysisService;
+import com.example.clime.module.dataset.model.Season;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.HashMap;
+import java.util.Map;
+
 @RestController
 @RequestMapping("/api/rainfall")
 public class RainfallController {
@@ -26,6 +30,33 @@ public class RainfallController {
         }
     }
     
+    /**
+     * Rainfall for a user-defined month set: {@code months=6,7,8} groups by calendar
+     * year, a range such as {@code months=11-2} by the year the season starts in.
+     */
+    @GetMapping("/months")
+    public ResponseEntity<?> getRainfallForMonths(@RequestParam String key, @RequestParam String months) {
+        try {
+            Map<String, Object> stats = rainfallAnalysisService.getRainfallStatistics(key, Season.parse(months));
+            return ResponseEntity.ok(stats);
+        } catch (SecurityException e) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("status", "error");
+            errorResponse.put("message", "Invalid key");
+            return ResponseEntity.status(401).body(errorResponse);
+        } catch (IllegalArgumentException e) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("status", "error");
+            errorResponse.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(errorResponse);
+        } catch (Exception e) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("status", "error");
+            errorResponse.put("message", "Error generating rainfall statistics: " + e.getMessage());
+            return ResponseEntity.status(500).body(errorResponse);
+        }
+    }
+    
     @GetMapping("/summer/chart")
     public ResponseEntity<String> getSummerRainfallChart(@RequestParam String key) {
         try {
@@ -1,6 +1,7 @@
 package com.example.clime.module.climate.controller;
 
 import com.example.clime.module.climate.service.StatisticsService;
+import com.example.clime.module.dataset.model.Season;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -33,6 +34,33 @@ public class StatisticsController {
         }
     }
     
+    /**
+     * Rainy days for a user-defined month set: {@code months=6,7,8} groups by calendar
+     * year, a range such as {@code months=11-2} by the year the season starts in.
+     */
+    @GetMapping("/rainy-days/months")
+    public ResponseEntity<?> getRainyDaysForMonths(@RequestParam String key, @RequestParam String months) {
+        try {
+            Map<String, Object> stats = statisticsService.getRainyDaysStatistics(key, Season.parse(months));
+            return ResponseEntity.ok(stats);
+        } catch (SecurityException e) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("status", "error");
+            errorResponse.put("message", "Invalid unscramble key");
+            return ResponseEntity.status(403).body(errorResponse);
+        } catch (IllegalArgumentException e) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("status", "error");
+            errorResponse.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(errorResponse);
+        } catch (Exception e) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("status", "error");
+            errorResponse.put("message", "Error generating statistics: " + e.getMessage());
+            return ResponseEntity.status(500).body(errorResponse);
+        }
+    }
+    
     @GetMapping("/rainy-days/chart")
     public ResponseEntity<String> getRainyDaysChart(@RequestParam String key) {
         try {
@@ -1,12 +1,15 @@
 package com.example.clime.module.climate.controller;
 
-import com.example.clime.module.climate.model.WeatherRecord;
-import com.example.clime.module.climate.service.WeatherDataRetrievalService;
 import com.example.clime.module.climate.service.WeatherDataService;
+import com.example.clime.module.dataset.model.WeatherRecord;
+import com.example.clime.module.dataset.service.WeatherDataRetrievalService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
 import java.util.List;
 import java.util.Map;
 import java.util.HashMap;
@@ -15,10 +18,13 @@ import java.util.HashMap;
 @RequestMapping("/api/weather")
 public class WeatherController {
     
+    private static final String TABLE_TITLE = "Weather Data";
+    
     @Autowired
     private WeatherDataService weatherDataService;
     
     @Autowired
+    @Qualifier("weatherDataRetrievalService")
     private WeatherDataRetrievalService weatherDataRetrievalService;
     
     @PostMapping("/fetch-all")
@@ -42,21 +48,17 @@ public class WeatherController {
             @RequestParam String year,
             @RequestParam String month,
             @RequestParam String key,
-            @RequestParam(defaultValue = "json") String format) {
+            @RequestParam(defaultValue = "json") String format,
+            HttpServletResponse servletResponse) throws IOException {
         
         System.out.println("🌦️ [BACKEND] Weather data requested: year=" + year + ", month=" + month + ", format=" + format);
         
+        List<WeatherRecord> records;
         try {
-            List<WeatherRecord> records = weatherDataRetrievalService.getWeatherData(year, month, key);
+            records = weatherDataRetrievalService.getWeatherData(year, month, key);
             System.out.println("✅ [BACKEND] Retrieved " + records.size() + " weather records");
-            
-            if ("html".equalsIgnoreCase(format)) {
-                String html = weatherDataRetrievalService.generateHtmlTable(records);
-                System.out.println("📄 [BACKEND] Generated HTML table (" + html.length() + " characters)");
-                return ResponseEntity.ok()
-                    .header("Content-Type", "text/html")
-                    .body(html);
-            } else {
+        
+            if (!"html".equalsIgnoreCase(format)) {
                 System.out.println("📊 [BACKEND] Returning JSON data");
                 Map<String, Object> response = new HashMap<>();
                 response.put("year", year);
@@ -78,39 +80,63 @@ public class WeatherController {
             errorResponse.put("message", "Error retrieving weather data: " + e.getMessage());
             return ResponseEntity.status(500).body(errorResponse);
         }
+        
+        // Streamed outside the try: once rows are written, a failure can no longer become an error body
+        System.out.println("📄 [BACKEND] Streaming HTML table (" + records.size() + " rows)");
+        servletResponse.setContentType("text/html;charset=UTF-8");
+        weatherDataRetrievalService.writeHtmlTable(records, TABLE_TITLE, servletResponse.getWriter());
+        return null;
+    }
+    
+    @GetMapping("/data/range")
+    public ResponseEntity<?> getWeatherDataRange(
+            @RequestParam String fromYear,
+            @RequestParam(defaultValue = "1") String fromMonth,
+            @RequestParam String toYear,
+            @RequestParam(defaultValue = "12") String toMonth,
+            @RequestParam String key,
+            @RequestParam(defaultValue = "json") String format,
+            HttpServletResponse servletResponse) throws IOException {
+        
+        System.out.println("🌦️ [BACKEND] Weather range requested: " + fromYear + "-" + fromMonth + " to " + toYear + "-" + toMonth);
+        
+        List<WeatherRecord> records;
+        try {
+            records = weatherDataRetrievalService.getWeatherDataRange(
+                fromYear, fromMonth, toYear, toMonth, key);
+            System.out.println("✅ [BACKEND] Retrieved " + records.size() + " weather records");
+        
+            if (!"html".equalsIgnoreCase(format)) {
+                Map<String, Object> response = new HashMap<>();
+                response.put("fromYear", fromYear);
+                response.put("fromMonth", fromMonth);
+                response.put("toYear", toYear);
+                response.put("toMonth", toMonth);
+                response.put("recordCount", records.size());
+                response.put("data", records);
+                return ResponseEntity.ok(response);
+            }
+        } catch (SecurityException e) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("status", "error");
+            errorResponse.put("message", "Invalid unscramble key");
+            return ResponseEntity.status(403).body(errorResponse);
+        } catch (Exception e) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("status", "error");
+            errorResponse.put("message", "Error retrieving weather data: " + e.getMessage());
+            return ResponseEntity.status(500).body(errorResponse);
+        }
+        
+        servletResponse.setContentType("text/html;charset=UTF-8");
+        weatherDataRetrievalService.writeHtmlTable(records, TABLE_TITLE, servletResponse.getWriter());
+        return null;
     }
     
     @GetMapping("/stats")
     public ResponseEntity<Map<String, Object>> getDataStats(@RequestParam String key) {
         try {
-            // Get all data to calculate stats
-            int totalRecords = 0;
-            int flaggedRecords = 0;
-            
-            for (int year = 2005; year <= 2025; year++) {
-                int startMonth = (year == 2005) ? 9 : 1;
-                int endMonth = (year == 2025) ? 6 : 12;
-                
-                for (int month = startMonth; month <= endMonth; month++) {
-                    try {
-                        List<WeatherRecord> records = weatherDataRetrievalService.getWeatherData(
-                            String.valueOf(year), String.valueOf(month), key);
-                        totalRecords += records.size();
-                        flaggedRecords += records.stream()
-                            .mapToInt(r -> "Y".equals(r.getFlagged()) ? 1 : 0)
-                            .sum();
-                    } catch (Exception e) {
-                        // Skip if no data for this month
-                    }
-                }
-            }
-            
-            Map<String, Object> response = new HashMap<>();
-            response.put("totalRecords", totalRecords);
-            response.put("flaggedRecords", flaggedRecords);
-            response.put("cleanRecords", totalRecords - flaggedRecords);
-            response.put("anomalyPercentage", totalRecords > 0 ? (double) flaggedRecords / totalRecords * 100 : 0);
-            return ResponseEntity.ok(response);
+            return ResponseEntity.ok(weatherDataRetrievalService.getDataStats(key));
         } catch (SecurityException e) {
             Map<String, Object> errorResponse = new HashMap<>();
             errorResponse.put("status", "error");
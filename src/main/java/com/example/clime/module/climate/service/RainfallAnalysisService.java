@@ -1,11 +1,12 @@
 package com.example.clime.module.climate.service;
 
-import com.opencsv.CSVReader;
+import com.example.clime.module.dataset.model.Season;
+import com.example.clime.module.dataset.model.SeasonalAggregates;
+import com.example.clime.module.dataset.service.SeasonalStatisticsEngine;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.core.io.ClassPathResource;
 import org.springframework.stereotype.Service;
 
-import java.io.InputStreamReader;
 import java.util.*;
 
 @Service
@@ -14,6 +15,9 @@ public class RainfallAnalysisService {
     @Value("${weather.unscramble.key}")
     private String unscrambleKey;
     
+    @Autowired
+    private SeasonalStatisticsEngine seasonalStatisticsEngine;
+    
     public String generateTotalRainfallChart(String providedKey) {
         Map<String, Object> stats = getTotalRainfallStatistics(providedKey);
         @SuppressWarnings("unchecked")
@@ -160,114 +164,31 @@ public class RainfallAnalysisService {
     }
     
     public Map<String, Object> getTotalRainfallStatistics(String providedKey) {
-        if (!unscrambleKey.equals(providedKey)) {
-            throw new SecurityException("Invalid unscramble key");
-        }
-        
-        Map<Integer, Double> yearlyRainfall = new HashMap<>();
-        Map<Integer, Integer> yearlyDays = new HashMap<>();
-        
-        try (CSVReader reader = new CSVReader(new InputStreamReader(
-                new ClassPathResource("scrambled_weather_data.csv").getInputStream()))) {
-            
-            // Skip header
-            reader.readNext();
-            
-            String[] nextLine;
-            while ((nextLine = reader.readNext()) != null) {
-                if (nextLine.length >= 12) {
-                    try {
-                        int year = Integer.parseInt(nextLine[1]);
-                        String rainStr = nextLine[11]; // Rain column
-                        
-                        double rainValue = parseRainValue(rainStr);
-                        yearlyRainfall.put(year, yearlyRainfall.getOrDefault(year, 0.0) + rainValue);
-                        yearlyDays.put(year, yearlyDays.getOrDefault(year, 0) + 1);
-                        
-                    } catch (NumberFormatException e) {
-                        // Skip invalid rows
-                    }
-                }
-            }
-        } catch (Exception e) {
-            throw new RuntimeException("Error reading weather data", e);
-        }
-        
-        // Create yearly data list
-        List<Map<String, Object>> yearlyData = new ArrayList<>();
-        for (int year = 2005; year <= 2025; year++) {
-            if (yearlyDays.containsKey(year)) {
-                double totalRainfall = yearlyRainfall.getOrDefault(year, 0.0);
-                int totalDays = yearlyDays.get(year);
-                double avgRainfall = totalDays > 0 ? totalRainfall / totalDays : 0.0;
-                
-                Map<String, Object> yearData = new HashMap<>();
-                yearData.put("year", year);
-                yearData.put("totalRainfall", Math.round(totalRainfall * 10.0) / 10.0);
-                yearData.put("totalDays", totalDays);
-                yearData.put("avgRainfall", Math.round(avgRainfall * 100.0) / 100.0);
-                yearlyData.add(yearData);
-            }
-        }
-        
-        // Calculate totals
-        double totalRainfall = yearlyRainfall.values().stream().mapToDouble(Double::doubleValue).sum();
-        int totalDays = yearlyDays.values().stream().mapToInt(Integer::intValue).sum();
-        double avgDailyRainfall = totalDays > 0 ? totalRainfall / totalDays : 0.0;
-        
-        Map<String, Object> response = new HashMap<>();
-        response.put("yearlyData", yearlyData);
-        response.put("totalRainfall", Math.round(totalRainfall * 10.0) / 10.0);
-        response.put("totalDays", totalDays);
-        response.put("avgDailyRainfall", Math.round(avgDailyRainfall * 100.0) / 100.0);
-        
-        return response;
+        return getRainfallStatistics(providedKey, Season.CALENDAR_YEAR);
     }
     
     public Map<String, Object> getSeasonalRainfallStatistics(String providedKey, String season) {
+        return getRainfallStatistics(providedKey, StatisticsService.seasonOf(season));
+    }
+    
+    /**
+     * Rainfall per season year for any month set, e.g. one parsed from a request with
+     * {@link Season#parse}. A null season (an unknown season name) matches no days.
+     */
+    public Map<String, Object> getRainfallStatistics(String providedKey, Season season) {
         if (!unscrambleKey.equals(providedKey)) {
             throw new SecurityException("Invalid unscramble key");
         }
         
-        Map<Integer, Double> yearlyRainfall = new HashMap<>();
-        Map<Integer, Integer> yearlyDays = new HashMap<>();
-        
-        try (CSVReader reader = new CSVReader(new InputStreamReader(
-                new ClassPathResource("scrambled_weather_data.csv").getInputStream()))) {
-            
-            // Skip header
-            reader.readNext();
-            
-            String[] nextLine;
-            while ((nextLine = reader.readNext()) != null) {
-                if (nextLine.length >= 12) {
-                    try {
-                        int year = Integer.parseInt(nextLine[1]);
-                        int month = Integer.parseInt(nextLine[2]);
-                        String rainStr = nextLine[11]; // Rain column
-                        
-                        int seasonYear = getSeasonYear(year, month, season);
-                        if (seasonYear != -1) {
-                            double rainValue = parseRainValue(rainStr);
-                            yearlyRainfall.put(seasonYear, yearlyRainfall.getOrDefault(seasonYear, 0.0) + rainValue);
-                            yearlyDays.put(seasonYear, yearlyDays.getOrDefault(seasonYear, 0) + 1);
-                        }
-                    } catch (NumberFormatException e) {
-                        // Skip invalid rows
-                    }
-                }
-            }
-        } catch (Exception e) {
-            throw new RuntimeException("Error reading weather data", e);
-        }
+        SeasonalAggregates.Series series = season != null ? seasonalStatisticsEngine.series(season) : null;
         
         // Create yearly data list
         List<Map<String, Object>> yearlyData = new ArrayList<>();
         for (int year = 2005; year <= 2025; year++) {
-            if (yearlyDays.containsKey(year)) {
-                double totalRainfall = yearlyRainfall.getOrDefault(year, 0.0);
-                int totalDays = yearlyDays.get(year);
-                double avgRainfall = totalDays > 0 ? totalRainfall / totalDays : 0.0;
+            int totalDays = series != null ? series.getDays(year) : 0;
+            if (totalDays > 0) {
+                double totalRainfall = series.getRainfall(year);
+                double avgRainfall = totalRainfall / totalDays;
                 
                 Map<String, Object> yearData = new HashMap<>();
                 yearData.put("year", year);
@@ -279,8 +200,8 @@ public class RainfallAnalysisService {
         }
         
         // Calculate totals
-        double totalRainfall = yearlyRainfall.values().stream().mapToDouble(Double::doubleValue).sum();
-        int totalDays = yearlyDays.values().stream().mapToInt(Integer::intValue).sum();
+        double totalRainfall = series != null ? series.getTotalRainfall() : 0.0;
+        int totalDays = series != null ? series.getTotalDays() : 0;
         double avgDailyRainfall = totalDays > 0 ? totalRainfall / totalDays : 0.0;
         
         Map<String, Object> response = new HashMap<>();
@@ -291,55 +212,4 @@ public class RainfallAnalysisService {
         
         return response;
     }
-    
-    private int getSeasonYear(int year, int month, String season) {
-        if ("summer".equals(season)) {
-            // Summer: Mar-Aug (months 3-8)
-            if (month >= 3 && month <= 8) {
-                return year;
-            }
-        } else if ("winter".equals(season)) {
-            // Winter: Sep-Feb (months 9-12 and 1-2)
-            if (month >= 9) {
-                return year; // Sep-Dec of year Y represents winter Y
-            } else if (month <= 2) {
-                return year - 1; // Jan-Feb of year Y+1 represents winter Y
-            }
-        }
-        return -1; // Not in the requested season
-    }
-    
-    private double parseRainValue(String rainStr) {
-        // Handle null, empty, or common "no rain" indicators
-        if (rainStr == null || rainStr.trim().isEmpty()) {
-            return 0.0;
-        }
-        
-        String cleanRain = rainStr.trim();
-        
-        // Handle common "no rain" indicators
-        if ("0".equals(cleanRain) || "0.0".equals(cleanRain) || 
-            "---".equals(cleanRain) || "N/A".equalsIgnoreCase(cleanRain) ||
-            "-".equals(cleanRain) || "".equals(cleanRain)) {
-            return 0.0;
-        }
-        
-        try {
-            // Try to parse the rain value directly
-            return Double.parseDouble(cleanRain);
-        } catch (NumberFormatException e) {
-            // If direct parsing fails, try to extract numeric part
-            try {
-                String numericStr = cleanRain.replaceAll("[^0-9.]", "");
-                if (!numericStr.isEmpty() && !".".equals(numericStr)) {
-                    return Double.parseDouble(numericStr);
-                }
-            } catch (NumberFormatException ex) {
-                // If we still can't parse it, assume no rain
-                return 0.0;
-            }
-        }
-        
-        return 0.0;
-    }
 }
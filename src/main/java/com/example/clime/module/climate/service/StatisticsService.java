@@ -1,12 +1,12 @@
 package com.example.clime.module.climate.service;
 
-import com.example.clime.module.climate.model.WeatherRecord;
-import com.opencsv.CSVReader;
+import com.example.clime.module.dataset.model.Season;
+import com.example.clime.module.dataset.model.SeasonalAggregates;
+import com.example.clime.module.dataset.service.SeasonalStatisticsEngine;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.core.io.ClassPathResource;
 import org.springframework.stereotype.Service;
 
-import java.io.InputStreamReader;
 import java.util.*;
 
 @Service
@@ -15,66 +15,20 @@ public class StatisticsService {
     @Value("${weather.unscramble.key}")
     private String unscrambleKey;
     
+    @Autowired
+    private SeasonalStatisticsEngine seasonalStatisticsEngine;
+    
     public Map<String, Object> getRainyDaysStatistics(String providedKey) {
         if (!unscrambleKey.equals(providedKey)) {
             throw new SecurityException("Invalid unscramble key");
         }
         
-        Map<Integer, Integer> rainyDaysByYear = new LinkedHashMap<>();
-        Map<Integer, Integer> totalDaysByYear = new LinkedHashMap<>();
-        
-        try {
-            ClassPathResource resource = new ClassPathResource("scrambled_weather_data.csv");
-            try (CSVReader csvReader = new CSVReader(new InputStreamReader(resource.getInputStream()))) {
-                
-                String[] header = csvReader.readNext(); // Skip header
-                String[] line;
-                
-                while ((line = csvReader.readNext()) != null) {
-                    if (line.length >= 20) {
-                        try {
-                            int year = Integer.parseInt(line[1]);
-                            String rainStr = line[11]; // rain column
-                            
-                            // Count total days for this year
-                            totalDaysByYear.put(year, totalDaysByYear.getOrDefault(year, 0) + 1);
-                            
-                            // Check if it's a rainy day
-                            if (isRainyDay(rainStr)) {
-                                rainyDaysByYear.put(year, rainyDaysByYear.getOrDefault(year, 0) + 1);
-                            }
-                        } catch (NumberFormatException e) {
-                            // Skip invalid records
-                        }
-                    }
-                }
-            }
-        } catch (Exception e) {
-            throw new RuntimeException("Error reading weather data: " + e.getMessage());
-        }
+        SeasonalAggregates.Series series = seasonalStatisticsEngine.series(Season.CALENDAR_YEAR);
         
-        // Calculate percentages and prepare response
         Map<String, Object> response = new HashMap<>();
-        List<Map<String, Object>> yearlyData = new ArrayList<>();
-        
-        for (int year = 2005; year <= 2025; year++) {
-            int rainyDays = rainyDaysByYear.getOrDefault(year, 0);
-            int totalDays = totalDaysByYear.getOrDefault(year, 0);
-            double percentage = totalDays > 0 ? (rainyDays * 100.0 / totalDays) : 0;
-            
-            if (totalDays > 0) { // Only include years with data
-                Map<String, Object> yearData = new HashMap<>();
-                yearData.put("year", year);
-                yearData.put("rainyDays", rainyDays);
-                yearData.put("totalDays", totalDays);
-                yearData.put("percentage", Math.round(percentage * 100.0) / 100.0);
-                yearlyData.add(yearData);
-            }
-        }
-        
-        response.put("yearlyData", yearlyData);
-        response.put("totalRainyDays", rainyDaysByYear.values().stream().mapToInt(Integer::intValue).sum());
-        response.put("totalDays", totalDaysByYear.values().stream().mapToInt(Integer::intValue).sum());
+        response.put("yearlyData", yearlyRainyDays(series));
+        response.put("totalRainyDays", series.getTotalRainyDays());
+        response.put("totalDays", series.getTotalDays());
         
         return response;
     }
@@ -237,67 +191,41 @@ public class StatisticsService {
     }
     
     public Map<String, Object> getSeasonalRainyDaysStatistics(String providedKey, String season) {
+        return getRainyDaysStatistics(providedKey, seasonOf(season));
+    }
+    
+    /**
+     * Rainy days per season year for any month set, e.g. one parsed from a request with
+     * {@link Season#parse}. A null season (an unknown season name) matches no days.
+     */
+    public Map<String, Object> getRainyDaysStatistics(String providedKey, Season season) {
         if (!unscrambleKey.equals(providedKey)) {
             throw new SecurityException("Invalid unscramble key");
         }
         
-        System.out.println("DEBUG: Processing seasonal data for season: " + season);
+        SeasonalAggregates.Series series = season != null ? seasonalStatisticsEngine.series(season) : null;
         
-        List<WeatherRecord> allRecords = new ArrayList<>();
-        Map<Integer, Integer> yearlyRainyDays = new HashMap<>();
-        Map<Integer, Integer> yearlyTotalDays = new HashMap<>();
-        
-        int processedRecords = 0;
-        int matchedRecords = 0;
-        
-        try (CSVReader reader = new CSVReader(new InputStreamReader(
-                new ClassPathResource("scrambled_weather_data.csv").getInputStream()))) {
-            
-            // Skip header
-            reader.readNext();
-            
-            String[] nextLine;
-            Set<Integer> uniqueMonths = new HashSet<>();
-            while ((nextLine = reader.readNext()) != null) {
-                processedRecords++;
-                if (nextLine.length >= 12) {
-                    try {
-                        int year = Integer.parseInt(nextLine[1]);  // Changed from 0 to 1
-                        int month = Integer.parseInt(nextLine[2]); // Changed from 1 to 2
-                        String rainStr = nextLine[11];             // Changed from 3 to 11 (rain column)
-                        
-                        uniqueMonths.add(month);
-                        
-                        int seasonYear = getSeasonYear(year, month, season);
-                        if (seasonYear != -1) {
-                            matchedRecords++;
-                            yearlyTotalDays.put(seasonYear, yearlyTotalDays.getOrDefault(seasonYear, 0) + 1);
-                            if (isRainyDay(rainStr)) {
-                                yearlyRainyDays.put(seasonYear, yearlyRainyDays.getOrDefault(seasonYear, 0) + 1);
-                            }
-                        }
-                    } catch (NumberFormatException e) {
-                        // Skip invalid rows
-                    }
-                }
-            }
-            
-            System.out.println("DEBUG: Months found in data: " + uniqueMonths);
-        } catch (Exception e) {
-            throw new RuntimeException("Error reading weather data", e);
-        }
+        // Calculate totals
+        int totalRainyDays = series != null ? series.getTotalRainyDays() : 0;
+        int totalDays = series != null ? series.getTotalDays() : 0;
+        double overallPercentage = totalDays > 0 ? (totalRainyDays * 100.0 / totalDays) : 0;
         
-        System.out.println("DEBUG: Processed " + processedRecords + " records, matched " + matchedRecords + " for season " + season);
-        System.out.println("DEBUG: Yearly total days: " + yearlyTotalDays);
-        System.out.println("DEBUG: Yearly rainy days: " + yearlyRainyDays);
+        Map<String, Object> response = new HashMap<>();
+        response.put("yearlyData", series != null ? yearlyRainyDays(series) : new ArrayList<>());
+        response.put("totalRainyDays", totalRainyDays);
+        response.put("totalDays", totalDays);
+        response.put("overallPercentage", Math.round(overallPercentage * 100.0) / 100.0);
         
-        // Create yearly data list
+        return response;
+    }
+    
+    private List<Map<String, Object>> yearlyRainyDays(SeasonalAggregates.Series series) {
         List<Map<String, Object>> yearlyData = new ArrayList<>();
         for (int year = 2005; year <= 2025; year++) {
-            int rainyDays = yearlyRainyDays.getOrDefault(year, 0);
-            int totalDays = yearlyTotalDays.getOrDefault(year, 0);
+            int rainyDays = series.getRainyDays(year);
+            int totalDays = series.getDays(year);
             
-            if (totalDays > 0) {
+            if (totalDays > 0) { // Only include years with data
                 Map<String, Object> yearData = new HashMap<>();
                 yearData.put("year", year);
                 yearData.put("rainyDays", rainyDays);
@@ -306,71 +234,19 @@ public class StatisticsService {
                 yearlyData.add(yearData);
             }
         }
-        
-        // Calculate totals
-        int totalRainyDays = yearlyRainyDays.values().stream().mapToInt(Integer::intValue).sum();
-        int totalDays = yearlyTotalDays.values().stream().mapToInt(Integer::intValue).sum();
-        double overallPercentage = totalDays > 0 ? (totalRainyDays * 100.0 / totalDays) : 0;
-        
-        Map<String, Object> response = new HashMap<>();
-        response.put("yearlyData", yearlyData);
-        response.put("totalRainyDays", totalRainyDays);
-        response.put("totalDays", totalDays);
-        response.put("overallPercentage", Math.round(overallPercentage * 100.0) / 100.0);
-        
-        return response;
+        return yearlyData;
     }
     
-    private int getSeasonYear(int year, int month, String season) {
+    /**
+     * Summer is Mar-Aug; winter Sep-Feb, with Jan-Feb of year Y+1 counted as winter Y.
+     * Any other name gives null, which matches no days.
+     */
+    static Season seasonOf(String season) {
         if ("summer".equals(season)) {
-            // Summer: Mar-Aug (months 3-8)
-            if (month >= 3 && month <= 8) {
-                return year;
-            }
+            return Season.SUMMER;
         } else if ("winter".equals(season)) {
-            // Winter: Sep-Feb (months 9-12 and 1-2)
-            if (month >= 9) {
-                return year; // Sep-Dec of year Y represents winter Y
-            } else if (month <= 2) {
-                return year - 1; // Jan-Feb of year Y+1 represents winter Y
-            }
-        }
-        return -1; // Not in the requested season
-    }
-    
-    private boolean isRainyDay(String rainStr) {
-        // Handle null, empty, or common "no rain" indicators
-        if (rainStr == null || rainStr.trim().isEmpty()) {
-            return false;
+            return Season.WINTER;
         }
-        
-        String cleanRain = rainStr.trim();
-        
-        // Handle common "no rain" indicators
-        if ("0".equals(cleanRain) || "0.0".equals(cleanRain) || 
-            "---".equals(cleanRain) || "N/A".equalsIgnoreCase(cleanRain) ||
-            "-".equals(cleanRain) || "".equals(cleanRain)) {
-            return false;
-        }
-        
-        try {
-            // Try to parse the rain value directly
-            double rainValue = Double.parseDouble(cleanRain);
-            return rainValue > 0.0;
-        } catch (NumberFormatException e) {
-            // If direct parsing fails, try to extract numeric part
-            try {
-                String numericStr = cleanRain.replaceAll("[^0-9.]", "");
-                if (!numericStr.isEmpty() && !".".equals(numericStr)) {
-                    double rainValue = Double.parseDouble(numericStr);
-                    return rainValue > 0.0;
-                }
-            } catch (NumberFormatException ex) {
-                // If we still can't parse it, assume no rain
-                return false;
-            }
-        }
-        
-        return false;
+        return null;
     }
 }
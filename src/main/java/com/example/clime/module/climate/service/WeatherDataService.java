@@ -1,15 +1,18 @@
 package com.example.clime.module.climate.service;
 
-import com.example.clime.module.climate.model.WeatherRecord;
+import com.example.clime.module.dataset.fetch.MonthFetchEngine;
+import com.example.clime.module.dataset.fetch.MonthFetchResult;
+import com.example.clime.module.dataset.model.WeatherFields;
+import com.example.clime.module.dataset.model.WeatherRecord;
+import com.example.clime.module.dataset.service.WeatherDataStore;
 import com.opencsv.CSVWriter;
-import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.io.*;
-import java.net.HttpURLConnection;
-import java.net.URL;
 import java.nio.file.Files;
-import java.nio.file.Paths;
+import java.nio.file.Path;
+import java.time.YearMonth;
 import java.util.*;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -20,51 +23,75 @@ public class WeatherDataService {
     private static final String BASE_URL = "https://xyzxyzxyzxyz.com/summary/";
     private static final Random random = new Random(42); // Fixed seed for consistent scrambling
     
+    static final String FETCH_SOURCE = "summary-txt";
+    
+    @Autowired
+    private MonthFetchEngine monthFetchEngine;
+    
+    @Autowired
+    private WeatherDataStore weatherDataStore;
+    
     public void fetchAndProcessAllData() {
-        List<WeatherRecord> allRecords = new ArrayList<>();
-        
-        // Fetch data from 2005_09 to 2025_06
-        for (int year = 2005; year <= 2025; year++) {
-            int startMonth = (year == 2005) ? 9 : 1;
-            int endMonth = (year == 2025) ? 6 : 12;
-            
-            for (int month = startMonth; month <= endMonth; month++) {
-                String yearMonth = String.format("%d_%02d", year, month);
-                System.out.println("Fetching data for: " + yearMonth);
-                
-                try {
-                    List<WeatherRecord> records = fetchMonthData(year, month);
-                    allRecords.addAll(records);
-                    Thread.sleep(100); // Be nice to the server
-                } catch (Exception e) {
-                    System.err.println("Error fetching data for " + yearMonth + ": " + e.getMessage());
-                }
-            }
+        // Fetch data from 2005_09 to 2025_06; months already checkpointed on disk are reused
+        List<YearMonth> months = new ArrayList<>();
+        for (YearMonth month = YearMonth.of(2005, 9); !month.isAfter(YearMonth.of(2025, 6)); month = month.plusMonths(1)) {
+            months.add(month);
         }
+        MonthFetchResult fetchResult = fetchMonths(months);
         
-        // Detect anomalies
-        detectAnomalies(allRecords);
+        // Parse and detect anomalies
+        List<WeatherRecord> allRecords = readMonths(fetchResult.getAvailableMonths());
         
         // Scramble and save
         scrambleAndSaveData(allRecords);
         
         System.out.println("Total records processed: " + allRecords.size());
-        System.out.println("Data saved to scrambled_weather_data.csv");
+        System.out.println("Data saved to " + weatherDataStore.getDataFile());
+        
+        weatherDataStore.reload();
     }
     
-    private List<WeatherRecord> fetchMonthData(int year, int month) throws IOException {
-        String yearMonth = String.format("%d_%02d", year, month);
-        String urlString = BASE_URL + yearMonth + ".txt";
-        
-        URL url = new URL(urlString);
-        HttpURLConnection connection = (HttpURLConnection) url.openConnection();
-        connection.setRequestMethod("GET");
-        connection.setConnectTimeout(5000);
-        connection.setReadTimeout(10000);
-        
+    /**
+     * Downloads the given months into the fetch checkpoints (already checkpointed months are skipped).
+     */
+    public MonthFetchResult fetchMonths(List<YearMonth> months) {
+        MonthFetchResult fetchResult = monthFetchEngine.fetchAll(FETCH_SOURCE, months,
+            month -> BASE_URL + String.format("%d_%02d", month.getYear(), month.getMonthValue()) + ".txt");
+        if (!fetchResult.getFailures().isEmpty()) {
+            System.err.println("Months not fetched (will be retried on next run): " + fetchResult.getFailures().keySet());
+        }
+        return fetchResult;
+    }
+    
+    /**
+     * Drops the checkpoints of months that must be downloaded again, e.g. the month in progress.
+     */
+    public void invalidateMonths(List<YearMonth> months) throws IOException {
+        for (YearMonth month : months) {
+            monthFetchEngine.invalidate(FETCH_SOURCE, month);
+        }
+    }
+    
+    /**
+     * Parses checkpointed months into records with anomaly flags set.
+     */
+    public List<WeatherRecord> readMonths(List<YearMonth> months) {
+        List<WeatherRecord> records = new ArrayList<>();
+        for (YearMonth month : months) {
+            try (InputStream page = monthFetchEngine.open(FETCH_SOURCE, month)) {
+                records.addAll(parseMonthData(page, month.getYear(), month.getMonthValue()));
+            } catch (IOException e) {
+                System.err.println("Error reading data for " + month + ": " + e.getMessage());
+            }
+        }
+        detectAnomalies(records);
+        return records;
+    }
+    
+    private List<WeatherRecord> parseMonthData(InputStream page, int year, int month) throws IOException {
         List<WeatherRecord> records = new ArrayList<>();
         
-        try (BufferedReader reader = new BufferedReader(new InputStreamReader(connection.getInputStream()))) {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(page))) {
             String line;
             boolean dataStarted = false;
             
@@ -222,78 +249,52 @@ public class WeatherDataService {
         for (WeatherRecord record : records) {
             List<String> anomalies = new ArrayList<>();
             
+            // Values were parsed once when the record was built; missing ones are NaN
+            float meanTemp = record.getMeanTempValue();
+            float highTemp = record.getHighTempValue();
+            float lowTemp = record.getLowTempValue();
+            
             // Check for suspicious temperature values - be more lenient
-            try {
-                if (!isZeroOrEmpty(record.getMeanTemp()) && !isZeroOrEmpty(record.getHighTemp()) && !isZeroOrEmpty(record.getLowTemp())) {
-                    double meanTemp = parseDouble(record.getMeanTemp());
-                    double highTemp = parseDouble(record.getHighTemp());
-                    double lowTemp = parseDouble(record.getLowTemp());
-                    
-                    // More realistic temperature checks for Chennai weather
-                    if (meanTemp < 15 || meanTemp > 45) {
-                        anomalies.add("Unusual mean temperature: " + meanTemp + "°C");
-                    }
-                    if (highTemp < lowTemp) {
-                        anomalies.add("High temp lower than low temp");
-                    }
-                    if (highTemp - lowTemp > 25) {
-                        anomalies.add("Extreme temperature range: " + String.format("%.1f", (highTemp - lowTemp)) + "°C");
-                    }
+            if (isPresent(meanTemp) && isPresent(highTemp) && isPresent(lowTemp)) {
+                // More realistic temperature checks for Chennai weather
+                if (meanTemp < 15 || meanTemp > 45) {
+                    anomalies.add("Unusual mean temperature: " + meanTemp + "°C");
+                }
+                if (highTemp < lowTemp) {
+                    anomalies.add("High temp lower than low temp");
+                }
+                if (highTemp - lowTemp > 25) {
+                    anomalies.add("Extreme temperature range: " + String.format("%.1f", (highTemp - lowTemp)) + "°C");
                 }
-            } catch (NumberFormatException e) {
-                // Skip temperature anomaly check if parsing fails
             }
             
             // More lenient barometric pressure check
-            if (!isZeroOrEmpty(record.getMeanBarom())) {
-                try {
-                    String baromStr = record.getMeanBarom().replaceAll("[^0-9.]", "");
-                    if (!baromStr.isEmpty()) {
-                        double barom = Double.parseDouble(baromStr);
-                        // Chennai typical barometric pressure: 1000-1020 hPa
-                        // But allow wider range to account for data format variations
-                        if (barom > 50 && (barom < 980 || barom > 1040)) {
-                            anomalies.add("Unusual barometric pressure: " + barom + " hPa");
-                        }
-                    }
-                } catch (NumberFormatException e) {
-                    // Skip barometric pressure check if parsing fails
+            float barom = record.getMeanBaromValue();
+            if (isPresent(barom)) {
+                // Chennai typical barometric pressure: 1000-1020 hPa
+                // But allow wider range to account for data format variations
+                if (barom > 50 && (barom < 980 || barom > 1040)) {
+                    anomalies.add("Unusual barometric pressure: " + barom + " hPa");
                 }
             }
             
             // More lenient humidity check
-            if (!isZeroOrEmpty(record.getMeanHum())) {
-                try {
-                    String humStr = record.getMeanHum().replaceAll("[^0-9.]", "");
-                    if (!humStr.isEmpty()) {
-                        double humidity = Double.parseDouble(humStr);
-                        if (humidity < 10 || humidity > 100) {
-                            anomalies.add("Unusual humidity: " + humidity + "%");
-                        }
-                    }
-                } catch (NumberFormatException e) {
-                    // Skip humidity check if parsing fails
+            short humidity = record.getMeanHumValue();
+            if (humidity != WeatherFields.MISSING_SHORT && humidity != 0) {
+                if (humidity < 10 || humidity > 100) {
+                    anomalies.add("Unusual humidity: " + (double) humidity + "%");
                 }
             }
             
             // Check for completely missing essential data
-            if (isZeroOrEmpty(record.getMeanTemp()) && isZeroOrEmpty(record.getHighTemp()) && isZeroOrEmpty(record.getLowTemp())) {
+            if (!isPresent(meanTemp) && !isPresent(highTemp) && !isPresent(lowTemp)) {
                 anomalies.add("Missing temperature data");
             }
             
             // Check for suspicious rain values
-            if (!isZeroOrEmpty(record.getRain())) {
-                try {
-                    String rainStr = record.getRain().replaceAll("[^0-9.]", "");
-                    if (!rainStr.isEmpty()) {
-                        double rain = Double.parseDouble(rainStr);
-                        if (rain > 200) {
-                            anomalies.add("Extreme rainfall: " + rain + "mm");
-                        }
-                    }
-                } catch (NumberFormatException e) {
-                    // Skip rain check if parsing fails
-                }
+            float rain = record.getRainValue();
+            if (isPresent(rain) && rain > 200) {
+                anomalies.add("Extreme rainfall: " + rain + "mm");
             }
             
             // Set anomaly flags
@@ -301,35 +302,30 @@ public class WeatherDataService {
                 record.setFlagged("Y");
                 record.setAnomalyNote(String.join("; ", anomalies));
             } else {
-                record.setFlagged("F");
+                record.setFlagged("N");
                 record.setAnomalyNote("");
             }
         }
     }
     
-    private boolean isZeroOrEmpty(String value) {
-        return StringUtils.isBlank(value) || "0".equals(value.trim()) || 
-               "0.0".equals(value.trim()) || "---".equals(value.trim()) ||
-               "N/A".equals(value.trim().toUpperCase());
-    }
-    
-    private double parseDouble(String value) throws NumberFormatException {
-        if (StringUtils.isBlank(value)) {
-            throw new NumberFormatException("Empty value");
-        }
-        return Double.parseDouble(value.trim());
+    private boolean isPresent(float value) {
+        return !Float.isNaN(value) && value != 0.0f;
     }
     
     private void scrambleAndSaveData(List<WeatherRecord> records) {
         try {
-            // Create resources directory if it doesn't exist
-            Files.createDirectories(Paths.get("src/main/resources"));
+            // Written where WeatherDataStore reads it (weather.data.file)
+            Path dataFile = weatherDataStore.getDataFile();
+            Path parent = dataFile.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
             
             // Scramble the data (shuffle records)
             Collections.shuffle(records, random);
             
             // Write to CSV file
-            try (FileWriter writer = new FileWriter("src/main/resources/scrambled_weather_data.csv");
+            try (FileWriter writer = new FileWriter(dataFile.toFile());
                  CSVWriter csvWriter = new CSVWriter(writer)) {
                 
                 // Write header
@@ -374,12 +370,31 @@ public class WeatherDataService {
         }
     }
     
-    private String generateScrambledId(int index) {
+    public static String generateScrambledId(int index) {
         // Generate a scrambled ID using the index and key
         int scrambledIndex = (index * 17 + 42) % 100000;
         return String.format("SC%05d", scrambledIndex);
     }
     
+    /**
+     * The index {@link #generateScrambledId} turned into this ID, or -1 when it is not a
+     * scrambled ID. 82353 is the inverse of 17 modulo 100000.
+     */
+    public static int scrambledIdIndex(String id) {
+        if (id == null || id.length() != 7 || !id.startsWith("SC")) {
+            return -1;
+        }
+        int scrambledIndex = 0;
+        for (int i = 2; i < 7; i++) {
+            char c = id.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            scrambledIndex = scrambledIndex * 10 + (c - '0');
+        }
+        return (int) ((scrambledIndex - 42 + 100000L) % 100000 * 82353 % 100000);
+    }
+    
     // Remove this method since we don't want to expose the key
     // public String getUnscrambleKey() {
     //     return SCRAMBLE_KEY;
@@ -0,0 +1,72 @@
+package com.example.clime.module.climatev2.chart;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Appends doubles with a fixed number of decimals, producing exactly what
+ * {@code String.format(Locale.ROOT, "%.<precision>f", value)} would, without creating
+ * a Formatter, format string or intermediate String.
+ *
+ * Like Formatter, rounding is half-up on the shortest decimal representation of the
+ * value, so 0.15 becomes "0.2". Values too large for the fast path, or too close to a
+ * rounding boundary to decide in binary, go through BigDecimal instead.
+ */
+public final class FixedDecimal {
+
+    public static final int MAX_PRECISION = 6;
+
+    private static final long[] POWERS_OF_TEN = {1L, 10L, 100L, 1_000L, 10_000L, 100_000L, 1_000_000L};
+
+    /** Largest scaled value handled without BigDecimal; below it one ulp is far smaller than the tolerance. */
+    private static final double FAST_PATH_LIMIT = 1e9;
+
+    /** Fractions this close to .5 are re-checked in decimal. */
+    private static final double HALF_TOLERANCE = 1e-6;
+
+    private FixedDecimal() {
+    }
+
+    public static StringBuilder append(StringBuilder out, double value, int precision) {
+        if (precision < 0 || precision > MAX_PRECISION) {
+            throw new IllegalArgumentException("Unsupported precision: " + precision);
+        }
+        if (Double.isNaN(value)) {
+            return out.append("NaN");
+        }
+        if (Double.isInfinite(value)) {
+            return out.append(value > 0 ? "Infinity" : "-Infinity");
+        }
+
+        boolean negative = Double.doubleToRawLongBits(value) < 0;
+        double magnitude = Math.abs(value);
+        long scale = POWERS_OF_TEN[precision];
+        double scaled = magnitude * scale;
+        double floor = Math.floor(scaled);
+        double fraction = scaled - floor;
+
+        if (scaled >= FAST_PATH_LIMIT || Math.abs(fraction - 0.5) < HALF_TOLERANCE) {
+            BigDecimal rounded = new BigDecimal(Double.toString(magnitude)).setScale(precision, RoundingMode.HALF_UP);
+            if (negative) {
+                out.append('-');
+            }
+            return out.append(rounded.toPlainString());
+        }
+
+        long units = (long) floor + (fraction > 0.5 ? 1 : 0);
+        if (negative) {
+            out.append('-');
+        }
+        out.append(units / scale);
+        if (precision > 0) {
+            out.append('.');
+            long decimals = units % scale;
+            // Leading zeros of the decimal part
+            for (long p = scale / 10; p > 1 && decimals < p; p /= 10) {
+                out.append('0');
+            }
+            out.append(decimals);
+        }
+        return out;
+    }
+}
@@ -0,0 +1,165 @@
+package com.example.clime.module.climatev2.chart;
+
+/**
+ * Small SVG emitter that appends elements straight into a caller-owned buffer.
+ *
+ * Numbers are written with {@link FixedDecimal} or {@link StringBuilder#append(int)},
+ * so drawing a chart creates no format strings or temporary Strings per point, grid
+ * line or label. Attributes use single quotes, matching the markup the chart
+ * generators have always produced.
+ *
+ * Generic element methods ({@link #open}, {@link #attr}, {@link #close}) cover one-off
+ * shapes; the primitives below cover the line, bar, grid, axis and label elements the
+ * charts repeat.
+ */
+public final class SvgWriter {
+
+    public static final String GRID_COLOR = "#ecf0f1";
+    public static final String AXIS_COLOR = "#2c3e50";
+    public static final String LABEL_COLOR = "#7f8c8d";
+
+    private final StringBuilder out;
+
+    public SvgWriter(StringBuilder out) {
+        this.out = out;
+    }
+
+    public StringBuilder buffer() {
+        return out;
+    }
+
+    // --- generic elements --------------------------------------------------------
+
+    /** Starts an element: {@code <tag}. */
+    public SvgWriter open(String tag) {
+        out.append('<').append(tag);
+        return this;
+    }
+
+    public SvgWriter attr(String name, int value) {
+        out.append(' ').append(name).append("='").append(value).append('\'');
+        return this;
+    }
+
+    public SvgWriter attr(String name, double value, int precision) {
+        out.append(' ').append(name).append("='");
+        FixedDecimal.append(out, value, precision);
+        out.append('\'');
+        return this;
+    }
+
+    public SvgWriter attr(String name, String value) {
+        out.append(' ').append(name).append("='").append(value).append('\'');
+        return this;
+    }
+
+    /** Appends {@code rotate(angle, cx, cy)} as a transform attribute. */
+    public SvgWriter rotate(int angle, int cx, int cy) {
+        out.append(" transform='rotate(").append(angle).append(", ").append(cx).append(", ").append(cy).append(")'");
+        return this;
+    }
+
+    /** Ends an empty element: {@code />}. */
+    public SvgWriter close() {
+        out.append("/>");
+        return this;
+    }
+
+    /** Ends a start tag so content can follow: {@code >}. */
+    public SvgWriter body() {
+        out.append('>');
+        return this;
+    }
+
+    public SvgWriter end(String tag) {
+        out.append("</").append(tag).append('>');
+        return this;
+    }
+
+    public SvgWriter text(String content) {
+        out.append(content);
+        return this;
+    }
+
+    public SvgWriter number(int value) {
+        out.append(value);
+        return this;
+    }
+
+    public SvgWriter number(double value, int precision) {
+        FixedDecimal.append(out, value, precision);
+        return this;
+    }
+
+    // --- primitives ----------------------------------------------------------------
+
+    public SvgWriter line(int x1, int y1, int x2, int y2, String stroke, int strokeWidth) {
+        return open("line").attr("x1", x1).attr("y1", y1).attr("x2", x2).attr("y2", y2)
+                .attr("stroke", stroke).attr("stroke-width", strokeWidth).close();
+    }
+
+    /** Horizontal background grid line. */
+    public SvgWriter gridLine(int x1, int x2, int y) {
+        return line(x1, y, x2, y, GRID_COLOR, 1);
+    }
+
+    public SvgWriter axis(int x1, int y1, int x2, int y2) {
+        return line(x1, y1, x2, y2, AXIS_COLOR, 2);
+    }
+
+    /** Outlined bar with slightly rounded corners. */
+    public SvgWriter bar(int x, int y, int width, int height, String fill) {
+        return open("rect").attr("x", x).attr("y", y).attr("width", width).attr("height", height)
+                .attr("fill", fill).attr("stroke", AXIS_COLOR).attr("stroke-width", 1).attr("rx", 2).close();
+    }
+
+    /** Point marker on a line series. */
+    public SvgWriter marker(double cx, double cy, String fill) {
+        return open("circle").attr("cx", cx, 1).attr("cy", cy, 1).attr("r", "2.5")
+                .attr("fill", fill).attr("stroke", "#fff").attr("stroke-width", 1).close();
+    }
+
+    /**
+     * Starts a polyline; add vertices with {@link #point} and finish with {@link #endPolyline}.
+     */
+    public SvgWriter startPolyline(String stroke, int strokeWidth) {
+        out.append("<polyline fill='none' stroke='").append(stroke)
+                .append("' stroke-width='").append(strokeWidth).append("' points='");
+        return this;
+    }
+
+    /** Polyline vertex with one decimal, followed by the separating space. */
+    public SvgWriter point(double x, double y) {
+        FixedDecimal.append(out, x, 1).append(',');
+        FixedDecimal.append(out, y, 1).append(' ');
+        return this;
+    }
+
+    public SvgWriter endPolyline() {
+        out.append("'/>");
+        return this;
+    }
+
+    /**
+     * Starts a small text label at (x, y); write the content and then {@code end("text")}.
+     */
+    public SvgWriter label(int x, int y, String anchor, int fontSize, String fill) {
+        return open("text").attr("x", x).attr("y", y).attr("text-anchor", anchor)
+                .attr("font-size", fontSize).attr("fill", fill).body();
+    }
+
+    public SvgWriter label(double x, int y, String anchor, int fontSize, String fill) {
+        return open("text").attr("x", x, 1).attr("y", y).attr("text-anchor", anchor)
+                .attr("font-size", fontSize).attr("fill", fill).body();
+    }
+
+    /** Bold axis title, optionally rotated about its anchor point (angle 0 for none). */
+    public SvgWriter axisTitle(int x, int y, int angle, String title) {
+        open("text").attr("x", x).attr("y", y).attr("text-anchor", "middle")
+                .attr("font-size", 12).attr("font-weight", "bold").attr("fill", AXIS_COLOR);
+        if (angle != 0) {
+            rotate(angle, x, y);
+        }
+        return body().text(title).end("text");
+    }
+}
@@ -1,18 +1,22 @@
 package com.example.clime.module.climatev2.controller;
 
+import com.example.clime.module.climatev2.service.ChartResponseCache;
+import com.example.clime.module.dataset.csv.MappedCsvReader;
 import org.knowm.xchart.BitmapEncoder;
 import org.knowm.xchart.XYChart;
 import org.knowm.xchart.XYChartBuilder;
 import org.knowm.xchart.style.Styler;
-import org.springframework.http.HttpHeaders;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.io.ClassPathResource;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.io.InputStream;
 import java.util.*;
 
 /**
@@ -31,6 +35,16 @@ import java.util.*;
 @RequestMapping("/climateV2")
 public class ChennaiRainfallController {
 
+    /**
+     * chennai_monthly_rainfall.csv only changes with a deploy, so rendered plots are
+     * cached for the life of the application.
+     */
+    private static final long DATA_VERSION = 0;
+
+    @Autowired
+    @Qualifier("chartResponseCache")
+    private ChartResponseCache chartResponseCache;
+
     /**
      * Generate Chennai rainfall plot as PNG image
      * Aggregates monthly data to yearly totals and creates a line chart
@@ -38,55 +52,13 @@ public class ChennaiRainfallController {
      * @return ResponseEntity containing PNG image bytes
      */
     @GetMapping("/chennai-rainfall-plot")
-    public ResponseEntity<byte[]> getChennaiRainfallPlot() {
+    public ResponseEntity<byte[]> getChennaiRainfallPlot(WebRequest request) {
         try {
-            // Read and aggregate data
-            Map<Integer, Double> yearlyRainfall = readAndAggregateData();
-            
-            if (yearlyRainfall.isEmpty()) {
-                return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                    .body("No data available".getBytes());
-            }
-
-            // Create chart
-            XYChart chart = new XYChartBuilder()
-                .width(800)
-                .height(600)
-                .title("Chennai Annual Rainfall Trend (Last 25 Years)")
-                .xAxisTitle("Year")
-                .yAxisTitle("Rainfall (mm)")
-                .build();
-
-            // Chart styling
-            chart.getStyler().setLegendPosition(Styler.LegendPosition.InsideNE);
-            chart.getStyler().setDefaultSeriesRenderStyle(org.knowm.xchart.XYSeries.XYSeriesRenderStyle.Line);
-            chart.getStyler().setMarkerSize(6);
-
-            // Prepare data for chart
-            List<Integer> years = new ArrayList<>(yearlyRainfall.keySet());
-            Collections.sort(years);
-            
-            List<Double> yearsDouble = new ArrayList<>();
-            List<Double> rainfallValues = new ArrayList<>();
-            
-            for (Integer year : years) {
-                yearsDouble.add(year.doubleValue());
-                rainfallValues.add(yearlyRainfall.get(year));
-            }
-
-            // Add data series
-            chart.addSeries("Annual Rainfall", yearsDouble, rainfallValues);
-
-            // Convert chart to PNG bytes
-            ByteArrayOutputStream baos = new ByteArrayOutputStream();
-            BitmapEncoder.saveBitmap(chart, baos, BitmapEncoder.BitmapFormat.PNG);
-            
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.IMAGE_PNG);
-            headers.setContentLength(baos.size());
-            
-            return new ResponseEntity<>(baos.toByteArray(), headers, HttpStatus.OK);
-            
+            return chartResponseCache.respond("climateV2/chennai-rainfall-plot", "", DATA_VERSION,
+                    MediaType.IMAGE_PNG, request, this::renderRainfallPlotPng);
+        } catch (NoRainfallDataException e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body("No data available".getBytes());
         } catch (Exception e) {
             e.printStackTrace();
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -100,88 +72,115 @@ public class ChennaiRainfallController {
      * @return ResponseEntity containing HTML with embedded base64 image
      */
     @GetMapping("/chennai-rainfall-html")
-    public ResponseEntity<String> getChennaiRainfallHtml() {
+    public ResponseEntity<String> getChennaiRainfallHtml(WebRequest request) {
         try {
-            // Read and aggregate data
-            Map<Integer, Double> yearlyRainfall = readAndAggregateData();
-            
-            if (yearlyRainfall.isEmpty()) {
-                return ResponseEntity.ok("<div class='alert alert-danger'>No data available</div>");
-            }
-
-            // Create chart
-            XYChart chart = new XYChartBuilder()
-                .width(800)
-                .height(600)
-                .title("Chennai Annual Rainfall Trend (Last 25 Years)")
-                .xAxisTitle("Year")
-                .yAxisTitle("Rainfall (mm)")
-                .build();
-
-            // Chart styling
-            chart.getStyler().setLegendPosition(Styler.LegendPosition.InsideNE);
-            chart.getStyler().setDefaultSeriesRenderStyle(org.knowm.xchart.XYSeries.XYSeriesRenderStyle.Line);
-            chart.getStyler().setMarkerSize(6);
-
-            // Prepare data for chart
-            List<Integer> years = new ArrayList<>(yearlyRainfall.keySet());
-            Collections.sort(years);
-            
-            List<Double> yearsDouble = new ArrayList<>();
-            List<Double> rainfallValues = new ArrayList<>();
-            
-            for (Integer year : years) {
-                yearsDouble.add(year.doubleValue());
-                rainfallValues.add(yearlyRainfall.get(year));
-            }
-
-            // Add data series
-            chart.addSeries("Annual Rainfall", yearsDouble, rainfallValues);
-
-            // Convert chart to base64
-            ByteArrayOutputStream baos = new ByteArrayOutputStream();
-            BitmapEncoder.saveBitmap(chart, baos, BitmapEncoder.BitmapFormat.PNG);
-            String base64Image = Base64.getEncoder().encodeToString(baos.toByteArray());
-
-            // Generate HTML response
-            StringBuilder html = new StringBuilder();
-            html.append("<div style='padding: 20px; background: #f8f9fa; border-radius: 8px; margin: 20px 0;'>");
-            html.append("<h3>🌧️ Chennai Rainfall Analysis</h3>");
-            html.append("<p>Annual rainfall trend for Chennai over the last 25 years (1997-2021)</p>");
-            html.append("<div style='text-align: center; margin: 20px 0;'>");
-            html.append("<img src='data:image/png;base64,").append(base64Image).append("' ");
-            html.append("alt='Chennai Annual Rainfall Chart' style='max-width: 100%; height: auto; border: 1px solid #ddd;'/>");
-            html.append("</div>");
-            
-            // Add summary statistics
-            double avgRainfall = yearlyRainfall.values().stream().mapToDouble(Double::doubleValue).average().orElse(0.0);
-            double maxRainfall = yearlyRainfall.values().stream().mapToDouble(Double::doubleValue).max().orElse(0.0);
-            double minRainfall = yearlyRainfall.values().stream().mapToDouble(Double::doubleValue).min().orElse(0.0);
-            
-            html.append("<div class='row mt-3'>");
-            html.append("<div class='col-md-4 text-center'>");
-            html.append("<h5>Average Annual Rainfall</h5>");
-            html.append("<p class='h4 text-primary'>").append(String.format("%.1f mm", avgRainfall)).append("</p>");
-            html.append("</div>");
-            html.append("<div class='col-md-4 text-center'>");
-            html.append("<h5>Highest Annual Rainfall</h5>");
-            html.append("<p class='h4 text-success'>").append(String.format("%.1f mm", maxRainfall)).append("</p>");
-            html.append("</div>");
-            html.append("<div class='col-md-4 text-center'>");
-            html.append("<h5>Lowest Annual Rainfall</h5>");
-            html.append("<p class='h4 text-warning'>").append(String.format("%.1f mm", minRainfall)).append("</p>");
-            html.append("</div>");
-            html.append("</div>");
-            html.append("</div>");
-            
-            return ResponseEntity.ok(html.toString());
-            
+            return chartResponseCache.respond("climateV2/chennai-rainfall-html", "", DATA_VERSION,
+                    null, request, this::renderRainfallHtml);
+        } catch (NoRainfallDataException e) {
+            return ResponseEntity.ok("<div class='alert alert-danger'>No data available</div>");
         } catch (Exception e) {
             e.printStackTrace();
             return ResponseEntity.ok("<div class='alert alert-danger'>Error generating plot: " + e.getMessage() + "</div>");
         }
     }
 
+    private byte[] renderRainfallPlotPng() throws IOException {
+        return renderChart(readYearlyRainfall());
+    }
+
+    private String renderRainfallHtml() throws IOException {
+        Map<Integer, Double> yearlyRainfall = readYearlyRainfall();
+        String base64Image = Base64.getEncoder().encodeToString(renderChart(yearlyRainfall));
+
+        // Generate HTML response
+        StringBuilder html = new StringBuilder();
+        html.append("<div style='padding: 20px; background: #f8f9fa; border-radius: 8px; margin: 20px 0;'>");
+        html.append("<h3>🌧️ Chennai Rainfall Analysis</h3>");
+        html.append("<p>Annual rainfall trend for Chennai over the last 25 years (1997-2021)</p>");
+        html.append("<div style='text-align: center; margin: 20px 0;'>");
+        html.append("<img src='data:image/png;base64,").append(base64Image).append("' ");
+        html.append("alt='Chennai Annual Rainfall Chart' style='max-width: 100%; height: auto; border: 1px solid #ddd;'/>");
+        html.append("</div>");
+        
+        // Add summary statistics
+        double avgRainfall = yearlyRainfall.values().stream().mapToDouble(Double::doubleValue).average().orElse(0.0);
+        double maxRainfall = yearlyRainfall.values().stream().mapToDouble(Double::doubleValue).max().orElse(0.0);
+        double minRainfall = yearlyRainfall.values().stream().mapToDouble(Double::doubleValue).min().orElse(0.0);
+        
+        html.append("<div class='row mt-3'>");
+        html.append("<div class='col-md-4 text-center'>");
+        html.append("<h5>Average Annual Rainfall</h5>");
+        html.append("<p class='h4 text-primary'>").append(String.format("%.1f mm", avgRainfall)).append("</p>");
+        html.append("</div>");
+        html.append("<div class='col-md-4 text-center'>");
+        html.append("<h5>Highest Annual Rainfall</h5>");
+        html.append("<p class='h4 text-success'>").append(String.format("%.1f mm", maxRainfall)).append("</p>");
+        html.append("</div>");
+        html.append("<div class='col-md-4 text-center'>");
+        html.append("<h5>Lowest Annual Rainfall</h5>");
+        html.append("<p class='h4 text-warning'>").append(String.format("%.1f mm", minRainfall)).append("</p>");
+        html.append("</div>");
+        html.append("</div>");
+        html.append("</div>");
+        
+        return html.toString();
+    }
+
+    /**
+     * Draws the annual rainfall line chart and encodes it as PNG.
+     */
+    private byte[] renderChart(Map<Integer, Double> yearlyRainfall) throws IOException {
+        // Create chart
+        XYChart chart = new XYChartBuilder()
+            .width(800)
+            .height(600)
+            .title("Chennai Annual Rainfall Trend (Last 25 Years)")
+            .xAxisTitle("Year")
+            .yAxisTitle("Rainfall (mm)")
+            .build();
+
+        // Chart styling
+        chart.getStyler().setLegendPosition(Styler.LegendPosition.InsideNE);
+        chart.getStyler().setDefaultSeriesRenderStyle(org.knowm.xchart.XYSeries.XYSeriesRenderStyle.Line);
+        chart.getStyler().setMarkerSize(6);
+
+        // Prepare data for chart
+        List<Integer> years = new ArrayList<>(yearlyRainfall.keySet());
+        Collections.sort(years);
+        
+        List<Double> yearsDouble = new ArrayList<>();
+        List<Double> rainfallValues = new ArrayList<>();
+        
+        for (Integer year : years) {
+            yearsDouble.add(year.doubleValue());
+            rainfallValues.add(yearlyRainfall.get(year));
+        }
+
+        // Add data series
+        chart.addSeries("Annual Rainfall", yearsDouble, rainfallValues);
+
+        // Convert chart to PNG bytes
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        BitmapEncoder.saveBitmap(chart, baos, BitmapEncoder.BitmapFormat.PNG);
+        return baos.toByteArray();
+    }
+
+    private Map<Integer, Double> readYearlyRainfall() {
+        Map<Integer, Double> yearlyRainfall = readAndAggregateData();
+        if (yearlyRainfall.isEmpty()) {
+            throw new NoRainfallDataException();
+        }
+        return yearlyRainfall;
+    }
+
+    private static class NoRainfallDataException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        NoRainfallDataException() {
+            super("No data available");
+        }
+    }
+
     /**
      * Read chennai_monthly_rainfall.csv and aggregate by year
      * 
@@ -190,36 +189,30 @@ public class ChennaiRainfallController {
     private Map<Integer, Double> readAndAggregateData() {
         Map<Integer, Double> yearlyRainfall = new HashMap<>();
         
-        try (InputStream is = getClass().getClassLoader().getResourceAsStream("chennai_monthly_rainfall.csv")) {
-            if (is == null) {
-                throw new RuntimeException("Chennai rainfall data file not found");
-            }
-            
-            Scanner scanner = new Scanner(is);
+        ClassPathResource resource = new ClassPathResource("chennai_monthly_rainfall.csv");
+        if (!resource.exists()) {
+            throw new RuntimeException("Chennai rainfall data file not found");
+        }
+        
+        try {
+            MappedCsvReader reader = MappedCsvReader.open(resource);
             
             // Skip header
-            if (scanner.hasNextLine()) {
-                scanner.nextLine();
-            }
+            reader.nextRow();
             
-            while (scanner.hasNextLine()) {
-                String line = scanner.nextLine().trim();
-                if (line.isEmpty()) continue;
-                
-                String[] parts = line.split(",");
-                if (parts.length >= 3) {
+            while (reader.nextRow()) {
+                if (reader.fieldCount() >= 3) {
                     try {
-                        int year = Integer.parseInt(parts[0].trim());
-                        double rainfall = Double.parseDouble(parts[2].trim());
+                        int year = reader.getInt(0);
+                        double rainfall = reader.getDouble(2);
                         
                         yearlyRainfall.merge(year, rainfall, Double::sum);
                     } catch (NumberFormatException e) {
                         // Skip invalid lines
-                        System.err.println("Skipping invalid line: " + line);
+                        System.err.println("Skipping invalid line for year: " + reader.getString(0));
                     }
                 }
             }
-            scanner.close();
             
         } catch (IOException e) {
             throw new RuntimeException("Error reading Chennai rainfall data", e);
@@ -2,12 +2,22 @@ package com.example.clime.module.climatev2.controller;
 
 import com.example.clime.module.climatev2.model.DataSource;
 import com.example.clime.module.climatev2.model.RainfallRecord;
+import com.example.clime.module.climatev2.model.Station;
+import com.example.clime.module.climatev2.model.StationRainfall;
+import com.example.clime.module.climatev2.service.StationRainfallStore;
 import com.example.clime.module.climatev2.service.UnifiedRainfallDataService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.util.HtmlUtils;
 
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -18,32 +28,63 @@ public class DataSourceController {
     @Autowired
     private UnifiedRainfallDataService unifiedRainfallDataService;
     
+    @Autowired
+    @Qualifier("stationRainfallStore")
+    private StationRainfallStore stationRainfallStore;
+    
     @PostMapping("/switch")
-    public ResponseEntity<Map<String, String>> switchDataSource(@RequestParam String source) {
+    public ResponseEntity<Map<String, String>> switchDataSource(@RequestParam String source,
+            @RequestParam(defaultValue = "chennai") String station) {
         Map<String, String> response = new HashMap<>();
         
+        DataSource dataSource;
         try {
-            DataSource dataSource = DataSource.valueOf(source.toUpperCase());
+            dataSource = DataSource.valueOf(source.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            response.put("status", "error");
+            response.put("message", "Invalid data source: " + source);
+            return ResponseEntity.badRequest().body(response);
+        }
+        try {
+            Station resolved = stationRainfallStore.getStation(station);
+            if (!resolved.hasSource(dataSource)) {
+                response.put("status", "error");
+                response.put("message", "Station " + resolved.getId() + " has no " + dataSource.getDisplayName() + " data");
+                return ResponseEntity.badRequest().body(response);
+            }
             unifiedRainfallDataService.setDataSource(dataSource);
             
             response.put("status", "success");
             response.put("message", "Data source switched to " + dataSource.getDisplayName());
             response.put("currentSource", dataSource.name());
+            response.put("station", resolved.getId());
             
             return ResponseEntity.ok(response);
             
         } catch (IllegalArgumentException e) {
             response.put("status", "error");
-            response.put("message", "Invalid data source: " + source);
+            response.put("message", e.getMessage());
             return ResponseEntity.badRequest().body(response);
         }
     }
     
     @GetMapping("/current")
-    public ResponseEntity<Map<String, Object>> getCurrentDataSource() {
+    public ResponseEntity<Map<String, Object>> getCurrentDataSource(@RequestParam(defaultValue = "chennai") String station) {
         Map<String, Object> response = new HashMap<>();
+        Station resolved;
+        try {
+            resolved = stationRainfallStore.getStation(station);
+        } catch (IllegalArgumentException e) {
+            response.put("status", "error");
+            response.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        }
         DataSource current = unifiedRainfallDataService.getCurrentDataSource();
+        if (!resolved.hasSource(current)) {
+            current = resolved.getPrimarySource();
+        }
         
+        response.put("station", resolved.getId());
         response.put("currentSource", current.name());
         response.put("displayName", current.getDisplayName());
         response.put("description", current.getDescription());
@@ -51,9 +92,38 @@ public class DataSourceController {
         return ResponseEntity.ok(response);
     }
     
+    @GetMapping("/stations")
+    public ResponseEntity<Map<String, Object>> getStations() {
+        List<Map<String, Object>> stations = new ArrayList<>();
+        for (Station station : stationRainfallStore.getStations()) {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("id", station.getId());
+            entry.put("name", station.getName());
+            List<String> sources = new ArrayList<>();
+            for (DataSource source : station.getSources()) {
+                sources.add(source.name());
+            }
+            entry.put("sources", sources);
+            stations.add(entry);
+        }
+        
+        Map<String, Object> response = new HashMap<>();
+        response.put("stations", stations);
+        response.put("store", stationRainfallStore.getStatus());
+        return ResponseEntity.ok(response);
+    }
+    
     @GetMapping("/info")
-    public ResponseEntity<String> getDataSourceInfo() {
-        String info = unifiedRainfallDataService.getDataSourceInfo();
+    public ResponseEntity<String> getDataSourceInfo(@RequestParam(defaultValue = "chennai") String station) {
+        StationRainfall rainfall;
+        try {
+            rainfall = unifiedRainfallDataService.getStationRainfall(station);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body("<div class='alert alert-danger'>" + HtmlUtils.htmlEscape(e.getMessage()) + "</div>");
+        } catch (IllegalStateException e) {
+            return ResponseEntity.ok("<div class='alert alert-danger'>Error loading station data: " + e.getMessage() + "</div>");
+        }
+        String info = unifiedRainfallDataService.getDataSourceInfo(rainfall);
         return ResponseEntity.ok(info);
     }
     
@@ -62,21 +132,32 @@ public class DataSourceController {
             @RequestParam(required = false) Integer year,
             @RequestParam(required = false) Integer startYear,
             @RequestParam(required = false) Integer endYear,
-            @RequestParam(defaultValue = "html") String format) {
+            @RequestParam(defaultValue = "html") String format,
+            @RequestParam(defaultValue = "chennai") String station,
+            HttpServletResponse response) throws IOException {
         
+        StationRainfall rainfall;
+        try {
+            rainfall = unifiedRainfallDataService.getStationRainfall(station);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body("<div class='alert alert-danger'>" + HtmlUtils.htmlEscape(e.getMessage()) + "</div>");
+        } catch (IllegalStateException e) {
+            return ResponseEntity.ok("<div class='alert alert-danger'>Error loading station data: " + e.getMessage() + "</div>");
+        }
+        
+        List<RainfallRecord> data;
+        String infoHtml;
         try {
-            List<RainfallRecord> data;
-            
             if (year != null) {
-                data = unifiedRainfallDataService.getDataByYear(year);
+                data = rainfall.getDataByYear(year);
                 if (data.isEmpty()) {
                     return ResponseEntity.ok("<div class='alert alert-warning'>No rainfall data found for year " + year + " in current data source</div>");
                 }
             } else if (startYear != null && endYear != null) {
-                data = unifiedRainfallDataService.getDataByYearRange(startYear, endYear);
+                data = rainfall.getDataByYearRange(startYear, endYear);
             } else {
                 // Return last 20 years by default to avoid overwhelming display
-                List<RainfallRecord> allData = unifiedRainfallDataService.getAllData();
+                List<RainfallRecord> allData = rainfall.getAllData();
                 int totalRecords = allData.size();
                 if (totalRecords > 20) {
                     data = allData.subList(totalRecords - 20, totalRecords);
@@ -95,7 +176,8 @@ public class DataSourceController {
                     json.append("  {\n");
                     json.append("    \"year\": ").append(record.getYear()).append(",\n");
                     json.append("    \"total\": ").append(String.format("%.1f", record.getTotal())).append(",\n");
-                    json.append("    \"dataSource\": \"").append(unifiedRainfallDataService.getCurrentDataSource().name()).append("\",\n");
+                    json.append("    \"station\": \"").append(rainfall.getStation().getId()).append("\",\n");
+                    json.append("    \"dataSource\": \"").append(rainfall.getSource().name()).append("\",\n");
                     json.append("    \"months\": {\n");
                     json.append("      \"jan\": ").append(String.format("%.1f", record.getJan())).append(",\n");
                     json.append("      \"feb\": ").append(String.format("%.1f", record.getFeb())).append(",\n");
@@ -114,14 +196,17 @@ public class DataSourceController {
                 }
                 json.append("\n]");
                 return ResponseEntity.ok(json.toString());
-            } else {
-                String infoHtml = unifiedRainfallDataService.getDataSourceInfo();
-                String tableHtml = unifiedRainfallDataService.generateRainfallTableHtml(data);
-                return ResponseEntity.ok(infoHtml + tableHtml);
             }
-            
+            infoHtml = unifiedRainfallDataService.getDataSourceInfo(rainfall);
         } catch (Exception e) {
             return ResponseEntity.ok("<div class='alert alert-danger'>Error retrieving rainfall data: " + e.getMessage() + "</div>");
         }
+        
+        // Streamed outside the try: once rows are written, a failure can no longer become an error body
+        response.setContentType("text/html;charset=UTF-8");
+        Writer out = response.getWriter();
+        out.write(infoHtml);
+        unifiedRainfallDataService.writeRainfallTableHtml(rainfall, data, out);
+        return null;
     }
 }
\ No newline at end of file
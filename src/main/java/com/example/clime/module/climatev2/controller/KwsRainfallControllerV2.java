@@ -6,6 +6,8 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
 import java.util.List;
 
 @RestController
@@ -19,10 +21,10 @@ public class KwsRainfallControllerV2 {
     public ResponseEntity<String> getKwsRainfallData(
             @RequestParam(required = false) Integer year,
             @RequestParam(required = false) Integer startYear,
-            @RequestParam(required = false) Integer endYear) {
+            @RequestParam(required = false) Integer endYear,
+            HttpServletResponse response) throws IOException {
+        List<RainfallRecord> records;
         try {
-            List<RainfallRecord> records;
-            
             if (year != null) {
                 records = kwsRainfallDataService.getDataByYear(year);
             } else if (startYear != null && endYear != null) {
@@ -34,14 +36,15 @@ public class KwsRainfallControllerV2 {
             if (records.isEmpty()) {
                 return ResponseEntity.ok("<div class='alert alert-warning'>No KWS rainfall data found for the specified criteria.</div>");
             }
-            
-            String html = kwsRainfallDataService.generateRainfallTableHtml(records);
-            return ResponseEntity.ok(html);
-            
         } catch (Exception e) {
             e.printStackTrace();
             return ResponseEntity.ok("<div class='alert alert-danger'>Error retrieving KWS rainfall data: " + e.getMessage() + "</div>");
         }
+        
+        // Streamed outside the try: once rows are written, a failure can no longer become an error body
+        response.setContentType("text/html;charset=UTF-8");
+        kwsRainfallDataService.writeRainfallTableHtml(records, response.getWriter());
+        return null;
     }
 
     @GetMapping("/status")
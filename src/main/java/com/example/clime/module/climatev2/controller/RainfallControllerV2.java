@@ -1,15 +1,22 @@
 package com.example.clime.module.climatev2.controller;
 
 import com.example.clime.module.climatev2.model.RainfallRecord;
+import com.example.clime.module.climatev2.model.StationRainfall;
+import com.example.clime.module.climatev2.service.ChartResponseCache;
 import com.example.clime.module.climatev2.service.RainfallDataService;
 import com.example.clime.module.climatev2.service.RainfallAnalyticsService;
+import com.example.clime.module.climatev2.service.StationRainfallStore;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.util.HtmlUtils;
 
+import javax.servlet.http.HttpServletResponse;
+import org.springframework.web.context.request.WebRequest;
+
+import java.io.IOException;
 import java.util.List;
-import java.util.Map;
 
 @RestController
 @RequestMapping("/api/rainfallv2")
@@ -17,20 +24,43 @@ public class RainfallControllerV2 {
     // ...existing code...
 
     @GetMapping("/charts/yearly-svg")
-    public ResponseEntity<String> getYearlySvgChart() {
+    public ResponseEntity<String> getYearlySvgChart(@RequestParam(defaultValue = "chennai") String station,
+            WebRequest request) {
+        StationRainfall rainfall;
         try {
-            String html = rainfallAnalyticsService.generateYearlyRainfallLineChartHtml();
-            return ResponseEntity.ok(html);
+            rainfall = stationRainfallStore.get(station);
+        } catch (IllegalArgumentException e) {
+            return badStation(e);
+        } catch (IllegalStateException e) {
+            return ResponseEntity.ok("<div class='alert alert-danger'>Error loading station data: " + e.getMessage() + "</div>");
+        }
+        
+        try {
+            return chartResponseCache.respond("rainfallv2/charts/yearly-svg", stationParams(rainfall, ""), rainfall.getVersion(),
+                    null, request, () -> rainfallAnalyticsService.generateYearlyRainfallLineChartHtml(rainfall.getCube()));
         } catch (Exception e) {
             return ResponseEntity.ok("<div class='alert alert-danger'>Error generating yearly SVG chart: " + e.getMessage() + "</div>");
         }
     }
 
     @GetMapping("/charts/decade-offset")
-    public ResponseEntity<String> getDecadeOffsetChart(@RequestParam(defaultValue = "0") int offset) {
+    public ResponseEntity<String> getDecadeOffsetChart(@RequestParam(defaultValue = "0") int offset,
+            @RequestParam(defaultValue = "chennai") String station, WebRequest request) {
+        StationRainfall rainfall;
         try {
-            String html = rainfallAnalyticsService.generateDecadeComparisonChartHtmlWithOffset(offset);
-            return ResponseEntity.ok(html);
+            rainfall = stationRainfallStore.get(station);
+        } catch (IllegalArgumentException e) {
+            return badStation(e);
+        } catch (IllegalStateException e) {
+            return ResponseEntity.ok("<div class='alert alert-danger'>Error loading station data: " + e.getMessage() + "</div>");
+        }
+        
+        try {
+            // Out-of-range offsets render the offset 0 chart, so share its entry
+            int chartOffset = offset < 0 || offset > 9 ? 0 : offset;
+            return chartResponseCache.respond("rainfallv2/charts/decade-offset", stationParams(rainfall, "offset=" + chartOffset),
+                    rainfall.getVersion(), null, request,
+                    () -> rainfallAnalyticsService.generateDecadeComparisonChartHtmlWithOffset(rainfall.getCube(), chartOffset));
         } catch (Exception e) {
             return ResponseEntity.ok("<div class='alert alert-danger'>Error generating offset decade chart: " + e.getMessage() + "</div>");
         }
@@ -40,30 +70,48 @@ public class RainfallControllerV2 {
     @Qualifier("rainfallDataServiceV2")
     private RainfallDataService rainfallDataService;
 
+    @Autowired
+    @Qualifier("stationRainfallStore")
+    private StationRainfallStore stationRainfallStore;
+
     @Autowired
     @Qualifier("rainfallAnalyticsServiceV2")
     private RainfallAnalyticsService rainfallAnalyticsService;
 
+    @Autowired
+    @Qualifier("chartResponseCache")
+    private ChartResponseCache chartResponseCache;
+
     @GetMapping("/data")
     public ResponseEntity<String> getRainfallData(
             @RequestParam(required = false) Integer year,
             @RequestParam(required = false) Integer startYear,
             @RequestParam(required = false) Integer endYear,
-            @RequestParam(defaultValue = "html") String format) {
+            @RequestParam(defaultValue = "html") String format,
+            @RequestParam(defaultValue = "chennai") String station,
+            HttpServletResponse response) throws IOException {
         
+        StationRainfall rainfall;
+        try {
+            rainfall = stationRainfallStore.get(station);
+        } catch (IllegalArgumentException e) {
+            return badStation(e);
+        } catch (IllegalStateException e) {
+            return ResponseEntity.ok("<div class='alert alert-danger'>Error loading station data: " + e.getMessage() + "</div>");
+        }
+        
+        List<RainfallRecord> data;
         try {
-            List<RainfallRecord> data;
-            
             if (year != null) {
-                data = rainfallDataService.getDataByYear(year);
+                data = rainfall.getDataByYear(year);
                 if (data.isEmpty()) {
                     return ResponseEntity.ok("<div class='alert alert-warning'>No rainfall data found for year " + year + "</div>");
                 }
             } else if (startYear != null && endYear != null) {
-                data = rainfallDataService.getDataByYearRange(startYear, endYear);
+                data = rainfall.getDataByYearRange(startYear, endYear);
             } else {
                 // Return last 20 years by default to avoid overwhelming display
-                List<RainfallRecord> allData = rainfallDataService.getAllData();
+                List<RainfallRecord> allData = rainfall.getAllData();
                 int totalRecords = allData.size();
                 if (totalRecords > 20) {
                     data = allData.subList(totalRecords - 20, totalRecords);
@@ -100,20 +148,30 @@ public class RainfallControllerV2 {
                 }
                 json.append("\n]");
                 return ResponseEntity.ok(json.toString());
-            } else {
-                String html = rainfallDataService.generateRainfallTableHtml(data);
-                return ResponseEntity.ok(html);
             }
-            
         } catch (Exception e) {
             return ResponseEntity.ok("<div class='alert alert-danger'>Error retrieving rainfall data: " + e.getMessage() + "</div>");
         }
+        
+        // Streamed outside the try: once rows are written, a failure can no longer become an error body
+        response.setContentType("text/html;charset=UTF-8");
+        rainfallDataService.writeRainfallTableHtml(data, response.getWriter());
+        return null;
     }
 
     @GetMapping("/stats")
-    public ResponseEntity<String> getRainfallStats() {
+    public ResponseEntity<String> getRainfallStats(@RequestParam(defaultValue = "chennai") String station) {
+        StationRainfall rainfall;
         try {
-            String html = rainfallAnalyticsService.generateRainfallStatisticsHtml();
+            rainfall = stationRainfallStore.get(station);
+        } catch (IllegalArgumentException e) {
+            return badStation(e);
+        } catch (IllegalStateException e) {
+            return ResponseEntity.ok("<div class='alert alert-danger'>Error loading station data: " + e.getMessage() + "</div>");
+        }
+        
+        try {
+            String html = rainfallAnalyticsService.generateRainfallStatisticsHtml(rainfall.getCube());
             return ResponseEntity.ok(html);
         } catch (Exception e) {
             return ResponseEntity.ok("<div class='alert alert-danger'>Error generating statistics: " + e.getMessage() + "</div>");
@@ -121,21 +179,40 @@ public class RainfallControllerV2 {
     }
 
     @GetMapping("/charts/annual")
-    public ResponseEntity<String> getAnnualChart() {
+    public ResponseEntity<String> getAnnualChart(@RequestParam(defaultValue = "chennai") String station,
+            WebRequest request) {
+        StationRainfall rainfall;
         try {
-            String html = rainfallAnalyticsService.generateYearlyRainfallLineChartHtml();
-            return ResponseEntity.ok(html);
+            rainfall = stationRainfallStore.get(station);
+        } catch (IllegalArgumentException e) {
+            return badStation(e);
+        } catch (IllegalStateException e) {
+            return ResponseEntity.ok("<div class='alert alert-danger'>Error loading station data: " + e.getMessage() + "</div>");
+        }
+        
+        try {
+            return chartResponseCache.respond("rainfallv2/charts/yearly-svg", stationParams(rainfall, ""), rainfall.getVersion(),
+                    null, request, () -> rainfallAnalyticsService.generateYearlyRainfallLineChartHtml(rainfall.getCube()));
         } catch (Exception e) {
             return ResponseEntity.ok("<div class='alert alert-danger'>Error generating annual chart: " + e.getMessage() + "</div>");
         }
     }
 
     @GetMapping("/charts/monthly")
-    public ResponseEntity<String> getMonthlyChart() {
+    public ResponseEntity<String> getMonthlyChart(@RequestParam(defaultValue = "chennai") String station) {
+        StationRainfall rainfall;
+        try {
+            rainfall = stationRainfallStore.get(station);
+        } catch (IllegalArgumentException e) {
+            return badStation(e);
+        } catch (IllegalStateException e) {
+            return ResponseEntity.ok("<div class='alert alert-danger'>Error loading station data: " + e.getMessage() + "</div>");
+        }
+        
         try {
             StringBuilder html = new StringBuilder();
             html.append("<script src='https://cdn.jsdelivr.net/npm/chart.js'></script>");
-            html.append(rainfallAnalyticsService.generateMonthlyAverageChartHtml());
+            html.append(rainfallAnalyticsService.generateMonthlyAverageChartHtml(rainfall.getCube()));
             return ResponseEntity.ok(html.toString());
         } catch (Exception e) {
             return ResponseEntity.ok("<div class='alert alert-danger'>Error generating monthly chart: " + e.getMessage() + "</div>");
@@ -143,23 +220,53 @@ public class RainfallControllerV2 {
     }
 
     @GetMapping("/charts/decade")
-    public ResponseEntity<String> getDecadeChart() {
+    public ResponseEntity<String> getDecadeChart(@RequestParam(defaultValue = "chennai") String station,
+            WebRequest request) {
+        StationRainfall rainfall;
         try {
-            StringBuilder html = new StringBuilder();
-            html.append(rainfallAnalyticsService.generateDecadeComparisonChartHtml());
-            return ResponseEntity.ok(html.toString());
+            rainfall = stationRainfallStore.get(station);
+        } catch (IllegalArgumentException e) {
+            return badStation(e);
+        } catch (IllegalStateException e) {
+            return ResponseEntity.ok("<div class='alert alert-danger'>Error loading station data: " + e.getMessage() + "</div>");
+        }
+        
+        try {
+            return chartResponseCache.respond("rainfallv2/charts/decade", stationParams(rainfall, ""), rainfall.getVersion(),
+                    null, request, () -> rainfallAnalyticsService.generateDecadeComparisonChartHtml(rainfall.getCube()));
         } catch (Exception e) {
             return ResponseEntity.ok("<div class='alert alert-danger'>Error generating decade chart: " + e.getMessage() + "</div>");
         }
     }
 
     @GetMapping("/charts/monthly-trend")
-    public ResponseEntity<String> getMonthlyTrendChart(@RequestParam int month) {
+    public ResponseEntity<String> getMonthlyTrendChart(@RequestParam int month,
+            @RequestParam(defaultValue = "chennai") String station, WebRequest request) {
+        StationRainfall rainfall;
         try {
-            String html = rainfallAnalyticsService.generateMonthlyTrendLineChartHtml(month);
-            return ResponseEntity.ok(html);
+            rainfall = stationRainfallStore.get(station);
+        } catch (IllegalArgumentException e) {
+            return badStation(e);
+        } catch (IllegalStateException e) {
+            return ResponseEntity.ok("<div class='alert alert-danger'>Error loading station data: " + e.getMessage() + "</div>");
+        }
+        
+        try {
+            return chartResponseCache.respond("rainfallv2/charts/monthly-trend", stationParams(rainfall, "month=" + month),
+                    rainfall.getVersion(), null, request,
+                    () -> rainfallAnalyticsService.generateMonthlyTrendLineChartHtml(rainfall.getCube(), month));
         } catch (Exception e) {
             return ResponseEntity.ok("<div class='alert alert-danger'>Error generating monthly trend chart: " + e.getMessage() + "</div>");
         }
     }
+
+    // Versions come from different loads, so the station keeps cache entries apart
+    private static String stationParams(StationRainfall rainfall, String params) {
+        String station = "station=" + rainfall.getStation().getId() + "/" + rainfall.getSource().name();
+        return params.isEmpty() ? station : station + "&" + params;
+    }
+
+    private static ResponseEntity<String> badStation(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body("<div class='alert alert-danger'>" + HtmlUtils.htmlEscape(e.getMessage()) + "</div>");
+    }
 }
@@ -6,6 +6,13 @@ import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+
 @RestController
 @RequestMapping("/api/rainfallstatsv2")
 public class RainfallStatsControllerV2 {
@@ -25,26 +32,33 @@ public class RainfallStatsControllerV2 {
     }
 
     @GetMapping("/charts/all")
-    public ResponseEntity<String> getAllCharts() {
-        try {
-            StringBuilder html = new StringBuilder();
-            html.append("<script src='https://cdn.jsdelivr.net/npm/chart.js'></script>");
-            html.append("<div class='container-fluid'>");
-            
-            // Statistics summary
-            html.append(rainfallAnalyticsService.generateRainfallStatisticsHtml());
-            
-            // All charts
-            // html.append(rainfallAnalyticsService.generateAnnualRainfallChartHtml());
-            html.append(rainfallAnalyticsService.generateYearlyRainfallLineChartHtml());
-            html.append(rainfallAnalyticsService.generateMonthlyAverageChartHtml());
-            html.append(rainfallAnalyticsService.generateDecadeComparisonChartHtml());
-            html.append(rainfallAnalyticsService.generateDecadeComparisonChartHtmlWithOffset(0));
-            
-            html.append("</div>");
-            return ResponseEntity.ok(html.toString());
-        } catch (Exception e) {
-            return ResponseEntity.ok("<div class='alert alert-danger'>Error generating charts: " + e.getMessage() + "</div>");
+    public ResponseEntity<String> getAllCharts(HttpServletResponse response) throws IOException {
+        // Statistics summary and all charts, each rendered only when it is written, so at most
+        // one section is held in memory. The page has started by then, so a section that fails
+        // is replaced by an inline error alert rather than an error response.
+        List<Supplier<String>> sections = Arrays.asList(
+            rainfallAnalyticsService::generateRainfallStatisticsHtml,
+            // rainfallAnalyticsService::generateAnnualRainfallChartHtml,
+            rainfallAnalyticsService::generateYearlyRainfallLineChartHtml,
+            rainfallAnalyticsService::generateMonthlyAverageChartHtml,
+            rainfallAnalyticsService::generateDecadeComparisonChartHtml,
+            () -> rainfallAnalyticsService.generateDecadeComparisonChartHtmlWithOffset(0)
+        );
+        
+        response.setContentType("text/html;charset=UTF-8");
+        Writer out = response.getWriter();
+        out.write("<script src='https://cdn.jsdelivr.net/npm/chart.js'></script>");
+        out.write("<div class='container-fluid'>");
+        for (Supplier<String> section : sections) {
+            String html;
+            try {
+                html = section.get();
+            } catch (Exception e) {
+                html = "<div class='alert alert-danger'>Error generating charts: " + e.getMessage() + "</div>";
+            }
+            out.write(html);
         }
+        out.write("</div>");
+        return null;
     }
 }
@@ -0,0 +1,256 @@
+package com.example.clime.module.climatev2.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Precomputed aggregates over the yearly rainfall records.
+ *
+ * Built once whenever the rainfall data is (re)loaded: a year x month matrix plus the
+ * yearly, monthly, decade, offset-decade and seasonal figures the analytics charts and
+ * the statistics summary need, so none of them has to scan or copy the records per
+ * request. Averages and trends are computed with the same stream operations the charts
+ * used before, so rendered values are unchanged.
+ */
+public final class RainfallCube {
+
+    /** Season buckets for Chennai: winter, summer, south-west and north-east monsoon. */
+    public static final String[] SEASON_NAMES = {"Winter", "Summer", "SW Monsoon", "NE Monsoon"};
+    private static final int[][] SEASON_MONTHS = {{1, 2}, {3, 4, 5}, {6, 7, 8, 9}, {10, 11, 12}};
+
+    private final List<RainfallRecord> records;
+    private final int[] years;
+    private final double[] totals;
+    private final double[][] monthly;
+    private final double[][] seasonal;
+
+    private final int minYear;
+    private final int maxYear;
+    private final double minTotal;
+    private final double maxTotal;
+    private final double meanTotal;
+    private final double stdDevTotal;
+    private final int driestIndex;
+    private final int wettestIndex;
+    private final double[] totalTrend;
+    private final long extremeHighYears;
+    private final long extremeLowYears;
+
+    private final double[] monthMean = new double[12];
+    private final double[] monthMin = new double[12];
+    private final double[] monthMax = new double[12];
+    private final double[][] monthTrend = new double[12][];
+    private final double[] seasonMean = new double[SEASON_MONTHS.length];
+
+    private final Grouping decades;
+    private final Grouping[] offsetDecades = new Grouping[10];
+
+    private RainfallCube(List<RainfallRecord> source) {
+        this.records = Collections.unmodifiableList(new ArrayList<>(source));
+        int n = records.size();
+        years = new int[n];
+        totals = new double[n];
+        monthly = new double[n][12];
+        seasonal = new double[n][SEASON_MONTHS.length];
+        for (int i = 0; i < n; i++) {
+            RainfallRecord record = records.get(i);
+            years[i] = record.getYear();
+            totals[i] = record.getTotal();
+            for (int month = 1; month <= 12; month++) {
+                monthly[i][month - 1] = record.getRainfallForMonth(month);
+            }
+            for (int season = 0; season < SEASON_MONTHS.length; season++) {
+                double sum = 0.0;
+                for (int month : SEASON_MONTHS[season]) {
+                    sum += monthly[i][month - 1];
+                }
+                seasonal[i][season] = sum;
+            }
+        }
+
+        minYear = Arrays.stream(years).min().orElse(1901);
+        maxYear = Arrays.stream(years).max().orElse(2021);
+        minTotal = Arrays.stream(totals).min().orElse(0.0);
+        maxTotal = Arrays.stream(totals).max().orElse(0.0);
+        meanTotal = Arrays.stream(totals).average().orElse(0.0);
+        double variance = Arrays.stream(totals).map(x -> Math.pow(x - meanTotal, 2)).average().orElse(0.0);
+        stdDevTotal = Math.sqrt(variance);
+        extremeHighYears = Arrays.stream(totals).filter(x -> x > meanTotal + 1.5 * stdDevTotal).count();
+        extremeLowYears = Arrays.stream(totals).filter(x -> x < meanTotal - 1.5 * stdDevTotal).count();
+
+        int wettest = -1;
+        int driest = -1;
+        for (int i = 0; i < n; i++) {
+            if (wettest < 0 || totals[i] > totals[wettest]) wettest = i;
+            if (driest < 0 || totals[i] < totals[driest]) driest = i;
+        }
+        wettestIndex = wettest;
+        driestIndex = driest;
+        totalTrend = trendLine(years, totals);
+
+        for (int month = 0; month < 12; month++) {
+            double[] values = column(monthly, month);
+            monthMean[month] = Arrays.stream(values).average().orElse(0.0);
+            monthMin[month] = Arrays.stream(values).min().orElse(0.0);
+            monthMax[month] = Arrays.stream(values).max().orElse(0.0);
+            monthTrend[month] = trendLine(years, values);
+        }
+        for (int season = 0; season < SEASON_MONTHS.length; season++) {
+            seasonMean[season] = Arrays.stream(column(seasonal, season)).average().orElse(0.0);
+        }
+
+        Map<String, List<Double>> decadeData = new TreeMap<>();
+        for (int i = 0; i < n; i++) {
+            int decade = (years[i] / 10) * 10;
+            decadeData.computeIfAbsent(decade + "s", k -> new ArrayList<>()).add(totals[i]);
+        }
+        decades = new Grouping(decadeData);
+        for (int offset = 0; offset < 10; offset++) {
+            offsetDecades[offset] = groupByOffsetDecade(offset);
+        }
+    }
+
+    public static RainfallCube build(List<RainfallRecord> records) {
+        return new RainfallCube(records);
+    }
+
+    /**
+     * Ten-year intervals starting at years ending in {@code offset}, e.g. offset 5 gives
+     * 1905-1914, 1915-1924, ...; the last interval is cut at the final year.
+     */
+    private Grouping groupByOffsetDecade(int offset) {
+        int start = minYear - ((minYear - offset) % 10);
+        if (start < minYear) start += 10;
+        Map<String, List<Double>> intervalData = new LinkedHashMap<>();
+        for (int s = start; s <= maxYear; s += 10) {
+            int e = Math.min(s + 9, maxYear);
+            List<Double> values = new ArrayList<>();
+            for (int i = 0; i < years.length; i++) {
+                if (years[i] >= s && years[i] <= e) values.add(totals[i]);
+            }
+            if (!values.isEmpty()) intervalData.put(s + "-" + e, values);
+        }
+        return new Grouping(intervalData);
+    }
+
+    private static double[] column(double[][] matrix, int index) {
+        double[] values = new double[matrix.length];
+        for (int i = 0; i < matrix.length; i++) {
+            values[i] = matrix[i][index];
+        }
+        return values;
+    }
+
+    /**
+     * Simple linear regression; returns [slope, intercept] or null with fewer than two points.
+     */
+    private static double[] trendLine(int[] xs, double[] ys) {
+        int n = xs.length;
+        if (n < 2) return null;
+        double sumX = Arrays.stream(xs).asDoubleStream().sum();
+        double sumY = Arrays.stream(ys).sum();
+        double sumXY = 0.0;
+        double sumXX = 0.0;
+        for (int i = 0; i < n; i++) {
+            double x = xs[i];
+            sumXY += x * ys[i];
+            sumXX += x * x;
+        }
+        double slope = (n * sumXY - sumX * sumY) / (n * sumXX - sumX * sumX);
+        double intercept = (sumY - slope * sumX) / n;
+        return new double[]{slope, intercept};
+    }
+
+    public List<RainfallRecord> getRecords() { return records; }
+    public int size() { return years.length; }
+    public boolean isEmpty() { return years.length == 0; }
+
+    public int getYear(int index) { return years[index]; }
+    public double getTotal(int index) { return totals[index]; }
+    public double getRainfall(int index, int month) { return monthly[index][month - 1]; }
+    public double getSeasonTotal(int index, int season) { return seasonal[index][season]; }
+
+    public int getMinYear() { return minYear; }
+    public int getMaxYear() { return maxYear; }
+    public double getMinTotal() { return minTotal; }
+    public double getMaxTotal() { return maxTotal; }
+    public double getMeanTotal() { return meanTotal; }
+    public double getStdDevTotal() { return stdDevTotal; }
+    public long getExtremeHighYears() { return extremeHighYears; }
+    public long getExtremeLowYears() { return extremeLowYears; }
+
+    /** Wettest and driest year records, or null when there is no data. */
+    public RainfallRecord getWettest() { return wettestIndex < 0 ? null : records.get(wettestIndex); }
+    public RainfallRecord getDriest() { return driestIndex < 0 ? null : records.get(driestIndex); }
+
+    /** [slope, intercept] of yearly totals against year, or null with fewer than two years. */
+    public double[] getTotalTrend() { return totalTrend == null ? null : totalTrend.clone(); }
+
+    public double getMonthMean(int month) { return monthMean[month - 1]; }
+    public double getMonthMin(int month) { return monthMin[month - 1]; }
+    public double getMonthMax(int month) { return monthMax[month - 1]; }
+    public double[] getMonthTrend(int month) {
+        double[] trend = monthTrend[month - 1];
+        return trend == null ? null : trend.clone();
+    }
+
+    public double getSeasonMean(int season) { return seasonMean[season]; }
+
+    /** Calendar decades labelled "1900s", "1910s", ... in order. */
+    public Grouping getDecades() { return decades; }
+
+    /** Ten-year intervals for an offset between 0 and 9. */
+    public Grouping getOffsetDecades(int offset) { return offsetDecades[offset]; }
+
+    /**
+     * Ordered interval labels with the average yearly total of each interval.
+     */
+    public static final class Grouping {
+        private final String[] labels;
+        private final double[] averages;
+        private final double maxAverage;
+        private final double minAverage;
+
+        private Grouping(Map<String, List<Double>> data) {
+            labels = new String[data.size()];
+            averages = new double[data.size()];
+            int i = 0;
+            for (Map.Entry<String, List<Double>> entry : data.entrySet()) {
+                labels[i] = entry.getKey();
+                averages[i] = entry.getValue().stream().mapToDouble(Double::doubleValue).average().orElse(0.0);
+                i++;
+            }
+            maxAverage = Arrays.stream(averages).max().orElse(0.0);
+            minAverage = Arrays.stream(averages).min().orElse(0.0);
+        }
+
+        public int size() { return labels.length; }
+        public boolean isEmpty() { return labels.length == 0; }
+        public String getLabel(int index) { return labels[index]; }
+        public double getAverage(int index) { return averages[index]; }
+        public double getMaxAverage() { return maxAverage; }
+        public double getMinAverage() { return minAverage; }
+
+        /** Label of the interval with the highest average, first one on ties. */
+        public String getWettestLabel() {
+            int best = -1;
+            for (int i = 0; i < averages.length; i++) {
+                if (best < 0 || averages[i] > averages[best]) best = i;
+            }
+            return best < 0 ? "Unknown" : labels[best];
+        }
+
+        public String getDriestLabel() {
+            int best = -1;
+            for (int i = 0; i < averages.length; i++) {
+                if (best < 0 || averages[i] < averages[best]) best = i;
+            }
+            return best < 0 ? "Unknown" : labels[best];
+        }
+    }
+}
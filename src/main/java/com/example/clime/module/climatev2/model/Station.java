@@ -0,0 +1,48 @@
+package com.example.clime.module.climatev2.model;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A rain gauge station and the monthly rainfall file behind each of its data sources.
+ *
+ * Chennai is built in and served by the services that load it at startup; every other
+ * station comes from the station index and is only read when first queried.
+ */
+public final class Station {
+
+    private final String id;
+    private final String name;
+    private final Map<DataSource, String> files;
+    private final boolean builtIn;
+
+    public Station(String id, String name, Map<DataSource, String> files, boolean builtIn) {
+        this.id = id;
+        this.name = name;
+        this.files = Collections.unmodifiableMap(new EnumMap<>(files));
+        this.builtIn = builtIn;
+    }
+
+    public String getId() { return id; }
+    public String getName() { return name; }
+    public boolean isBuiltIn() { return builtIn; }
+
+    public Set<DataSource> getSources() { return files.keySet(); }
+
+    public boolean hasSource(DataSource source) { return files.containsKey(source); }
+
+    /** File holding this station's data for {@code source}, or null when it has none. */
+    public String getFile(DataSource source) { return files.get(source); }
+
+    /** CSV when the station has it, otherwise its first source. */
+    public DataSource getPrimarySource() {
+        return files.containsKey(DataSource.CSV) ? DataSource.CSV : files.keySet().iterator().next();
+    }
+
+    @Override
+    public String toString() {
+        return id;
+    }
+}
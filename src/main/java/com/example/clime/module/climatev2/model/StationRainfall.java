@@ -0,0 +1,45 @@
+package com.example.clime.module.climatev2.model;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * One station's records for one data source, with their aggregate cube.
+ *
+ * The version identifies this load of the data (a reload or a reload after eviction gets
+ * a new one), so it can key cached charts.
+ */
+public final class StationRainfall {
+
+    private final Station station;
+    private final DataSource source;
+    private final RainfallCube cube;
+    private final long version;
+
+    public StationRainfall(Station station, DataSource source, RainfallCube cube, long version) {
+        this.station = station;
+        this.source = source;
+        this.cube = cube;
+        this.version = version;
+    }
+
+    public Station getStation() { return station; }
+    public DataSource getSource() { return source; }
+    public RainfallCube getCube() { return cube; }
+    public long getVersion() { return version; }
+
+    public List<RainfallRecord> getAllData() {
+        return new ArrayList<>(cube.getRecords());
+    }
+
+    public List<RainfallRecord> getDataByYear(int year) {
+        return getDataByYearRange(year, year);
+    }
+
+    public List<RainfallRecord> getDataByYearRange(int startYear, int endYear) {
+        return cube.getRecords().stream()
+                .filter(record -> record.getYear() >= startYear && record.getYear() <= endYear)
+                .collect(Collectors.toList());
+    }
+}
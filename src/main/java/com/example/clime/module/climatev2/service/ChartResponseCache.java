@@ -0,0 +1,155 @@
+package com.example.clime.module.climatev2.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.context.request.WebRequest;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cache of rendered chart responses (HTML/SVG strings and PNG bytes).
+ *
+ * Entries are keyed by endpoint, normalised request parameters and the version of the
+ * dataset the chart was drawn from, so a data reload makes old entries unreachable and
+ * they age out of the LRU. The cache is bounded both by entry count and by total body
+ * size. Every response carries a strong ETag derived from the body; a request whose
+ * If-None-Match matches gets a 304 without the body being rendered or sent.
+ */
+@Service("chartResponseCache")
+public class ChartResponseCache {
+
+    @Value("${chart.cache.max-entries:256}")
+    private int maxEntries = 256;
+
+    @Value("${chart.cache.max-bytes:33554432}")
+    private long maxBytes = 32L * 1024 * 1024;
+
+    private final LinkedHashMap<String, CachedChart> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private long totalBytes;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public ChartResponseCache() {
+    }
+
+    ChartResponseCache(int maxEntries, long maxBytes) {
+        this.maxEntries = maxEntries;
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Returns the cached chart for the key, rendering and storing it on a miss.
+     * Renderer failures propagate and are not cached.
+     */
+    public <T> CachedChart get(String endpoint, String params, long version, Callable<T> renderer) throws Exception {
+        String key = endpoint + '?' + params + '#' + version;
+        synchronized (this) {
+            CachedChart cached = entries.get(key);
+            if (cached != null) {
+                hits.incrementAndGet();
+                return cached;
+            }
+        }
+        misses.incrementAndGet();
+
+        // Render outside the lock; two concurrent misses may both render the same chart
+        CachedChart rendered = CachedChart.of(renderer.call());
+        synchronized (this) {
+            CachedChart previous = entries.put(key, rendered);
+            if (previous != null) {
+                totalBytes -= previous.getSize();
+            }
+            totalBytes += rendered.getSize();
+            evict();
+        }
+        return rendered;
+    }
+
+    /**
+     * Serves a chart through the cache with ETag / If-None-Match handling.
+     *
+     * @param contentType content type to set, or null to keep the default negotiation
+     */
+    @SuppressWarnings("unchecked")
+    public <T> ResponseEntity<T> respond(String endpoint, String params, long version, MediaType contentType,
+                                         WebRequest request, Callable<T> renderer) throws Exception {
+        CachedChart chart = get(endpoint, params, version, renderer);
+        if (request != null && request.checkNotModified(chart.getEtag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(chart.getEtag())
+                    .cacheControl(CacheControl.noCache())
+                    .build();
+        }
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .eTag(chart.getEtag())
+                .cacheControl(CacheControl.noCache());
+        if (contentType != null) {
+            builder.contentType(contentType).contentLength(chart.getSize());
+        }
+        return builder.body((T) chart.getBody());
+    }
+
+    private void evict() {
+        Iterator<Map.Entry<String, CachedChart>> eldest = entries.entrySet().iterator();
+        while ((entries.size() > maxEntries || totalBytes > maxBytes) && eldest.hasNext()) {
+            totalBytes -= eldest.next().getValue().getSize();
+            eldest.remove();
+        }
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+        totalBytes = 0;
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        synchronized (this) {
+            stats.put("entries", entries.size());
+            stats.put("bytes", totalBytes);
+        }
+        stats.put("maxEntries", maxEntries);
+        stats.put("maxBytes", maxBytes);
+        stats.put("hits", hits.get());
+        stats.put("misses", misses.get());
+        return stats;
+    }
+
+    /**
+     * One rendered chart body with its strong ETag.
+     */
+    public static final class CachedChart {
+        private final Object body;
+        private final String etag;
+        private final int size;
+
+        private CachedChart(Object body, byte[] bytes) {
+            this.body = body;
+            this.etag = "\"" + DigestUtils.md5DigestAsHex(bytes) + "\"";
+            this.size = bytes.length;
+        }
+
+        static CachedChart of(Object body) {
+            if (body instanceof byte[]) {
+                return new CachedChart(body, (byte[]) body);
+            }
+            String text = String.valueOf(body);
+            return new CachedChart(text, text.getBytes(StandardCharsets.UTF_8));
+        }
+
+        public Object getBody() { return body; }
+        public String getEtag() { return etag; }
+        public int getSize() { return size; }
+    }
+}
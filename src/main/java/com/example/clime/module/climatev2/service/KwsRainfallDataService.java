@@ -1,19 +1,29 @@
 package com.example.clime.module.climatev2.service;
 
 import com.example.clime.module.climatev2.model.RainfallRecord;
-import com.opencsv.CSVReader;
+import com.example.clime.module.dataset.csv.MappedCsvReader;
+import com.example.clime.module.dataset.snapshot.DatasetSnapshots;
+import com.example.clime.module.dataset.snapshot.SourceStamp;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.io.ClassPathResource;
 import org.springframework.stereotype.Service;
 
 import javax.annotation.PostConstruct;
 import java.io.IOException;
-import java.io.InputStreamReader;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
 import java.util.*;
 
 @Service("kwsRainfallDataService")
 public class KwsRainfallDataService {
     
     private static final String KWS_CSV_FILE = "kws-chennai-rainfall-2000-2025.csv";
+    private static final String KWS_SNAPSHOT = "kws-chennai-rainfall";
+    
+    @Autowired
+    private DatasetSnapshots datasetSnapshots;
+    
     private List<RainfallRecord> kwsRainfallData;
     private boolean dataLoaded = false;
     private String lastError = null;
@@ -51,46 +61,36 @@ public class KwsRainfallDataService {
     }
     
     public String generateRainfallTableHtml(List<RainfallRecord> records) {
-        StringBuilder html = new StringBuilder();
-        html.append("<div class='table-responsive'>");
-        html.append("<div class='alert alert-info'>");
-        html.append("<strong>Data Source:</strong> KWS Chennai Local CSV Data (kws-chennai-rainfall-2000-2025.csv)");
-        html.append("<br><small>Note: Data extracted from KWS Chennai website and stored locally for reliable access</small>");
-        html.append("</div>");
-        html.append("<table class='table table-striped table-sm'>");
-        html.append("<thead class='table-dark'>");
-        html.append("<tr>");
-        html.append("<th>Year</th><th>Jan</th><th>Feb</th><th>Mar</th><th>Apr</th>");
-        html.append("<th>May</th><th>Jun</th><th>Jul</th><th>Aug</th><th>Sep</th>");
-        html.append("<th>Oct</th><th>Nov</th><th>Dec</th><th>Total</th>");
-        html.append("</tr>");
-        html.append("</thead>");
-        html.append("<tbody>");
-        
-        for (RainfallRecord record : records) {
-            html.append("<tr>");
-            html.append("<td><strong>").append(record.getYear()).append("</strong></td>");
-            html.append("<td>").append(String.format("%.1f", record.getJan())).append("</td>");
-            html.append("<td>").append(String.format("%.1f", record.getFeb())).append("</td>");
-            html.append("<td>").append(String.format("%.1f", record.getMar())).append("</td>");
-            html.append("<td>").append(String.format("%.1f", record.getApril())).append("</td>");
-            html.append("<td>").append(String.format("%.1f", record.getMay())).append("</td>");
-            html.append("<td>").append(String.format("%.1f", record.getJune())).append("</td>");
-            html.append("<td>").append(String.format("%.1f", record.getJuly())).append("</td>");
-            html.append("<td>").append(String.format("%.1f", record.getAug())).append("</td>");
-            html.append("<td>").append(String.format("%.1f", record.getSept())).append("</td>");
-            html.append("<td>").append(String.format("%.1f", record.getOct())).append("</td>");
-            html.append("<td>").append(String.format("%.1f", record.getNov())).append("</td>");
-            html.append("<td>").append(String.format("%.1f", record.getDec())).append("</td>");
-            html.append("<td><strong>").append(String.format("%.1f", record.getTotal())).append("</strong></td>");
-            html.append("</tr>");
+        StringWriter html = new StringWriter();
+        try {
+            writeRainfallTableHtml(records, html);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
         }
+        return html.toString();
+    }
+    
+    public void writeRainfallTableHtml(List<RainfallRecord> records, Writer html) throws IOException {
+        html.write("<div class='table-responsive'>");
+        html.write("<div class='alert alert-info'>");
+        html.write("<strong>Data Source:</strong> KWS Chennai Local CSV Data (kws-chennai-rainfall-2000-2025.csv)");
+        html.write("<br><small>Note: Data extracted from KWS Chennai website and stored locally for reliable access</small>");
+        html.write("</div>");
+        html.write("<table class='table table-striped table-sm'>");
+        html.write("<thead class='table-dark'>");
+        html.write("<tr>");
+        html.write("<th>Year</th><th>Jan</th><th>Feb</th><th>Mar</th><th>Apr</th>");
+        html.write("<th>May</th><th>Jun</th><th>Jul</th><th>Aug</th><th>Sep</th>");
+        html.write("<th>Oct</th><th>Nov</th><th>Dec</th><th>Total</th>");
+        html.write("</tr>");
+        html.write("</thead>");
+        html.write("<tbody>");
         
-        html.append("</tbody>");
-        html.append("</table>");
-        html.append("</div>");
+        RainfallDataService.writeRainfallRows(records, html);
         
-        return html.toString();
+        html.write("</tbody>");
+        html.write("</table>");
+        html.write("</div>");
     }
     
     public String getLastError() {
@@ -106,27 +106,35 @@ public class KwsRainfallDataService {
         lastError = null;
         
         try {
-            System.out.println("Loading KWS rainfall data from local CSV: " + KWS_CSV_FILE);
-            
             ClassPathResource resource = new ClassPathResource(KWS_CSV_FILE);
             if (!resource.exists()) {
                 throw new IOException("KWS CSV file not found: " + KWS_CSV_FILE);
             }
             
-            try (CSVReader csvReader = new CSVReader(new InputStreamReader(resource.getInputStream()))) {
-                String[] headers = csvReader.readNext(); // Skip header line
-                
-                if (headers == null || headers.length < 13) {
-                    throw new Exception("Invalid CSV format: expected at least 13 columns (Year + 12 months)");
-                }
-                
-                String[] line;
-                while ((line = csvReader.readNext()) != null) {
-                    if (line.length >= 13) {
-                        RainfallRecord record = parseCsvRow(line);
-                        if (record != null) {
-                            kwsRainfallData.add(record);
-                        }
+            // Same columns as the monthly rainfall snapshot; the records were sorted before saving
+            SourceStamp stamp = datasetSnapshots != null ? SourceStamp.of(resource) : null;
+            List<RainfallRecord> snapshot = stamp != null
+                    ? datasetSnapshots.load(KWS_SNAPSHOT, RainfallDataService.SNAPSHOT_SCHEMA, stamp, RainfallDataService::readSnapshot)
+                    : null;
+            if (snapshot != null && !snapshot.isEmpty()) {
+                kwsRainfallData = snapshot;
+                dataLoaded = true;
+                System.out.println("Loaded " + kwsRainfallData.size() + " KWS rainfall records from snapshot");
+                return;
+            }
+            
+            System.out.println("Loading KWS rainfall data from local CSV: " + KWS_CSV_FILE);
+            
+            MappedCsvReader reader = MappedCsvReader.open(resource);
+            if (!reader.nextRow() || reader.fieldCount() < 13) { // Header line
+                throw new Exception("Invalid CSV format: expected at least 13 columns (Year + 12 months)");
+            }
+            
+            while (reader.nextRow()) {
+                if (reader.fieldCount() >= 13) {
+                    RainfallRecord record = parseCsvRow(reader);
+                    if (record != null) {
+                        kwsRainfallData.add(record);
                     }
                 }
             }
@@ -138,6 +146,12 @@ public class KwsRainfallDataService {
             // Sort by year for consistent ordering
             kwsRainfallData.sort(Comparator.comparing(RainfallRecord::getYear));
             
+            if (stamp != null) {
+                List<RainfallRecord> parsed = kwsRainfallData;
+                datasetSnapshots.save(KWS_SNAPSHOT, RainfallDataService.SNAPSHOT_SCHEMA, stamp,
+                        out -> RainfallDataService.writeSnapshot(parsed, out));
+            }
+            
             dataLoaded = true;
             System.out.println("Successfully loaded " + kwsRainfallData.size() + " KWS rainfall records from CSV");
             
@@ -152,37 +166,37 @@ public class KwsRainfallDataService {
         }
     }
     
-    private RainfallRecord parseCsvRow(String[] row) {
+    static RainfallRecord parseCsvRow(MappedCsvReader row) {
         try {
-            int year = Integer.parseInt(row[0].trim());
+            int year = row.getInt(0);
             
             // Parse monthly rainfall values (columns 1-12)
-            double jan = Double.parseDouble(row[1].trim());
-            double feb = Double.parseDouble(row[2].trim());
-            double mar = Double.parseDouble(row[3].trim());
-            double apr = Double.parseDouble(row[4].trim());
-            double may = Double.parseDouble(row[5].trim());
-            double jun = Double.parseDouble(row[6].trim());
-            double jul = Double.parseDouble(row[7].trim());
-            double aug = Double.parseDouble(row[8].trim());
-            double sep = Double.parseDouble(row[9].trim());
-            double oct = Double.parseDouble(row[10].trim());
-            double nov = Double.parseDouble(row[11].trim());
-            double dec = Double.parseDouble(row[12].trim());
+            double jan = row.getDouble(1);
+            double feb = row.getDouble(2);
+            double mar = row.getDouble(3);
+            double apr = row.getDouble(4);
+            double may = row.getDouble(5);
+            double jun = row.getDouble(6);
+            double jul = row.getDouble(7);
+            double aug = row.getDouble(8);
+            double sep = row.getDouble(9);
+            double oct = row.getDouble(10);
+            double nov = row.getDouble(11);
+            double dec = row.getDouble(12);
             
             // Parse total if available (column 13), otherwise calculate
             double total;
-            if (row.length > 13 && !row[13].trim().isEmpty()) {
-                total = Double.parseDouble(row[13].trim());
+            if (row.fieldCount() > 13 && !row.field(13).isBlank()) {
+                total = row.getDouble(13);
             } else {
                 total = jan + feb + mar + apr + may + jun + jul + aug + sep + oct + nov + dec;
             }
             
             return new RainfallRecord(year, jan, feb, mar, apr, may, jun, jul, aug, sep, oct, nov, dec, total);
             
-        } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
-            System.err.println("Error parsing CSV row: " + Arrays.toString(row) + " - " + e.getMessage());
+        } catch (NumberFormatException e) {
+            System.err.println("Error parsing CSV row for year " + row.getString(0) + " - " + e.getMessage());
             return null;
         }
     }
-}
\ No newline at end of file
+}
@@ -1,12 +1,14 @@
 package com.example.clime.module.climatev2.service;
 
+import com.example.clime.module.climatev2.chart.FixedDecimal;
+import com.example.clime.module.climatev2.chart.SvgWriter;
+import com.example.clime.module.climatev2.model.RainfallCube;
 import com.example.clime.module.climatev2.model.RainfallRecord;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 
 import java.util.*;
-import java.util.stream.Collectors;
 
 @Service("rainfallAnalyticsServiceV2")
 public class RainfallAnalyticsService {
@@ -19,13 +21,16 @@ public class RainfallAnalyticsService {
      * @return HTML string with SVG chart
      */
     public String generateYearlyRainfallLineChartHtml() {
-        List<RainfallRecord> allData = rainfallDataService.getAllData();
-        if (allData.isEmpty()) return "<div>No data available.</div>";
+        return generateYearlyRainfallLineChartHtml(rainfallDataService.getCube());
+    }
+
+    public String generateYearlyRainfallLineChartHtml(RainfallCube cube) {
+        if (cube.isEmpty()) return "<div>No data available.</div>";
 
-        int minYear = allData.stream().mapToInt(RainfallRecord::getYear).min().orElse(1901);
-        int maxYear = allData.stream().mapToInt(RainfallRecord::getYear).max().orElse(2021);
-        double maxRain = allData.stream().mapToDouble(RainfallRecord::getTotal).max().orElse(2000.0);
-        double minRain = allData.stream().mapToDouble(RainfallRecord::getTotal).min().orElse(0.0);
+        int minYear = cube.getMinYear();
+        int maxYear = cube.getMaxYear();
+        double maxRain = cube.getMaxTotal();
+        double minRain = cube.getMinTotal();
 
         int chartWidth = 700;
         int chartHeight = 280;
@@ -33,62 +38,59 @@ public class RainfallAnalyticsService {
         int rightPad = 30;
         int topPad = 30;
         int bottomPad = 50;
-        int n = allData.size();
+        int n = cube.size();
         double xStep = (double)(chartWidth - leftPad - rightPad) / (n - 1);
 
         StringBuilder html = new StringBuilder();
         html.append("<div style='padding: 20px; background: #f8f9fa; border-radius: 8px; margin: 20px 0;'>");
-        html.append("<h4>📈 Yearly Rainfall (" + minYear + "–" + maxYear + ")</h4>");
+        html.append("<h4>📈 Yearly Rainfall (").append(minYear).append("–").append(maxYear).append(")</h4>");
         html.append("<div style='position: relative; width: 100%; height: 400px; background: white; border: 1px solid #ddd; padding: 20px; box-sizing: border-box;'>");
-        html.append("<svg width='100%' height='350' viewBox='0 0 " + chartWidth + " " + (chartHeight + topPad + bottomPad) + "' style='overflow: visible;'>");
+        html.append("<svg width='100%' height='350' viewBox='0 0 ").append(chartWidth).append(' ')
+            .append(chartHeight + topPad + bottomPad).append("' style='overflow: visible;'>");
+        SvgWriter svg = new SvgWriter(html);
 
         // Draw grid lines and y-axis labels
         int gridLines = 5;
         for (int i = 0; i <= gridLines; i++) {
             double yVal = minRain + (maxRain - minRain) * (gridLines - i) / gridLines;
             int y = (int)(topPad + ((maxRain - yVal) / (maxRain - minRain)) * chartHeight);
-            html.append(String.format("<line x1='%d' y1='%d' x2='%d' y2='%d' stroke='#ecf0f1' stroke-width='1'/>",
-                leftPad, y, chartWidth - rightPad, y));
-            html.append(String.format("<text x='%d' y='%d' text-anchor='end' font-size='10' fill='#7f8c8d'>%.0f</text>",
-                leftPad - 5, y + 4, yVal));
+            svg.gridLine(leftPad, chartWidth - rightPad, y);
+            svg.label(leftPad - 5, y + 4, "end", 10, SvgWriter.LABEL_COLOR).number(yVal, 0).end("text");
         }
 
         // Draw x-axis labels (every 10th year)
         int labelStep = 10;
         for (int i = 0; i < n; i++) {
-            int year = allData.get(i).getYear();
+            int year = cube.getYear(i);
             if ((year - minYear) % labelStep == 0 || i == n - 1) {
                 double x = leftPad + i * xStep;
-                html.append(String.format("<text x='%.1f' y='%d' text-anchor='middle' font-size='10' fill='#7f8c8d'>%d</text>",
-                    x, chartHeight + topPad + 20, year));
+                svg.label(x, chartHeight + topPad + 20, "middle", 10, SvgWriter.LABEL_COLOR).number(year).end("text");
             }
         }
 
         // Draw axes
-        html.append(String.format("<line x1='%d' y1='%d' x2='%d' y2='%d' stroke='#2c3e50' stroke-width='2'/>",
-            leftPad, topPad, leftPad, chartHeight + topPad));
-        html.append(String.format("<line x1='%d' y1='%d' x2='%d' y2='%d' stroke='#2c3e50' stroke-width='2'/>",
-            leftPad, chartHeight + topPad, chartWidth - rightPad, chartHeight + topPad));
+        svg.axis(leftPad, topPad, leftPad, chartHeight + topPad);
+        svg.axis(leftPad, chartHeight + topPad, chartWidth - rightPad, chartHeight + topPad);
 
         // Draw line path
-        html.append("<polyline fill='none' stroke='#3498db' stroke-width='2' points='");
+        svg.startPolyline("#3498db", 2);
         for (int i = 0; i < n; i++) {
             double x = leftPad + i * xStep;
-            double y = topPad + ((maxRain - allData.get(i).getTotal()) / (maxRain - minRain)) * chartHeight;
-            html.append(String.format("%.1f,%.1f ", x, y));
+            double y = topPad + ((maxRain - cube.getTotal(i)) / (maxRain - minRain)) * chartHeight;
+            svg.point(x, y);
         }
-        html.append("'/>");
+        svg.endPolyline();
 
         // Optionally, draw dots for each year (for clarity, only every 5th year)
         for (int i = 0; i < n; i += 5) {
             double x = leftPad + i * xStep;
-            double y = topPad + ((maxRain - allData.get(i).getTotal()) / (maxRain - minRain)) * chartHeight;
-            html.append(String.format("<circle cx='%.1f' cy='%.1f' r='2.5' fill='#e74c3c' stroke='#fff' stroke-width='1'/>", x, y));
+            double y = topPad + ((maxRain - cube.getTotal(i)) / (maxRain - minRain)) * chartHeight;
+            svg.marker(x, y, "#e74c3c");
         }
 
         // Axis labels
-        html.append("<text x='20' y='" + (topPad + chartHeight/2) + "' text-anchor='middle' font-size='12' font-weight='bold' fill='#2c3e50' transform='rotate(-90, 20, " + (topPad + chartHeight/2) + ")'>Rainfall (mm)</text>");
-        html.append("<text x='" + (chartWidth/2) + "' y='" + (chartHeight + topPad + 40) + "' text-anchor='middle' font-size='12' font-weight='bold' fill='#2c3e50'>Year</text>");
+        svg.axisTitle(20, topPad + chartHeight/2, -90, "Rainfall (mm)");
+        svg.axisTitle(chartWidth/2, chartHeight + topPad + 40, 0, "Year");
 
         html.append("</svg>");
         html.append("</div>");
@@ -102,102 +104,77 @@ public class RainfallAnalyticsService {
      * @return HTML string with SVG chart
      */
     public String generateDecadeComparisonChartHtmlWithOffset(int offset) {
-        List<RainfallRecord> allData = rainfallDataService.getAllData();
-        if (offset < 0 || offset > 9) offset = 0;
-
-        // Find min and max year
-        int minYear = allData.stream().mapToInt(RainfallRecord::getYear).min().orElse(1901);
-        int maxYear = allData.stream().mapToInt(RainfallRecord::getYear).max().orElse(2021);
-
-        // Calculate intervals
-        List<int[]> intervals = new ArrayList<>();
-        int start = minYear - ((minYear - offset) % 10);
-        if (start < minYear) start += 10;
-        for (int s = start; s <= maxYear; s += 10) {
-            int e = s + 9;
-            intervals.add(new int[]{s, Math.min(e, maxYear)});
-        }
+        return generateDecadeComparisonChartHtmlWithOffset(rainfallDataService.getCube(), offset);
+    }
 
-        // Group data by intervals
-        Map<String, List<Double>> intervalData = new LinkedHashMap<>();
-        for (int[] interval : intervals) {
-            int s = interval[0], e = interval[1];
-            String label = s + "-" + e;
-            List<Double> values = allData.stream()
-                    .filter(r -> r.getYear() >= s && r.getYear() <= e)
-                    .map(RainfallRecord::getTotal)
-                    .collect(Collectors.toList());
-            if (!values.isEmpty()) intervalData.put(label, values);
-        }
+    public String generateDecadeComparisonChartHtmlWithOffset(RainfallCube cube, int offset) {
+        if (offset < 0 || offset > 9) offset = 0;
+        RainfallCube.Grouping intervals = cube.getOffsetDecades(offset);
 
         StringBuilder html = new StringBuilder();
         html.append("<div style='padding: 20px; background: #f8f9fa; border-radius: 8px; margin: 20px 0;'>");
         html.append("<h4>📊 Decade-wise Rainfall Comparison (Offset: ").append(offset).append(")</h4>");
         html.append("<div style='position: relative; width: 100%; height: 400px; background: white; border: 1px solid #ddd; padding: 20px; box-sizing: border-box;'>");
         html.append("<svg width='100%' height='350' style='overflow: visible;'>");
+        SvgWriter svg = new SvgWriter(html);
 
         int chartWidth = 600;
         int chartHeight = 280;
         int barWidth = 35;
         int spacing = 20;
 
-        double maxValue = intervalData.values().stream()
-                .mapToDouble(values -> values.stream().mapToDouble(Double::doubleValue).average().orElse(0.0))
-                .max().orElse(2000.0);
+        double maxValue = intervals.isEmpty() ? 2000.0 : intervals.getMaxAverage();
 
         // Draw grid lines
         for (int i = 0; i <= 5; i++) {
             int yValue = (int) (maxValue * i / 5);
             int yPos = (int) (chartHeight - (chartHeight * i / 5) + 20);
-            html.append(String.format("<line x1='50' y1='%d' x2='%d' y2='%d' stroke='#ecf0f1' stroke-width='1'/>",
-                    yPos, chartWidth - 50, yPos));
-            html.append(String.format("<text x='45' y='%d' text-anchor='end' font-size='10' fill='#7f8c8d'>%d</text>",
-                    yPos + 3, yValue));
+            svg.gridLine(50, chartWidth - 50, yPos);
+            svg.label(45, yPos + 3, "end", 10, SvgWriter.LABEL_COLOR).number(yValue).end("text");
         }
 
         int x = 80;
         int index = 0;
         String[] colors = {"#3498db", "#e74c3c", "#2ecc71", "#f39c12", "#9b59b6", "#1abc9c", "#34495e", "#e67e22", "#95a5a6", "#f1c40f", "#8e44ad", "#27ae60", "#2980b9"};
 
-        for (Map.Entry<String, List<Double>> entry : intervalData.entrySet()) {
-            String label = entry.getKey();
-            double average = entry.getValue().stream().mapToDouble(Double::doubleValue).average().orElse(0.0);
+        for (int i = 0; i < intervals.size(); i++) {
+            String label = intervals.getLabel(i);
+            double average = intervals.getAverage(i);
             int barHeight = (int) ((average / maxValue) * chartHeight);
             int barY = chartHeight - barHeight + 20;
             String color = colors[index % colors.length];
-            html.append(String.format("<rect x='%d' y='%d' width='%d' height='%d' fill='%s' stroke='#2c3e50' stroke-width='1' rx='2'/>",
-                    x, barY, barWidth, barHeight, color));
-            html.append(String.format("<text x='%d' y='%d' text-anchor='middle' font-size='11' font-weight='bold' fill='#2c3e50'>%.0f</text>",
-                    x + barWidth/2, barY - 5, average));
-            html.append(String.format("<text x='%d' y='%d' text-anchor='middle' font-size='10' fill='#7f8c8d' transform='rotate(-45, %d, %d)'>%s</text>",
-                    x + barWidth/2, chartHeight + 45, x + barWidth/2, chartHeight + 45, label));
+            svg.bar(x, barY, barWidth, barHeight, color);
+            svg.open("text").attr("x", x + barWidth/2).attr("y", barY - 5).attr("text-anchor", "middle")
+                    .attr("font-size", 11).attr("font-weight", "bold").attr("fill", SvgWriter.AXIS_COLOR)
+                    .body().number(average, 0).end("text");
+            svg.open("text").attr("x", x + barWidth/2).attr("y", chartHeight + 45).attr("text-anchor", "middle")
+                    .attr("font-size", 10).attr("fill", SvgWriter.LABEL_COLOR).rotate(-45, x + barWidth/2, chartHeight + 45)
+                    .body().text(label).end("text");
             x += barWidth + spacing;
             index++;
         }
 
-        html.append(String.format("<line x1='50' y1='20' x2='50' y2='%d' stroke='#2c3e50' stroke-width='2'/>", chartHeight + 20));
-        html.append(String.format("<line x1='50' y1='%d' x2='%d' y2='%d' stroke='#2c3e50' stroke-width='2'/>",
-                chartHeight + 20, chartWidth - 50, chartHeight + 20));
-        html.append("<text x='25' y='160' text-anchor='middle' font-size='12' font-weight='bold' fill='#2c3e50' transform='rotate(-90, 25, 160)'>Rainfall (mm)</text>");
-        html.append("<text x='325' y='380' text-anchor='middle' font-size='12' font-weight='bold' fill='#2c3e50'>Interval</text>");
+        svg.axis(50, 20, 50, chartHeight + 20);
+        svg.axis(50, chartHeight + 20, chartWidth - 50, chartHeight + 20);
+        svg.axisTitle(25, 160, -90, "Rainfall (mm)");
+        svg.axisTitle(325, 380, 0, "Interval");
         html.append("</svg>");
         html.append("</div>");
 
         html.append("<div style='margin-top: 15px; font-size: 14px; color: #7f8c8d;'>");
-        double maxAvg = intervalData.values().stream()
-                .mapToDouble(values -> values.stream().mapToDouble(Double::doubleValue).average().orElse(0.0))
-                .max().orElse(0.0);
-        double minAvg = intervalData.values().stream()
-                .mapToDouble(values -> values.stream().mapToDouble(Double::doubleValue).average().orElse(0.0))
-                .min().orElse(0.0);
-        html.append(String.format("<strong>Summary:</strong> Highest interval: %.0f mm | Lowest interval: %.0f mm | Range: %.0f mm",
-                maxAvg, minAvg, maxAvg - minAvg));
+        double maxAvg = intervals.getMaxAverage();
+        double minAvg = intervals.getMinAverage();
+        appendRangeSummary(html, "interval", maxAvg, minAvg);
         html.append("</div>");
         html.append("</div>");
         return html.toString();
     }
     
     public String generateMonthlyAverageChartHtml() {
+        return generateMonthlyAverageChartHtml(rainfallDataService.getCube());
+    }
+
+    public String generateMonthlyAverageChartHtml(RainfallCube cube) {
         StringBuilder html = new StringBuilder();
         html.append("<div class='chart-container' style='margin: 20px 0;'>");
         html.append("<h4>📊 Monthly Rainfall Averages (1901-2021)</h4>");
@@ -220,7 +197,7 @@ public class RainfallAnalyticsService {
         // Monthly averages
         for (int month = 1; month <= 12; month++) {
             if (month > 1) html.append(",");
-            html.append(String.format("%.1f", rainfallDataService.getAverageRainfallForMonth(month)));
+            FixedDecimal.append(html, cube.getMonthMean(month), 1);
         }
         html.append("],");
         html.append("backgroundColor: [");
@@ -255,15 +232,11 @@ public class RainfallAnalyticsService {
     }
     
     public String generateDecadeComparisonChartHtml() {
-        List<RainfallRecord> allData = rainfallDataService.getAllData();
-        
-        // Group by decades
-        Map<String, List<Double>> decadeData = new TreeMap<>();
-        for (RainfallRecord record : allData) {
-            int decade = (record.getYear() / 10) * 10;
-            String decadeLabel = decade + "s";
-            decadeData.computeIfAbsent(decadeLabel, k -> new ArrayList<>()).add(record.getTotal());
-        }
+        return generateDecadeComparisonChartHtml(rainfallDataService.getCube());
+    }
+
+    public String generateDecadeComparisonChartHtml(RainfallCube cube) {
+        RainfallCube.Grouping decades = cube.getDecades();
         
         StringBuilder html = new StringBuilder();
         
@@ -274,6 +247,7 @@ public class RainfallAnalyticsService {
         
         // SVG container
         html.append("<svg width='100%' height='350' style='overflow: visible;'>");
+        SvgWriter svg = new SvgWriter(html);
         
         // Calculate chart dimensions
         int chartWidth = 600;
@@ -282,18 +256,14 @@ public class RainfallAnalyticsService {
         int spacing = 20;
         
         // Calculate max value for scaling
-        double maxValue = decadeData.values().stream()
-                .mapToDouble(values -> values.stream().mapToDouble(Double::doubleValue).average().orElse(0.0))
-                .max().orElse(2000.0);
+        double maxValue = decades.isEmpty() ? 2000.0 : decades.getMaxAverage();
         
         // Draw grid lines
         for (int i = 0; i <= 5; i++) {
             int yValue = (int) (maxValue * i / 5);
             int yPos = (int) (chartHeight - (chartHeight * i / 5) + 20);
-            html.append(String.format("<line x1='50' y1='%d' x2='%d' y2='%d' stroke='#ecf0f1' stroke-width='1'/>", 
-                    yPos, chartWidth - 50, yPos));
-            html.append(String.format("<text x='45' y='%d' text-anchor='end' font-size='10' fill='#7f8c8d'>%d</text>", 
-                    yPos + 3, yValue));
+            svg.gridLine(50, chartWidth - 50, yPos);
+            svg.label(45, yPos + 3, "end", 10, SvgWriter.LABEL_COLOR).number(yValue).end("text");
         }
         
         // Draw bars
@@ -301,52 +271,47 @@ public class RainfallAnalyticsService {
         int index = 0;
         String[] colors = {"#3498db", "#e74c3c", "#2ecc71", "#f39c12", "#9b59b6", "#1abc9c", "#34495e", "#e67e22", "#95a5a6", "#f1c40f", "#8e44ad", "#27ae60", "#2980b9"};
         
-        for (Map.Entry<String, List<Double>> entry : decadeData.entrySet()) {
-            String decade = entry.getKey();
-            double average = entry.getValue().stream().mapToDouble(Double::doubleValue).average().orElse(0.0);
+        for (int i = 0; i < decades.size(); i++) {
+            String decade = decades.getLabel(i);
+            double average = decades.getAverage(i);
             int barHeight = (int) ((average / maxValue) * chartHeight);
             int barY = chartHeight - barHeight + 20;
             
             String color = colors[index % colors.length];
             
             // Draw bar
-            html.append(String.format("<rect x='%d' y='%d' width='%d' height='%d' fill='%s' stroke='#2c3e50' stroke-width='1' rx='2'/>", 
-                    x, barY, barWidth, barHeight, color));
+            svg.bar(x, barY, barWidth, barHeight, color);
             
             // Draw value label on top of bar
-            html.append(String.format("<text x='%d' y='%d' text-anchor='middle' font-size='11' font-weight='bold' fill='#2c3e50'>%.0f</text>", 
-                    x + barWidth/2, barY - 5, average));
+            svg.open("text").attr("x", x + barWidth/2).attr("y", barY - 5).attr("text-anchor", "middle")
+                    .attr("font-size", 11).attr("font-weight", "bold").attr("fill", SvgWriter.AXIS_COLOR)
+                    .body().number(average, 0).end("text");
             
             // Draw decade label below bar
-            html.append(String.format("<text x='%d' y='%d' text-anchor='middle' font-size='10' fill='#7f8c8d' transform='rotate(-45, %d, %d)'>%s</text>", 
-                    x + barWidth/2, chartHeight + 45, x + barWidth/2, chartHeight + 45, decade));
+            svg.open("text").attr("x", x + barWidth/2).attr("y", chartHeight + 45).attr("text-anchor", "middle")
+                    .attr("font-size", 10).attr("fill", SvgWriter.LABEL_COLOR).rotate(-45, x + barWidth/2, chartHeight + 45)
+                    .body().text(decade).end("text");
             
             x += barWidth + spacing;
             index++;
         }
         
         // Draw axes
-        html.append(String.format("<line x1='50' y1='20' x2='50' y2='%d' stroke='#2c3e50' stroke-width='2'/>", chartHeight + 20));
-        html.append(String.format("<line x1='50' y1='%d' x2='%d' y2='%d' stroke='#2c3e50' stroke-width='2'/>", 
-                chartHeight + 20, chartWidth - 50, chartHeight + 20));
+        svg.axis(50, 20, 50, chartHeight + 20);
+        svg.axis(50, chartHeight + 20, chartWidth - 50, chartHeight + 20);
         
         // Add axis labels
-        html.append("<text x='25' y='160' text-anchor='middle' font-size='12' font-weight='bold' fill='#2c3e50' transform='rotate(-90, 25, 160)'>Rainfall (mm)</text>");
-        html.append("<text x='325' y='380' text-anchor='middle' font-size='12' font-weight='bold' fill='#2c3e50'>Decade</text>");
+        svg.axisTitle(25, 160, -90, "Rainfall (mm)");
+        svg.axisTitle(325, 380, 0, "Decade");
         
         html.append("</svg>");
         html.append("</div>");
         
         // Add summary statistics
         html.append("<div style='margin-top: 15px; font-size: 14px; color: #7f8c8d;'>");
-        double maxAvg = decadeData.values().stream()
-                .mapToDouble(values -> values.stream().mapToDouble(Double::doubleValue).average().orElse(0.0))
-                .max().orElse(0.0);
-        double minAvg = decadeData.values().stream()
-                .mapToDouble(values -> values.stream().mapToDouble(Double::doubleValue).average().orElse(0.0))
-                .min().orElse(0.0);
-        html.append(String.format("<strong>Summary:</strong> Highest decade: %.0f mm | Lowest decade: %.0f mm | Range: %.0f mm", 
-                maxAvg, minAvg, maxAvg - minAvg));
+        double maxAvg = decades.getMaxAverage();
+        double minAvg = decades.getMinAverage();
+        appendRangeSummary(html, "decade", maxAvg, minAvg);
         html.append("</div>");
         html.append("</div>");
         
@@ -358,47 +323,21 @@ public class RainfallAnalyticsService {
      * @return HTML string with trend analysis
      */
     public String generateRainfallTrendAnalysisHtml() {
-        List<RainfallRecord> allData = rainfallDataService.getAllData();
-        if (allData.isEmpty()) return "<div>No data available for trend analysis.</div>";
-        
-        // Calculate various trend metrics
-        List<Double> yearlyTotals = allData.stream().map(RainfallRecord::getTotal).collect(Collectors.toList());
-        List<Integer> years = allData.stream().map(RainfallRecord::getYear).collect(Collectors.toList());
-        
-        double avgRainfall = yearlyTotals.stream().mapToDouble(Double::doubleValue).average().orElse(0.0);
-        double maxRainfall = yearlyTotals.stream().mapToDouble(Double::doubleValue).max().orElse(0.0);
-        double minRainfall = yearlyTotals.stream().mapToDouble(Double::doubleValue).min().orElse(0.0);
-        
-        // Find years with extreme values
-        int maxYear = 0, minYear = 0;
-        for (int i = 0; i < allData.size(); i++) {
-            if (allData.get(i).getTotal() == maxRainfall) maxYear = allData.get(i).getYear();
-            if (allData.get(i).getTotal() == minRainfall) minYear = allData.get(i).getYear();
-        }
-        
-        // Calculate trend line
-        double[] trendLine = calculateTrendLine(years, yearlyTotals);
-        
-        // Calculate variability
-        double variance = yearlyTotals.stream()
-            .mapToDouble(x -> Math.pow(x - avgRainfall, 2))
-            .average().orElse(0.0);
-        double stdDev = Math.sqrt(variance);
+        return generateRainfallTrendAnalysisHtml(rainfallDataService.getCube());
+    }
+
+    public String generateRainfallTrendAnalysisHtml(RainfallCube cube) {
+        if (cube.isEmpty()) return "<div>No data available for trend analysis.</div>";
+        
+        double avgRainfall = cube.getMeanTotal();
+        double maxRainfall = cube.getMaxTotal();
+        double minRainfall = cube.getMinTotal();
+        int maxYear = cube.getWettest().getYear();
+        int minYear = cube.getDriest().getYear();
+        double[] trendLine = cube.getTotalTrend();
+        double stdDev = cube.getStdDevTotal();
         double coeffVariation = (stdDev / avgRainfall) * 100;
         
-        // Decade analysis
-        Map<String, Double> decadeAverages = new LinkedHashMap<>();
-        Map<String, List<Double>> decadeData = new TreeMap<>();
-        for (RainfallRecord record : allData) {
-            int decade = (record.getYear() / 10) * 10;
-            String decadeLabel = decade + "s";
-            decadeData.computeIfAbsent(decadeLabel, k -> new ArrayList<>()).add(record.getTotal());
-        }
-        for (Map.Entry<String, List<Double>> entry : decadeData.entrySet()) {
-            double avg = entry.getValue().stream().mapToDouble(Double::doubleValue).average().orElse(0.0);
-            decadeAverages.put(entry.getKey(), avg);
-        }
-        
         StringBuilder html = new StringBuilder();
         html.append("<div style='padding: 20px; background: #f8f9fa; border-radius: 8px; margin: 20px 0;'>");
         html.append("<h4>🔍 Rainfall Trend Analysis & Qualitative Observations</h4>");
@@ -408,11 +347,18 @@ public class RainfallAnalyticsService {
         html.append("<div style='background: white; padding: 15px; border-radius: 6px; border-left: 4px solid #3498db;'>");
         html.append("<h6>📊 Statistical Overview</h6>");
         html.append("<ul style='list-style: none; padding: 0;'>");
-        html.append(String.format("<li>• <strong>Average Annual Rainfall:</strong> %.1f mm</li>", avgRainfall));
-        html.append(String.format("<li>• <strong>Range:</strong> %.1f mm (%.1f - %.1f mm)</li>", maxRainfall - minRainfall, minRainfall, maxRainfall));
-        html.append(String.format("<li>• <strong>Wettest Year:</strong> %d (%.1f mm)</li>", maxYear, maxRainfall));
-        html.append(String.format("<li>• <strong>Driest Year:</strong> %d (%.1f mm)</li>", minYear, minRainfall));
-        html.append(String.format("<li>• <strong>Variability:</strong> %.1f%% (Coefficient of Variation)</li>", coeffVariation));
+        html.append("<li>• <strong>Average Annual Rainfall:</strong> ");
+        FixedDecimal.append(html, avgRainfall, 1).append(" mm</li>");
+        html.append("<li>• <strong>Range:</strong> ");
+        FixedDecimal.append(html, maxRainfall - minRainfall, 1).append(" mm (");
+        FixedDecimal.append(html, minRainfall, 1).append(" - ");
+        FixedDecimal.append(html, maxRainfall, 1).append(" mm)</li>");
+        html.append("<li>• <strong>Wettest Year:</strong> ").append(maxYear).append(" (");
+        FixedDecimal.append(html, maxRainfall, 1).append(" mm)</li>");
+        html.append("<li>• <strong>Driest Year:</strong> ").append(minYear).append(" (");
+        FixedDecimal.append(html, minRainfall, 1).append(" mm)</li>");
+        html.append("<li>• <strong>Variability:</strong> ");
+        FixedDecimal.append(html, coeffVariation, 1).append("% (Coefficient of Variation)</li>");
         html.append("</ul>");
         html.append("</div>");
         html.append("</div>");
@@ -450,9 +396,12 @@ public class RainfallAnalyticsService {
             }
             
             html.append("<ul style='list-style: none; padding: 0;'>");
-            html.append(String.format("<li style='color: %s;'>%s <strong>%s</strong></li>", trendColor, trendIcon, trendDirection));
-            html.append(String.format("<li>• <strong>Rate of Change:</strong> %.2f mm/year</li>", slope));
-            html.append(String.format("<li>• <strong>Total Change (120 years):</strong> %.1f mm</li>", slope * 120));
+            html.append("<li style='color: ").append(trendColor).append(";'>").append(trendIcon)
+                .append(" <strong>").append(trendDirection).append("</strong></li>");
+            html.append("<li>• <strong>Rate of Change:</strong> ");
+            FixedDecimal.append(html, slope, 2).append(" mm/year</li>");
+            html.append("<li>• <strong>Total Change (120 years):</strong> ");
+            FixedDecimal.append(html, slope * 120, 1).append(" mm</li>");
             html.append("</ul>");
         }
         html.append("</div>");
@@ -474,22 +423,21 @@ public class RainfallAnalyticsService {
         }
         
         // Extreme events analysis
-        long extremeHighYears = yearlyTotals.stream().mapToLong(x -> x > (avgRainfall + 1.5 * stdDev) ? 1 : 0).sum();
-        long extremeLowYears = yearlyTotals.stream().mapToLong(x -> x < (avgRainfall - 1.5 * stdDev) ? 1 : 0).sum();
+        long extremeHighYears = cube.getExtremeHighYears();
+        long extremeLowYears = cube.getExtremeLowYears();
         
         html.append("<ul>");
         html.append("<li><strong>Climate Variability:</strong> ").append(variabilityLevel).append("</li>");
-        html.append(String.format("<li><strong>Extreme Events:</strong> %d years with exceptionally high rainfall and %d years with exceptionally low rainfall (beyond 1.5 standard deviations).</li>", extremeHighYears, extremeLowYears));
+        html.append("<li><strong>Extreme Events:</strong> ").append(extremeHighYears)
+            .append(" years with exceptionally high rainfall and ").append(extremeLowYears)
+            .append(" years with exceptionally low rainfall (beyond 1.5 standard deviations).</li>");
         
         // Decade comparison
-        String bestDecade = decadeAverages.entrySet().stream()
-            .max(Map.Entry.comparingByValue())
-            .map(Map.Entry::getKey).orElse("Unknown");
-        String worstDecade = decadeAverages.entrySet().stream()
-            .min(Map.Entry.comparingByValue())
-            .map(Map.Entry::getKey).orElse("Unknown");
+        String bestDecade = cube.getDecades().getWettestLabel();
+        String worstDecade = cube.getDecades().getDriestLabel();
             
-        html.append(String.format("<li><strong>Decadal Patterns:</strong> The %s was the wettest decade while the %s was the driest.</li>", bestDecade, worstDecade));
+        html.append("<li><strong>Decadal Patterns:</strong> The ").append(bestDecade)
+            .append(" was the wettest decade while the ").append(worstDecade).append(" was the driest.</li>");
         
         // Monsoon strength assessment
         if (avgRainfall > 1400) {
@@ -513,8 +461,11 @@ public class RainfallAnalyticsService {
      * @return HTML string with SVG chart
      */
     public String generateMonthlyTrendLineChartHtml(int month) {
-        List<RainfallRecord> allData = rainfallDataService.getAllData();
-        if (allData.isEmpty()) return "<div>No data available.</div>";
+        return generateMonthlyTrendLineChartHtml(rainfallDataService.getCube(), month);
+    }
+
+    public String generateMonthlyTrendLineChartHtml(RainfallCube cube, int month) {
+        if (cube.isEmpty()) return "<div>No data available.</div>";
         
         // Validate month parameter
         if (month < 1 || month > 12) {
@@ -524,24 +475,10 @@ public class RainfallAnalyticsService {
         String[] monthNames = {"Jan", "Feb", "Mar", "Apr", "May", "Jun", "Jul", "Aug", "Sep", "Oct", "Nov", "Dec"};
         String monthName = monthNames[month - 1];
         
-        // Extract data for the specific month
-        List<Double> monthlyValues = new ArrayList<>();
-        List<Integer> years = new ArrayList<>();
-        
-        for (RainfallRecord record : allData) {
-            double value = getMonthValue(record, month);
-            monthlyValues.add(value);
-            years.add(record.getYear());
-        }
-        
-        if (monthlyValues.isEmpty()) {
-            return "<div>No data available for " + monthName + ".</div>";
-        }
-        
-        int minYear = years.stream().mapToInt(Integer::intValue).min().orElse(1901);
-        int maxYear = years.stream().mapToInt(Integer::intValue).max().orElse(2021);
-        double maxRain = monthlyValues.stream().mapToDouble(Double::doubleValue).max().orElse(500.0);
-        double minRain = monthlyValues.stream().mapToDouble(Double::doubleValue).min().orElse(0.0);
+        int minYear = cube.getMinYear();
+        int maxYear = cube.getMaxYear();
+        double maxRain = cube.getMonthMax(month);
+        double minRain = cube.getMonthMin(month);
         
         // Add some padding to the max value for better visualization
         maxRain = maxRain * 1.1;
@@ -552,61 +489,58 @@ public class RainfallAnalyticsService {
         int rightPad = 30;
         int topPad = 30;
         int bottomPad = 50;
-        int n = monthlyValues.size();
+        int n = cube.size();
         double xStep = (double)(chartWidth - leftPad - rightPad) / (n - 1);
         
         StringBuilder html = new StringBuilder();
         html.append("<div style='padding: 20px; background: #f8f9fa; border-radius: 8px; margin: 20px 0;'>");
         html.append("<h4>📈 ").append(monthName).append(" Rainfall Trend (").append(minYear).append("–").append(maxYear).append(")</h4>");
         html.append("<div style='position: relative; width: 100%; height: 400px; background: white; border: 1px solid #ddd; padding: 20px; box-sizing: border-box;'>");
-        html.append("<svg width='100%' height='350' viewBox='0 0 " + chartWidth + " " + (chartHeight + topPad + bottomPad) + "' style='overflow: visible;'>");
+        html.append("<svg width='100%' height='350' viewBox='0 0 ").append(chartWidth).append(' ')
+            .append(chartHeight + topPad + bottomPad).append("' style='overflow: visible;'>");
+        SvgWriter svg = new SvgWriter(html);
         
         // Draw grid lines and y-axis labels
         int gridLines = 5;
         for (int i = 0; i <= gridLines; i++) {
             double yVal = minRain + (maxRain - minRain) * (gridLines - i) / gridLines;
             int y = (int)(topPad + ((maxRain - yVal) / (maxRain - minRain)) * chartHeight);
-            html.append(String.format("<line x1='%d' y1='%d' x2='%d' y2='%d' stroke='#ecf0f1' stroke-width='1'/>",
-                leftPad, y, chartWidth - rightPad, y));
-            html.append(String.format("<text x='%d' y='%d' text-anchor='end' font-size='10' fill='#7f8c8d'>%.0f</text>",
-                leftPad - 5, y + 4, yVal));
+            svg.gridLine(leftPad, chartWidth - rightPad, y);
+            svg.label(leftPad - 5, y + 4, "end", 10, SvgWriter.LABEL_COLOR).number(yVal, 0).end("text");
         }
         
         // Draw x-axis labels (every 10th year)
         int labelStep = 10;
         for (int i = 0; i < n; i++) {
-            int year = years.get(i);
+            int year = cube.getYear(i);
             if ((year - minYear) % labelStep == 0 || i == n - 1) {
                 double x = leftPad + i * xStep;
-                html.append(String.format("<text x='%.1f' y='%d' text-anchor='middle' font-size='10' fill='#7f8c8d'>%d</text>",
-                    x, chartHeight + topPad + 20, year));
+                svg.label(x, chartHeight + topPad + 20, "middle", 10, SvgWriter.LABEL_COLOR).number(year).end("text");
             }
         }
         
         // Draw axes
-        html.append(String.format("<line x1='%d' y1='%d' x2='%d' y2='%d' stroke='#2c3e50' stroke-width='2'/>",
-            leftPad, topPad, leftPad, chartHeight + topPad));
-        html.append(String.format("<line x1='%d' y1='%d' x2='%d' y2='%d' stroke='#2c3e50' stroke-width='2'/>",
-            leftPad, chartHeight + topPad, chartWidth - rightPad, chartHeight + topPad));
+        svg.axis(leftPad, topPad, leftPad, chartHeight + topPad);
+        svg.axis(leftPad, chartHeight + topPad, chartWidth - rightPad, chartHeight + topPad);
         
         // Draw line path
-        html.append("<polyline fill='none' stroke='#e67e22' stroke-width='2' points='");
+        svg.startPolyline("#e67e22", 2);
         for (int i = 0; i < n; i++) {
             double x = leftPad + i * xStep;
-            double y = topPad + ((maxRain - monthlyValues.get(i)) / (maxRain - minRain)) * chartHeight;
-            html.append(String.format("%.1f,%.1f ", x, y));
+            double y = topPad + ((maxRain - cube.getRainfall(i, month)) / (maxRain - minRain)) * chartHeight;
+            svg.point(x, y);
         }
-        html.append("'/>");
+        svg.endPolyline();
         
         // Draw dots for each data point (every 5th year for clarity)
         for (int i = 0; i < n; i += 5) {
             double x = leftPad + i * xStep;
-            double y = topPad + ((maxRain - monthlyValues.get(i)) / (maxRain - minRain)) * chartHeight;
-            html.append(String.format("<circle cx='%.1f' cy='%.1f' r='2.5' fill='#c0392b' stroke='#fff' stroke-width='1'/>", x, y));
+            double y = topPad + ((maxRain - cube.getRainfall(i, month)) / (maxRain - minRain)) * chartHeight;
+            svg.marker(x, y, "#c0392b");
         }
         
         // Calculate and display trend line (simple linear regression)
-        double[] trendLine = calculateTrendLine(years, monthlyValues);
+        double[] trendLine = cube.getMonthTrend(month);
         if (trendLine != null) {
             double slope = trendLine[0];
             double intercept = trendLine[1];
@@ -617,30 +551,34 @@ public class RainfallAnalyticsService {
             double startY = topPad + ((maxRain - (slope * minYear + intercept)) / (maxRain - minRain)) * chartHeight;
             double endY = topPad + ((maxRain - (slope * maxYear + intercept)) / (maxRain - minRain)) * chartHeight;
             
-            html.append(String.format("<line x1='%.1f' y1='%.1f' x2='%.1f' y2='%.1f' stroke='#27ae60' stroke-width='2' stroke-dasharray='5,5' opacity='0.8'/>",
-                startX, startY, endX, endY));
+            svg.open("line").attr("x1", startX, 1).attr("y1", startY, 1).attr("x2", endX, 1).attr("y2", endY, 1)
+                .attr("stroke", "#27ae60").attr("stroke-width", 2).attr("stroke-dasharray", "5,5").attr("opacity", "0.8").close();
         }
         
         // Axis labels
-        html.append("<text x='20' y='" + (topPad + chartHeight/2) + "' text-anchor='middle' font-size='12' font-weight='bold' fill='#2c3e50' transform='rotate(-90, 20, " + (topPad + chartHeight/2) + ")'>Rainfall (mm)</text>");
-        html.append("<text x='" + (chartWidth/2) + "' y='" + (chartHeight + topPad + 40) + "' text-anchor='middle' font-size='12' font-weight='bold' fill='#2c3e50'>Year</text>");
+        svg.axisTitle(20, topPad + chartHeight/2, -90, "Rainfall (mm)");
+        svg.axisTitle(chartWidth/2, chartHeight + topPad + 40, 0, "Year");
         
         html.append("</svg>");
         html.append("</div>");
         
         // Add summary statistics
-        double avgRainfall = monthlyValues.stream().mapToDouble(Double::doubleValue).average().orElse(0.0);
-        double maxMonthRain = monthlyValues.stream().mapToDouble(Double::doubleValue).max().orElse(0.0);
-        double minMonthRain = monthlyValues.stream().mapToDouble(Double::doubleValue).min().orElse(0.0);
+        double avgRainfall = cube.getMonthMean(month);
+        double maxMonthRain = cube.getMonthMax(month);
+        double minMonthRain = cube.getMonthMin(month);
         
         html.append("<div style='margin-top: 15px; font-size: 14px; color: #7f8c8d;'>");
-        html.append(String.format("<strong>%s Summary:</strong> Average: %.1f mm | Highest: %.1f mm | Lowest: %.1f mm | Range: %.1f mm",
-            monthName, avgRainfall, maxMonthRain, minMonthRain, maxMonthRain - minMonthRain));
+        html.append("<strong>").append(monthName).append(" Summary:</strong> Average: ");
+        FixedDecimal.append(html, avgRainfall, 1).append(" mm | Highest: ");
+        FixedDecimal.append(html, maxMonthRain, 1).append(" mm | Lowest: ");
+        FixedDecimal.append(html, minMonthRain, 1).append(" mm | Range: ");
+        FixedDecimal.append(html, maxMonthRain - minMonthRain, 1).append(" mm");
         
         if (trendLine != null) {
             double slope = trendLine[0];
             String trendDirection = slope > 0.1 ? "increasing" : slope < -0.1 ? "decreasing" : "stable";
-            html.append(String.format(" | Trend: %s (%.2f mm/year)", trendDirection, slope));
+            html.append(" | Trend: ").append(trendDirection).append(" (");
+            FixedDecimal.append(html, slope, 2).append(" mm/year)");
         }
         
         html.append("</div>");
@@ -648,55 +586,19 @@ public class RainfallAnalyticsService {
         return html.toString();
     }
     
-    /**
-     * Helper method to get rainfall value for a specific month from a record.
-     */
-    private double getMonthValue(RainfallRecord record, int month) {
-        switch (month) {
-            case 1: return record.getJan();
-            case 2: return record.getFeb();
-            case 3: return record.getMar();
-            case 4: return record.getApril();
-            case 5: return record.getMay();
-            case 6: return record.getJune();
-            case 7: return record.getJuly();
-            case 8: return record.getAug();
-            case 9: return record.getSept();
-            case 10: return record.getOct();
-            case 11: return record.getNov();
-            case 12: return record.getDec();
-            default: return 0.0;
-        }
-    }
-    
-    /**
-     * Calculate simple linear regression trend line.
-     * Returns [slope, intercept] or null if calculation fails.
-     */
-    private double[] calculateTrendLine(List<Integer> years, List<Double> values) {
-        if (years.size() != values.size() || years.size() < 2) return null;
-        
-        int n = years.size();
-        double sumX = years.stream().mapToDouble(Integer::doubleValue).sum();
-        double sumY = values.stream().mapToDouble(Double::doubleValue).sum();
-        double sumXY = 0.0;
-        double sumXX = 0.0;
-        
-        for (int i = 0; i < n; i++) {
-            double x = years.get(i);
-            double y = values.get(i);
-            sumXY += x * y;
-            sumXX += x * x;
-        }
-        
-        double slope = (n * sumXY - sumX * sumY) / (n * sumXX - sumX * sumX);
-        double intercept = (sumY - slope * sumX) / n;
-        
-        return new double[]{slope, intercept};
+    private static void appendRangeSummary(StringBuilder html, String unit, double maxAvg, double minAvg) {
+        html.append("<strong>Summary:</strong> Highest ").append(unit).append(": ");
+        FixedDecimal.append(html, maxAvg, 0).append(" mm | Lowest ").append(unit).append(": ");
+        FixedDecimal.append(html, minAvg, 0).append(" mm | Range: ");
+        FixedDecimal.append(html, maxAvg - minAvg, 0).append(" mm");
     }
 
     public String generateRainfallStatisticsHtml() {
-        Map<String, Object> stats = rainfallDataService.getBasicStatistics();
+        return generateRainfallStatisticsHtml(rainfallDataService.getCube());
+    }
+
+    public String generateRainfallStatisticsHtml(RainfallCube cube) {
+        Map<String, Object> stats = RainfallDataService.getBasicStatistics(cube);
         
         StringBuilder html = new StringBuilder();
         html.append("<div class='card'>");
@@ -1,77 +1,175 @@
 package com.example.clime.module.climatev2.service;
 
+import com.example.clime.module.climatev2.chart.FixedDecimal;
+import com.example.clime.module.climatev2.model.RainfallCube;
 import com.example.clime.module.climatev2.model.RainfallRecord;
+import com.example.clime.module.dataset.csv.MappedCsvReader;
+import com.example.clime.module.dataset.snapshot.DatasetSnapshots;
+import com.example.clime.module.dataset.snapshot.SnapshotReader;
+import com.example.clime.module.dataset.snapshot.SnapshotWriter;
+import com.example.clime.module.dataset.snapshot.SourceStamp;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.io.ClassPathResource;
 import org.springframework.stereotype.Service;
 
-import java.io.BufferedReader;
 import java.io.IOException;
-import java.io.InputStreamReader;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
 @Service("rainfallDataServiceV2")
 public class RainfallDataService {
     
-    private List<RainfallRecord> rainfallData;
+    private static final String RAINFALL_CSV_FILE = "chennai-monthly-rains.csv";
+    /** Schema of the monthly rainfall snapshots written by {@link #writeSnapshot}. */
+    static final int SNAPSHOT_SCHEMA = 1;
     
+    private final DatasetSnapshots datasetSnapshots;
+    private volatile List<RainfallRecord> rainfallData = Collections.emptyList();
+    private volatile RainfallCube cube = RainfallCube.build(Collections.emptyList());
+    private final AtomicLong version = new AtomicLong();
+    
+    /**
+     * Always parses the CSV; used outside Spring.
+     */
     public RainfallDataService() {
+        this(null);
+    }
+    
+    @Autowired
+    public RainfallDataService(DatasetSnapshots datasetSnapshots) {
+        this.datasetSnapshots = datasetSnapshots;
+        loadRainfallData();
+    }
+    
+    /**
+     * Re-reads the rainfall CSV and rebuilds the aggregate cube.
+     */
+    public synchronized void reload() {
         loadRainfallData();
     }
     
     private void loadRainfallData() {
-        rainfallData = new ArrayList<>();
         try {
-            ClassPathResource resource = new ClassPathResource("chennai-monthly-rains.csv");
-            BufferedReader reader = new BufferedReader(new InputStreamReader(resource.getInputStream()));
-            
-            String line;
-            boolean isHeader = true;
-            
-            while ((line = reader.readLine()) != null) {
-                if (isHeader) {
-                    isHeader = false; // Skip header
-                    continue;
-                }
-                
-                String[] parts = line.split(",");
-                if (parts.length >= 13) {
-                    try {
-                        int year = Integer.parseInt(parts[0]);
-                        double jan = Double.parseDouble(parts[1]);
-                        double feb = Double.parseDouble(parts[2]);
-                        double mar = Double.parseDouble(parts[3]);
-                        double april = Double.parseDouble(parts[4]);
-                        double may = Double.parseDouble(parts[5]);
-                        double june = Double.parseDouble(parts[6]);
-                        double july = Double.parseDouble(parts[7]);
-                        double aug = Double.parseDouble(parts[8]);
-                        double sept = Double.parseDouble(parts[9]);
-                        double oct = Double.parseDouble(parts[10]);
-                        double nov = Double.parseDouble(parts[11]);
-                        double dec = Double.parseDouble(parts[12]);
-                        double total = Double.parseDouble(parts[13]);
-                        
-                        RainfallRecord record = new RainfallRecord(year, jan, feb, mar, april, may, june, 
-                                                                 july, aug, sept, oct, nov, dec, total);
-                        rainfallData.add(record);
-                    } catch (NumberFormatException e) {
-                        System.err.println("Error parsing line: " + line);
-                    }
+            ClassPathResource resource = new ClassPathResource(RAINFALL_CSV_FILE);
+            SourceStamp stamp = datasetSnapshots != null ? SourceStamp.of(resource) : null;
+            List<RainfallRecord> records = stamp != null
+                    ? datasetSnapshots.load("chennai-monthly-rains", SNAPSHOT_SCHEMA, stamp, RainfallDataService::readSnapshot)
+                    : null;
+            boolean fromSnapshot = records != null;
+            if (!fromSnapshot) {
+                records = readCsv(resource);
+                if (stamp != null) {
+                    List<RainfallRecord> parsed = records;
+                    datasetSnapshots.save("chennai-monthly-rains", SNAPSHOT_SCHEMA, stamp, out -> writeSnapshot(parsed, out));
                 }
             }
-            reader.close();
             
-            System.out.println("Loaded " + rainfallData.size() + " rainfall records");
+            // Publish the records and their aggregates together
+            this.cube = RainfallCube.build(records);
+            this.rainfallData = this.cube.getRecords();
+            version.incrementAndGet();
+            System.out.println("Loaded " + records.size() + " rainfall records" + (fromSnapshot ? " from snapshot" : ""));
         } catch (IOException e) {
             System.err.println("Error loading rainfall data: " + e.getMessage());
         }
     }
     
+    private static List<RainfallRecord> readCsv(ClassPathResource resource) throws IOException {
+        List<RainfallRecord> records = new ArrayList<>();
+        MappedCsvReader reader = MappedCsvReader.open(resource);
+        reader.nextRow(); // Skip header
+        
+        while (reader.nextRow()) {
+            if (reader.fieldCount() >= 13) {
+                try {
+                    int year = reader.getInt(0);
+                    double jan = reader.getDouble(1);
+                    double feb = reader.getDouble(2);
+                    double mar = reader.getDouble(3);
+                    double april = reader.getDouble(4);
+                    double may = reader.getDouble(5);
+                    double june = reader.getDouble(6);
+                    double july = reader.getDouble(7);
+                    double aug = reader.getDouble(8);
+                    double sept = reader.getDouble(9);
+                    double oct = reader.getDouble(10);
+                    double nov = reader.getDouble(11);
+                    double dec = reader.getDouble(12);
+                    double total = reader.getDouble(13);
+                    
+                    RainfallRecord record = new RainfallRecord(year, jan, feb, mar, april, may, june, 
+                                                             july, aug, sept, oct, nov, dec, total);
+                    records.add(record);
+                } catch (NumberFormatException e) {
+                    System.err.println("Error parsing line for year " + reader.getString(0) + ": " + e.getMessage());
+                }
+            }
+        }
+        return records;
+    }
+    
+    /**
+     * Monthly rainfall records as columns: the years, then one column per month and one
+     * for the totals. Shared with the KWS dataset, which has the same shape.
+     */
+    static void writeSnapshot(List<RainfallRecord> records, SnapshotWriter out) {
+        int size = records.size();
+        int[] years = new int[size];
+        for (int i = 0; i < size; i++) {
+            years[i] = records.get(i).getYear();
+        }
+        out.putInt(size).putInts(years, size);
+        double[] column = new double[size];
+        for (int month = 1; month <= 13; month++) {
+            for (int i = 0; i < size; i++) {
+                RainfallRecord record = records.get(i);
+                column[i] = month <= 12 ? record.getRainfallForMonth(month) : record.getTotal();
+            }
+            out.putDoubles(column, size);
+        }
+    }
+    
+    static List<RainfallRecord> readSnapshot(SnapshotReader in) throws IOException {
+        int size = in.getInt();
+        if (size < 0) {
+            throw new IOException("Invalid rainfall snapshot size " + size);
+        }
+        int[] years = in.getInts(size);
+        double[][] months = new double[13][];
+        for (int month = 0; month < 13; month++) {
+            months[month] = in.getDoubles(size);
+        }
+        List<RainfallRecord> records = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            records.add(new RainfallRecord(years[i], months[0][i], months[1][i], months[2][i], months[3][i],
+                    months[4][i], months[5][i], months[6][i], months[7][i], months[8][i], months[9][i],
+                    months[10][i], months[11][i], months[12][i]));
+        }
+        return records;
+    }
+    
     public List<RainfallRecord> getAllData() {
         return new ArrayList<>(rainfallData);
     }
     
+    /**
+     * Precomputed aggregates of the currently loaded records.
+     */
+    public RainfallCube getCube() {
+        return cube;
+    }
+    
+    /**
+     * Incremented every time the data is (re)loaded.
+     */
+    public long getVersion() {
+        return version.get();
+    }
+    
     public List<RainfallRecord> getDataByYear(int year) {
         return rainfallData.stream()
                 .filter(record -> record.getYear() == year)
@@ -91,44 +189,41 @@ public class RainfallDataService {
     }
     
     public double getAverageRainfallForMonth(int month) {
-        return rainfallData.stream()
-                .mapToDouble(record -> record.getRainfallForMonth(month))
-                .average()
-                .orElse(0.0);
+        return cube.getMonthMean(month);
     }
     
     public double getAverageAnnualRainfall() {
-        return rainfallData.stream()
-                .mapToDouble(RainfallRecord::getTotal)
-                .average()
-                .orElse(0.0);
+        return cube.getMeanTotal();
     }
     
     public RainfallRecord getMaxRainfallYear() {
-        return rainfallData.stream()
-                .max(Comparator.comparing(RainfallRecord::getTotal))
-                .orElse(null);
+        return cube.getWettest();
     }
     
     public RainfallRecord getMinRainfallYear() {
-        return rainfallData.stream()
-                .min(Comparator.comparing(RainfallRecord::getTotal))
-                .orElse(null);
+        return cube.getDriest();
     }
     
     public Map<String, Object> getBasicStatistics() {
+        return getBasicStatistics(cube);
+    }
+    
+    /**
+     * Summary of any station's cube, in the shape the statistics page renders.
+     */
+    public static Map<String, Object> getBasicStatistics(RainfallCube cube) {
         Map<String, Object> stats = new HashMap<>();
         
-        if (rainfallData.isEmpty()) {
+        if (cube.isEmpty()) {
             return stats;
         }
         
-        stats.put("totalRecords", rainfallData.size());
-        stats.put("yearRange", rainfallData.get(0).getYear() + " - " + rainfallData.get(rainfallData.size() - 1).getYear());
-        stats.put("averageAnnualRainfall", Math.round(getAverageAnnualRainfall() * 100.0) / 100.0);
+        stats.put("totalRecords", cube.size());
+        stats.put("yearRange", cube.getYear(0) + " - " + cube.getYear(cube.size() - 1));
+        stats.put("averageAnnualRainfall", Math.round(cube.getMeanTotal() * 100.0) / 100.0);
         
-        RainfallRecord maxYear = getMaxRainfallYear();
-        RainfallRecord minYear = getMinRainfallYear();
+        RainfallRecord maxYear = cube.getWettest();
+        RainfallRecord minYear = cube.getDriest();
         
         if (maxYear != null) {
             stats.put("highestRainfallYear", maxYear.getYear() + " (" + Math.round(maxYear.getTotal() * 100.0) / 100.0 + "mm)");
@@ -141,49 +236,72 @@ public class RainfallDataService {
         Map<String, Double> monthlyAverages = new HashMap<>();
         for (int month = 1; month <= 12; month++) {
             monthlyAverages.put(RainfallRecord.getMonthName(month), 
-                    Math.round(getAverageRainfallForMonth(month) * 100.0) / 100.0);
+                    Math.round(cube.getMonthMean(month) * 100.0) / 100.0);
         }
         stats.put("monthlyAverages", monthlyAverages);
         
+        // Seasonal averages
+        Map<String, Double> seasonalAverages = new LinkedHashMap<>();
+        for (int season = 0; season < RainfallCube.SEASON_NAMES.length; season++) {
+            seasonalAverages.put(RainfallCube.SEASON_NAMES[season],
+                    Math.round(cube.getSeasonMean(season) * 100.0) / 100.0);
+        }
+        stats.put("seasonalAverages", seasonalAverages);
+        
         return stats;
     }
     
     public String generateRainfallTableHtml(List<RainfallRecord> records) {
-        StringBuilder html = new StringBuilder();
-        html.append("<div class='table-responsive'>");
-        html.append("<table class='table table-striped table-sm'>");
-        html.append("<thead class='table-dark'>");
-        html.append("<tr>");
-        html.append("<th>Year</th><th>Jan</th><th>Feb</th><th>Mar</th><th>Apr</th>");
-        html.append("<th>May</th><th>Jun</th><th>Jul</th><th>Aug</th><th>Sep</th>");
-        html.append("<th>Oct</th><th>Nov</th><th>Dec</th><th>Total</th>");
-        html.append("</tr>");
-        html.append("</thead>");
-        html.append("<tbody>");
-        
-        for (RainfallRecord record : records) {
-            html.append("<tr>");
-            html.append("<td><strong>").append(record.getYear()).append("</strong></td>");
-            html.append("<td>").append(String.format("%.1f", record.getJan())).append("</td>");
-            html.append("<td>").append(String.format("%.1f", record.getFeb())).append("</td>");
-            html.append("<td>").append(String.format("%.1f", record.getMar())).append("</td>");
-            html.append("<td>").append(String.format("%.1f", record.getApril())).append("</td>");
-            html.append("<td>").append(String.format("%.1f", record.getMay())).append("</td>");
-            html.append("<td>").append(String.format("%.1f", record.getJune())).append("</td>");
-            html.append("<td>").append(String.format("%.1f", record.getJuly())).append("</td>");
-            html.append("<td>").append(String.format("%.1f", record.getAug())).append("</td>");
-            html.append("<td>").append(String.format("%.1f", record.getSept())).append("</td>");
-            html.append("<td>").append(String.format("%.1f", record.getOct())).append("</td>");
-            html.append("<td>").append(String.format("%.1f", record.getNov())).append("</td>");
-            html.append("<td>").append(String.format("%.1f", record.getDec())).append("</td>");
-            html.append("<td><strong>").append(String.format("%.1f", record.getTotal())).append("</strong></td>");
-            html.append("</tr>");
+        StringWriter html = new StringWriter();
+        try {
+            writeRainfallTableHtml(records, html);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
         }
+        return html.toString();
+    }
+    
+    /**
+     * Writes the yearly table to the given writer one row at a time, so the response
+     * is streamed instead of built as a single String.
+     */
+    public void writeRainfallTableHtml(List<RainfallRecord> records, Writer html) throws IOException {
+        html.write("<div class='table-responsive'>");
+        html.write("<table class='table table-striped table-sm'>");
+        html.write("<thead class='table-dark'>");
+        html.write("<tr>");
+        html.write("<th>Year</th><th>Jan</th><th>Feb</th><th>Mar</th><th>Apr</th>");
+        html.write("<th>May</th><th>Jun</th><th>Jul</th><th>Aug</th><th>Sep</th>");
+        html.write("<th>Oct</th><th>Nov</th><th>Dec</th><th>Total</th>");
+        html.write("</tr>");
+        html.write("</thead>");
+        html.write("<tbody>");
         
-        html.append("</tbody>");
-        html.append("</table>");
-        html.append("</div>");
+        writeRainfallRows(records, html);
         
-        return html.toString();
+        html.write("</tbody>");
+        html.write("</table>");
+        html.write("</div>");
+    }
+    
+    /**
+     * Writes one table row per year. Each row is assembled in a reused buffer so the
+     * fourteen cells need no format calls.
+     */
+    static void writeRainfallRows(List<RainfallRecord> records, Writer out) throws IOException {
+        StringBuilder row = new StringBuilder(256);
+        for (RainfallRecord record : records) {
+            row.setLength(0);
+            row.append("<tr>");
+            row.append("<td><strong>").append(record.getYear()).append("</strong></td>");
+            for (int month = 1; month <= 12; month++) {
+                row.append("<td>");
+                FixedDecimal.append(row, record.getRainfallForMonth(month), 1).append("</td>");
+            }
+            row.append("<td><strong>");
+            FixedDecimal.append(row, record.getTotal(), 1).append("</strong></td>");
+            row.append("</tr>");
+            out.append(row);
+        }
     }
 }
@@ -0,0 +1,196 @@
+package com.example.clime.module.climatev2.service;
+
+import com.example.clime.module.climatev2.model.DataSource;
+import com.example.clime.module.climatev2.model.RainfallCube;
+import com.example.clime.module.climatev2.model.RainfallRecord;
+import com.example.clime.module.climatev2.model.Station;
+import com.example.clime.module.climatev2.model.StationRainfall;
+import com.example.clime.module.dataset.csv.MappedCsvReader;
+import com.example.clime.module.dataset.snapshot.DatasetSnapshots;
+import com.example.clime.module.dataset.snapshot.SourceStamp;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.stereotype.Service;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Rainfall for every registered station, one partition per station and data source.
+ *
+ * Partitions are loaded on first access and kept in an LRU of at most
+ * {@code rainfall.stations.max-resident} entries, so hundreds of stations can be served
+ * while only the recently used ones occupy memory. A partition is loaded once however
+ * many requests ask for it at the same time, and a failed load is not kept, so the next
+ * request retries it. Chennai's CSV data is the always-loaded rainfallDataServiceV2
+ * snapshot and never counts against the LRU.
+ */
+@Service("stationRainfallStore")
+public class StationRainfallStore {
+
+    @Autowired
+    @Qualifier("stationRegistry")
+    private StationRegistry stationRegistry;
+
+    @Autowired
+    @Qualifier("rainfallDataServiceV2")
+    private RainfallDataService rainfallDataService;
+
+    @Autowired
+    @Qualifier("kwsRainfallDataService")
+    private KwsRainfallDataService kwsDataService;
+
+    @Autowired
+    private DatasetSnapshots datasetSnapshots;
+
+    @Value("${rainfall.stations.max-resident:32}")
+    private int maxResident = 32;
+
+    private final LinkedHashMap<String, FutureTask<StationRainfall>> resident = new LinkedHashMap<String, FutureTask<StationRainfall>>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, FutureTask<StationRainfall>> eldest) {
+            if (size() <= Math.max(1, maxResident)) {
+                return false;
+            }
+            evictions.incrementAndGet();
+            System.out.println("📡 Evicted rainfall partition " + eldest.getKey());
+            return true;
+        }
+    };
+
+    private final AtomicLong versions = new AtomicLong();
+    private final AtomicLong loads = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    /**
+     * The station's data for {@code source}, loading it if it is not resident.
+     *
+     * @throws IllegalArgumentException if the station is unknown or has no such source
+     * @throws IllegalStateException if the station's file cannot be read
+     */
+    public StationRainfall get(String stationId, DataSource source) {
+        Station station = stationRegistry.get(stationId);
+        if (!station.hasSource(source)) {
+            throw new IllegalArgumentException("Station " + station.getId() + " has no " + source.name() + " data");
+        }
+        if (station.isBuiltIn() && source == DataSource.CSV) {
+            return new StationRainfall(station, source, rainfallDataService.getCube(), rainfallDataService.getVersion());
+        }
+
+        String key = station.getId() + "/" + source.name();
+        FutureTask<StationRainfall> task;
+        boolean loader = false;
+        synchronized (resident) {
+            task = resident.get(key);
+            if (task == null) {
+                task = new FutureTask<>(() -> load(station, source));
+                resident.put(key, task);
+                loader = true;
+            }
+        }
+        if (loader) {
+            task.run();
+        }
+        try {
+            return task.get();
+        } catch (ExecutionException e) {
+            synchronized (resident) {
+                resident.remove(key, task);
+            }
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            throw new IllegalStateException("Failed to load " + key + ": " + cause.getMessage(), cause);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while loading " + key, e);
+        }
+    }
+
+    /** The station's CSV data when it has any, otherwise its only source. */
+    public StationRainfall get(String stationId) {
+        return get(stationId, stationRegistry.get(stationId).getPrimarySource());
+    }
+
+    /**
+     * @throws IllegalArgumentException if the station is unknown
+     */
+    public Station getStation(String stationId) {
+        return stationRegistry.get(stationId);
+    }
+
+    public Collection<Station> getStations() {
+        return stationRegistry.getStations();
+    }
+
+    private StationRainfall load(Station station, DataSource source) throws Exception {
+        long start = System.currentTimeMillis();
+        List<RainfallRecord> records;
+        if (station.isBuiltIn()) {
+            records = kwsDataService.getAllData();
+        } else {
+            records = readStationFile(station, source);
+        }
+        StationRainfall loaded = new StationRainfall(station, source, RainfallCube.build(records), versions.incrementAndGet());
+        loads.incrementAndGet();
+        System.out.println("📡 Loaded " + records.size() + " rainfall records for station " + station.getId()
+                + " (" + source.name() + ") in " + (System.currentTimeMillis() - start) + " ms");
+        return loaded;
+    }
+
+    private List<RainfallRecord> readStationFile(Station station, DataSource source) throws Exception {
+        Path file = Paths.get(station.getFile(source));
+        if (!Files.isRegularFile(file)) {
+            throw new IllegalStateException("Station file not found: " + file);
+        }
+        String snapshotName = "station-" + station.getId() + "-" + source.name().toLowerCase(Locale.ROOT);
+        SourceStamp stamp = datasetSnapshots != null ? SourceStamp.of(new FileSystemResource(file)) : null;
+        if (stamp != null) {
+            List<RainfallRecord> snapshot = datasetSnapshots.load(snapshotName, RainfallDataService.SNAPSHOT_SCHEMA, stamp,
+                    RainfallDataService::readSnapshot);
+            if (snapshot != null) {
+                return snapshot;
+            }
+        }
+
+        List<RainfallRecord> records = new ArrayList<>();
+        MappedCsvReader reader = MappedCsvReader.open(file);
+        reader.nextRow(); // Skip header
+        while (reader.nextRow()) {
+            if (reader.fieldCount() >= 13) {
+                RainfallRecord record = KwsRainfallDataService.parseCsvRow(reader);
+                if (record != null) {
+                    records.add(record);
+                }
+            }
+        }
+        records.sort(Comparator.comparing(RainfallRecord::getYear));
+        if (stamp != null) {
+            datasetSnapshots.save(snapshotName, RainfallDataService.SNAPSHOT_SCHEMA, stamp,
+                    out -> RainfallDataService.writeSnapshot(records, out));
+        }
+        return records;
+    }
+
+    public Map<String, Object> getStatus() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        synchronized (resident) {
+            status.put("resident", new ArrayList<>(resident.keySet()));
+        }
+        status.put("maxResident", maxResident);
+        status.put("loads", loads.get());
+        status.put("evictions", evictions.get());
+        return status;
+    }
+}
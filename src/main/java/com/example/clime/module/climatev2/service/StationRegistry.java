@@ -0,0 +1,126 @@
+package com.example.clime.module.climatev2.service;
+
+import com.example.clime.module.climatev2.model.DataSource;
+import com.example.clime.module.climatev2.model.Station;
+import com.example.clime.module.dataset.csv.MappedCsvReader;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.regex.Pattern;
+
+/**
+ * The stations rainfall can be queried for.
+ *
+ * Chennai is always present. Further stations are listed in an index CSV with the columns
+ * {@code id,name,source,file}, one row per station and data source, where file is a
+ * monthly rainfall CSV (Year, Jan..Dec, optional Total) relative to the index. Only the
+ * index is read at startup; station files are loaded by {@link StationRainfallStore}.
+ */
+@Service("stationRegistry")
+public class StationRegistry {
+
+    public static final String DEFAULT_STATION = "chennai";
+
+    private static final Pattern STATION_ID = Pattern.compile("[a-z0-9][a-z0-9_-]*");
+
+    static final Station CHENNAI;
+
+    static {
+        Map<DataSource, String> files = new EnumMap<>(DataSource.class);
+        files.put(DataSource.CSV, "classpath:chennai-monthly-rains.csv");
+        files.put(DataSource.KWS, "classpath:kws-chennai-rainfall-2000-2025.csv");
+        CHENNAI = new Station(DEFAULT_STATION, "Chennai", files, true);
+    }
+
+    @Value("${rainfall.stations.index:data/stations/stations.csv}")
+    private String indexFile;
+
+    private volatile Map<String, Station> stations = Collections.singletonMap(DEFAULT_STATION, CHENNAI);
+
+    public StationRegistry() {
+    }
+
+    StationRegistry(String indexFile) {
+        this.indexFile = indexFile;
+        init();
+    }
+
+    @PostConstruct
+    public void init() {
+        Path index = indexFile == null || indexFile.trim().isEmpty() ? null : Paths.get(indexFile.trim());
+        if (index == null || !Files.isRegularFile(index)) {
+            System.out.println("📡 No station index at " + indexFile + ", serving " + DEFAULT_STATION + " only");
+            return;
+        }
+        try {
+            stations = readIndex(index);
+            System.out.println("📡 Registered " + stations.size() + " rainfall stations from " + index);
+        } catch (IOException e) {
+            System.err.println("Warning: Failed to read station index " + index + ": " + e.getMessage());
+        }
+    }
+
+    private static Map<String, Station> readIndex(Path index) throws IOException {
+        Path base = index.toAbsolutePath().getParent();
+        Map<String, String> names = new LinkedHashMap<>();
+        Map<String, Map<DataSource, String>> files = new LinkedHashMap<>();
+
+        MappedCsvReader reader = MappedCsvReader.open(index);
+        reader.nextRow(); // Skip header
+        while (reader.nextRow()) {
+            String id = reader.getString(0).trim().toLowerCase(Locale.ROOT);
+            String name = reader.getString(1).trim();
+            String sourceName = reader.getString(2).trim().toUpperCase(Locale.ROOT);
+            String file = reader.getString(3).trim();
+            DataSource source;
+            try {
+                source = DataSource.valueOf(sourceName);
+            } catch (IllegalArgumentException e) {
+                source = null;
+            }
+            if (!STATION_ID.matcher(id).matches() || source == null || file.isEmpty() || DEFAULT_STATION.equals(id)) {
+                System.err.println("Skipping station index row: " + id + "," + sourceName + "," + file);
+                continue;
+            }
+            names.putIfAbsent(id, name.isEmpty() ? id : name);
+            files.computeIfAbsent(id, k -> new EnumMap<>(DataSource.class)).put(source, base.resolve(file).toString());
+        }
+
+        Map<String, Station> registered = new TreeMap<>();
+        registered.put(DEFAULT_STATION, CHENNAI);
+        for (Map.Entry<String, Map<DataSource, String>> entry : files.entrySet()) {
+            String id = entry.getKey();
+            registered.put(id, new Station(id, names.get(id), entry.getValue(), false));
+        }
+        return Collections.unmodifiableMap(registered);
+    }
+
+    /**
+     * @throws IllegalArgumentException if no station has this id
+     */
+    public Station get(String id) {
+        Station station = id == null ? null : stations.get(id.trim().toLowerCase(Locale.ROOT));
+        if (station == null) {
+            throw new IllegalArgumentException("Unknown station: " + id);
+        }
+        return station;
+    }
+
+    /** All stations, ordered by id. */
+    public Collection<Station> getStations() {
+        return new ArrayList<>(stations.values());
+    }
+}
@@ -1,65 +1,43 @@
 package com.example.clime.module.climatev2.service;
 
-import com.example.clime.module.climatev2.model.WeatherRecord;
-import com.opencsv.CSVReader;
+import com.example.clime.module.climatev2.chart.FixedDecimal;
+import com.example.clime.module.dataset.model.Season;
+import com.example.clime.module.dataset.model.SeasonalAggregates;
+import com.example.clime.module.dataset.service.SeasonalStatisticsEngine;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.core.io.ClassPathResource;
 import org.springframework.stereotype.Service;
 
-import java.io.InputStreamReader;
 import java.util.*;
 
 @Service("statisticsServiceV2")
 public class StatisticsService {
     
+    private static final Season SPRING = Season.months("spring", 3, 4, 5);
+    private static final Season SUMMER = Season.months("summer", 6, 7, 8);
+    private static final Season AUTUMN = Season.months("autumn", 9, 10, 11);
+    private static final Season WINTER = Season.months("winter", 12, 1, 2);
+    
     @Value("${weather.unscramble.key}")
     private String unscrambleKey;
     
+    @Autowired
+    private SeasonalStatisticsEngine seasonalStatisticsEngine;
+    
     public Map<String, Object> getRainyDaysStatistics(String providedKey) {
         if (!unscrambleKey.equals(providedKey)) {
             throw new SecurityException("Invalid unscramble key");
         }
         
-        Map<Integer, Integer> rainyDaysByYear = new LinkedHashMap<>();
-        Map<Integer, Integer> totalDaysByYear = new LinkedHashMap<>();
-        
-        try {
-            ClassPathResource resource = new ClassPathResource("scrambled_weather_data.csv");
-            try (CSVReader csvReader = new CSVReader(new InputStreamReader(resource.getInputStream()))) {
-                
-                String[] header = csvReader.readNext(); // Skip header
-                String[] line;
-                
-                while ((line = csvReader.readNext()) != null) {
-                    if (line.length >= 20) {
-                        try {
-                            int year = Integer.parseInt(line[1]);
-                            String rainStr = line[11]; // rain column
-                            
-                            // Count total days for this year
-                            totalDaysByYear.put(year, totalDaysByYear.getOrDefault(year, 0) + 1);
-                            
-                            // Check if it's a rainy day
-                            if (isRainyDay(rainStr)) {
-                                rainyDaysByYear.put(year, rainyDaysByYear.getOrDefault(year, 0) + 1);
-                            }
-                        } catch (NumberFormatException e) {
-                            // Skip invalid records
-                        }
-                    }
-                }
-            }
-        } catch (Exception e) {
-            throw new RuntimeException("Error reading weather data: " + e.getMessage());
-        }
+        SeasonalAggregates.Series series = seasonalStatisticsEngine.series(Season.CALENDAR_YEAR);
         
         // Calculate percentages and prepare response
         Map<String, Object> response = new HashMap<>();
         List<Map<String, Object>> yearlyData = new ArrayList<>();
         
         for (int year = 2005; year <= 2025; year++) {
-            int rainyDays = rainyDaysByYear.getOrDefault(year, 0);
-            int totalDays = totalDaysByYear.getOrDefault(year, 0);
+            int rainyDays = series.getRainyDays(year);
+            int totalDays = series.getDays(year);
             double percentage = totalDays > 0 ? (rainyDays * 100.0 / totalDays) : 0;
             
             if (totalDays > 0) { // Only include years with data
@@ -73,8 +51,8 @@ public class StatisticsService {
         }
         
         response.put("yearlyData", yearlyData);
-        response.put("totalRainyDays", rainyDaysByYear.values().stream().mapToInt(Integer::intValue).sum());
-        response.put("totalDays", totalDaysByYear.values().stream().mapToInt(Integer::intValue).sum());
+        response.put("totalRainyDays", series.getTotalRainyDays());
+        response.put("totalDays", series.getTotalDays());
         
         return response;
     }
@@ -109,7 +87,8 @@ public class StatisticsService {
             html.append("<span class='bar-value'>").append(rainyDays).append("</span>");
             html.append("</div>");
             html.append("<div class='bar-label'>").append(year).append("</div>");
-            html.append("<div class='bar-percentage'>").append(String.format("%.1f%%", percentage)).append("</div>");
+            html.append("<div class='bar-percentage'>");
+            FixedDecimal.append(html, percentage, 1).append("%</div>");
             html.append("</div>");
         }
         html.append("</div>");
@@ -126,7 +105,8 @@ public class StatisticsService {
             html.append("<td>").append(data.get("year")).append("</td>");
             html.append("<td>").append(data.get("rainyDays")).append("</td>");
             html.append("<td>").append(data.get("totalDays")).append("</td>");
-            html.append("<td>").append(String.format("%.1f%%", (Double) data.get("percentage"))).append("</td>");
+            html.append("<td>");
+            FixedDecimal.append(html, (Double) data.get("percentage"), 1).append("%</td>");
             html.append("</tr>");
         }
         
@@ -157,43 +137,7 @@ public class StatisticsService {
             throw new SecurityException("Invalid unscramble key");
         }
         
-        Map<Integer, Integer> seasonalRainyDays = new LinkedHashMap<>();
-        Map<Integer, Integer> seasonalTotalDays = new LinkedHashMap<>();
-        
-        // Define season months
-        Set<Integer> seasonMonths = getSeasonMonths(season);
-        
-        try {
-            ClassPathResource resource = new ClassPathResource("scrambled_weather_data.csv");
-            try (CSVReader csvReader = new CSVReader(new InputStreamReader(resource.getInputStream()))) {
-                
-                String[] header = csvReader.readNext(); // Skip header
-                String[] line;
-                
-                while ((line = csvReader.readNext()) != null) {
-                    if (line.length >= 20) {
-                        try {
-                            int year = Integer.parseInt(line[1]);
-                            int month = Integer.parseInt(line[2]);
-                            String rainStr = line[11]; // rain column
-                            
-                            // Only process if this month is in the requested season
-                            if (seasonMonths.contains(month)) {
-                                seasonalTotalDays.put(year, seasonalTotalDays.getOrDefault(year, 0) + 1);
-                                
-                                if (isRainyDay(rainStr)) {
-                                    seasonalRainyDays.put(year, seasonalRainyDays.getOrDefault(year, 0) + 1);
-                                }
-                            }
-                        } catch (NumberFormatException e) {
-                            // Skip invalid records
-                        }
-                    }
-                }
-            }
-        } catch (Exception e) {
-            throw new RuntimeException("Error reading weather data: " + e.getMessage());
-        }
+        SeasonalAggregates.Series series = seasonalStatisticsEngine.series(getSeason(season));
         
         // Generate chart HTML
         StringBuilder html = new StringBuilder();
@@ -202,13 +146,13 @@ public class StatisticsService {
         html.append("<div class='chart-container'>");
         
         // Find max value for scaling
-        int maxRainyDays = seasonalRainyDays.values().stream().mapToInt(Integer::intValue).max().orElse(1);
+        int maxRainyDays = Math.max(series.getMaxRainyDays(), 1);
         
         // Generate bar chart
         html.append("<div class='bar-chart'>");
         for (int year = 2005; year <= 2025; year++) {
-            int rainyDays = seasonalRainyDays.getOrDefault(year, 0);
-            int totalDays = seasonalTotalDays.getOrDefault(year, 0);
+            int rainyDays = series.getRainyDays(year);
+            int totalDays = series.getDays(year);
             
             if (totalDays > 0) {
                 double percentage = (rainyDays * 100.0) / totalDays;
@@ -219,7 +163,8 @@ public class StatisticsService {
                 html.append("<span class='bar-value'>").append(rainyDays).append("</span>");
                 html.append("</div>");
                 html.append("<div class='bar-label'>").append(year).append("</div>");
-                html.append("<div class='bar-percentage'>").append(String.format("%.1f%%", percentage)).append("</div>");
+                html.append("<div class='bar-percentage'>");
+                FixedDecimal.append(html, percentage, 1).append("%</div>");
                 html.append("</div>");
             }
         }
@@ -242,32 +187,20 @@ public class StatisticsService {
         return html.toString();
     }
     
-    private boolean isRainyDay(String rainStr) {
-        if (rainStr == null || rainStr.trim().isEmpty() || "---".equals(rainStr.trim())) {
-            return false;
-        }
-        
-        try {
-            double rain = Double.parseDouble(rainStr.trim());
-            return rain > 0.0;
-        } catch (NumberFormatException e) {
-            return false;
-        }
-    }
-    
-    private Set<Integer> getSeasonMonths(String season) {
+    /** Meteorological seasons, each counted within its calendar year (December joins that year's winter). */
+    private Season getSeason(String season) {
         switch (season.toLowerCase()) {
             case "spring":
-                return Set.of(3, 4, 5);
+                return SPRING;
             case "summer":
-                return Set.of(6, 7, 8);
+                return SUMMER;
             case "autumn":
             case "fall":
-                return Set.of(9, 10, 11);
+                return AUTUMN;
             case "winter":
-                return Set.of(12, 1, 2);
+                return WINTER;
             default:
-                return Set.of(1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12);
+                return Season.CALENDAR_YEAR;
         }
     }
     
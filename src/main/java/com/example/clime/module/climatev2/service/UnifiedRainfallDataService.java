@@ -2,10 +2,15 @@ package com.example.clime.module.climatev2.service;
 
 import com.example.clime.module.climatev2.model.DataSource;
 import com.example.clime.module.climatev2.model.RainfallRecord;
+import com.example.clime.module.climatev2.model.Station;
+import com.example.clime.module.climatev2.model.StationRainfall;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
+import org.springframework.web.util.HtmlUtils;
 
+import java.io.IOException;
+import java.io.Writer;
 import java.util.List;
 import java.util.Map;
 
@@ -30,28 +35,42 @@ public class UnifiedRainfallDataService {
         return currentDataSource;
     }
     
+    @Autowired
+    @Qualifier("stationRainfallStore")
+    private StationRainfallStore stationRainfallStore;
+    
+    /**
+     * The station's data for the current source, or for its primary source when the
+     * station has no data from the current one.
+     */
+    public StationRainfall getStationRainfall(String station) {
+        Station resolved = stationRainfallStore.getStation(station);
+        DataSource source = resolved.hasSource(currentDataSource) ? currentDataSource : resolved.getPrimarySource();
+        return stationRainfallStore.get(resolved.getId(), source);
+    }
+    
     public List<RainfallRecord> getAllData() throws Exception {
-        if (currentDataSource == DataSource.KWS) {
-            return kwsDataService.getAllData();
-        } else {
-            return csvDataService.getAllData();
-        }
+        return getAllData(StationRegistry.DEFAULT_STATION);
+    }
+    
+    public List<RainfallRecord> getAllData(String station) throws Exception {
+        return getStationRainfall(station).getAllData();
     }
     
     public List<RainfallRecord> getDataByYear(int year) throws Exception {
-        if (currentDataSource == DataSource.KWS) {
-            return kwsDataService.getDataByYear(year);
-        } else {
-            return csvDataService.getDataByYear(year);
-        }
+        return getDataByYear(StationRegistry.DEFAULT_STATION, year);
+    }
+    
+    public List<RainfallRecord> getDataByYear(String station, int year) throws Exception {
+        return getStationRainfall(station).getDataByYear(year);
     }
     
     public List<RainfallRecord> getDataByYearRange(int startYear, int endYear) throws Exception {
-        if (currentDataSource == DataSource.KWS) {
-            return kwsDataService.getDataByYearRange(startYear, endYear);
-        } else {
-            return csvDataService.getDataByYearRange(startYear, endYear);
-        }
+        return getDataByYearRange(StationRegistry.DEFAULT_STATION, startYear, endYear);
+    }
+    
+    public List<RainfallRecord> getDataByYearRange(String station, int startYear, int endYear) throws Exception {
+        return getStationRainfall(station).getDataByYearRange(startYear, endYear);
     }
     
     public String generateRainfallTableHtml(List<RainfallRecord> records) {
@@ -62,6 +81,23 @@ public class UnifiedRainfallDataService {
         }
     }
     
+    public void writeRainfallTableHtml(List<RainfallRecord> records, Writer out) throws IOException {
+        writeRainfallTableHtml(StationRegistry.DEFAULT_STATION, records, out);
+    }
+    
+    public void writeRainfallTableHtml(String station, List<RainfallRecord> records, Writer out) throws IOException {
+        writeRainfallTableHtml(getStationRainfall(station), records, out);
+    }
+    
+    public void writeRainfallTableHtml(StationRainfall rainfall, List<RainfallRecord> records, Writer out) throws IOException {
+        // The KWS table carries a banner describing the Chennai KWS file
+        if (rainfall.getStation().isBuiltIn() && rainfall.getSource() == DataSource.KWS) {
+            kwsDataService.writeRainfallTableHtml(records, out);
+        } else {
+            csvDataService.writeRainfallTableHtml(records, out);
+        }
+    }
+    
     public Map<String, Object> getBasicStatistics() {
         if (currentDataSource == DataSource.CSV) {
             return csvDataService.getBasicStatistics();
@@ -73,12 +109,22 @@ public class UnifiedRainfallDataService {
     }
     
     public String getDataSourceInfo() {
+        return getDataSourceInfo(StationRegistry.DEFAULT_STATION);
+    }
+    
+    public String getDataSourceInfo(String station) {
+        return getDataSourceInfo(getStationRainfall(station));
+    }
+    
+    public String getDataSourceInfo(StationRainfall rainfall) {
+        DataSource source = rainfall.getSource();
         StringBuilder info = new StringBuilder();
         info.append("<div class='alert alert-info'>");
-        info.append("<strong>Current Data Source:</strong> ").append(currentDataSource.getDisplayName());
-        info.append("<br><strong>Description:</strong> ").append(currentDataSource.getDescription());
+        info.append("<strong>Station:</strong> ").append(HtmlUtils.htmlEscape(rainfall.getStation().getName()));
+        info.append("<br><strong>Current Data Source:</strong> ").append(source.getDisplayName());
+        info.append("<br><strong>Description:</strong> ").append(source.getDescription());
         
-        if (currentDataSource == DataSource.KWS) {
+        if (source == DataSource.KWS && rainfall.getStation().isBuiltIn()) {
             String lastError = kwsDataService.getLastError();
             if (lastError != null) {
                 info.append("<br><strong>Note:</strong> ").append(lastError);
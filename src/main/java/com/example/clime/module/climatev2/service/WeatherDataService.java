@@ -1,18 +1,20 @@
 package com.example.clime.module.climatev2.service;
 
-import com.example.clime.module.climatev2.model.WeatherRecord;
+import com.example.clime.module.dataset.fetch.HtmlTableStreamParser;
+import com.example.clime.module.dataset.fetch.MonthFetchEngine;
+import com.example.clime.module.dataset.fetch.MonthFetchResult;
+import com.example.clime.module.dataset.model.WeatherFields;
+import com.example.clime.module.dataset.model.WeatherRecord;
 import com.opencsv.CSVWriter;
-import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.io.*;
-import java.net.HttpURLConnection;
-import java.net.URL;
 import java.nio.file.Files;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Paths;
+import java.time.YearMonth;
 import java.util.*;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 @Service("weatherDataServiceV2")
 public class WeatherDataService {
@@ -20,27 +22,32 @@ public class WeatherDataService {
     private static final String BASE_URL = "https://xyzxyzxyzxyz.com/summary/";
     private static final Random random = new Random(42); // Fixed seed for consistent scrambling
     
+    static final String FETCH_SOURCE = "summary-html";
+    
+    @Autowired
+    private MonthFetchEngine monthFetchEngine;
+    
     public void fetchAndProcessAllData() {
         List<WeatherRecord> allRecords = new ArrayList<>();
         
-        // Fetch data from 2005_09 to 2025_06
-        for (int year = 2005; year <= 2025; year++) {
-            int startMonth = (year == 2005) ? 9 : 1;
-            int endMonth = (year == 2025) ? 6 : 12;
-            
-            for (int month = startMonth; month <= endMonth; month++) {
-                String yearMonth = String.format("%d_%02d", year, month);
-                System.out.println("ClimateV2: Fetching data for: " + yearMonth);
-                
-                try {
-                    List<WeatherRecord> records = fetchMonthData(year, month);
-                    allRecords.addAll(records);
-                    Thread.sleep(100); // Be nice to the server
-                } catch (Exception e) {
-                    System.err.println("ClimateV2: Error fetching data for " + yearMonth + ": " + e.getMessage());
-                }
+        // Fetch data from 2005_09 to 2025_06; months already checkpointed on disk are reused
+        List<YearMonth> months = new ArrayList<>();
+        for (YearMonth month = YearMonth.of(2005, 9); !month.isAfter(YearMonth.of(2025, 6)); month = month.plusMonths(1)) {
+            months.add(month);
+        }
+        MonthFetchResult fetchResult = monthFetchEngine.fetchAll(FETCH_SOURCE, months,
+            month -> BASE_URL + String.format("%d_%02d", month.getYear(), month.getMonthValue()));
+        
+        for (YearMonth month : fetchResult.getAvailableMonths()) {
+            try {
+                allRecords.addAll(readMonthData(month.getYear(), month.getMonthValue()));
+            } catch (Exception e) {
+                System.err.println("ClimateV2: Error reading data for " + month + ": " + e.getMessage());
             }
         }
+        if (!fetchResult.getFailures().isEmpty()) {
+            System.err.println("ClimateV2: Months not fetched (will be retried on next run): " + fetchResult.getFailures().keySet());
+        }
         
         // Detect anomalies
         detectAnomalies(allRecords);
@@ -51,82 +58,46 @@ public class WeatherDataService {
         System.out.println("ClimateV2: Data fetch and processing complete! Total records: " + allRecords.size());
     }
     
-    private List<WeatherRecord> fetchMonthData(int year, int month) throws Exception {
-        String yearMonth = String.format("%d_%02d", year, month);
-        String url = BASE_URL + yearMonth;
-        
-        HttpURLConnection connection = (HttpURLConnection) new URL(url).openConnection();
-        connection.setRequestMethod("GET");
-        connection.setConnectTimeout(10000);
-        connection.setReadTimeout(10000);
-        
-        if (connection.getResponseCode() != 200) {
-            throw new Exception("HTTP " + connection.getResponseCode() + " for " + url);
-        }
-        
-        try (BufferedReader reader = new BufferedReader(
-                new InputStreamReader(connection.getInputStream()))) {
-            
-            StringBuilder content = new StringBuilder();
-            String line;
-            while ((line = reader.readLine()) != null) {
-                content.append(line).append("\n");
-            }
-            
-            return parseWeatherData(content.toString(), year, month);
+    private List<WeatherRecord> readMonthData(int year, int month) throws Exception {
+        try (Reader reader = new InputStreamReader(
+                monthFetchEngine.open(FETCH_SOURCE, YearMonth.of(year, month)), StandardCharsets.UTF_8)) {
+            return parseWeatherData(reader, year, month);
         }
     }
     
-    private List<WeatherRecord> parseWeatherData(String html, int year, int month) {
+    /**
+     * Streams the summary table out of the page; records are built as each row closes,
+     * so the page is never held in memory as a whole.
+     */
+    List<WeatherRecord> parseWeatherData(Reader html, int year, int month) throws IOException {
         List<WeatherRecord> records = new ArrayList<>();
+        String yearText = String.valueOf(year);
+        String monthText = String.valueOf(month);
         
-        // Pattern to match table rows
-        Pattern rowPattern = Pattern.compile("<tr[^>]*>(.*?)</tr>", Pattern.DOTALL);
-        Pattern cellPattern = Pattern.compile("<td[^>]*>(.*?)</td>", Pattern.DOTALL);
-        
-        Matcher rowMatcher = rowPattern.matcher(html);
-        boolean isFirstRow = true;
-        
-        while (rowMatcher.find()) {
-            if (isFirstRow) {
-                isFirstRow = false;
-                continue; // Skip header row
+        new HtmlTableStreamParser().parse(html, (rowIndex, cells) -> {
+            if (rowIndex == 0 || cells.size() < 16) {
+                return; // Skip header row and incomplete rows
             }
-            
-            String rowContent = rowMatcher.group(1);
-            Matcher cellMatcher = cellPattern.matcher(rowContent);
-            
-            List<String> cells = new ArrayList<>();
-            while (cellMatcher.find()) {
-                String cellContent = cellMatcher.group(1);
-                cellContent = cellContent.replaceAll("<[^>]+>", ""); // Remove HTML tags
-                cellContent = cellContent.replaceAll("&nbsp;", " ").trim();
-                cells.add(cellContent);
-            }
-            
-            if (cells.size() >= 16) {
-                WeatherRecord record = new WeatherRecord(
-                    String.valueOf(year),
-                    String.valueOf(month),
-                    cells.get(0), // day
-                    cells.get(1), // meanTemp
-                    cells.get(2), // highTemp
-                    cells.get(3), // highTime
-                    cells.get(4), // lowTemp
-                    cells.get(5), // lowTime
-                    cells.get(6), // heatDegDays
-                    cells.get(7), // coolDegDays
-                    cells.get(8), // rain
-                    cells.get(9), // windAvg
-                    cells.get(10), // windHi
-                    cells.get(11), // windHiTime
-                    cells.get(12), // domDir
-                    cells.get(13), // meanBarom
-                    cells.get(14)  // meanHum
-                );
-                records.add(record);
-            }
-        }
+            records.add(new WeatherRecord(
+                yearText,
+                monthText,
+                cells.get(0), // day
+                cells.get(1), // meanTemp
+                cells.get(2), // highTemp
+                cells.get(3), // highTime
+                cells.get(4), // lowTemp
+                cells.get(5), // lowTime
+                cells.get(6), // heatDegDays
+                cells.get(7), // coolDegDays
+                cells.get(8), // rain
+                cells.get(9), // windAvg
+                cells.get(10), // windHi
+                cells.get(11), // windHiTime
+                cells.get(12), // domDir
+                cells.get(13), // meanBarom
+                cells.get(14)  // meanHum
+            ));
+        });
         
         return records;
     }
@@ -137,12 +108,13 @@ public class WeatherDataService {
         for (WeatherRecord record : records) {
             List<String> anomalies = new ArrayList<>();
             
-            // Check for temperature anomalies
-            try {
-                double meanTemp = Double.parseDouble(record.getMeanTemp());
-                double highTemp = Double.parseDouble(record.getHighTemp());
-                double lowTemp = Double.parseDouble(record.getLowTemp());
-                
+            // Check for temperature anomalies (values were parsed once; missing ones are NaN)
+            float meanTemp = record.getMeanTempValue();
+            float highTemp = record.getHighTempValue();
+            float lowTemp = record.getLowTempValue();
+            if (Float.isNaN(meanTemp) || Float.isNaN(highTemp) || Float.isNaN(lowTemp)) {
+                anomalies.add("Non-numeric temperature");
+            } else {
                 if (meanTemp > 100 || meanTemp < -50) {
                     anomalies.add("Extreme mean temperature");
                 }
@@ -155,31 +127,21 @@ public class WeatherDataService {
                 if (Math.abs(highTemp - lowTemp) > 60) {
                     anomalies.add("Extreme temperature range");
                 }
-            } catch (NumberFormatException e) {
-                anomalies.add("Non-numeric temperature");
             }
             
-            // Check for rainfall anomalies
-            try {
-                double rain = Double.parseDouble(record.getRain());
-                if (rain > 10.0) {
-                    anomalies.add("Heavy rainfall");
-                }
-                if (rain < 0) {
-                    anomalies.add("Negative rainfall");
-                }
-            } catch (NumberFormatException e) {
-                // Ignore non-numeric rain values
+            // Check for rainfall anomalies (NaN compares false, so non-numeric rain is ignored)
+            float rain = record.getRainValue();
+            if (rain > 10.0f) {
+                anomalies.add("Heavy rainfall");
+            }
+            if (rain < 0) {
+                anomalies.add("Negative rainfall");
             }
             
             // Check for wind anomalies
-            try {
-                double windHi = Double.parseDouble(record.getWindHi());
-                if (windHi > 100) {
-                    anomalies.add("Extreme wind speed");
-                }
-            } catch (NumberFormatException e) {
-                // Ignore non-numeric wind values
+            short windHi = record.getWindHiValue();
+            if (windHi != WeatherFields.MISSING_SHORT && windHi > 100) {
+                anomalies.add("Extreme wind speed");
             }
             
             // Set flags
@@ -0,0 +1,377 @@
+package com.example.clime.module.dataset.csv;
+
+import org.springframework.core.io.Resource;
+import org.springframework.util.StreamUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Forward-only CSV reader over a memory-mapped file that parses fields in place.
+ *
+ * {@link #nextRow()} only records where each field starts and ends; numbers are then
+ * parsed straight from the mapped bytes, so a numeric column never becomes a String.
+ * Fields may be quoted ({@code "a,b"}, with {@code ""} for a quote) and span lines;
+ * blank lines are skipped. Plain decimals take an exact fast path, anything else
+ * (exponents, signs of infinity, very long mantissas) is handed to the JDK parser, so
+ * results always equal {@code Double.parseDouble}/{@code Float.parseFloat} of the
+ * trimmed text.
+ *
+ * Not thread-safe; the {@link Field} returned by {@link #field} is reused.
+ */
+public final class MappedCsvReader {
+
+    private static final double[] DOUBLE_POW10 = new double[23];
+    private static final float[] FLOAT_POW10 = new float[11];
+
+    static {
+        DOUBLE_POW10[0] = 1.0;
+        for (int i = 1; i < DOUBLE_POW10.length; i++) DOUBLE_POW10[i] = DOUBLE_POW10[i - 1] * 10.0;
+        FLOAT_POW10[0] = 1.0f;
+        for (int i = 1; i < FLOAT_POW10.length; i++) FLOAT_POW10[i] = FLOAT_POW10[i - 1] * 10.0f;
+    }
+
+    private final ByteBuffer buffer;
+    private final int limit;
+    private int position;
+
+    private int count;
+    private int[] starts = new int[32];
+    private int[] ends = new int[32];
+    private boolean[] escaped = new boolean[32];
+    private byte[] scratch = new byte[256];
+    private final Field field = new Field();
+
+    private MappedCsvReader(ByteBuffer buffer) {
+        this.buffer = buffer;
+        this.limit = buffer.limit();
+        // Skip a UTF-8 byte order mark
+        if (limit >= 3 && buffer.get(0) == (byte) 0xEF && buffer.get(1) == (byte) 0xBB && buffer.get(2) == (byte) 0xBF) {
+            position = 3;
+        }
+    }
+
+    /** Maps {@code file} read-only; the mapping outlives this call. */
+    public static MappedCsvReader open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException(file + " is too large to map");
+            }
+            return new MappedCsvReader(channel.map(FileChannel.MapMode.READ_ONLY, 0, size));
+        }
+    }
+
+    /**
+     * Maps the resource when it is a plain file and reads it into memory otherwise (e.g.
+     * a classpath entry inside the application jar).
+     */
+    public static MappedCsvReader open(Resource resource) throws IOException {
+        if (resource.isFile()) {
+            return open(resource.getFile().toPath());
+        }
+        try (InputStream in = resource.getInputStream()) {
+            return of(StreamUtils.copyToByteArray(in));
+        }
+    }
+
+    public static MappedCsvReader of(byte[] bytes) {
+        return new MappedCsvReader(ByteBuffer.wrap(bytes));
+    }
+
+    /**
+     * Advances to the next non-blank row.
+     *
+     * @return false at the end of the input
+     */
+    public boolean nextRow() {
+        while (position < limit) {
+            byte b = buffer.get(position);
+            if (b == '\n') {
+                position++;
+            } else if (b == '\r') {
+                position++;
+                if (position < limit && buffer.get(position) == '\n') position++;
+            } else {
+                break;
+            }
+        }
+        if (position >= limit) {
+            count = 0;
+            return false;
+        }
+
+        count = 0;
+        while (true) {
+            if (buffer.get(position) == '"') {
+                scanQuoted();
+            } else {
+                int start = position;
+                while (position < limit && !isDelimiter(buffer.get(position))) position++;
+                addField(start, position, false);
+            }
+            if (position >= limit) {
+                break;
+            }
+            byte b = buffer.get(position++);
+            if (b == ',') {
+                if (position >= limit) {
+                    addField(position, position, false); // Trailing empty field
+                    break;
+                }
+                continue;
+            }
+            if (b == '\r' && position < limit && buffer.get(position) == '\n') position++;
+            break;
+        }
+        return true;
+    }
+
+    private void scanQuoted() {
+        int start = ++position;
+        boolean hasEscapes = false;
+        int end;
+        while (true) {
+            if (position >= limit) {
+                end = position; // Unterminated quote: take the rest of the input
+                break;
+            }
+            if (buffer.get(position) == '"') {
+                if (position + 1 < limit && buffer.get(position + 1) == '"') {
+                    hasEscapes = true;
+                    position += 2;
+                    continue;
+                }
+                end = position++;
+                break;
+            }
+            position++;
+        }
+        addField(start, end, hasEscapes);
+        // Anything between the closing quote and the delimiter is ignored
+        while (position < limit && !isDelimiter(buffer.get(position))) position++;
+    }
+
+    private static boolean isDelimiter(byte b) {
+        return b == ',' || b == '\n' || b == '\r';
+    }
+
+    private void addField(int start, int end, boolean hasEscapes) {
+        if (count == starts.length) {
+            starts = Arrays.copyOf(starts, count * 2);
+            ends = Arrays.copyOf(ends, count * 2);
+            escaped = Arrays.copyOf(escaped, count * 2);
+        }
+        starts[count] = start;
+        ends[count] = end;
+        escaped[count] = hasEscapes;
+        count++;
+    }
+
+    /** Fields in the current row. */
+    public int fieldCount() {
+        return count;
+    }
+
+    /**
+     * The field at {@code index} of the current row, valid until the next call; columns
+     * past the end of a short row read as empty.
+     */
+    public Field field(int index) {
+        if (index < count) {
+            field.set(starts[index], ends[index], escaped[index]);
+        } else {
+            field.set(0, 0, false);
+        }
+        return field;
+    }
+
+    public int getInt(int index) {
+        return field(index).parseInt();
+    }
+
+    public double getDouble(int index) {
+        return field(index).parseDouble();
+    }
+
+    public float getFloat(int index) {
+        return field(index).parseFloat();
+    }
+
+    /** The field's text, unquoted but not trimmed. */
+    public String getString(int index) {
+        return field(index).toString();
+    }
+
+    /**
+     * View of one field of the current row. Parsing and comparisons ignore surrounding
+     * whitespace; only {@link #toString()} and the JDK fallback of the parsers allocate.
+     */
+    public final class Field {
+        private int start;
+        private int end;
+        private boolean hasEscapes;
+        private int trimmedStart;
+        private int trimmedEnd;
+
+        // Result of the last successful parseDecimal
+        private long mantissa;
+        private int scale;
+        private boolean negative;
+
+        private void set(int start, int end, boolean hasEscapes) {
+            this.start = start;
+            this.end = end;
+            this.hasEscapes = hasEscapes;
+            int from = start;
+            int to = end;
+            while (from < to && (buffer.get(from) & 0xFF) <= ' ') from++;
+            while (to > from && (buffer.get(to - 1) & 0xFF) <= ' ') to--;
+            this.trimmedStart = from;
+            this.trimmedEnd = to;
+        }
+
+        /** Length of the trimmed field in bytes. */
+        public int length() {
+            return trimmedEnd - trimmedStart;
+        }
+
+        /** Byte {@code i} of the trimmed field, for format-specific fast paths. */
+        public byte byteAt(int i) {
+            return buffer.get(trimmedStart + i);
+        }
+
+        public boolean isBlank() {
+            return trimmedStart == trimmedEnd;
+        }
+
+        /** Trimmed field equals {@code ascii}, compared byte for byte. */
+        public boolean contentEquals(String ascii) {
+            if (length() != ascii.length()) return false;
+            for (int i = 0; i < ascii.length(); i++) {
+                if (byteAt(i) != ascii.charAt(i)) return false;
+            }
+            return true;
+        }
+
+        /** Trimmed field equals {@code ascii} ignoring ASCII case; non-ASCII bytes never match. */
+        public boolean equalsIgnoreCaseAscii(String ascii) {
+            if (length() != ascii.length()) return false;
+            for (int i = 0; i < ascii.length(); i++) {
+                int b = byteAt(i);
+                int c = ascii.charAt(i);
+                if (b != c && toLowerAscii(b) != toLowerAscii(c)) return false;
+            }
+            return true;
+        }
+
+        /** Same result and exceptions as {@code Integer.parseInt} of the trimmed text. */
+        public int parseInt() {
+            int i = trimmedStart;
+            boolean negative = false;
+            if (i < trimmedEnd && (buffer.get(i) == '-' || buffer.get(i) == '+')) {
+                negative = buffer.get(i) == '-';
+                i++;
+            }
+            int digits = trimmedEnd - i;
+            if (digits > 0 && digits <= 9) {
+                int value = 0;
+                for (; i < trimmedEnd; i++) {
+                    int d = buffer.get(i) - '0';
+                    if (d < 0 || d > 9) break;
+                    value = value * 10 + d;
+                }
+                if (i == trimmedEnd) {
+                    return negative ? -value : value;
+                }
+            }
+            return Integer.parseInt(trimmedString());
+        }
+
+        /** Same result and exceptions as {@code Double.parseDouble} of the trimmed text. */
+        public double parseDouble() {
+            if (parseDecimal(53, 22)) {
+                double value = (double) mantissa / DOUBLE_POW10[scale];
+                return negative ? -value : value;
+            }
+            return Double.parseDouble(trimmedString());
+        }
+
+        /** Same result and exceptions as {@code Float.parseFloat} of the trimmed text. */
+        public float parseFloat() {
+            if (parseDecimal(24, 10)) {
+                float value = (float) mantissa / FLOAT_POW10[scale];
+                return negative ? -value : value;
+            }
+            return Float.parseFloat(trimmedString());
+        }
+
+        /**
+         * Reads {@code [+-]digits[.digits]} into mantissa and scale. The quotient of two
+         * exactly representable numbers is correctly rounded, which is what the JDK
+         * parsers return, so this only succeeds when the mantissa fits in
+         * {@code mantissaBits} and the power of ten is exact.
+         */
+        private boolean parseDecimal(int mantissaBits, int maxScale) {
+            int i = trimmedStart;
+            negative = false;
+            if (i < trimmedEnd && (buffer.get(i) == '-' || buffer.get(i) == '+')) {
+                negative = buffer.get(i) == '-';
+                i++;
+            }
+            long value = 0;
+            int digits = 0;
+            int fraction = -1;
+            long max = 1L << mantissaBits;
+            for (; i < trimmedEnd; i++) {
+                int b = buffer.get(i);
+                if (b == '.' && fraction < 0) {
+                    fraction = 0;
+                    continue;
+                }
+                int d = b - '0';
+                if (d < 0 || d > 9) return false;
+                value = value * 10 + d;
+                if (value > max) return false;
+                digits++;
+                if (fraction >= 0) fraction++;
+            }
+            if (digits == 0 || fraction > maxScale) return false;
+            mantissa = value;
+            scale = Math.max(fraction, 0);
+            return true;
+        }
+
+        private String trimmedString() {
+            return toString().trim();
+        }
+
+        /** The field decoded as UTF-8, with {@code ""} unescaped in quoted fields. */
+        @Override
+        public String toString() {
+            int length = end - start;
+            if (scratch.length < length) {
+                scratch = new byte[Math.max(length, scratch.length * 2)];
+            }
+            int n = 0;
+            for (int i = start; i < end; i++) {
+                byte b = buffer.get(i);
+                scratch[n++] = b;
+                if (hasEscapes && b == '"' && i + 1 < end && buffer.get(i + 1) == '"') {
+                    i++;
+                }
+            }
+            return new String(scratch, 0, n, StandardCharsets.UTF_8);
+        }
+    }
+
+    private static int toLowerAscii(int c) {
+        return c >= 'A' && c <= 'Z' ? c + ('a' - 'A') : c;
+    }
+}
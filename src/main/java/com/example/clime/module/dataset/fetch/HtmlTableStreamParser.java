@@ -0,0 +1,175 @@
+package com.example.clime.module.dataset.fetch;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Single-pass tokenizer that pulls table rows out of an HTML page as it is read.
+ *
+ * Only the current row and cell are held in memory, so page size does not matter and
+ * there is no regex backtracking. Cell text follows the rules of the old regex parser:
+ * nested tags are dropped, {@code &nbsp;} becomes a space and the result is trimmed.
+ * Only {@code <td>} cells are collected; header {@code <th>} cells are ignored.
+ *
+ * Instances reuse their buffers and are not thread-safe; use one per parse at a time.
+ */
+public class HtmlTableStreamParser {
+
+    /**
+     * Receives each {@code <tr>} once its closing tag has been read.
+     */
+    public interface RowHandler {
+        /**
+         * @param rowIndex zero-based position of the row in the page (header included)
+         * @param cells    cell texts; the list is reused, copy it to keep it
+         */
+        void onRow(int rowIndex, List<String> cells);
+    }
+
+    private static final int BUFFER_SIZE = 8192;
+    private static final int MAX_TAG_NAME = 16;
+
+    private final char[] buffer = new char[BUFFER_SIZE];
+    private int position;
+    private int limit;
+    private Reader reader;
+
+    private final StringBuilder cellText = new StringBuilder(32);
+    private final StringBuilder tagName = new StringBuilder(MAX_TAG_NAME);
+    private final List<String> cells = new ArrayList<>(20);
+
+    /**
+     * Parses the whole stream, calling {@code handler} per completed row, and returns
+     * the number of rows seen. The reader is not closed.
+     */
+    public int parse(Reader input, RowHandler handler) throws IOException {
+        reader = input;
+        position = 0;
+        limit = 0;
+        cells.clear();
+        cellText.setLength(0);
+
+        boolean inRow = false;
+        boolean inCell = false;
+        int rowIndex = 0;
+
+        int c;
+        while ((c = next()) != -1) {
+            if (c != '<') {
+                if (inCell) {
+                    cellText.append((char) c);
+                }
+                continue;
+            }
+
+            // Tag, comment or stray '<'
+            c = next();
+            if (c == '!') {
+                skipDeclaration();
+                continue;
+            }
+            boolean closing = c == '/';
+            if (closing) {
+                c = next();
+            }
+            tagName.setLength(0);
+            while (c != -1 && isNameChar(c)) {
+                if (tagName.length() < MAX_TAG_NAME) {
+                    tagName.append((char) Character.toLowerCase(c));
+                }
+                c = next();
+            }
+            if (tagName.length() == 0) {
+                // Not a tag (e.g. "a < b"): keep the text as the regex parser did
+                if (inCell) {
+                    cellText.append('<');
+                    if (closing) cellText.append('/');
+                    if (c != -1) cellText.append((char) c);
+                }
+                continue;
+            }
+            while (c != -1 && c != '>') {
+                c = next();
+            }
+
+            if (isTag("tr")) {
+                if (!closing) {
+                    inRow = true;
+                    inCell = false;
+                    cells.clear();
+                } else if (inRow) {
+                    handler.onRow(rowIndex++, cells);
+                    cells.clear();
+                    inRow = false;
+                    inCell = false;
+                }
+            } else if (isTag("td") && inRow) {
+                if (!closing) {
+                    inCell = true;
+                    cellText.setLength(0);
+                } else if (inCell) {
+                    cells.add(cellValue());
+                    inCell = false;
+                }
+            }
+            // Any other tag inside a cell is stripped
+        }
+        return rowIndex;
+    }
+
+    private boolean isTag(String name) {
+        if (tagName.length() != name.length()) return false;
+        for (int i = 0; i < name.length(); i++) {
+            if (tagName.charAt(i) != name.charAt(i)) return false;
+        }
+        return true;
+    }
+
+    private String cellValue() {
+        int start = 0;
+        int end = cellText.length();
+        for (int i = cellText.indexOf("&nbsp;"); i >= 0; i = cellText.indexOf("&nbsp;", i + 1)) {
+            cellText.replace(i, i + 6, " ");
+            end = cellText.length();
+        }
+        while (start < end && cellText.charAt(start) <= ' ') start++;
+        while (end > start && cellText.charAt(end - 1) <= ' ') end--;
+        return cellText.substring(start, end);
+    }
+
+    /**
+     * Skips {@code <!-- ... -->} comments and {@code <!DOCTYPE ...>} declarations.
+     */
+    private void skipDeclaration() throws IOException {
+        int c = next();
+        if (c == '-' && (c = next()) == '-') {
+            int dashes = 0;
+            while ((c = next()) != -1) {
+                if (c == '>' && dashes >= 2) return;
+                dashes = c == '-' ? dashes + 1 : 0;
+            }
+            return;
+        }
+        while (c != -1 && c != '>') {
+            c = next();
+        }
+    }
+
+    private static boolean isNameChar(int c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9');
+    }
+
+    private int next() throws IOException {
+        if (position == limit) {
+            limit = reader.read(buffer, 0, BUFFER_SIZE);
+            position = 0;
+            if (limit <= 0) {
+                limit = 0;
+                return -1;
+            }
+        }
+        return buffer[position++];
+    }
+}
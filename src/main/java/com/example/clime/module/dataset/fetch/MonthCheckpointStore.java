@@ -0,0 +1,62 @@
+package com.example.clime.module.dataset.fetch;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.YearMonth;
+
+/**
+ * Raw month pages saved to disk as they are downloaded.
+ *
+ * Each source gets its own directory with one {@code yyyy_MM.page} file per month.
+ * Files are written to a temporary name and moved into place, so a month is either
+ * fully checkpointed or absent and an interrupted run resumes where it stopped.
+ */
+public class MonthCheckpointStore {
+
+    private static final String SUFFIX = ".page";
+
+    private final Path baseDir;
+
+    public MonthCheckpointStore(Path baseDir) {
+        this.baseDir = baseDir;
+    }
+
+    public boolean contains(String source, YearMonth month) {
+        return Files.isRegularFile(pathFor(source, month));
+    }
+
+    public InputStream open(String source, YearMonth month) throws IOException {
+        return Files.newInputStream(pathFor(source, month));
+    }
+
+    /**
+     * Copies the stream into the month's checkpoint, replacing any previous copy.
+     */
+    public void write(String source, YearMonth month, InputStream content) throws IOException {
+        Path target = pathFor(source, month);
+        Files.createDirectories(target.getParent());
+        Path temp = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+        try {
+            Files.copy(content, temp, StandardCopyOption.REPLACE_EXISTING);
+            try {
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    public void delete(String source, YearMonth month) throws IOException {
+        Files.deleteIfExists(pathFor(source, month));
+    }
+
+    Path pathFor(String source, YearMonth month) {
+        return baseDir.resolve(source).resolve(String.format("%d_%02d%s", month.getYear(), month.getMonthValue(), SUFFIX));
+    }
+}
@@ -0,0 +1,191 @@
+package com.example.clime.module.dataset.fetch;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Downloads month pages with bounded concurrency, a shared rate limit and retries.
+ *
+ * Every page is streamed straight into a {@link MonthCheckpointStore} file. Months that
+ * already have a checkpoint are not requested again, so a failed or interrupted run
+ * only has to fetch what is missing. Callers parse the pages with {@link #open}.
+ */
+public class MonthFetchEngine {
+
+    private static final long MAX_BACKOFF_MS = 30_000;
+
+    private final MonthCheckpointStore checkpoints;
+    private final TokenBucket rateLimiter;
+    private final int parallelism;
+    private final int maxAttempts;
+    private final long initialBackoffMs;
+    private final int connectTimeoutMs;
+    private final int readTimeoutMs;
+
+    public MonthFetchEngine(MonthCheckpointStore checkpoints, TokenBucket rateLimiter, int parallelism,
+                            int maxAttempts, long initialBackoffMs, int connectTimeoutMs, int readTimeoutMs) {
+        this.checkpoints = checkpoints;
+        this.rateLimiter = rateLimiter;
+        this.parallelism = Math.max(1, parallelism);
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.initialBackoffMs = Math.max(0, initialBackoffMs);
+        this.connectTimeoutMs = connectTimeoutMs;
+        this.readTimeoutMs = readTimeoutMs;
+    }
+
+    /**
+     * Makes sure every requested month is checkpointed under {@code source}, fetching
+     * the missing ones from {@code urlForMonth}. Failures are reported per month in
+     * the result rather than thrown.
+     */
+    public MonthFetchResult fetchAll(String source, List<YearMonth> months, Function<YearMonth, String> urlForMonth) {
+        long start = System.currentTimeMillis();
+        MonthFetchResult result = new MonthFetchResult();
+
+        List<YearMonth> missing = new ArrayList<>();
+        for (YearMonth month : months) {
+            if (checkpoints.contains(source, month)) {
+                result.addCheckpointed(month);
+            } else {
+                missing.add(month);
+            }
+        }
+        System.out.println("📥 [FETCH] " + source + ": " + result.getCheckpointedCount() + " months checkpointed, "
+                + missing.size() + " to fetch with " + parallelism + " workers");
+
+        if (!missing.isEmpty()) {
+            ExecutorService pool = Executors.newFixedThreadPool(Math.min(parallelism, missing.size()), workerThreads(source));
+            try {
+                Map<YearMonth, Future<?>> tasks = new LinkedHashMap<>();
+                for (YearMonth month : missing) {
+                    String url = urlForMonth.apply(month);
+                    tasks.put(month, pool.submit(() -> {
+                        fetchWithRetry(source, month, url);
+                        return null;
+                    }));
+                }
+                for (Map.Entry<YearMonth, Future<?>> task : tasks.entrySet()) {
+                    try {
+                        task.getValue().get();
+                        result.addFetched(task.getKey());
+                    } catch (ExecutionException e) {
+                        Throwable cause = e.getCause() != null ? e.getCause() : e;
+                        System.err.println("❌ [FETCH] " + source + " " + task.getKey() + ": " + cause.getMessage());
+                        result.addFailure(task.getKey(), cause.getMessage());
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                pool.shutdownNow();
+            }
+        }
+
+        result.setElapsedMillis(System.currentTimeMillis() - start);
+        System.out.println("✅ [FETCH] " + source + ": " + result);
+        return result;
+    }
+
+    public InputStream open(String source, YearMonth month) throws IOException {
+        return checkpoints.open(source, month);
+    }
+
+    /**
+     * Drops a month's checkpoint so the next run downloads it again (e.g. a month that
+     * was still in progress when it was fetched).
+     */
+    public void invalidate(String source, YearMonth month) throws IOException {
+        checkpoints.delete(source, month);
+    }
+
+    public MonthCheckpointStore getCheckpoints() {
+        return checkpoints;
+    }
+
+    private void fetchWithRetry(String source, YearMonth month, String url) throws IOException, InterruptedException {
+        IOException lastError = null;
+        for (int attempt = 1; attempt <= maxAttempts; attempt++) {
+            rateLimiter.acquire();
+            try {
+                download(source, month, url);
+                return;
+            } catch (PermanentFetchException e) {
+                throw e;
+            } catch (IOException e) {
+                lastError = e;
+                if (attempt < maxAttempts) {
+                    long backoff = backoffMillis(attempt);
+                    System.out.println("⚠️ [FETCH] " + month + " attempt " + attempt + " failed (" + e.getMessage()
+                            + "), retrying in " + backoff + " ms");
+                    Thread.sleep(backoff);
+                }
+            }
+        }
+        throw lastError;
+    }
+
+    private void download(String source, YearMonth month, String url) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) new URL(url).openConnection();
+        try {
+            connection.setRequestMethod("GET");
+            connection.setConnectTimeout(connectTimeoutMs);
+            connection.setReadTimeout(readTimeoutMs);
+
+            int status = connection.getResponseCode();
+            if (status == 429 || status >= 500) {
+                throw new IOException("HTTP " + status + " for " + url);
+            }
+            if (status != 200) {
+                throw new PermanentFetchException("HTTP " + status + " for " + url);
+            }
+            try (InputStream body = connection.getInputStream()) {
+                checkpoints.write(source, month, body);
+            }
+        } finally {
+            connection.disconnect();
+        }
+    }
+
+    /**
+     * Exponential backoff with up to 50% random jitter so workers don't retry in lockstep.
+     */
+    long backoffMillis(int attempt) {
+        long base = Math.min(MAX_BACKOFF_MS, initialBackoffMs << Math.min(attempt - 1, 20));
+        return base + (base > 1 ? ThreadLocalRandom.current().nextLong(base / 2 + 1) : 0);
+    }
+
+    private static ThreadFactory workerThreads(String source) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "month-fetch-" + source + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * A response that retrying will not fix (4xx other than 429).
+     */
+    static class PermanentFetchException extends IOException {
+        private static final long serialVersionUID = 1L;
+
+        PermanentFetchException(String message) {
+            super(message);
+        }
+    }
+}
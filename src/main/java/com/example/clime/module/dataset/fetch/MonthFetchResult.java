@@ -0,0 +1,60 @@
+package com.example.clime.module.dataset.fetch;
+
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Outcome of one {@link MonthFetchEngine#fetchAll} run.
+ */
+public class MonthFetchResult {
+
+    private final TreeSet<YearMonth> available = new TreeSet<>();
+    private final Map<YearMonth, String> failures = new TreeMap<>();
+    private int fetchedCount;
+    private int checkpointedCount;
+    private long elapsedMillis;
+
+    synchronized void addCheckpointed(YearMonth month) {
+        available.add(month);
+        checkpointedCount++;
+    }
+
+    synchronized void addFetched(YearMonth month) {
+        available.add(month);
+        fetchedCount++;
+    }
+
+    synchronized void addFailure(YearMonth month, String reason) {
+        failures.put(month, reason);
+    }
+
+    void setElapsedMillis(long elapsedMillis) {
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    /**
+     * Months whose pages are on disk after this run, oldest first.
+     */
+    public synchronized List<YearMonth> getAvailableMonths() {
+        return new ArrayList<>(available);
+    }
+
+    public synchronized Map<YearMonth, String> getFailures() {
+        return Collections.unmodifiableMap(new TreeMap<>(failures));
+    }
+
+    public synchronized int getFetchedCount() { return fetchedCount; }
+    public synchronized int getCheckpointedCount() { return checkpointedCount; }
+    public long getElapsedMillis() { return elapsedMillis; }
+
+    @Override
+    public synchronized String toString() {
+        return "fetched=" + fetchedCount + ", fromCheckpoint=" + checkpointedCount
+                + ", failed=" + failures.size() + ", elapsedMs=" + elapsedMillis;
+    }
+}
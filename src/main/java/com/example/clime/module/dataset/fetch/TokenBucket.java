@@ -0,0 +1,47 @@
+package com.example.clime.module.dataset.fetch;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token bucket rate limiter shared by the fetch worker threads.
+ *
+ * Callers that find the bucket empty reserve the next token (the balance goes
+ * negative) and sleep outside the lock until it is due, so waiting threads are
+ * released at the configured rate in arrival order.
+ */
+public class TokenBucket {
+
+    private final double capacity;
+    private final double nanosPerToken;
+    private double tokens;
+    private long lastRefill;
+
+    /**
+     * @param permitsPerSecond sustained rate; zero or negative disables limiting
+     * @param burst            tokens that can accumulate while idle
+     */
+    public TokenBucket(double permitsPerSecond, int burst) {
+        this.capacity = Math.max(1, burst);
+        this.nanosPerToken = permitsPerSecond > 0 ? TimeUnit.SECONDS.toNanos(1) / permitsPerSecond : 0;
+        this.tokens = capacity;
+        this.lastRefill = System.nanoTime();
+    }
+
+    public void acquire() throws InterruptedException {
+        if (nanosPerToken == 0) {
+            return;
+        }
+        long waitNanos;
+        synchronized (this) {
+            long now = System.nanoTime();
+            tokens = Math.min(capacity, tokens + (now - lastRefill) / nanosPerToken);
+            lastRefill = now;
+            tokens -= 1;
+            if (tokens >= 0) {
+                return;
+            }
+            waitNanos = (long) (-tokens * nanosPerToken);
+        }
+        TimeUnit.NANOSECONDS.sleep(waitNanos);
+    }
+}
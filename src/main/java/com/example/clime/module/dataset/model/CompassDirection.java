@@ -0,0 +1,35 @@
+package com.example.clime.module.dataset.model;
+
+/**
+ * The 16 compass points used for the dominant wind direction column.
+ */
+public enum CompassDirection {
+    N, NNE, NE, ENE, E, ESE, SE, SSE, S, SSW, SW, WSW, W, WNW, NW, NNW;
+
+    private static final CompassDirection[] VALUES = values();
+
+    /**
+     * Parses a direction label such as "ENE"; returns null for blank or unknown text.
+     */
+    public static CompassDirection parse(String value) {
+        if (value == null) return null;
+        String clean = value.trim();
+        for (CompassDirection direction : VALUES) {
+            if (direction.name().equalsIgnoreCase(clean)) {
+                return direction;
+            }
+        }
+        return null;
+    }
+
+    public static CompassDirection fromOrdinal(int ordinal) {
+        return ordinal < 0 ? null : VALUES[ordinal];
+    }
+
+    /**
+     * Bearing of the point in degrees, clockwise from north.
+     */
+    public double getDegrees() {
+        return ordinal() * 22.5;
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.clime.module.dataset.model;
+
+import java.util.Arrays;
+
+/**
+ * A set of calendar months aggregated together, and the year each included month is
+ * counted under.
+ *
+ * {@link #spanning} seasons run from one month to another and may wrap past December;
+ * the wrapped months belong to the year the season started in, so Sep-Feb winter 2010
+ * ends in February 2011. {@link #months} seasons simply group by calendar year.
+ */
+public final class Season {
+
+    public static final Season CALENDAR_YEAR = spanning("year", 1, 12);
+    /** Mar-Aug, as charted by the climate statistics pages. */
+    public static final Season SUMMER = spanning("summer", 3, 8);
+    /** Sep-Feb; January and February count towards the previous year's winter. */
+    public static final Season WINTER = spanning("winter", 9, 2);
+
+    private final String name;
+    private final boolean[] included = new boolean[13];
+    private final int[] yearShift = new int[13];
+
+    private Season(String name) {
+        this.name = name;
+    }
+
+    /** Months {@code first} to {@code last} inclusive, wrapping past December when last < first. */
+    public static Season spanning(String name, int first, int last) {
+        checkMonth(first);
+        checkMonth(last);
+        Season season = new Season(name);
+        int month = first;
+        while (true) {
+            season.included[month] = true;
+            season.yearShift[month] = month < first ? -1 : 0;
+            if (month == last) break;
+            month = month == 12 ? 1 : month + 1;
+        }
+        return season;
+    }
+
+    /** Any set of months, each counted under its own calendar year. */
+    public static Season months(String name, int... months) {
+        if (months.length == 0) {
+            throw new IllegalArgumentException("A season needs at least one month");
+        }
+        Season season = new Season(name);
+        for (int month : months) {
+            checkMonth(month);
+            season.included[month] = true;
+        }
+        return season;
+    }
+
+    /**
+     * Parses a request parameter: either one range such as {@code "11-2"} (a spanning
+     * season) or a comma separated list such as {@code "6,7,8"}.
+     *
+     * @throws IllegalArgumentException if the text is not a valid month set
+     */
+    public static Season parse(String text) {
+        String spec = text == null ? "" : text.replace(" ", "");
+        try {
+            int dash = spec.indexOf('-');
+            if (dash > 0 && spec.indexOf(',') < 0) {
+                return spanning(spec, Integer.parseInt(spec.substring(0, dash)), Integer.parseInt(spec.substring(dash + 1)));
+            }
+            String[] parts = spec.split(",");
+            int[] months = new int[parts.length];
+            for (int i = 0; i < parts.length; i++) {
+                months[i] = Integer.parseInt(parts[i]);
+            }
+            return months(spec, months);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid month set: " + text);
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public boolean includes(int month) {
+        return included[month];
+    }
+
+    /**
+     * The year a day of {@code year}/{@code month} counts under; only meaningful when the
+     * month is {@linkplain #includes included}.
+     */
+    public int seasonYear(int year, int month) {
+        return year + yearShift[month];
+    }
+
+    /** Same months counted under the same years; the name is only a label. */
+    public boolean sameMonths(Season other) {
+        return Arrays.equals(included, other.included) && Arrays.equals(yearShift, other.yearShift);
+    }
+
+    private static void checkMonth(int month) {
+        if (month < 1 || month > 12) {
+            throw new IllegalArgumentException("Month out of range: " + month);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
@@ -0,0 +1,136 @@
+package com.example.clime.module.dataset.model;
+
+import java.util.Arrays;
+
+/**
+ * Day, rainy-day and rainfall totals per season and year, built in a single scan of a
+ * {@link WeatherColumns} snapshot.
+ *
+ * The scan fills one cell per (year, month) and, at the same time, the buckets of the
+ * calendar year, {@link Season#SUMMER} and {@link Season#WINTER}, so every rainy-day and
+ * rainfall chart is served from the same pass. Any other month set is summed from the
+ * month cells without touching the rows again; its rainfall is then added month by month
+ * rather than day by day, which can differ from a row scan in the last bits only.
+ */
+public final class SeasonalAggregates {
+
+    private static final Season[] PRECOMPUTED = {Season.CALENDAR_YEAR, Season.SUMMER, Season.WINTER};
+
+    private final int firstYear;
+    private final int yearCount;
+    private final int[] cellDays;
+    private final int[] cellRainyDays;
+    private final double[] cellRainfall;
+    private final Series[] precomputed;
+
+    private SeasonalAggregates(WeatherColumns columns) {
+        int size = columns.size();
+        WeatherMonthIndex index = columns.getMonthIndex();
+        firstYear = size == 0 ? 0 : index.getFirstYear();
+        yearCount = size == 0 ? 0 : index.getLastYear() - firstYear + 1;
+        cellDays = new int[yearCount * 12];
+        cellRainyDays = new int[yearCount * 12];
+        cellRainfall = new double[yearCount * 12];
+
+        // Buckets start a year early so Jan-Feb of the first year has a winter to go to
+        precomputed = new Series[PRECOMPUTED.length];
+        for (int s = 0; s < PRECOMPUTED.length; s++) {
+            precomputed[s] = new Series(PRECOMPUTED[s], firstYear - 1, yearCount + 1);
+        }
+
+        for (int row = 0; row < size; row++) {
+            int year = columns.getYear(row);
+            int month = columns.getMonth(row);
+            double rain = columns.getRain(row);
+            boolean rainy = rain > 0.0;
+
+            int cell = (year - firstYear) * 12 + month - 1;
+            cellDays[cell]++;
+            if (rainy) cellRainyDays[cell]++;
+            cellRainfall[cell] += rain;
+
+            for (Series series : precomputed) {
+                if (series.season.includes(month)) {
+                    series.add(series.season.seasonYear(year, month), rainy, rain);
+                }
+            }
+        }
+    }
+
+    public static SeasonalAggregates build(WeatherColumns columns) {
+        return new SeasonalAggregates(columns);
+    }
+
+    /** Totals per season year; precomputed for the built-in seasons, summed from month cells otherwise. */
+    public Series series(Season season) {
+        for (Series series : precomputed) {
+            if (series.season.sameMonths(season)) {
+                return series;
+            }
+        }
+        Series series = new Series(season, firstYear - 1, yearCount + 1);
+        for (int y = 0; y < yearCount; y++) {
+            for (int month = 1; month <= 12; month++) {
+                int cell = y * 12 + month - 1;
+                if (season.includes(month) && cellDays[cell] > 0) {
+                    series.addCell(season.seasonYear(firstYear + y, month), cellDays[cell], cellRainyDays[cell], cellRainfall[cell]);
+                }
+            }
+        }
+        return series;
+    }
+
+    /**
+     * One season's totals for each year it occurs in. Years outside the dataset read as
+     * zero days.
+     */
+    public static final class Series {
+        private final Season season;
+        private final int firstYear;
+        private final int[] days;
+        private final int[] rainyDays;
+        private final double[] rainfall;
+
+        private Series(Season season, int firstYear, int years) {
+            this.season = season;
+            this.firstYear = firstYear;
+            this.days = new int[years];
+            this.rainyDays = new int[years];
+            this.rainfall = new double[years];
+        }
+
+        private void add(int year, boolean rainy, double rain) {
+            int i = year - firstYear;
+            days[i]++;
+            if (rainy) rainyDays[i]++;
+            rainfall[i] += rain;
+        }
+
+        private void addCell(int year, int cellDays, int cellRainyDays, double cellRainfall) {
+            int i = year - firstYear;
+            days[i] += cellDays;
+            rainyDays[i] += cellRainyDays;
+            rainfall[i] += cellRainfall;
+        }
+
+        public Season getSeason() { return season; }
+
+        /** First and last year a bucket exists for; buckets may still be empty. */
+        public int getFirstYear() { return firstYear; }
+        public int getLastYear() { return firstYear + days.length - 1; }
+
+        public int getDays(int year) { return inRange(year) ? days[year - firstYear] : 0; }
+        public int getRainyDays(int year) { return inRange(year) ? rainyDays[year - firstYear] : 0; }
+        public double getRainfall(int year) { return inRange(year) ? rainfall[year - firstYear] : 0.0; }
+
+        public int getTotalDays() { return Arrays.stream(days).sum(); }
+        public int getTotalRainyDays() { return Arrays.stream(rainyDays).sum(); }
+        public double getTotalRainfall() { return Arrays.stream(rainfall).sum(); }
+
+        public int getMaxRainyDays() { return Arrays.stream(rainyDays).max().orElse(0); }
+
+        private boolean inRange(int year) {
+            return year >= firstYear && year - firstYear < days.length;
+        }
+    }
+}
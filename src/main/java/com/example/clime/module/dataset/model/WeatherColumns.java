@@ -0,0 +1,347 @@
+package com.example.clime.module.dataset.model;
+
+import com.example.clime.module.dataset.snapshot.SnapshotReader;
+import com.example.clime.module.dataset.snapshot.SnapshotWriter;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Immutable column-oriented snapshot of the daily weather dataset.
+ *
+ * Every column is a compact primitive array indexed by row, typed once at load time
+ * using the {@link WeatherFields} conventions, so the statistics and retrieval paths
+ * never parse text per request. Decimal columns are float (NaN when missing), whole
+ * numbers short, times of day packed minutes and the wind direction an enum ordinal.
+ *
+ * Rows are kept sorted by year, month and day so that {@link #getMonthIndex()} can
+ * hand out contiguous month slices.
+ */
+public final class WeatherColumns {
+
+    /** Bumped whenever a column is added, removed or changes type. */
+    public static final int SNAPSHOT_SCHEMA = 1;
+
+    private final int size;
+
+    private final String[] id;
+    private final short[] year;
+    private final byte[] month;
+    private final byte[] day;
+    private final float[] meanTemp;
+    private final float[] highTemp;
+    private final short[] highTime;
+    private final float[] lowTemp;
+    private final short[] lowTime;
+    private final short[] heatDegDays;
+    private final short[] coolDegDays;
+    private final float[] rain;
+    private final short[] windAvg;
+    private final short[] windHi;
+    private final short[] windHiTime;
+    private final byte[] domDir;
+    private final float[] meanBarom;
+    private final short[] meanHum;
+    private final boolean[] flagged;
+    private final String[] anomalyNote;
+    private final WeatherMonthIndex monthIndex;
+
+    private WeatherColumns(Builder builder) {
+        this.size = builder.size;
+        this.id = builder.id;
+        this.year = builder.year;
+        this.month = builder.month;
+        this.day = builder.day;
+        this.meanTemp = builder.meanTemp;
+        this.highTemp = builder.highTemp;
+        this.highTime = builder.highTime;
+        this.lowTemp = builder.lowTemp;
+        this.lowTime = builder.lowTime;
+        this.heatDegDays = builder.heatDegDays;
+        this.coolDegDays = builder.coolDegDays;
+        this.rain = builder.rain;
+        this.windAvg = builder.windAvg;
+        this.windHi = builder.windHi;
+        this.windHiTime = builder.windHiTime;
+        this.domDir = builder.domDir;
+        this.meanBarom = builder.meanBarom;
+        this.meanHum = builder.meanHum;
+        this.flagged = builder.flagged;
+        this.anomalyNote = builder.anomalyNote;
+        this.monthIndex = WeatherMonthIndex.build(this);
+    }
+
+    public static WeatherColumns empty() {
+        return new Builder(0).build();
+    }
+
+    /**
+     * Writes every column as one bulk array, in date order, for {@link #readFrom}.
+     */
+    public void writeTo(SnapshotWriter out) {
+        out.putInt(size)
+           .putStrings(id, size)
+           .putShorts(year, size)
+           .putBytes(month, size)
+           .putBytes(day, size)
+           .putFloats(meanTemp, size)
+           .putFloats(highTemp, size)
+           .putShorts(highTime, size)
+           .putFloats(lowTemp, size)
+           .putShorts(lowTime, size)
+           .putShorts(heatDegDays, size)
+           .putShorts(coolDegDays, size)
+           .putFloats(rain, size)
+           .putShorts(windAvg, size)
+           .putShorts(windHi, size)
+           .putShorts(windHiTime, size)
+           .putBytes(domDir, size)
+           .putFloats(meanBarom, size)
+           .putShorts(meanHum, size)
+           .putBooleans(flagged, size)
+           .putStrings(anomalyNote, size);
+    }
+
+    /**
+     * Rebuilds a snapshot written by {@link #writeTo}. The rows are already in date
+     * order, so the arrays are used as read.
+     */
+    public static WeatherColumns readFrom(SnapshotReader in) throws IOException {
+        int size = in.getInt();
+        if (size < 0) {
+            throw new IOException("Invalid weather snapshot size " + size);
+        }
+        Builder builder = new Builder(0);
+        builder.size = size;
+        builder.id = in.getStrings(size);
+        builder.year = in.getShorts(size);
+        builder.month = in.getBytes(size);
+        builder.day = in.getBytes(size);
+        builder.meanTemp = in.getFloats(size);
+        builder.highTemp = in.getFloats(size);
+        builder.highTime = in.getShorts(size);
+        builder.lowTemp = in.getFloats(size);
+        builder.lowTime = in.getShorts(size);
+        builder.heatDegDays = in.getShorts(size);
+        builder.coolDegDays = in.getShorts(size);
+        builder.rain = in.getFloats(size);
+        builder.windAvg = in.getShorts(size);
+        builder.windHi = in.getShorts(size);
+        builder.windHiTime = in.getShorts(size);
+        builder.domDir = in.getBytes(size);
+        builder.meanBarom = in.getFloats(size);
+        builder.meanHum = in.getShorts(size);
+        builder.flagged = in.getBooleans(size);
+        builder.anomalyNote = in.getStrings(size);
+        return new WeatherColumns(builder);
+    }
+
+    public int size() { return size; }
+
+    public WeatherMonthIndex getMonthIndex() { return monthIndex; }
+
+    public String getId(int row) { return id[row]; }
+    public int getYear(int row) { return year[row]; }
+    public int getMonth(int row) { return month[row]; }
+    public int getDay(int row) { return day[row]; }
+    public float getMeanTemp(int row) { return meanTemp[row]; }
+    public float getHighTemp(int row) { return highTemp[row]; }
+    public short getHighTime(int row) { return highTime[row]; }
+    public float getLowTemp(int row) { return lowTemp[row]; }
+    public short getLowTime(int row) { return lowTime[row]; }
+    public short getHeatDegDays(int row) { return heatDegDays[row]; }
+    public short getCoolDegDays(int row) { return coolDegDays[row]; }
+    public float getRain(int row) { return rain[row]; }
+    public short getWindAvg(int row) { return windAvg[row]; }
+    public short getWindHi(int row) { return windHi[row]; }
+    public short getWindHiTime(int row) { return windHiTime[row]; }
+    public CompassDirection getDomDir(int row) { return CompassDirection.fromOrdinal(domDir[row]); }
+    public float getMeanBarom(int row) { return meanBarom[row]; }
+    public short getMeanHum(int row) { return meanHum[row]; }
+    public boolean isFlagged(int row) { return flagged[row]; }
+    public String getAnomalyNote(int row) { return anomalyNote[row]; }
+
+    /**
+     * Growable row sink used while loading; {@link #build()} sorts the rows by date,
+     * trims the arrays and hands them to an immutable {@link WeatherColumns}.
+     */
+    public static final class Builder {
+        private int size;
+        private String[] id;
+        private short[] year;
+        private byte[] month;
+        private byte[] day;
+        private float[] meanTemp;
+        private float[] highTemp;
+        private short[] highTime;
+        private float[] lowTemp;
+        private short[] lowTime;
+        private short[] heatDegDays;
+        private short[] coolDegDays;
+        private float[] rain;
+        private short[] windAvg;
+        private short[] windHi;
+        private short[] windHiTime;
+        private byte[] domDir;
+        private float[] meanBarom;
+        private short[] meanHum;
+        private boolean[] flagged;
+        private String[] anomalyNote;
+
+        public Builder(int initialCapacity) {
+            allocate(Math.max(initialCapacity, 16));
+        }
+
+        public Builder add(String id, int year, int month, int day,
+                           float meanTemp, float highTemp, short highTime,
+                           float lowTemp, short lowTime, short heatDegDays, short coolDegDays,
+                           float rain, short windAvg, short windHi, short windHiTime,
+                           CompassDirection domDir, float meanBarom, short meanHum,
+                           boolean flagged, String anomalyNote) {
+            if (year < 1 || year > Short.MAX_VALUE || month < 1 || month > 12 || day < 1 || day > 31) {
+                throw new IllegalArgumentException("Invalid date " + year + "-" + month + "-" + day);
+            }
+            if (size == this.year.length) {
+                allocate(Math.max(16, size * 2));
+            }
+            int row = size++;
+            this.id[row] = id;
+            this.year[row] = (short) year;
+            this.month[row] = (byte) month;
+            this.day[row] = (byte) day;
+            this.meanTemp[row] = meanTemp;
+            this.highTemp[row] = highTemp;
+            this.highTime[row] = highTime;
+            this.lowTemp[row] = lowTemp;
+            this.lowTime[row] = lowTime;
+            this.heatDegDays[row] = heatDegDays;
+            this.coolDegDays[row] = coolDegDays;
+            this.rain[row] = rain;
+            this.windAvg[row] = windAvg;
+            this.windHi[row] = windHi;
+            this.windHiTime[row] = windHiTime;
+            this.domDir[row] = (byte) (domDir == null ? -1 : domDir.ordinal());
+            this.meanBarom[row] = meanBarom;
+            this.meanHum[row] = meanHum;
+            this.flagged[row] = flagged;
+            this.anomalyNote[row] = anomalyNote;
+            return this;
+        }
+
+        /**
+         * Copies one row of an existing snapshot, e.g. when merging refreshed months.
+         */
+        public Builder addRow(WeatherColumns source, int row) {
+            return add(source.getId(row), source.getYear(row), source.getMonth(row), source.getDay(row),
+                    source.getMeanTemp(row), source.getHighTemp(row), source.getHighTime(row),
+                    source.getLowTemp(row), source.getLowTime(row), source.getHeatDegDays(row),
+                    source.getCoolDegDays(row), source.getRain(row), source.getWindAvg(row),
+                    source.getWindHi(row), source.getWindHiTime(row), source.getDomDir(row),
+                    source.getMeanBarom(row), source.getMeanHum(row), source.isFlagged(row),
+                    source.getAnomalyNote(row));
+        }
+
+        public WeatherColumns build() {
+            allocate(size);
+            sortByDate();
+            return new WeatherColumns(this);
+        }
+
+        /**
+         * Stable sort by (year, month, day). Files written by WeatherDataService are
+         * already in order, in which case nothing is copied.
+         */
+        private void sortByDate() {
+            long[] keys = new long[size];
+            boolean sorted = true;
+            for (int row = 0; row < size; row++) {
+                long date = ((long) year[row] << 9) | ((long) month[row] << 5) | day[row];
+                keys[row] = (date << 32) | row;
+                if (row > 0 && keys[row] < keys[row - 1]) {
+                    sorted = false;
+                }
+            }
+            if (sorted) {
+                return;
+            }
+            Arrays.sort(keys);
+            int[] order = new int[size];
+            for (int i = 0; i < size; i++) {
+                order[i] = (int) keys[i];
+            }
+            id = permute(id, order);
+            year = permute(year, order);
+            month = permute(month, order);
+            day = permute(day, order);
+            meanTemp = permute(meanTemp, order);
+            highTemp = permute(highTemp, order);
+            highTime = permute(highTime, order);
+            lowTemp = permute(lowTemp, order);
+            lowTime = permute(lowTime, order);
+            heatDegDays = permute(heatDegDays, order);
+            coolDegDays = permute(coolDegDays, order);
+            rain = permute(rain, order);
+            windAvg = permute(windAvg, order);
+            windHi = permute(windHi, order);
+            windHiTime = permute(windHiTime, order);
+            domDir = permute(domDir, order);
+            meanBarom = permute(meanBarom, order);
+            meanHum = permute(meanHum, order);
+            flagged = permute(flagged, order);
+            anomalyNote = permute(anomalyNote, order);
+        }
+
+        private static byte[] permute(byte[] values, int[] order) {
+            byte[] result = new byte[order.length];
+            for (int i = 0; i < order.length; i++) result[i] = values[order[i]];
+            return result;
+        }
+
+        private static short[] permute(short[] values, int[] order) {
+            short[] result = new short[order.length];
+            for (int i = 0; i < order.length; i++) result[i] = values[order[i]];
+            return result;
+        }
+
+        private static float[] permute(float[] values, int[] order) {
+            float[] result = new float[order.length];
+            for (int i = 0; i < order.length; i++) result[i] = values[order[i]];
+            return result;
+        }
+
+        private static boolean[] permute(boolean[] values, int[] order) {
+            boolean[] result = new boolean[order.length];
+            for (int i = 0; i < order.length; i++) result[i] = values[order[i]];
+            return result;
+        }
+
+        private static String[] permute(String[] values, int[] order) {
+            String[] result = new String[order.length];
+            for (int i = 0; i < order.length; i++) result[i] = values[order[i]];
+            return result;
+        }
+
+        private void allocate(int capacity) {
+            id = id == null ? new String[capacity] : Arrays.copyOf(id, capacity);
+            year = year == null ? new short[capacity] : Arrays.copyOf(year, capacity);
+            month = month == null ? new byte[capacity] : Arrays.copyOf(month, capacity);
+            day = day == null ? new byte[capacity] : Arrays.copyOf(day, capacity);
+            meanTemp = meanTemp == null ? new float[capacity] : Arrays.copyOf(meanTemp, capacity);
+            highTemp = highTemp == null ? new float[capacity] : Arrays.copyOf(highTemp, capacity);
+            highTime = highTime == null ? new short[capacity] : Arrays.copyOf(highTime, capacity);
+            lowTemp = lowTemp == null ? new float[capacity] : Arrays.copyOf(lowTemp, capacity);
+            lowTime = lowTime == null ? new short[capacity] : Arrays.copyOf(lowTime, capacity);
+            heatDegDays = heatDegDays == null ? new short[capacity] : Arrays.copyOf(heatDegDays, capacity);
+            coolDegDays = coolDegDays == null ? new short[capacity] : Arrays.copyOf(coolDegDays, capacity);
+            rain = rain == null ? new float[capacity] : Arrays.copyOf(rain, capacity);
+            windAvg = windAvg == null ? new short[capacity] : Arrays.copyOf(windAvg, capacity);
+            windHi = windHi == null ? new short[capacity] : Arrays.copyOf(windHi, capacity);
+            windHiTime = windHiTime == null ? new short[capacity] : Arrays.copyOf(windHiTime, capacity);
+            domDir = domDir == null ? new byte[capacity] : Arrays.copyOf(domDir, capacity);
+            meanBarom = meanBarom == null ? new float[capacity] : Arrays.copyOf(meanBarom, capacity);
+            meanHum = meanHum == null ? new short[capacity] : Arrays.copyOf(meanHum, capacity);
+            flagged = flagged == null ? new boolean[capacity] : Arrays.copyOf(flagged, capacity);
+            anomalyNote = anomalyNote == null ? new String[capacity] : Arrays.copyOf(anomalyNote, capacity);
+        }
+    }
+}
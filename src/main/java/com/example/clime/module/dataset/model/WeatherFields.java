@@ -0,0 +1,113 @@
+package com.example.clime.module.dataset.model;
+
+/**
+ * Parsing and formatting rules shared by the typed weather representations.
+ *
+ * Decimal fields are held as float (NaN when missing), whole-number fields as short
+ * ({@link #MISSING_SHORT} when missing) and times of day as minutes after midnight
+ * ({@link #MISSING_TIME} when missing). Values are parsed once when a record is built
+ * and only turned back into text for display or CSV output.
+ */
+public final class WeatherFields {
+
+    public static final short MISSING_SHORT = Short.MIN_VALUE;
+    public static final short MISSING_TIME = -1;
+
+    private static final String[] TIME_TEXT = new String[24 * 60];
+
+    static {
+        for (int minutes = 0; minutes < TIME_TEXT.length; minutes++) {
+            int hour = minutes / 60;
+            int minute = minutes % 60;
+            int displayHour = hour % 12 == 0 ? 12 : hour % 12;
+            TIME_TEXT[minutes] = displayHour + ":" + (minute < 10 ? "0" : "") + minute + (hour < 12 ? "am" : "pm");
+        }
+    }
+
+    private WeatherFields() {
+    }
+
+    /**
+     * Strict decimal parse; NaN for blank or non-numeric text.
+     */
+    public static float parseFloat(String value) {
+        if (value == null) return Float.NaN;
+        String clean = value.trim();
+        if (clean.isEmpty()) return Float.NaN;
+        try {
+            return Float.parseFloat(clean);
+        } catch (NumberFormatException e) {
+            return Float.NaN;
+        }
+    }
+
+    /**
+     * Decimal parse that falls back to the numeric part of the text (e.g. "1012.3hPa").
+     */
+    public static float parseLenientFloat(String value) {
+        float parsed = parseFloat(value);
+        if (!Float.isNaN(parsed) || value == null) {
+            return parsed;
+        }
+        String numeric = value.replaceAll("[^0-9.]", "");
+        return numeric.isEmpty() || ".".equals(numeric) ? Float.NaN : parseFloat(numeric);
+    }
+
+    /**
+     * Whole-number parse (decimals are rounded); {@link #MISSING_SHORT} when unparseable.
+     */
+    public static short parseShort(String value) {
+        return toShort(parseLenientFloat(value));
+    }
+
+    /**
+     * Rounds an already parsed value the way {@link #parseShort} does.
+     */
+    public static short toShort(float parsed) {
+        if (Float.isNaN(parsed) || parsed > Short.MAX_VALUE || parsed <= Short.MIN_VALUE) {
+            return MISSING_SHORT;
+        }
+        return (short) Math.round(parsed);
+    }
+
+    /**
+     * Packs an "h:mm am/pm" time into minutes after midnight.
+     */
+    public static short parseTime(String value) {
+        if (value == null) return MISSING_TIME;
+        String clean = value.trim().toLowerCase();
+        int colon = clean.indexOf(':');
+        if (colon < 1 || clean.length() < colon + 3) return MISSING_TIME;
+        try {
+            int hour = Integer.parseInt(clean.substring(0, colon));
+            int minute = Integer.parseInt(clean.substring(colon + 1, colon + 3));
+            String suffix = clean.substring(colon + 3).trim();
+            if (minute > 59) return MISSING_TIME;
+            if ("am".equals(suffix) || "pm".equals(suffix)) {
+                if (hour < 1 || hour > 12) return MISSING_TIME;
+                hour = hour % 12 + ("pm".equals(suffix) ? 12 : 0);
+            } else if (!suffix.isEmpty() || hour > 23) {
+                return MISSING_TIME;
+            }
+            return (short) (hour * 60 + minute);
+        } catch (NumberFormatException e) {
+            return MISSING_TIME;
+        }
+    }
+
+    public static String formatTime(short minutes) {
+        return minutes < 0 || minutes >= TIME_TEXT.length ? "" : TIME_TEXT[minutes];
+    }
+
+    public static String format(float value) {
+        return Float.isNaN(value) ? "" : Float.toString(value);
+    }
+
+    public static String format(short value) {
+        return value == MISSING_SHORT ? "" : Short.toString(value);
+    }
+
+    public static String format(CompassDirection direction) {
+        return direction == null ? "" : direction.name();
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.clime.module.dataset.model;
+
+/**
+ * (year, month) index over a {@link WeatherColumns} snapshot whose rows are sorted by
+ * year, month and day.
+ *
+ * Months are numbered consecutively from the first year in the dataset and
+ * {@code offsets[k]} holds the first row of month k, so any month, span of months or
+ * whole year maps to a contiguous, day-ordered row range in constant time.
+ */
+public final class WeatherMonthIndex {
+
+    private static final int[] NO_OFFSETS = {0};
+
+    private final int firstYear;
+    private final int[] offsets;
+
+    private WeatherMonthIndex(int firstYear, int[] offsets) {
+        this.firstYear = firstYear;
+        this.offsets = offsets;
+    }
+
+    /**
+     * Builds the index from a snapshot whose rows are already sorted by date.
+     */
+    static WeatherMonthIndex build(WeatherColumns columns) {
+        int size = columns.size();
+        if (size == 0) {
+            return new WeatherMonthIndex(0, NO_OFFSETS);
+        }
+        int firstYear = columns.getYear(0);
+        int lastYear = columns.getYear(size - 1);
+        int monthCount = (lastYear - firstYear + 1) * 12;
+        int[] offsets = new int[monthCount + 1];
+
+        int row = 0;
+        for (int key = 0; key < monthCount; key++) {
+            offsets[key] = row;
+            while (row < size && (columns.getYear(row) - firstYear) * 12 + columns.getMonth(row) - 1 == key) {
+                row++;
+            }
+        }
+        offsets[monthCount] = size;
+        return new WeatherMonthIndex(firstYear, offsets);
+    }
+
+    /**
+     * Returns the rows of a single month; empty if the month is outside the dataset.
+     */
+    public RowRange month(int year, int month) {
+        return months(year, month, year, month);
+    }
+
+    /**
+     * Returns the rows from {@code fromYear/fromMonth} to {@code toYear/toMonth}, both
+     * inclusive, clamped to the months present in the dataset.
+     */
+    public RowRange months(int fromYear, int fromMonth, int toYear, int toMonth) {
+        if (fromMonth < 1 || fromMonth > 12 || toMonth < 1 || toMonth > 12) {
+            return RowRange.EMPTY;
+        }
+        int monthCount = offsets.length - 1;
+        long from = Math.max(key(fromYear, fromMonth), 0L);
+        long to = Math.min(key(toYear, toMonth), monthCount - 1L);
+        if (from > to) {
+            return RowRange.EMPTY;
+        }
+        return new RowRange(offsets[(int) from], offsets[(int) to + 1]);
+    }
+
+    /**
+     * Returns every row of a calendar year.
+     */
+    public RowRange year(int year) {
+        return months(year, 1, year, 12);
+    }
+
+    public int getFirstYear() {
+        return firstYear;
+    }
+
+    public int getLastYear() {
+        return offsets.length == 1 ? firstYear - 1 : firstYear + (offsets.length - 1) / 12 - 1;
+    }
+
+    private long key(int year, int month) {
+        return ((long) year - firstYear) * 12 + month - 1;
+    }
+
+    /**
+     * Half-open range of row numbers [start, end) into the snapshot.
+     */
+    public static final class RowRange {
+        public static final RowRange EMPTY = new RowRange(0, 0);
+
+        private final int start;
+        private final int end;
+
+        RowRange(int start, int end) {
+            this.start = start;
+            this.end = end;
+        }
+
+        public int getStart() { return start; }
+        public int getEnd() { return end; }
+        public int size() { return end - start; }
+        public boolean isEmpty() { return start == end; }
+    }
+}
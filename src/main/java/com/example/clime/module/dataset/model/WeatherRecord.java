@@ -0,0 +1,183 @@
+package com.example.clime.module.dataset.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+/**
+ * One day of weather data, as served by both the climate and climatev2 APIs.
+ *
+ * Values are parsed once into compact primitive fields (see {@link WeatherFields}); the
+ * String getters and setters keep the JSON and CSV shape unchanged, while the typed
+ * accessors are used by anomaly detection and other numeric paths.
+ */
+public class WeatherRecord {
+    private short year;
+    private byte month;
+    private byte day;
+    private float meanTemp = Float.NaN;
+    private float highTemp = Float.NaN;
+    private short highTime = WeatherFields.MISSING_TIME;
+    private float lowTemp = Float.NaN;
+    private short lowTime = WeatherFields.MISSING_TIME;
+    private short heatDegDays = WeatherFields.MISSING_SHORT;
+    private short coolDegDays = WeatherFields.MISSING_SHORT;
+    private float rain = Float.NaN;
+    private short windAvg = WeatherFields.MISSING_SHORT;
+    private short windHi = WeatherFields.MISSING_SHORT;
+    private short windHiTime = WeatherFields.MISSING_TIME;
+    private CompassDirection domDir;
+    private float meanBarom = Float.NaN;
+    private short meanHum = WeatherFields.MISSING_SHORT;
+    private char flagged;
+    private String anomalyNote;
+
+    // Default constructor
+    public WeatherRecord() {}
+
+    // Constructor
+    public WeatherRecord(String year, String month, String day, String meanTemp, String highTemp, 
+                        String highTime, String lowTemp, String lowTime, String heatDegDays, 
+                        String coolDegDays, String rain, String windAvg, String windHi, 
+                        String windHiTime, String domDir, String meanBarom, String meanHum) {
+        setYear(year);
+        setMonth(month);
+        setDay(day);
+        setMeanTemp(meanTemp);
+        setHighTemp(highTemp);
+        setHighTime(highTime);
+        setLowTemp(lowTemp);
+        setLowTime(lowTime);
+        setHeatDegDays(heatDegDays);
+        setCoolDegDays(coolDegDays);
+        setRain(rain);
+        setWindAvg(windAvg);
+        setWindHi(windHi);
+        setWindHiTime(windHiTime);
+        setDomDir(domDir);
+        setMeanBarom(meanBarom);
+        setMeanHum(meanHum);
+        this.flagged = 'F';
+        this.anomalyNote = "";
+    }
+
+    // Getters and Setters
+    public String getYear() { return year == 0 ? "" : Integer.toString(year); }
+    public void setYear(String year) { this.year = (short) Math.max(WeatherFields.parseShort(year), 0); }
+
+    public String getMonth() { return month == 0 ? "" : Integer.toString(month); }
+    public void setMonth(String month) { this.month = (byte) Math.max(Math.min(WeatherFields.parseShort(month), 12), 0); }
+
+    public String getDay() { return day == 0 ? "" : Integer.toString(day); }
+    public void setDay(String day) { this.day = (byte) Math.max(Math.min(WeatherFields.parseShort(day), 31), 0); }
+
+    public String getMeanTemp() { return WeatherFields.format(meanTemp); }
+    public void setMeanTemp(String meanTemp) { this.meanTemp = WeatherFields.parseFloat(meanTemp); }
+
+    public String getHighTemp() { return WeatherFields.format(highTemp); }
+    public void setHighTemp(String highTemp) { this.highTemp = WeatherFields.parseFloat(highTemp); }
+
+    public String getHighTime() { return WeatherFields.formatTime(highTime); }
+    public void setHighTime(String highTime) { this.highTime = WeatherFields.parseTime(highTime); }
+
+    public String getLowTemp() { return WeatherFields.format(lowTemp); }
+    public void setLowTemp(String lowTemp) { this.lowTemp = WeatherFields.parseFloat(lowTemp); }
+
+    public String getLowTime() { return WeatherFields.formatTime(lowTime); }
+    public void setLowTime(String lowTime) { this.lowTime = WeatherFields.parseTime(lowTime); }
+
+    public String getHeatDegDays() { return WeatherFields.format(heatDegDays); }
+    public void setHeatDegDays(String heatDegDays) { this.heatDegDays = WeatherFields.parseShort(heatDegDays); }
+
+    public String getCoolDegDays() { return WeatherFields.format(coolDegDays); }
+    public void setCoolDegDays(String coolDegDays) { this.coolDegDays = WeatherFields.parseShort(coolDegDays); }
+
+    public String getRain() { return WeatherFields.format(rain); }
+    public void setRain(String rain) { this.rain = WeatherFields.parseLenientFloat(rain); }
+
+    public String getWindAvg() { return WeatherFields.format(windAvg); }
+    public void setWindAvg(String windAvg) { this.windAvg = WeatherFields.parseShort(windAvg); }
+
+    public String getWindHi() { return WeatherFields.format(windHi); }
+    public void setWindHi(String windHi) { this.windHi = WeatherFields.parseShort(windHi); }
+
+    public String getWindHiTime() { return WeatherFields.formatTime(windHiTime); }
+    public void setWindHiTime(String windHiTime) { this.windHiTime = WeatherFields.parseTime(windHiTime); }
+
+    public String getDomDir() { return WeatherFields.format(domDir); }
+    public void setDomDir(String domDir) { this.domDir = CompassDirection.parse(domDir); }
+
+    public String getMeanBarom() { return WeatherFields.format(meanBarom); }
+    public void setMeanBarom(String meanBarom) { this.meanBarom = WeatherFields.parseLenientFloat(meanBarom); }
+
+    public String getMeanHum() { return WeatherFields.format(meanHum); }
+    public void setMeanHum(String meanHum) { this.meanHum = WeatherFields.parseShort(meanHum); }
+
+    public String getFlagged() { return flagged == 0 ? null : String.valueOf(flagged); }
+    public void setFlagged(String flagged) { this.flagged = flagged == null || flagged.isEmpty() ? 0 : flagged.charAt(0); }
+
+    public String getAnomalyNote() { return anomalyNote; }
+    public void setAnomalyNote(String anomalyNote) { this.anomalyNote = anomalyNote; }
+
+    // Typed accessors (NaN / WeatherFields.MISSING_* when a value is missing)
+    @JsonIgnore public int getYearValue() { return year; }
+    @JsonIgnore public int getMonthValue() { return month; }
+    @JsonIgnore public int getDayValue() { return day; }
+    @JsonIgnore public float getMeanTempValue() { return meanTemp; }
+    @JsonIgnore public float getHighTempValue() { return highTemp; }
+    @JsonIgnore public short getHighTimeMinutes() { return highTime; }
+    @JsonIgnore public float getLowTempValue() { return lowTemp; }
+    @JsonIgnore public short getLowTimeMinutes() { return lowTime; }
+    @JsonIgnore public short getHeatDegDaysValue() { return heatDegDays; }
+    @JsonIgnore public short getCoolDegDaysValue() { return coolDegDays; }
+    @JsonIgnore public float getRainValue() { return rain; }
+    @JsonIgnore public short getWindAvgValue() { return windAvg; }
+    @JsonIgnore public short getWindHiValue() { return windHi; }
+    @JsonIgnore public short getWindHiTimeMinutes() { return windHiTime; }
+    @JsonIgnore public CompassDirection getDomDirValue() { return domDir; }
+    @JsonIgnore public float getMeanBaromValue() { return meanBarom; }
+    @JsonIgnore public short getMeanHumValue() { return meanHum; }
+    @JsonIgnore public boolean isFlaggedValue() { return flagged == 'Y'; }
+
+    /**
+     * The record for one row of a snapshot.
+     */
+    public static WeatherRecord of(WeatherColumns columns, int row) {
+        return new WeatherRecord().setValues(
+            columns.getYear(row), columns.getMonth(row), columns.getDay(row),
+            columns.getMeanTemp(row), columns.getHighTemp(row), columns.getHighTime(row),
+            columns.getLowTemp(row), columns.getLowTime(row),
+            columns.getHeatDegDays(row), columns.getCoolDegDays(row), columns.getRain(row),
+            columns.getWindAvg(row), columns.getWindHi(row), columns.getWindHiTime(row),
+            columns.getDomDir(row), columns.getMeanBarom(row), columns.getMeanHum(row),
+            columns.isFlagged(row), columns.getAnomalyNote(row));
+    }
+
+    /**
+     * Fills every field from already-typed values, skipping the text parsers.
+     */
+    public WeatherRecord setValues(int year, int month, int day, float meanTemp, float highTemp,
+                                   short highTime, float lowTemp, short lowTime, short heatDegDays,
+                                   short coolDegDays, float rain, short windAvg, short windHi,
+                                   short windHiTime, CompassDirection domDir, float meanBarom,
+                                   short meanHum, boolean flagged, String anomalyNote) {
+        this.year = (short) year;
+        this.month = (byte) month;
+        this.day = (byte) day;
+        this.meanTemp = meanTemp;
+        this.highTemp = highTemp;
+        this.highTime = highTime;
+        this.lowTemp = lowTemp;
+        this.lowTime = lowTime;
+        this.heatDegDays = heatDegDays;
+        this.coolDegDays = coolDegDays;
+        this.rain = rain;
+        this.windAvg = windAvg;
+        this.windHi = windHi;
+        this.windHiTime = windHiTime;
+        this.domDir = domDir;
+        this.meanBarom = meanBarom;
+        this.meanHum = meanHum;
+        this.flagged = flagged ? 'Y' : 'N';
+        this.anomalyNote = anomalyNote;
+        return this;
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.clime.module.dataset.service;
+
+import com.example.clime.module.dataset.model.Season;
+import com.example.clime.module.dataset.model.SeasonalAggregates;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Shared {@link SeasonalAggregates} for the rainy-day and rainfall statistics.
+ *
+ * The aggregates are built on first use and again whenever the {@link WeatherRepository}
+ * publishes a new snapshot, so the total, summer and winter views of a dashboard are all
+ * answered from one scan instead of one scan per chart.
+ */
+@Component("seasonalStatisticsEngine")
+public class SeasonalStatisticsEngine {
+
+    @Autowired
+    private WeatherRepository weatherRepository;
+
+    private volatile Snapshot current;
+
+    public SeasonalAggregates getAggregates() {
+        // Make sure a snapshot is loaded before reading its version
+        weatherRepository.getColumns();
+        long version = weatherRepository.getVersion();
+        Snapshot snapshot = current;
+        if (snapshot == null || snapshot.version != version) {
+            synchronized (this) {
+                snapshot = current;
+                if (snapshot == null || snapshot.version != version) {
+                    long start = System.currentTimeMillis();
+                    snapshot = new Snapshot(version, SeasonalAggregates.build(weatherRepository.getColumns()));
+                    current = snapshot;
+                    System.out.println("📊 Built seasonal aggregates for weather data version " + version
+                            + " in " + (System.currentTimeMillis() - start) + " ms");
+                }
+            }
+        }
+        return snapshot.aggregates;
+    }
+
+    public SeasonalAggregates.Series series(Season season) {
+        return getAggregates().series(season);
+    }
+
+    private static final class Snapshot {
+        private final long version;
+        private final SeasonalAggregates aggregates;
+
+        Snapshot(long version, SeasonalAggregates aggregates) {
+            this.version = version;
+            this.aggregates = aggregates;
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package com.example.clime.module.dataset.service;
+
+import com.example.clime.module.dataset.model.WeatherColumns;
+import com.example.clime.module.dataset.model.WeatherMonthIndex;
+import com.example.clime.module.dataset.model.WeatherRecord;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keyed weather queries and the weather table, shared by the /api/weather and
+ * /api/weatherv2 controllers; the two versions differ only in the table heading.
+ */
+@Service("weatherDataRetrievalService")
+public class WeatherDataRetrievalService {
+    
+    @Value("${weather.unscramble.key}")
+    private String unscrambleKey;
+    
+    @Autowired
+    private WeatherRepository weatherRepository;
+
+    public List<WeatherRecord> getWeatherData(String year, String month, String providedKey) {
+        return getWeatherDataRange(year, month, year, month, providedKey);
+    }
+    
+    /**
+     * Returns every day of a calendar year in date order.
+     */
+    public List<WeatherRecord> getWeatherDataForYear(String year, String providedKey) {
+        return getWeatherDataRange(year, "1", year, "12", providedKey);
+    }
+    
+    /**
+     * Returns the days from fromYear/fromMonth to toYear/toMonth (inclusive) in date order.
+     */
+    public List<WeatherRecord> getWeatherDataRange(String fromYear, String fromMonth,
+                                                   String toYear, String toMonth, String providedKey) {
+        if (!unscrambleKey.equals(providedKey)) {
+            throw new SecurityException("Invalid unscramble key");
+        }
+        
+        try {
+            return weatherRepository.findMonths(
+                Integer.parseInt(fromYear.trim()), Integer.parseInt(fromMonth.trim()),
+                Integer.parseInt(toYear.trim()), Integer.parseInt(toMonth.trim()));
+        } catch (NumberFormatException e) {
+            return new ArrayList<>();
+        }
+    }
+    
+    /**
+     * Record and anomaly counts for the fetched period (Sep 2005 to Jun 2025), counted on
+     * the snapshot without building records.
+     */
+    public Map<String, Object> getDataStats(String providedKey) {
+        if (!unscrambleKey.equals(providedKey)) {
+            throw new SecurityException("Invalid unscramble key");
+        }
+        
+        WeatherColumns columns = weatherRepository.getColumns();
+        WeatherMonthIndex.RowRange range = columns.getMonthIndex().months(2005, 9, 2025, 6);
+        int flaggedRecords = 0;
+        for (int row = range.getStart(); row < range.getEnd(); row++) {
+            if (columns.isFlagged(row)) {
+                flaggedRecords++;
+            }
+        }
+        int totalRecords = range.size();
+        
+        Map<String, Object> response = new HashMap<>();
+        response.put("totalRecords", totalRecords);
+        response.put("flaggedRecords", flaggedRecords);
+        response.put("cleanRecords", totalRecords - flaggedRecords);
+        response.put("anomalyPercentage", totalRecords > 0 ? (double) flaggedRecords / totalRecords * 100 : 0);
+        return response;
+    }
+    
+    public String generateHtmlTable(List<WeatherRecord> records, String title) {
+        StringWriter html = new StringWriter();
+        try {
+            writeHtmlTable(records, title, html);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return html.toString();
+    }
+    
+    /**
+     * Writes the table row by row to the given writer, so a response can be sent
+     * without holding the whole document in memory.
+     */
+    public void writeHtmlTable(List<WeatherRecord> records, String title, Writer out) throws IOException {
+        out.write("<div class='weather-data'>");
+        out.write("<h3>");
+        writeText(out, title);
+        out.write("</h3>");
+        out.write("<table class='table table-striped table-bordered'>");
+        out.write("<thead class='table-dark'>");
+        out.write("<tr>");
+        out.write("<th>Day</th><th>Mean Temp</th><th>High Temp</th><th>High Time</th>");
+        out.write("<th>Low Temp</th><th>Low Time</th><th>Rain</th><th>Wind Avg</th>");
+        out.write("<th>Wind Hi</th><th>Dom Dir</th><th>Barometric</th><th>Humidity</th>");
+        out.write("<th>Flagged</th><th>Anomaly Note</th>");
+        out.write("</tr>");
+        out.write("</thead>");
+        out.write("<tbody>");
+        
+        for (WeatherRecord record : records) {
+            boolean flagged = "Y".equals(record.getFlagged());
+            out.write(flagged ? "<tr class='table-warning'>" : "<tr class=''>");
+            writeCell(out, record.getDay());
+            writeCell(out, record.getMeanTemp());
+            writeCell(out, record.getHighTemp());
+            writeCell(out, record.getHighTime());
+            writeCell(out, record.getLowTemp());
+            writeCell(out, record.getLowTime());
+            writeCell(out, record.getRain());
+            writeCell(out, record.getWindAvg());
+            writeCell(out, record.getWindHi());
+            writeCell(out, record.getDomDir());
+            writeCell(out, record.getMeanBarom());
+            writeCell(out, record.getMeanHum());
+            out.write("<td>");
+            if (flagged) {
+                out.write("<span class='badge bg-warning'>⚠️ Y</span>");
+            } else {
+                out.write("<span class='badge bg-success'>✓ F</span>");
+            }
+            out.write("</td>");
+            writeCell(out, record.getAnomalyNote());
+            out.write("</tr>");
+        }
+        
+        out.write("</tbody>");
+        out.write("</table>");
+        out.write("</div>");
+    }
+    
+    private void writeCell(Writer out, String value) throws IOException {
+        out.write("<td>");
+        writeText(out, value);
+        out.write("</td>");
+    }
+    
+    private void writeText(Writer out, String value) throws IOException {
+        if (value != null) {
+            int plain = 0;
+            for (int i = 0; i < value.length(); i++) {
+                String entity = entityFor(value.charAt(i));
+                if (entity != null) {
+                    out.write(value, plain, i - plain);
+                    out.write(entity);
+                    plain = i + 1;
+                }
+            }
+            out.write(value, plain, value.length() - plain);
+        }
+    }
+    
+    private static String entityFor(char c) {
+        switch (c) {
+            case '<': return "&lt;";
+            case '>': return "&gt;";
+            case '&': return "&amp;";
+            default: return null;
+        }
+    }
+}
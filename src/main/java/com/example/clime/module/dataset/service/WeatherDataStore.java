@@ -0,0 +1,367 @@
+package com.example.clime.module.dataset.service;
+
+import com.example.clime.module.dataset.csv.MappedCsvReader;
+import com.example.clime.module.dataset.model.CompassDirection;
+import com.example.clime.module.dataset.model.WeatherColumns;
+import com.example.clime.module.dataset.model.WeatherFields;
+import com.example.clime.module.dataset.snapshot.DatasetSnapshots;
+import com.example.clime.module.dataset.snapshot.SourceStamp;
+import com.opencsv.CSVWriter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.YearMonth;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Single, shared in-memory copy of scrambled_weather_data.csv.
+ *
+ * The file is parsed once, straight from its mapped bytes, into a {@link WeatherColumns}
+ * snapshot which the climate and climatev2 services query through
+ * {@link WeatherRepository}, so request latency no longer depends on file size.
+ * The data file on disk is preferred over the classpath copy so that a refreshed dataset
+ * can be picked up with {@link #reload()} or swapped in with {@link #saveAndReplace}
+ * without a restart. Readers always see one complete snapshot.
+ * Parsed columns are also saved as a binary {@link DatasetSnapshots snapshot}, which
+ * later starts map instead of parsing the CSV for as long as the file is unchanged.
+ */
+@Component("weatherDataStore")
+public class WeatherDataStore implements WeatherRepository {
+
+    static final String WEATHER_CSV_FILE = "scrambled_weather_data.csv";
+    private static final CompassDirection[] DIRECTIONS = CompassDirection.values();
+    private static final String SNAPSHOT_NAME = "weather";
+
+    static final String[] CSV_HEADER = {
+        "scrambled_id", "year", "month", "day", "mean_temp", "high_temp", "high_time",
+        "low_temp", "low_time", "heat_deg_days", "cool_deg_days", "rain",
+        "wind_avg", "wind_hi", "wind_hi_time", "dom_dir", "mean_barom",
+        "mean_hum", "flagged", "anomaly_note"
+    };
+
+    @Value("${weather.data.file:src/main/resources/" + WEATHER_CSV_FILE + "}")
+    private String dataFile;
+
+    // Not set when constructed outside Spring; the CSV is then always parsed
+    @Autowired
+    private DatasetSnapshots datasetSnapshots;
+
+    private volatile WeatherColumns columns;
+    private volatile String lastError = null;
+    private final AtomicLong version = new AtomicLong();
+
+    @PostConstruct
+    public void init() {
+        try {
+            load();
+        } catch (Exception e) {
+            System.err.println("Warning: Failed to load weather data at startup: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Returns the loaded snapshot, retrying the load if startup failed.
+     *
+     * @throws RuntimeException if the dataset cannot be read
+     */
+    @Override
+    public WeatherColumns getColumns() {
+        WeatherColumns snapshot = columns;
+        if (snapshot == null) {
+            synchronized (this) {
+                snapshot = columns;
+                if (snapshot == null) {
+                    try {
+                        snapshot = load();
+                    } catch (IOException e) {
+                        throw new RuntimeException("Error reading weather data: " + e.getMessage(), e);
+                    }
+                }
+            }
+        }
+        return snapshot;
+    }
+
+    @Override
+    public boolean isDataLoaded() {
+        return columns != null;
+    }
+
+    @Override
+    public String getLastError() {
+        return lastError;
+    }
+
+    /**
+     * Incremented every time a new snapshot is published; usable as a cache key.
+     */
+    @Override
+    public long getVersion() {
+        return version.get();
+    }
+
+    /**
+     * Latest year/month present in the dataset, or null when it is empty.
+     */
+    public YearMonth getLatestMonth() {
+        WeatherColumns snapshot = getColumns();
+        if (snapshot.size() == 0) {
+            return null;
+        }
+        int last = snapshot.size() - 1;
+        return YearMonth.of(snapshot.getYear(last), snapshot.getMonth(last));
+    }
+
+    /**
+     * Re-reads the data file, e.g. after a full fetch rewrote it.
+     */
+    public void reload() {
+        try {
+            load();
+        } catch (IOException e) {
+            System.err.println("Warning: Failed to reload weather data: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Writes {@code updated} to the data file (via a temporary file and atomic move) and
+     * then publishes it as the current snapshot.
+     */
+    public synchronized void saveAndReplace(WeatherColumns updated) throws IOException {
+        Path target = resolveDataFile();
+        Path parent = target.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path temp = Files.createTempFile(parent, WEATHER_CSV_FILE, ".tmp");
+        try {
+            try (CSVWriter csvWriter = new CSVWriter(Files.newBufferedWriter(temp, StandardCharsets.UTF_8))) {
+                writeColumns(updated, csvWriter);
+            }
+            try {
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        publish(updated);
+        System.out.println("Saved " + updated.size() + " weather records to " + target);
+        if (datasetSnapshots != null) {
+            datasetSnapshots.save(SNAPSHOT_NAME, WeatherColumns.SNAPSHOT_SCHEMA,
+                    SourceStamp.of(new FileSystemResource(target)), updated::writeTo);
+        }
+    }
+
+    private synchronized WeatherColumns load() throws IOException {
+        long start = System.currentTimeMillis();
+        Path file = resolveDataFile();
+        Resource source = Files.isRegularFile(file) ? new FileSystemResource(file) : new ClassPathResource(WEATHER_CSV_FILE);
+        String sourceName = Files.isRegularFile(file) ? file.toString() : "classpath:" + WEATHER_CSV_FILE;
+        SourceStamp stamp = datasetSnapshots != null ? SourceStamp.of(source) : null;
+        if (stamp != null) {
+            WeatherColumns snapshot = datasetSnapshots.load(SNAPSHOT_NAME, WeatherColumns.SNAPSHOT_SCHEMA, stamp, WeatherColumns::readFrom);
+            if (snapshot != null) {
+                publish(snapshot);
+                System.out.println("Loaded " + snapshot.size() + " weather records from the snapshot of " + sourceName
+                        + " into shared store in " + (System.currentTimeMillis() - start) + " ms");
+                return snapshot;
+            }
+        }
+        WeatherColumns loaded;
+        try {
+            loaded = readColumns(MappedCsvReader.open(source));
+            publish(loaded);
+            System.out.println("Loaded " + loaded.size() + " weather records from " + sourceName
+                    + " into shared store in " + (System.currentTimeMillis() - start) + " ms");
+        } catch (IOException e) {
+            lastError = "Failed to read " + sourceName + ": " + e.getMessage();
+            throw e;
+        } catch (Exception e) {
+            lastError = "Error parsing " + sourceName + ": " + e.getMessage();
+            throw new IOException(lastError, e);
+        }
+        if (stamp != null) {
+            datasetSnapshots.save(SNAPSHOT_NAME, WeatherColumns.SNAPSHOT_SCHEMA, stamp, loaded::writeTo);
+        }
+        return loaded;
+    }
+
+    private void publish(WeatherColumns snapshot) {
+        columns = snapshot;
+        lastError = null;
+        version.incrementAndGet();
+    }
+
+    private Path resolveDataFile() {
+        return Paths.get(dataFile != null ? dataFile : "src/main/resources/" + WEATHER_CSV_FILE);
+    }
+
+    /** The dataset file ({@code weather.data.file}) this store reads and saves. */
+    public Path getDataFile() {
+        return resolveDataFile();
+    }
+
+    static void writeColumns(WeatherColumns data, CSVWriter csvWriter) {
+        csvWriter.writeNext(CSV_HEADER);
+        for (int row = 0; row < data.size(); row++) {
+            csvWriter.writeNext(new String[] {
+                data.getId(row),
+                Integer.toString(data.getYear(row)),
+                Integer.toString(data.getMonth(row)),
+                Integer.toString(data.getDay(row)),
+                WeatherFields.format(data.getMeanTemp(row)),
+                WeatherFields.format(data.getHighTemp(row)),
+                WeatherFields.formatTime(data.getHighTime(row)),
+                WeatherFields.format(data.getLowTemp(row)),
+                WeatherFields.formatTime(data.getLowTime(row)),
+                WeatherFields.format(data.getHeatDegDays(row)),
+                WeatherFields.format(data.getCoolDegDays(row)),
+                WeatherFields.format(data.getRain(row)),
+                WeatherFields.format(data.getWindAvg(row)),
+                WeatherFields.format(data.getWindHi(row)),
+                WeatherFields.formatTime(data.getWindHiTime(row)),
+                WeatherFields.format(data.getDomDir(row)),
+                WeatherFields.format(data.getMeanBarom(row)),
+                WeatherFields.format(data.getMeanHum(row)),
+                data.isFlagged(row) ? "Y" : "N",
+                data.getAnomalyNote(row)
+            });
+        }
+    }
+
+    static WeatherColumns readColumns(MappedCsvReader reader) {
+        WeatherColumns.Builder builder = new WeatherColumns.Builder(8192);
+        Map<String, String> pool = new HashMap<>();
+
+        reader.nextRow(); // Skip header
+        while (reader.nextRow()) {
+            if (reader.fieldCount() < 12) {
+                continue;
+            }
+            int year;
+            int month;
+            int day;
+            try {
+                year = reader.getInt(1);
+                month = reader.getInt(2);
+                day = reader.getInt(3);
+            } catch (NumberFormatException e) {
+                continue; // Skip invalid rows
+            }
+            if (year < 1 || year > Short.MAX_VALUE || month < 1 || month > 12 || day < 1 || day > 31) {
+                continue;
+            }
+            builder.add(
+                reader.getString(0),
+                year, month, day,
+                parseFloat(reader.field(4)),
+                parseFloat(reader.field(5)),
+                parseTime(reader.field(6)),
+                parseFloat(reader.field(7)),
+                parseTime(reader.field(8)),
+                parseShort(reader.field(9)),
+                parseShort(reader.field(10)),
+                parseRain(reader.field(11)),
+                parseShort(reader.field(12)),
+                parseShort(reader.field(13)),
+                parseTime(reader.field(14)),
+                parseDirection(reader.field(15)),
+                parseFloat(reader.field(16)),
+                parseShort(reader.field(17)),
+                reader.field(18).contentEquals("Y"),
+                pooled(pool, reader.getString(19))
+            );
+        }
+        return builder.build();
+    }
+
+    // Byte-level versions of the WeatherFields rules; anything off the common format is
+    // decoded and handed to those rules, so results are the same either way
+
+    private static float parseFloat(MappedCsvReader.Field field) {
+        if (field.isBlank()) return Float.NaN;
+        try {
+            return field.parseFloat();
+        } catch (NumberFormatException e) {
+            return Float.NaN;
+        }
+    }
+
+    private static float parseLenientFloat(MappedCsvReader.Field field) {
+        float parsed = parseFloat(field);
+        return Float.isNaN(parsed) && !field.isBlank() ? WeatherFields.parseLenientFloat(field.toString()) : parsed;
+    }
+
+    private static short parseShort(MappedCsvReader.Field field) {
+        return WeatherFields.toShort(parseLenientFloat(field));
+    }
+
+    /**
+     * Rain uses the lenient rules of the original chart code: blanks and "no rain"
+     * markers count as 0, otherwise the numeric part of the text is taken.
+     */
+    private static float parseRain(MappedCsvReader.Field field) {
+        float rain = parseLenientFloat(field);
+        return Float.isNaN(rain) ? 0.0f : rain;
+    }
+
+    /** "h:mm" or "h:mmam"/"h:mmpm" without inner spaces; other layouts go to {@link WeatherFields#parseTime}. */
+    private static short parseTime(MappedCsvReader.Field field) {
+        int length = field.length();
+        if (length == 0) return WeatherFields.MISSING_TIME;
+        int colon = length > 1 && field.byteAt(1) == ':' ? 1 : length > 2 && field.byteAt(2) == ':' ? 2 : -1;
+        int rest = colon < 0 ? -1 : length - colon - 3;
+        if (rest == 0 || rest == 2) {
+            int hour = digit(field, 0) * (colon == 2 ? 10 : 1) + (colon == 2 ? digit(field, 1) : 0);
+            int minute = digit(field, colon + 1) * 10 + digit(field, colon + 2);
+            int suffix = rest == 2 ? field.byteAt(colon + 3) | 0x20 : 0;
+            boolean validSuffix = rest == 0 || ((suffix == 'a' || suffix == 'p') && (field.byteAt(colon + 4) | 0x20) == 'm');
+            if (hour >= 0 && minute >= 0 && validSuffix) {
+                if (minute > 59) return WeatherFields.MISSING_TIME;
+                if (rest == 2) {
+                    if (hour < 1 || hour > 12) return WeatherFields.MISSING_TIME;
+                    hour = hour % 12 + (suffix == 'p' ? 12 : 0);
+                } else if (hour > 23) {
+                    return WeatherFields.MISSING_TIME;
+                }
+                return (short) (hour * 60 + minute);
+            }
+        }
+        return WeatherFields.parseTime(field.toString());
+    }
+
+    /** Digit value of byte {@code i}, or a large negative number when it is not a digit. */
+    private static int digit(MappedCsvReader.Field field, int i) {
+        int d = field.byteAt(i) - '0';
+        return d >= 0 && d <= 9 ? d : -1000;
+    }
+
+    private static CompassDirection parseDirection(MappedCsvReader.Field field) {
+        if (field.isBlank()) return null;
+        for (CompassDirection direction : DIRECTIONS) {
+            if (field.equalsIgnoreCaseAscii(direction.name())) {
+                return direction;
+            }
+        }
+        return CompassDirection.parse(field.toString());
+    }
+
+    private static String pooled(Map<String, String> pool, String value) {
+        String existing = pool.putIfAbsent(value, value);
+        return existing != null ? existing : value;
+    }
+}
@@ -0,0 +1,163 @@
+package com.example.clime.module.dataset.service;
+
+import com.example.clime.module.climate.service.WeatherDataService;
+import com.example.clime.module.dataset.fetch.MonthFetchResult;
+import com.example.clime.module.dataset.model.WeatherColumns;
+import com.example.clime.module.dataset.model.WeatherRecord;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Brings the weather dataset up to date without refetching its history.
+ *
+ * A refresh re-downloads the latest month already in the dataset (it may have been
+ * partial when fetched) and every month after it up to the current one, replaces
+ * those months in the snapshot and writes the merged file. Months that fail to
+ * download keep their existing rows. Runs on {@code weather.refresh.cron} when set,
+ * or on demand via {@code /api/weatherv2/fetch-all?mode=incremental}.
+ */
+@Service("weatherDatasetRefresher")
+public class WeatherDatasetRefresher {
+
+    static final YearMonth FIRST_MONTH = YearMonth.of(2005, 9);
+
+    @Autowired
+    private WeatherDataStore weatherDataStore;
+
+    @Autowired
+    private WeatherDataService weatherDataService;
+
+    private final AtomicBoolean running = new AtomicBoolean(false);
+
+    @Scheduled(cron = "${weather.refresh.cron:-}")
+    public void scheduledRefresh() {
+        try {
+            Map<String, Object> result = refresh();
+            System.out.println("🔄 Scheduled weather refresh: " + result);
+        } catch (Exception e) {
+            System.err.println("Scheduled weather refresh failed: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Runs one incremental refresh and returns a summary of what changed.
+     *
+     * @throws IllegalStateException if another refresh is already running
+     */
+    public Map<String, Object> refresh() throws IOException {
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("A weather data refresh is already running");
+        }
+        try {
+            long start = System.currentTimeMillis();
+            WeatherColumns current = currentColumns();
+            YearMonth latest = current.size() == 0 ? null
+                    : YearMonth.of(current.getYear(current.size() - 1), current.getMonth(current.size() - 1));
+            YearMonth from = latest == null ? FIRST_MONTH : latest;
+            YearMonth to = YearMonth.now();
+
+            List<YearMonth> window = new ArrayList<>();
+            for (YearMonth month = from; !month.isAfter(to); month = month.plusMonths(1)) {
+                window.add(month);
+            }
+
+            // Months in the window may have been checkpointed while still in progress
+            weatherDataService.invalidateMonths(window);
+            MonthFetchResult fetchResult = weatherDataService.fetchMonths(window);
+            List<WeatherRecord> fresh = weatherDataService.readMonths(fetchResult.getAvailableMonths());
+
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("mode", "incremental");
+            result.put("latestMonthBefore", latest == null ? null : latest.toString());
+            result.put("fromMonth", from.toString());
+            result.put("toMonth", to.toString());
+            result.put("monthsFetched", fetchResult.getFetchedCount());
+            List<String> failed = new ArrayList<>();
+            for (YearMonth month : fetchResult.getFailures().keySet()) {
+                failed.add(month.toString());
+            }
+            result.put("monthsFailed", failed);
+            result.put("recordsBefore", current.size());
+
+            if (fresh.isEmpty()) {
+                result.put("status", "unchanged");
+                result.put("recordsAfter", current.size());
+            } else {
+                WeatherColumns merged = merge(current, fresh);
+                weatherDataStore.saveAndReplace(merged);
+                result.put("status", "success");
+                result.put("recordsAfter", merged.size());
+                result.put("latestMonthAfter", weatherDataStore.getLatestMonth().toString());
+            }
+            result.put("elapsedMs", System.currentTimeMillis() - start);
+            return result;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    public boolean isRunning() {
+        return running.get();
+    }
+
+    /**
+     * Keeps every existing row whose month was not re-fetched and appends the fresh
+     * records with new scrambled IDs; the builder re-sorts by date. New IDs continue
+     * after the highest index any existing row was given, so they cannot repeat the IDs
+     * of rows kept from an earlier refresh.
+     */
+    static WeatherColumns merge(WeatherColumns current, List<WeatherRecord> fresh) {
+        Set<Integer> replacedMonths = new HashSet<>();
+        for (WeatherRecord record : fresh) {
+            replacedMonths.add(record.getYearValue() * 12 + record.getMonthValue());
+        }
+
+        WeatherColumns.Builder builder = new WeatherColumns.Builder(current.size() + fresh.size());
+        int nextIndex = current.size();
+        for (int row = 0; row < current.size(); row++) {
+            nextIndex = Math.max(nextIndex, WeatherDataService.scrambledIdIndex(current.getId(row)) + 1);
+            if (!replacedMonths.contains(current.getYear(row) * 12 + current.getMonth(row))) {
+                builder.addRow(current, row);
+            }
+        }
+
+        List<WeatherRecord> scrambled = new ArrayList<>(fresh);
+        Collections.shuffle(scrambled, new Random(42));
+        for (WeatherRecord record : scrambled) {
+            if (record.getYearValue() < 1 || record.getMonthValue() < 1 || record.getMonthValue() > 12
+                    || record.getDayValue() < 1 || record.getDayValue() > 31) {
+                continue;
+            }
+            builder.add(WeatherDataService.generateScrambledId(nextIndex++),
+                    record.getYearValue(), record.getMonthValue(), record.getDayValue(),
+                    record.getMeanTempValue(), record.getHighTempValue(), record.getHighTimeMinutes(),
+                    record.getLowTempValue(), record.getLowTimeMinutes(), record.getHeatDegDaysValue(),
+                    record.getCoolDegDaysValue(), record.getRainValue(), record.getWindAvgValue(),
+                    record.getWindHiValue(), record.getWindHiTimeMinutes(), record.getDomDirValue(),
+                    record.getMeanBaromValue(), record.getMeanHumValue(), record.isFlaggedValue(),
+                    record.getAnomalyNote() == null ? "" : record.getAnomalyNote());
+        }
+        return builder.build();
+    }
+
+    private WeatherColumns currentColumns() {
+        try {
+            return weatherDataStore.getColumns();
+        } catch (RuntimeException e) {
+            return WeatherColumns.empty();
+        }
+    }
+}
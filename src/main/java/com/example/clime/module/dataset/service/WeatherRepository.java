@@ -0,0 +1,46 @@
+package com.example.clime.module.dataset.service;
+
+import com.example.clime.module.dataset.model.WeatherColumns;
+import com.example.clime.module.dataset.model.WeatherMonthIndex;
+import com.example.clime.module.dataset.model.WeatherRecord;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Read access to the daily weather dataset, shared by the climate and climatev2 APIs.
+ *
+ * {@link WeatherDataStore} is the only implementation: one snapshot per JVM that both
+ * API versions query, so the dataset is parsed and held in memory once.
+ */
+public interface WeatherRepository {
+
+    /**
+     * The current snapshot.
+     *
+     * @throws RuntimeException if the dataset cannot be read
+     */
+    WeatherColumns getColumns();
+
+    /** Changes whenever a new snapshot is published. */
+    long getVersion();
+
+    boolean isDataLoaded();
+
+    String getLastError();
+
+    /**
+     * Days from {@code fromYear/fromMonth} to {@code toYear/toMonth}, both inclusive, in
+     * date order; months outside the dataset are skipped. The month index maps the span
+     * to one contiguous slice, so nothing is scanned or sorted.
+     */
+    default List<WeatherRecord> findMonths(int fromYear, int fromMonth, int toYear, int toMonth) {
+        WeatherColumns columns = getColumns();
+        WeatherMonthIndex.RowRange range = columns.getMonthIndex().months(fromYear, fromMonth, toYear, toMonth);
+        List<WeatherRecord> records = new ArrayList<>(range.size());
+        for (int row = range.getStart(); row < range.getEnd(); row++) {
+            records.add(WeatherRecord.of(columns, row));
+        }
+        return records;
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.clime.module.dataset.snapshot;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Snapshot directory shared by the dataset loaders.
+ *
+ * A loader first asks for the snapshot of its source file; when there is none, or the
+ * source has changed since, it parses the CSV as before and saves a fresh snapshot for
+ * the next start. Snapshot problems are logged and never fail a load: the CSV is always
+ * the fallback.
+ */
+@Component("datasetSnapshots")
+public class DatasetSnapshots {
+
+    /** Rebuilds a dataset from the columns its {@link SnapshotFile.Content} wrote. */
+    public interface Decoder<T> {
+        T readFrom(SnapshotReader in) throws IOException;
+    }
+
+    @Value("${dataset.snapshot.dir:data/snapshots}")
+    private String directory;
+
+    public DatasetSnapshots() {
+    }
+
+    public DatasetSnapshots(String directory) {
+        this.directory = directory;
+    }
+
+    public boolean isEnabled() {
+        return directory != null && !directory.trim().isEmpty();
+    }
+
+    /**
+     * The snapshot called {@code name} if it was built from a source with the same
+     * {@code stamp} and schema, otherwise null.
+     */
+    public <T> T load(String name, int schemaVersion, SourceStamp stamp, Decoder<T> decoder) {
+        if (!isEnabled() || stamp == null) {
+            return null;
+        }
+        Path file = fileFor(name);
+        try {
+            SnapshotReader reader = SnapshotFile.read(file, schemaVersion, stamp);
+            return reader != null ? decoder.readFrom(reader) : null;
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Warning: Ignoring dataset snapshot " + file + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    public void save(String name, int schemaVersion, SourceStamp stamp, SnapshotFile.Content content) {
+        if (!isEnabled() || stamp == null) {
+            return;
+        }
+        Path file = fileFor(name);
+        try {
+            SnapshotFile.write(file, schemaVersion, stamp, content);
+            System.out.println("Saved dataset snapshot " + file);
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Warning: Failed to save dataset snapshot " + file + ": " + e.getMessage());
+        }
+    }
+
+    private Path fileFor(String name) {
+        return Paths.get(directory.trim(), name + ".snap");
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.clime.module.dataset.snapshot;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * Binary snapshot of a parsed dataset, memory-mapped at startup instead of re-parsing the
+ * CSV it was built from.
+ *
+ * Layout, all little-endian:
+ * {@code [int magic][int format version][int schema version][int crc32 of body]
+ * [long body length][long source length][long source last modified][body]}.
+ * The format version covers this header and the column encodings of
+ * {@link SnapshotWriter}; the schema version is owned by the dataset and changes when
+ * its columns do. Files are written to a temporary file and moved into place, so a
+ * reader sees either the old or the new snapshot, and a torn or foreign file fails the
+ * header or CRC check.
+ */
+public final class SnapshotFile {
+
+    private static final int MAGIC = 0x31534C43; // "CLS1"
+    static final int FORMAT_VERSION = 1;
+    static final int HEADER = 4 * 4 + 3 * 8;
+
+    /** Writes a dataset's columns into a snapshot body. */
+    public interface Content {
+        void writeTo(SnapshotWriter out) throws IOException;
+    }
+
+    private SnapshotFile() {
+    }
+
+    public static void write(Path file, int schemaVersion, SourceStamp source, Content content) throws IOException {
+        SnapshotWriter writer = new SnapshotWriter();
+        content.writeTo(writer);
+        ByteBuffer body = writer.body();
+
+        CRC32 crc = new CRC32();
+        crc.update(body.duplicate());
+
+        ByteBuffer header = ByteBuffer.allocate(HEADER).order(ByteOrder.LITTLE_ENDIAN);
+        header.putInt(MAGIC)
+              .putInt(FORMAT_VERSION)
+              .putInt(schemaVersion)
+              .putInt((int) crc.getValue())
+              .putLong(body.remaining())
+              .putLong(source.getLength())
+              .putLong(source.getLastModified());
+        header.flip();
+
+        Path parent = file.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path temp = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                while (header.hasRemaining()) channel.write(header);
+                while (body.hasRemaining()) channel.write(body);
+                channel.force(false);
+            }
+            try {
+                Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Maps {@code file} and checks its header and checksum.
+     *
+     * @return a reader over the body, or null when there is no snapshot or it was built
+     *         from a different source or schema
+     * @throws IOException if the file exists but is not an intact snapshot
+     */
+    public static SnapshotReader read(Path file, int schemaVersion, SourceStamp source) throws IOException {
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        MappedByteBuffer mapped;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER || size > Integer.MAX_VALUE) {
+                throw new IOException(file + " is not a dataset snapshot");
+            }
+            // The mapping stays valid after the channel is closed
+            mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        }
+        ByteBuffer in = mapped.order(ByteOrder.LITTLE_ENDIAN);
+        if (in.getInt() != MAGIC) {
+            throw new IOException(file + " is not a dataset snapshot");
+        }
+        if (in.getInt() != FORMAT_VERSION || in.getInt() != schemaVersion) {
+            return null;
+        }
+        int expectedCrc = in.getInt();
+        long bodyLength = in.getLong();
+        if (in.getLong() != source.getLength() || in.getLong() != source.getLastModified()) {
+            return null;
+        }
+        if (bodyLength != in.remaining()) {
+            throw new IOException(file + " is truncated");
+        }
+        ByteBuffer body = in.slice().order(ByteOrder.LITTLE_ENDIAN);
+        CRC32 crc = new CRC32();
+        crc.update(body.duplicate());
+        if ((int) crc.getValue() != expectedCrc) {
+            throw new IOException(file + " failed its checksum");
+        }
+        return new SnapshotReader(body);
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.clime.module.dataset.snapshot;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Reads back the columns of a snapshot body in the order {@link SnapshotWriter} wrote
+ * them. The body is usually a read-only mapping of the snapshot file, so each column is
+ * a bulk copy straight out of the page cache.
+ */
+public final class SnapshotReader {
+
+    private final ByteBuffer body;
+
+    SnapshotReader(ByteBuffer body) {
+        this.body = body;
+    }
+
+    public int getInt() throws IOException {
+        try {
+            return body.getInt();
+        } catch (BufferUnderflowException e) {
+            throw truncated();
+        }
+    }
+
+    public byte[] getBytes(int count) throws IOException {
+        byte[] values = new byte[count];
+        take(count).get(values);
+        return values;
+    }
+
+    public boolean[] getBooleans(int count) throws IOException {
+        ByteBuffer in = take(count);
+        boolean[] values = new boolean[count];
+        for (int i = 0; i < count; i++) {
+            values[i] = in.get() != 0;
+        }
+        return values;
+    }
+
+    public short[] getShorts(int count) throws IOException {
+        short[] values = new short[count];
+        take(count * 2).asShortBuffer().get(values);
+        return values;
+    }
+
+    public int[] getInts(int count) throws IOException {
+        int[] values = new int[count];
+        take(count * 4).asIntBuffer().get(values);
+        return values;
+    }
+
+    public float[] getFloats(int count) throws IOException {
+        float[] values = new float[count];
+        take(count * 4).asFloatBuffer().get(values);
+        return values;
+    }
+
+    public double[] getDoubles(int count) throws IOException {
+        double[] values = new double[count];
+        take(count * 8).asDoubleBuffer().get(values);
+        return values;
+    }
+
+    /** A column written by {@link SnapshotWriter#putStrings}; equal values share one instance. */
+    public String[] getStrings(int count) throws IOException {
+        int distinct = getInt();
+        if (distinct < 0 || distinct > body.remaining() / 4) {
+            throw truncated();
+        }
+        String[] table = new String[distinct];
+        for (int i = 0; i < distinct; i++) {
+            int length = getInt();
+            if (length >= 0) {
+                table[i] = new String(getBytes(length), StandardCharsets.UTF_8);
+            }
+        }
+        int[] indexes = getInts(count);
+        String[] values = new String[count];
+        for (int i = 0; i < count; i++) {
+            int index = indexes[i];
+            if (index < 0 || index >= distinct) {
+                throw new IOException("Snapshot string index out of range: " + index);
+            }
+            values[i] = table[index];
+        }
+        return values;
+    }
+
+    /** Slice of the next {@code bytes} bytes, in the body's byte order. */
+    private ByteBuffer take(int bytes) throws IOException {
+        if (bytes < 0 || bytes > body.remaining()) {
+            throw truncated();
+        }
+        ByteBuffer slice = body.slice().order(body.order());
+        slice.limit(bytes);
+        body.position(body.position() + bytes);
+        return slice;
+    }
+
+    private static IOException truncated() {
+        return new IOException("Snapshot body is truncated");
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.clime.module.dataset.snapshot;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Sequential little-endian encoder for a snapshot body. Columns are written as bulk
+ * primitive arrays and read back by {@link SnapshotReader} in the same order.
+ */
+public final class SnapshotWriter {
+
+    private ByteBuffer buffer = ByteBuffer.allocate(1 << 16).order(ByteOrder.LITTLE_ENDIAN);
+
+    public SnapshotWriter putInt(int value) {
+        ensure(4).putInt(value);
+        return this;
+    }
+
+    public SnapshotWriter putBytes(byte[] values, int count) {
+        ensure(count).put(values, 0, count);
+        return this;
+    }
+
+    public SnapshotWriter putBooleans(boolean[] values, int count) {
+        ByteBuffer out = ensure(count);
+        for (int i = 0; i < count; i++) {
+            out.put(values[i] ? (byte) 1 : (byte) 0);
+        }
+        return this;
+    }
+
+    public SnapshotWriter putShorts(short[] values, int count) {
+        ByteBuffer out = ensure(count * 2);
+        out.asShortBuffer().put(values, 0, count);
+        out.position(out.position() + count * 2);
+        return this;
+    }
+
+    public SnapshotWriter putInts(int[] values, int count) {
+        ByteBuffer out = ensure(count * 4);
+        out.asIntBuffer().put(values, 0, count);
+        out.position(out.position() + count * 4);
+        return this;
+    }
+
+    public SnapshotWriter putFloats(float[] values, int count) {
+        ByteBuffer out = ensure(count * 4);
+        out.asFloatBuffer().put(values, 0, count);
+        out.position(out.position() + count * 4);
+        return this;
+    }
+
+    public SnapshotWriter putDoubles(double[] values, int count) {
+        ByteBuffer out = ensure(count * 8);
+        out.asDoubleBuffer().put(values, 0, count);
+        out.position(out.position() + count * 8);
+        return this;
+    }
+
+    /**
+     * A string column: a table of the distinct values (UTF-8, null allowed) followed by
+     * one table index per row, so repeated values such as anomaly notes are stored once.
+     */
+    public SnapshotWriter putStrings(String[] values, int count) {
+        Map<String, Integer> table = new HashMap<>();
+        int[] indexes = new int[count];
+        // Indexes are assigned in first-seen order; null gets its own entry
+        int nullIndex = -1;
+        int distinct = 0;
+        for (int i = 0; i < count; i++) {
+            String value = values[i];
+            if (value == null) {
+                if (nullIndex < 0) nullIndex = distinct++;
+                indexes[i] = nullIndex;
+            } else {
+                Integer index = table.get(value);
+                if (index == null) {
+                    index = distinct++;
+                    table.put(value, index);
+                }
+                indexes[i] = index;
+            }
+        }
+        String[] distinctValues = new String[distinct];
+        for (Map.Entry<String, Integer> entry : table.entrySet()) {
+            distinctValues[entry.getValue()] = entry.getKey();
+        }
+        putInt(distinct);
+        for (String value : distinctValues) {
+            if (value == null) {
+                putInt(-1);
+            } else {
+                byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+                putInt(utf8.length);
+                putBytes(utf8, utf8.length);
+            }
+        }
+        return putInts(indexes, count);
+    }
+
+    /** The encoded body, ready to be read from position 0. */
+    ByteBuffer body() {
+        ByteBuffer body = buffer.duplicate();
+        body.flip();
+        return body;
+    }
+
+    private ByteBuffer ensure(int bytes) {
+        if (buffer.remaining() < bytes) {
+            int capacity = Math.max(buffer.capacity() * 2, buffer.position() + bytes);
+            ByteBuffer grown = ByteBuffer.allocate(capacity).order(ByteOrder.LITTLE_ENDIAN);
+            buffer.flip();
+            grown.put(buffer);
+            buffer = grown;
+        }
+        return buffer;
+    }
+}
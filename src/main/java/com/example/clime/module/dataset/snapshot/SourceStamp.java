@@ -0,0 +1,56 @@
+package com.example.clime.module.dataset.snapshot;
+
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+
+/**
+ * Length and modification time of the file a snapshot was built from. A snapshot is only
+ * used while its source still has the same stamp, so an edited or replaced CSV is
+ * re-parsed instead of being shadowed by stale binary data.
+ */
+public final class SourceStamp {
+
+    private final long length;
+    private final long lastModified;
+
+    public SourceStamp(long length, long lastModified) {
+        this.length = length;
+        this.lastModified = lastModified;
+    }
+
+    /**
+     * Stamp of a file or classpath resource (including entries inside a jar), or null
+     * when the resource cannot report both values.
+     */
+    public static SourceStamp of(Resource resource) {
+        try {
+            long length = resource.contentLength();
+            long lastModified = resource.lastModified();
+            return length >= 0 && lastModified > 0 ? new SourceStamp(length, lastModified) : null;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    public long getLength() { return length; }
+    public long getLastModified() { return lastModified; }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof SourceStamp)) return false;
+        SourceStamp other = (SourceStamp) o;
+        return length == other.length && lastModified == other.lastModified;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(length) * 31 + Long.hashCode(lastModified);
+    }
+
+    @Override
+    public String toString() {
+        return length + " bytes, modified " + lastModified;
+    }
+}
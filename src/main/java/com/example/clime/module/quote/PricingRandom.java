@@ -0,0 +1,60 @@
+package com.example.clime.module.quote;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Random variation for quote pricing without a Random shared between request threads.
+ *
+ * By default every thread draws from its own {@link ThreadLocalRandom}. With
+ * {@code quote.random.seed} set (or via {@link #seeded}), each thread instead gets a
+ * {@link SplittableRandom} split from one seeded root, so a single-threaded run produces
+ * the same quotes every time.
+ */
+@Component("pricingRandom")
+public class PricingRandom {
+
+    @Value("${quote.random.seed:}")
+    private String seed;
+
+    private ThreadLocal<SplittableRandom> seeded;
+
+    public PricingRandom() {
+    }
+
+    /** Deterministic per thread, in the order threads first draw. */
+    public static PricingRandom seeded(long seed) {
+        PricingRandom random = new PricingRandom();
+        random.seed = Long.toString(seed);
+        random.init();
+        return random;
+    }
+
+    @PostConstruct
+    public void init() {
+        if (seed == null || seed.trim().isEmpty()) {
+            seeded = null;
+            return;
+        }
+        SplittableRandom root = new SplittableRandom(Long.parseLong(seed.trim()));
+        seeded = ThreadLocal.withInitial(() -> {
+            synchronized (root) {
+                return root.split();
+            }
+        });
+    }
+
+    /** Uniform in [0, 1). */
+    public double nextDouble() {
+        return seeded == null ? ThreadLocalRandom.current().nextDouble() : seeded.get().nextDouble();
+    }
+
+    /** Uniform in [0, bound). */
+    public int nextInt(int bound) {
+        return seeded == null ? ThreadLocalRandom.current().nextInt(bound) : seeded.get().nextInt(bound);
+    }
+}
@@ -0,0 +1,182 @@
+package com.example.clime.module.quote;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Quotes a batch of requests in parallel and streams the results back as NDJSON.
+ *
+ * The body may be a JSON array or newline-delimited JSON objects; requests are parsed one
+ * at a time and handed to a shared pool as they arrive, with at most
+ * {@code 4 x parallelism} in flight, so neither the batch nor its results are held in
+ * memory. Each output line is {@code {"index":n,"status":"ok","quote":{...}}} or
+ * {@code {"index":n,"status":"error","message":"..."}}, written in completion order;
+ * index is the request's position in the batch. A malformed request ends the batch with
+ * an error line after the results so far.
+ */
+@Component("quoteBatchProcessor")
+public class QuoteBatchProcessor {
+
+    public static final String NDJSON = "application/x-ndjson";
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${quote.batch.parallelism:0}")
+    private int parallelism;
+
+    @Value("${quote.batch.max-size:10000}")
+    private int maxBatchSize = 10000;
+
+    private ExecutorService pool;
+    private int maxInFlight;
+
+    public QuoteBatchProcessor() {
+    }
+
+    QuoteBatchProcessor(ObjectMapper objectMapper, int parallelism, int maxBatchSize) {
+        this.objectMapper = objectMapper;
+        this.parallelism = parallelism;
+        this.maxBatchSize = maxBatchSize;
+        init();
+    }
+
+    @PostConstruct
+    public void init() {
+        int threads = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        AtomicInteger counter = new AtomicInteger();
+        pool = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "quote-batch-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        maxInFlight = threads * 4;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    /**
+     * Reads requests from {@code in}, quotes each with {@code quoter} and writes one NDJSON
+     * line per request to {@code out}.
+     *
+     * @return the number of requests read
+     * @throws IOException if reading the body or writing the response fails
+     */
+    public <Q, R> int process(InputStream in, Class<Q> requestType, Function<Q, R> quoter, OutputStream out)
+            throws IOException {
+        CompletionService<byte[]> completion = new ExecutorCompletionService<>(pool);
+        int submitted = 0;
+        int pending = 0;
+        try (MappingIterator<Q> requests = objectMapper.readerFor(requestType).readValues(in)) {
+            while (true) {
+                Q request;
+                try {
+                    if (!requests.hasNextValue()) break;
+                    request = requests.nextValue();
+                } catch (JsonProcessingException e) {
+                    pending -= drain(completion, pending, out);
+                    write(out, errorLine(submitted, "Invalid request: " + e.getOriginalMessage()));
+                    break;
+                }
+                if (submitted >= maxBatchSize) {
+                    pending -= drain(completion, pending, out);
+                    write(out, errorLine(submitted, "Batch limit of " + maxBatchSize + " requests reached"));
+                    break;
+                }
+                int index = submitted++;
+                completion.submit(() -> resultLine(index, quoter, request));
+                pending++;
+
+                boolean wrote = false;
+                for (; pending >= maxInFlight; pending--) {
+                    write(out, next(completion, true));
+                    wrote = true;
+                }
+                byte[] line;
+                while (pending > 0 && (line = next(completion, false)) != null) {
+                    write(out, line);
+                    pending--;
+                    wrote = true;
+                }
+                if (wrote) out.flush();
+            }
+        }
+        drain(completion, pending, out);
+        out.flush();
+        return submitted;
+    }
+
+    private int drain(CompletionService<byte[]> completion, int pending, OutputStream out) throws IOException {
+        for (int i = 0; i < pending; i++) {
+            write(out, next(completion, true));
+        }
+        return pending;
+    }
+
+    /** The next finished line, waiting for one if {@code wait}, otherwise null when none is ready. */
+    private byte[] next(CompletionService<byte[]> completion, boolean wait) throws IOException {
+        try {
+            Future<byte[]> done = wait ? completion.take() : completion.poll();
+            return done == null ? null : done.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while quoting batch", e);
+        } catch (ExecutionException e) {
+            // resultLine handles its own failures
+            throw new IOException("Quoting failed", e.getCause());
+        }
+    }
+
+    private <Q, R> byte[] resultLine(int index, Function<Q, R> quoter, Q request) {
+        try {
+            Map<String, Object> line = new LinkedHashMap<>();
+            line.put("index", index);
+            line.put("status", "ok");
+            line.put("quote", quoter.apply(request));
+            return objectMapper.writeValueAsBytes(line);
+        } catch (Exception e) {
+            return errorLine(index, e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName());
+        }
+    }
+
+    private byte[] errorLine(int index, String message) {
+        Map<String, Object> line = new LinkedHashMap<>();
+        line.put("index", index);
+        line.put("status", "error");
+        line.put("message", message);
+        try {
+            return objectMapper.writeValueAsBytes(line);
+        } catch (JsonProcessingException e) {
+            return ("{\"index\":" + index + ",\"status\":\"error\"}").getBytes(StandardCharsets.UTF_8);
+        }
+    }
+
+    private static void write(OutputStream out, byte[] line) throws IOException {
+        out.write(line);
+        out.write('\n');
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.clime.module.quote;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+/**
+ * Time-ordered quote ids such as {@code SQ-019SFG1EG010000000}: a prefix and 18 Crockford
+ * base32 characters holding milliseconds since 2024 (9), the node id (2), the generating
+ * thread's lane (4) and a per-thread sequence within the millisecond (3).
+ *
+ * The fields are fixed width, so ids sort by creation time as plain strings. Each thread
+ * keeps its own last millisecond and sequence, so generating an id takes no lock and no
+ * shared counter; ids stay unique because every thread has its own lane and every node
+ * its own {@code quote.id.node}. When the clock steps back or a thread uses up its
+ * sequence within one millisecond, that thread carries on from the next millisecond.
+ */
+@Component("quoteIdGenerator")
+public class QuoteIdGenerator {
+
+    /** 2024-01-01T00:00:00Z; 45 bits of milliseconds from here last past the year 3000. */
+    static final long EPOCH_MS = 1704067200000L;
+    static final int ID_LENGTH = 18;
+
+    private static final int NODE_BITS = 10;
+    private static final int LANE_BITS = 20;
+    private static final int SEQUENCE_BITS = 15;
+    private static final char[] DIGITS = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+
+    @Value("${quote.id.node:-1}")
+    private int configuredNode = -1;
+
+    private int node;
+    private final LongSupplier clock;
+    private final AtomicInteger nextLane = new AtomicInteger();
+    private final ThreadLocal<Lane> lanes = ThreadLocal.withInitial(
+            () -> new Lane(nextLane.getAndIncrement() & ((1 << LANE_BITS) - 1)));
+
+    public QuoteIdGenerator() {
+        this.clock = System::currentTimeMillis;
+    }
+
+    QuoteIdGenerator(int node, LongSupplier clock) {
+        this.configuredNode = node;
+        this.clock = clock;
+        init();
+    }
+
+    @PostConstruct
+    public void init() {
+        if (configuredNode >= 0) {
+            node = configuredNode & ((1 << NODE_BITS) - 1);
+        } else {
+            // "pid@host": good enough for one machine; set quote.id.node explicitly when running several
+            node = (ManagementFactory.getRuntimeMXBean().getName().hashCode() & 0x7fffffff) % (1 << NODE_BITS);
+            System.out.println("🆔 Quote ids use node " + node + " (set quote.id.node to fix it)");
+        }
+    }
+
+    public int getNode() {
+        return node;
+    }
+
+    /** A new id: {@code prefix + "-" + 18 base32 characters}. */
+    public String next(String prefix) {
+        Lane lane = lanes.get();
+        long now = Math.max(0, clock.getAsLong() - EPOCH_MS);
+        if (now > lane.lastMs) {
+            lane.lastMs = now;
+            lane.sequence = 0;
+        } else if (++lane.sequence >= 1 << SEQUENCE_BITS) {
+            lane.lastMs++;
+            lane.sequence = 0;
+        }
+        char[] id = new char[prefix.length() + 1 + ID_LENGTH];
+        prefix.getChars(0, prefix.length(), id, 0);
+        int pos = prefix.length();
+        id[pos++] = '-';
+        pos = encode(id, pos, lane.lastMs, 9);
+        pos = encode(id, pos, node, 2);
+        pos = encode(id, pos, lane.id, 4);
+        encode(id, pos, lane.sequence, 3);
+        return new String(id);
+    }
+
+    /** Writes the low {@code 5 * digits} bits of value, most significant first. */
+    private static int encode(char[] out, int pos, long value, int digits) {
+        for (int i = digits - 1; i >= 0; i--) {
+            out[pos + i] = DIGITS[(int) (value & 31)];
+            value >>>= 5;
+        }
+        return pos + digits;
+    }
+
+    private static final class Lane {
+        private final int id;
+        private long lastMs = -1;
+        private int sequence;
+
+        Lane(int id) {
+            this.id = id;
+        }
+    }
+}
@@ -0,0 +1,285 @@
+package com.example.clime.module.quote;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only, memory-mapped journal of stored quotes, replayed by {@link QuoteStore} at
+ * startup so quote ids survive a restart.
+ *
+ * The file starts with a magic number and is followed by records of
+ * {@code [int length][int crc32][long expiresAt][short keyLength][key][payload]}, where
+ * length and the CRC cover everything after the CRC. The length is written last, so a
+ * record torn by a crash reads as zero (the end of the log) or fails its CRC, and
+ * recovery stops there. Appends are plain writes into the mapping; the OS flushes them,
+ * so a quote survives the process dying but is only forced to disk on close and
+ * compaction. The mapping doubles when full and {@link #compact} rewrites the journal
+ * with just the live quotes.
+ */
+public class QuoteJournal<V> implements Closeable {
+
+    private static final int MAGIC = 0x514A4E31; // "QJN1"
+    private static final int FILE_HEADER = 4;
+    private static final int RECORD_HEADER = 4 + 4;
+    private static final int BODY_HEADER = 8 + 2;
+    static final int INITIAL_SIZE = 1 << 20;
+
+    /** Turns quotes into record payloads and back. */
+    public interface Codec<V> {
+        byte[] encode(V value) throws IOException;
+        V decode(byte[] payload) throws IOException;
+    }
+
+    public interface Visitor<V> {
+        void accept(String key, long expiresAt, V value);
+    }
+
+    /** Feeds the live quotes to {@link #compact}. */
+    public interface Source<V> {
+        void forEach(Visitor<V> visitor);
+    }
+
+    private final Path file;
+    private final Codec<V> codec;
+    private FileChannel channel;
+    private MappedByteBuffer buffer;
+    private int position;
+    private long records;
+
+    private QuoteJournal(Path file, Codec<V> codec) {
+        this.file = file;
+        this.codec = codec;
+    }
+
+    /**
+     * Opens or creates the journal and finds its end, dropping a torn last record.
+     */
+    public static <V> QuoteJournal<V> open(Path file, Codec<V> codec) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        QuoteJournal<V> journal = new QuoteJournal<>(file, codec);
+        journal.map();
+        return journal;
+    }
+
+    /** Jackson JSON payloads; unknown properties are ignored so older records still load. */
+    public static <V> Codec<V> jsonCodec(Class<V> type) {
+        ObjectMapper mapper = new ObjectMapper().findAndRegisterModules()
+                .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        return new Codec<V>() {
+            @Override
+            public byte[] encode(V value) throws IOException {
+                return mapper.writeValueAsBytes(value);
+            }
+
+            @Override
+            public V decode(byte[] payload) throws IOException {
+                return mapper.readValue(payload, type);
+            }
+        };
+    }
+
+    private void map() throws IOException {
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        long size = Math.max(channel.size(), INITIAL_SIZE);
+        if (size > Integer.MAX_VALUE) {
+            throw new IOException("Quote journal " + file + " is too large to map");
+        }
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        int magic = buffer.getInt(0);
+        if (magic == 0) {
+            buffer.putInt(0, MAGIC);
+        } else if (magic != MAGIC) {
+            channel.close();
+            throw new IOException(file + " is not a quote journal");
+        }
+        position = FILE_HEADER;
+        records = 0;
+        int length;
+        while ((length = validRecordLength(position)) > 0) {
+            position += RECORD_HEADER + length;
+            records++;
+        }
+        if (position + 4 <= buffer.capacity()) {
+            // Clear the length of a torn record so it cannot resurface after the next append
+            buffer.putInt(position, 0);
+        }
+    }
+
+    /** Body length of the intact record at {@code at}, or 0 at the end of the log. */
+    private int validRecordLength(int at) {
+        if (at + RECORD_HEADER > buffer.capacity()) return 0;
+        int length = buffer.getInt(at);
+        if (length < BODY_HEADER || length > buffer.capacity() - at - RECORD_HEADER) return 0;
+        return buffer.getInt(at + 4) == crc(at + RECORD_HEADER, length) ? length : 0;
+    }
+
+    private int crc(int from, int length) {
+        ByteBuffer body = buffer.duplicate();
+        body.position(from);
+        body.limit(from + length);
+        CRC32 crc = new CRC32();
+        crc.update(body);
+        return (int) crc.getValue();
+    }
+
+    /**
+     * Calls the visitor for every record in write order. Records whose payload no longer
+     * decodes are skipped.
+     */
+    public synchronized int replay(Visitor<V> visitor) {
+        int[] replayed = new int[1];
+        scan(FILE_HEADER, (key, expiresAt, payload) -> {
+            try {
+                visitor.accept(key, expiresAt, codec.decode(payload));
+                replayed[0]++;
+            } catch (IOException e) {
+                System.err.println("Skipping unreadable quote in " + file + ": " + e.getMessage());
+            }
+        });
+        return replayed[0];
+    }
+
+    private interface RecordVisitor {
+        void accept(String key, long expiresAt, byte[] payload);
+    }
+
+    /** Visits the raw records from offset {@code at} to the end of the log. */
+    private void scan(int at, RecordVisitor visitor) {
+        while (at < position) {
+            int length = buffer.getInt(at);
+            int body = at + RECORD_HEADER;
+            long expiresAt = buffer.getLong(body);
+            int keyLength = buffer.getShort(body + 8) & 0xFFFF;
+            byte[] key = new byte[keyLength];
+            byte[] payload = new byte[length - BODY_HEADER - keyLength];
+            ByteBuffer view = buffer.duplicate();
+            view.position(body + BODY_HEADER);
+            view.get(key).get(payload);
+            visitor.accept(new String(key, StandardCharsets.UTF_8), expiresAt, payload);
+            at = body + length;
+        }
+    }
+
+    public byte[] encode(V value) throws IOException {
+        return codec.encode(value);
+    }
+
+    /** Appends one record; {@code payload} comes from {@link #encode}. */
+    public synchronized void append(String key, long expiresAt, byte[] payload) throws IOException {
+        byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        if (keyBytes.length > 0xFFFF) {
+            throw new IOException("Quote id too long for the journal");
+        }
+        int length = BODY_HEADER + keyBytes.length + payload.length;
+        // Keep room for the zero length that marks the end of the log
+        ensureCapacity((long) position + RECORD_HEADER + length + 4);
+        int body = position + RECORD_HEADER;
+        buffer.putLong(body, expiresAt);
+        buffer.putShort(body + 8, (short) keyBytes.length);
+        ByteBuffer view = buffer.duplicate();
+        view.position(body + BODY_HEADER);
+        view.put(keyBytes).put(payload);
+        buffer.putInt(position + 4, crc(body, length));
+        buffer.putInt(position, length);
+        position = body + length;
+        records++;
+    }
+
+    private void ensureCapacity(long needed) throws IOException {
+        if (needed <= buffer.capacity()) return;
+        long size = Math.max((long) buffer.capacity() * 2, needed);
+        if (size > Integer.MAX_VALUE) {
+            if (needed > Integer.MAX_VALUE) {
+                throw new IOException("Quote journal " + file + " is full");
+            }
+            size = Integer.MAX_VALUE;
+        }
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+    }
+
+    /**
+     * Rewrites the journal with only the given quotes, via a temporary file moved over
+     * the current one. {@code since} is {@link #getBytes()} as of when the live quotes
+     * were taken: the live quotes are written without holding the journal, so appends can
+     * carry on meanwhile, and the records appended after that point are copied over just
+     * before the swap.
+     */
+    public void compact(Source<V> live, int since) throws IOException {
+        Path temp = file.resolveSibling(file.getFileName() + ".compact");
+        Files.deleteIfExists(temp);
+        QuoteJournal<V> compacted = open(temp, codec);
+        boolean moved = false;
+        try {
+            live.forEach((key, expiresAt, value) -> {
+                try {
+                    compacted.append(key, expiresAt, codec.encode(value));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            synchronized (this) {
+                scan(Math.min(Math.max(since, FILE_HEADER), position), (key, expiresAt, payload) -> {
+                    try {
+                        compacted.append(key, expiresAt, payload);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                compacted.close();
+                close();
+                try {
+                    Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                    moved = true;
+                } finally {
+                    // Reopen whichever file is now in place, so a failed move keeps the old journal
+                    map();
+                }
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } finally {
+            if (!moved) {
+                compacted.close();
+                Files.deleteIfExists(temp);
+            }
+        }
+    }
+
+    /** Number of records, including superseded ones, since the last compaction. */
+    public synchronized long getRecords() {
+        return records;
+    }
+
+    /** Bytes of log in use. */
+    public synchronized int getBytes() {
+        return position;
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (channel != null && channel.isOpen()) {
+            buffer.force();
+            channel.close();
+        }
+    }
+}
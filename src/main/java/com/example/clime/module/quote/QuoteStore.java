@@ -0,0 +1,315 @@
+package com.example.clime.module.quote;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Thread-safe in-memory store of issued quotes, keyed by quote id.
+ *
+ * Entries expire {@code ttl} after they were stored and the store holds at most
+ * {@code maxEntries}, evicting the least recently used quote to make room. Expired entries
+ * are dropped when they are looked up and by a sweep that runs at most once per
+ * {@link #SWEEP_INTERVAL_MS} on writes, so an idle store does not pin old quotes forever.
+ *
+ * With a {@link QuoteJournal} every stored quote is also appended to the journal, which
+ * is replayed on construction; once the journal holds more than twice the live quotes
+ * (plus {@link #COMPACT_SLACK}) it is compacted down to them on a background thread, so
+ * the rewrite never holds up get and put.
+ */
+public class QuoteStore<V> {
+
+    static final long SWEEP_INTERVAL_MS = 1000;
+    static final int COMPACT_SLACK = 1024;
+
+    private final String name;
+    private final int maxEntries;
+    private final long ttlMillis;
+    private final LongSupplier clock;
+    private final QuoteJournal<V> journal;
+    private final ExecutorService compactor;
+
+    private final LinkedHashMap<String, Entry<V>> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private long nextSweep;
+    private boolean compacting;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong expirations = new AtomicLong();
+    private final AtomicLong journalErrors = new AtomicLong();
+
+    public QuoteStore(String name, int maxEntries, Duration ttl) {
+        this(name, maxEntries, ttl.toMillis(), System::currentTimeMillis, null);
+    }
+
+    public QuoteStore(String name, int maxEntries, Duration ttl, QuoteJournal<V> journal) {
+        this(name, maxEntries, ttl.toMillis(), System::currentTimeMillis, journal);
+    }
+
+    QuoteStore(String name, int maxEntries, long ttlMillis, LongSupplier clock) {
+        this(name, maxEntries, ttlMillis, clock, null);
+    }
+
+    QuoteStore(String name, int maxEntries, long ttlMillis, LongSupplier clock, QuoteJournal<V> journal) {
+        if (maxEntries < 1 || ttlMillis < 1) {
+            throw new IllegalArgumentException("Quote store needs a positive size and TTL");
+        }
+        this.name = name;
+        this.maxEntries = maxEntries;
+        this.ttlMillis = ttlMillis;
+        this.clock = clock;
+        this.journal = journal;
+        if (journal != null) {
+            compactor = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "quote-compactor-" + name);
+                thread.setDaemon(true);
+                return thread;
+            });
+            restore();
+        } else {
+            compactor = null;
+        }
+    }
+
+    /**
+     * A store journaled to {@code <journalDir>/<name>.journal}, or memory-only when
+     * journalDir is blank or the journal cannot be opened.
+     */
+    public static <V> QuoteStore<V> open(String name, int maxEntries, Duration ttl, String journalDir, Class<V> type) {
+        if (journalDir == null || journalDir.trim().isEmpty()) {
+            return new QuoteStore<>(name, maxEntries, ttl);
+        }
+        Path file = Paths.get(journalDir.trim(), name + ".journal");
+        try {
+            return new QuoteStore<>(name, maxEntries, ttl, QuoteJournal.open(file, QuoteJournal.jsonCodec(type)));
+        } catch (IOException e) {
+            System.err.println("Quote journal " + file + " unavailable, keeping " + name + " in memory only: " + e.getMessage());
+            return new QuoteStore<>(name, maxEntries, ttl);
+        }
+    }
+
+    private synchronized void restore() {
+        long start = System.currentTimeMillis();
+        long now = clock.getAsLong();
+        int replayed = journal.replay((key, expiresAt, value) -> {
+            if (expiresAt > now) {
+                // Later records win; re-putting moves the quote to the most recent end
+                entries.remove(key);
+                entries.put(key, new Entry<>(value, expiresAt));
+            } else {
+                entries.remove(key);
+            }
+        });
+        Iterator<Entry<V>> eldest = entries.values().iterator();
+        while (entries.size() > maxEntries && eldest.hasNext()) {
+            eldest.next();
+            eldest.remove();
+        }
+        compactIfNeeded();
+        System.out.println("📒 Restored " + entries.size() + " " + name + " from " + replayed + " journal records in "
+                + (System.currentTimeMillis() - start) + " ms");
+    }
+
+    public void put(String quoteId, V quote) {
+        long now = clock.getAsLong();
+        byte[] payload = encode(quote);
+        synchronized (this) {
+            if (now >= nextSweep) {
+                sweep(now);
+                nextSweep = now + SWEEP_INTERVAL_MS;
+            }
+            long expiresAt = now + ttlMillis;
+            entries.put(quoteId, new Entry<>(quote, expiresAt));
+            Iterator<Entry<V>> eldest = entries.values().iterator();
+            while (entries.size() > maxEntries && eldest.hasNext()) {
+                eldest.next();
+                eldest.remove();
+                evictions.incrementAndGet();
+            }
+            if (payload != null) {
+                try {
+                    journal.append(quoteId, expiresAt, payload);
+                } catch (IOException e) {
+                    journalErrors.incrementAndGet();
+                    System.err.println("Could not journal quote " + quoteId + ": " + e.getMessage());
+                }
+                compactIfNeeded();
+            }
+        }
+    }
+
+    /** Encoded outside the lock; null when there is no journal or the quote cannot be encoded. */
+    private byte[] encode(V quote) {
+        if (journal == null) {
+            return null;
+        }
+        try {
+            return journal.encode(quote);
+        } catch (IOException e) {
+            journalErrors.incrementAndGet();
+            System.err.println("Could not encode quote for the journal: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Called holding the store: takes the live quotes and the journal position here and
+     * leaves the rewrite to the compactor thread.
+     */
+    private void compactIfNeeded() {
+        if (compacting || journal.getRecords() <= 2L * entries.size() + COMPACT_SLACK) {
+            return;
+        }
+        List<String> keys = new ArrayList<>(entries.size());
+        List<Entry<V>> live = new ArrayList<>(entries.size());
+        for (Map.Entry<String, Entry<V>> entry : entries.entrySet()) {
+            keys.add(entry.getKey());
+            live.add(entry.getValue());
+        }
+        int since = journal.getBytes();
+        compacting = true;
+        try {
+            compactor.execute(() -> compact(keys, live, since));
+        } catch (RuntimeException e) {
+            // Rejected once the store is closed
+            compacting = false;
+        }
+    }
+
+    private void compact(List<String> keys, List<Entry<V>> live, int since) {
+        try {
+            journal.compact(visitor -> {
+                for (int i = 0; i < keys.size(); i++) {
+                    visitor.accept(keys.get(i), live.get(i).expiresAt, live.get(i).value);
+                }
+            }, since);
+        } catch (IOException e) {
+            journalErrors.incrementAndGet();
+            System.err.println("Could not compact quote journal " + journal.getFile() + ": " + e.getMessage());
+        } finally {
+            synchronized (this) {
+                compacting = false;
+                // Writes that arrived meanwhile may already call for the next round
+                compactIfNeeded();
+                notifyAll();
+            }
+        }
+    }
+
+    /** Waits until no compaction is running or queued. */
+    synchronized void awaitCompaction() throws InterruptedException {
+        while (compacting) {
+            wait();
+        }
+    }
+
+    /**
+     * The quote, or null when it was never stored, has expired or was evicted.
+     */
+    public V get(String quoteId) {
+        long now = clock.getAsLong();
+        synchronized (this) {
+            Entry<V> entry = entries.get(quoteId);
+            if (entry != null && entry.expiresAt <= now) {
+                entries.remove(quoteId);
+                expirations.incrementAndGet();
+                entry = null;
+            }
+            if (entry == null) {
+                misses.incrementAndGet();
+                return null;
+            }
+            hits.incrementAndGet();
+            return entry.value;
+        }
+    }
+
+    /**
+     * The live quotes, least recently used first. Listing does not count as use.
+     */
+    public List<V> values() {
+        long now = clock.getAsLong();
+        synchronized (this) {
+            sweep(now);
+            List<V> values = new ArrayList<>(entries.size());
+            for (Entry<V> entry : entries.values()) {
+                values.add(entry.value);
+            }
+            return values;
+        }
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("name", name);
+        stats.put("entries", size());
+        stats.put("maxEntries", maxEntries);
+        stats.put("ttlSeconds", ttlMillis / 1000);
+        stats.put("hits", hits.get());
+        stats.put("misses", misses.get());
+        stats.put("evictions", evictions.get());
+        stats.put("expirations", expirations.get());
+        if (journal != null) {
+            stats.put("journalFile", journal.getFile().toString());
+            stats.put("journalRecords", journal.getRecords());
+            stats.put("journalBytes", journal.getBytes());
+            stats.put("journalErrors", journalErrors.get());
+        }
+        return stats;
+    }
+
+    /** Lets a running compaction finish, then forces the journal to disk and closes it. */
+    public void close() {
+        if (journal != null) {
+            compactor.shutdown();
+            try {
+                if (!compactor.awaitTermination(30, TimeUnit.SECONDS)) {
+                    System.err.println("Quote journal " + journal.getFile() + " still compacting at close");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            try {
+                journal.close();
+            } catch (IOException e) {
+                System.err.println("Error closing quote journal " + journal.getFile() + ": " + e.getMessage());
+            }
+        }
+    }
+
+    private void sweep(long now) {
+        Iterator<Entry<V>> it = entries.values().iterator();
+        while (it.hasNext()) {
+            if (it.next().expiresAt <= now) {
+                it.remove();
+                expirations.incrementAndGet();
+            }
+        }
+    }
+
+    private static final class Entry<V> {
+        private final V value;
+        private final long expiresAt;
+
+        Entry(V value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
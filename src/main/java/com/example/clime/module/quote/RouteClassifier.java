@@ -0,0 +1,119 @@
+package com.example.clime.module.quote;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Route and address classification for the quote services, compiled once into lookup
+ * tables so classifying a quote allocates nothing.
+ *
+ * Countries map to a region id and a region-pair matrix gives the air freight route type.
+ * Address keywords are indexed by their first letter and matched in place, ignoring ASCII
+ * case, rather than by lower-casing and concatenating the addresses.
+ */
+public final class RouteClassifier {
+
+    public static final String DOMESTIC = "DOMESTIC";
+    public static final String REGIONAL = "REGIONAL";
+    public static final String INTERCONTINENTAL = "INTERCONTINENTAL";
+
+    /** Region 0 is every country not listed. */
+    private static final String[][] REGIONS = {
+        {},
+        {"India", "China", "Japan", "Thailand", "Singapore", "Malaysia"},
+        {"United Kingdom", "Germany", "France", "Netherlands", "Italy", "Spain"},
+        {"United States", "Canada", "Mexico", "Brazil", "Argentina"},
+        {"Australia", "New Zealand"}
+    };
+
+    private static final String[] INTERNATIONAL_KEYWORDS = {"international", "usa", "uk", "europe", "asia", "africa", "australia"};
+
+    private static final Map<String, Integer> REGION_BY_COUNTRY = new HashMap<>();
+    private static final String[][] ROUTE_TYPES = new String[REGIONS.length][REGIONS.length];
+    private static final String[][] KEYWORDS_BY_FIRST_LETTER = new String[26][];
+
+    static {
+        for (int region = 1; region < REGIONS.length; region++) {
+            for (String country : REGIONS[region]) {
+                REGION_BY_COUNTRY.put(country, region);
+            }
+        }
+        for (int from = 0; from < REGIONS.length; from++) {
+            for (int to = 0; to < REGIONS.length; to++) {
+                ROUTE_TYPES[from][to] = from != 0 && from == to ? REGIONAL : INTERCONTINENTAL;
+            }
+        }
+        List<List<String>> byLetter = new ArrayList<>();
+        for (int i = 0; i < 26; i++) byLetter.add(new ArrayList<>());
+        for (String keyword : INTERNATIONAL_KEYWORDS) {
+            byLetter.get(keyword.charAt(0) - 'a').add(keyword);
+        }
+        for (int i = 0; i < 26; i++) {
+            KEYWORDS_BY_FIRST_LETTER[i] = byLetter.get(i).toArray(new String[0]);
+        }
+    }
+
+    private RouteClassifier() {
+    }
+
+    /** Region id of a country (exact name), 0 when it is not in any region. */
+    public static int regionOf(String country) {
+        Integer region = country == null ? null : REGION_BY_COUNTRY.get(country);
+        return region == null ? 0 : region;
+    }
+
+    /**
+     * DOMESTIC for the same country, REGIONAL within one region (or when either country
+     * is missing), otherwise INTERCONTINENTAL.
+     */
+    public static String routeType(String origin, String destination) {
+        if (origin == null || destination == null) return REGIONAL;
+        if (origin.equals(destination)) return DOMESTIC;
+        return ROUTE_TYPES[regionOf(origin)][regionOf(destination)];
+    }
+
+    /** True when either address mentions an international keyword, ignoring case. */
+    public static boolean isInternational(String departure, String delivery) {
+        return hasInternationalKeyword(departure) || hasInternationalKeyword(delivery);
+    }
+
+    private static boolean hasInternationalKeyword(String address) {
+        if (address == null) return false;
+        for (int i = 0; i < address.length(); i++) {
+            char c = address.charAt(i);
+            // Keywords are lower-case ASCII, so only ASCII letters can start a match
+            if (c >= 'A' && c <= 'Z') c += 'a' - 'A';
+            if (c < 'a' || c > 'z') continue;
+            for (String keyword : KEYWORDS_BY_FIRST_LETTER[c - 'a']) {
+                if (keywordAt(address, i, keyword)) return true;
+            }
+        }
+        return false;
+    }
+
+    /** Whether the rest of the keyword follows; for a lower-case ASCII letter k, (c | 0x20) == k iff c is k or K. */
+    private static boolean keywordAt(String text, int at, String keyword) {
+        if (at + keyword.length() > text.length()) return false;
+        for (int j = 1; j < keyword.length(); j++) {
+            if ((text.charAt(at + j) | 0x20) != keyword.charAt(j)) return false;
+        }
+        return true;
+    }
+
+    /** {@code text.toLowerCase().contains(part.toLowerCase())} without the copies. */
+    public static boolean containsIgnoreCase(String text, String part) {
+        int length = part.length();
+        if (length == 0) return true;
+        char lower = Character.toLowerCase(part.charAt(0));
+        char upper = Character.toUpperCase(part.charAt(0));
+        int last = text.length() - length;
+        for (int i = 0; i <= last; i++) {
+            char c = text.charAt(i);
+            // Cheap first-character check before the full case-insensitive comparison
+            if ((c == lower || c == upper) && text.regionMatches(true, i, part, 0, length)) return true;
+        }
+        return false;
+    }
+}
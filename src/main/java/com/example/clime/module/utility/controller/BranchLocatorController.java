@@ -1,93 +1,56 @@
 package com.example.clime.module.utility.controller;
 
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import org.springframework.core.io.ClassPathResource;
+import com.example.clime.module.utility.model.Branch;
+import com.example.clime.module.utility.model.BranchDirectory;
+import com.example.clime.module.utility.model.BranchJsonWriter;
+import com.example.clime.module.utility.service.BranchLocatorService;
+import com.example.clime.module.utility.text.TextIndex;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
-import java.io.IOException;
 import java.util.*;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/utility")
 @CrossOrigin(origins = "*")
 public class BranchLocatorController {
 
-    private final ObjectMapper objectMapper = new ObjectMapper();
-    private JsonNode branchData;
+    private static final int MAX_PAGE_SIZE = 1000;
 
-    public BranchLocatorController() {
-        loadBranchData();
-    }
-
-    private void loadBranchData() {
-        try {
-            ClassPathResource resource = new ClassPathResource("branches.json");
-            branchData = objectMapper.readTree(resource.getInputStream());
-        } catch (IOException e) {
-            System.err.println("Error loading branch data: " + e.getMessage());
-            branchData = objectMapper.createObjectNode();
-        }
-    }
+    @Autowired
+    private BranchLocatorService branchLocatorService;
 
     @GetMapping("/branches")
-    public JsonNode getAllBranches() {
-        return branchData;
+    public ResponseEntity<byte[]> getAllBranches() {
+        return json(branchLocatorService.getDirectory().getDocumentJson());
     }
 
     @GetMapping("/branches/search")
-    public Map<String, Object> searchBranches(
+    public ResponseEntity<byte[]> searchBranches(
             @RequestParam(required = false) String postcode,
             @RequestParam(required = false) String town,
             @RequestParam(required = false) String latitude,
             @RequestParam(required = false) String longitude,
-            @RequestParam(defaultValue = "50") int radius) {
+            @RequestParam(defaultValue = "50") int radius,
+            @RequestParam(defaultValue = "substring") String match,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "100") int size) {
         
-        Map<String, Object> response = new HashMap<>();
-        List<Map<String, Object>> filteredData = new ArrayList<>();
+        List<Branch> matches = new ArrayList<>();
+        TextIndex.Mode mode = TextIndex.Mode.from(match);
         
         try {
-            JsonNode dataArray = branchData.get("data");
-            if (dataArray != null && dataArray.isArray()) {
-                for (JsonNode dataItem : dataArray) {
-                    JsonNode brands = dataItem.get("Brand");
-                    if (brands != null && brands.isArray()) {
-                        for (JsonNode brand : brands) {
-                            JsonNode branches = brand.get("Branch");
-                            if (branches != null && branches.isArray()) {
-                                List<JsonNode> matchingBranches = new ArrayList<>();
-                                
-                                for (JsonNode branch : branches) {
-                                    if (matchesCriteria(branch, postcode, town, latitude, longitude, radius)) {
-                                        matchingBranches.add(branch);
-                                    }
-                                }
-                                
-                                if (!matchingBranches.isEmpty()) {
-                                    @SuppressWarnings("unchecked")
-                                    Map<String, Object> brandData = objectMapper.convertValue(brand, Map.class);
-                                    brandData.put("Branch", matchingBranches.stream()
-                                        .map(b -> {
-                                            @SuppressWarnings("unchecked")
-                                            Map<String, Object> branchMap = objectMapper.convertValue(b, Map.class);
-                                            return branchMap;
-                                        })
-                                        .collect(Collectors.toList()));
-                                    
-                                    Map<String, Object> brandWrapper = new HashMap<>();
-                                    brandWrapper.put("Brand", Arrays.asList(brandData));
-                                    filteredData.add(brandWrapper);
-                                }
-                            }
-                        }
-                    }
-                }
-            }
+            matches = branchLocatorService.search(postcode, town, latitude, longitude, radius, mode);
         } catch (Exception e) {
             System.err.println("Error filtering branches: " + e.getMessage());
         }
         
-        response.put("data", filteredData);
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        int pageNumber = Math.max(0, page);
+        int from = (int) Math.min((long) pageNumber * pageSize, matches.size());
+        int to = Math.min(from + pageSize, matches.size());
+        List<Branch> pageItems = matches.subList(from, to);
         
         // Add search metadata
         Map<String, Object> metadata = new HashMap<>();
@@ -97,83 +60,63 @@ public class BranchLocatorController {
         searchParams.put("latitude", latitude != null ? latitude : "");
         searchParams.put("longitude", longitude != null ? longitude : "");
         searchParams.put("radius", radius);
+        searchParams.put("match", mode.name().toLowerCase());
         metadata.put("searchParams", searchParams);
-        metadata.put("totalResults", filteredData.size());
-        response.put("meta", metadata);
+        metadata.put("totalResults", BranchJsonWriter.groupCount(pageItems));
+        metadata.put("totalBranches", matches.size());
+        metadata.put("page", pageNumber);
+        metadata.put("size", pageSize);
+        metadata.put("totalPages", (matches.size() + pageSize - 1) / pageSize);
+        putDistances(metadata, pageItems, latitude, longitude);
         
-        return response;
+        return json(branchLocatorService.toResponseJson(pageItems, metadata));
     }
 
-    private boolean matchesCriteria(JsonNode branch, String postcode, String town, String latitude, String longitude, int radius) {
-        JsonNode postalAddress = branch.get("PostalAddress");
-        if (postalAddress == null) return false;
-        
-        // If no search criteria provided, return all branches
-        if ((postcode == null || postcode.trim().isEmpty()) &&
-            (town == null || town.trim().isEmpty()) &&
-            (latitude == null || latitude.trim().isEmpty()) &&
-            (longitude == null || longitude.trim().isEmpty())) {
-            return true;
-        }
-        
-        // Check postcode match
-        if (postcode != null && !postcode.trim().isEmpty()) {
-            JsonNode postcodeNode = postalAddress.get("PostCode");
-            if (postcodeNode != null) {
-                String branchPostcode = postcodeNode.asText().toLowerCase();
-                if (branchPostcode.contains(postcode.toLowerCase()) || 
-                    postcode.toLowerCase().contains(branchPostcode)) {
-                    return true;
-                }
-            }
+    @GetMapping("/branches/nearest")
+    public ResponseEntity<?> nearestBranches(
+            @RequestParam String latitude,
+            @RequestParam String longitude,
+            @RequestParam(defaultValue = "5") int limit) {
+        try {
+            List<Branch> nearest = branchLocatorService.nearest(latitude, longitude,
+                    Math.max(1, Math.min(limit, MAX_PAGE_SIZE)));
+            Map<String, Object> metadata = new HashMap<>();
+            metadata.put("totalBranches", nearest.size());
+            putDistances(metadata, nearest, latitude, longitude);
+            return json(branchLocatorService.toResponseJson(nearest, metadata));
+        } catch (IllegalArgumentException e) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("status", "error");
+            errorResponse.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(errorResponse);
         }
-        
-        // Check town match
-        if (town != null && !town.trim().isEmpty()) {
-            JsonNode townNode = postalAddress.get("TownName");
-            if (townNode != null) {
-                String branchTown = townNode.asText().toLowerCase();
-                if (branchTown.contains(town.toLowerCase()) || 
-                    town.toLowerCase().contains(branchTown)) {
-                    return true;
-                }
-            }
+    }
+
+    /** Pre-serialized JSON goes out as-is through the byte array converter. */
+    private static ResponseEntity<byte[]> json(byte[] body) {
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
+    /**
+     * Adds the distance in km of each returned branch, in result order, when the search had a location.
+     */
+    private void putDistances(Map<String, Object> metadata, List<Branch> branches, String latitude, String longitude) {
+        double[] point = branchLocatorService.parseLocation(latitude, longitude);
+        if (point == null) {
+            return;
         }
-        
-        // Check geographic proximity (simplified - in real implementation would use proper distance calculation)
-        if (latitude != null && !latitude.trim().isEmpty() && 
-            longitude != null && !longitude.trim().isEmpty()) {
-            try {
-                double searchLat = Double.parseDouble(latitude);
-                double searchLon = Double.parseDouble(longitude);
-                
-                JsonNode geoLocation = postalAddress.get("GeoLocation");
-                if (geoLocation != null) {
-                    JsonNode coordinates = geoLocation.get("GeographicCoordinates");
-                    if (coordinates != null) {
-                        JsonNode latNode = coordinates.get("Latitude");
-                        JsonNode lonNode = coordinates.get("Longitude");
-                        if (latNode != null && lonNode != null) {
-                            double branchLat = Double.parseDouble(latNode.asText());
-                            double branchLon = Double.parseDouble(lonNode.asText());
-                            
-                            // Simple distance check (not accurate, but sufficient for demo)
-                            double latDiff = Math.abs(searchLat - branchLat);
-                            double lonDiff = Math.abs(searchLon - branchLon);
-                            double approximateDistance = Math.sqrt(latDiff * latDiff + lonDiff * lonDiff) * 111; // rough km conversion
-                            
-                            if (approximateDistance <= radius) {
-                                return true;
-                            }
-                        }
-                    }
-                }
-            } catch (NumberFormatException e) {
-                // Invalid coordinates, ignore this criteria
-            }
+        List<Double> distances = new ArrayList<>(branches.size());
+        for (Branch branch : branches) {
+            double km = BranchDirectory.distanceKm(branch, point[0], point[1]);
+            distances.add(Double.isInfinite(km) ? null : Math.round(km * 1000.0) / 1000.0);
         }
-        
-        return false;
+        metadata.put("distancesKm", distances);
+    }
+
+    /** Which branch data snapshot is live, for checking that a reload was picked up. */
+    @GetMapping("/branches/status")
+    public Map<String, Object> branchDataStatus() {
+        return branchLocatorService.getStatus();
     }
 
     @GetMapping("/branches/hello")
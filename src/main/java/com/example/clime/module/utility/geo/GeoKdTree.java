@@ -0,0 +1,270 @@
+package com.example.clime.module.utility.geo;
+
+import java.util.Arrays;
+
+/**
+ * Static k-d tree over latitude/longitude points for radius and k-nearest queries.
+ *
+ * Points are stored as unit vectors on the sphere, so the straight-line (chord)
+ * distance between two vectors orders points exactly like the great-circle distance
+ * and the tree needs no special handling for the poles or the 180° meridian. The tree
+ * is implicit: each range of the arrays is split at its median on the axis with the
+ * largest spread, with that median element as the node.
+ *
+ * Queries return the ids passed to {@link #build}; the tree is immutable once built and
+ * safe for concurrent readers.
+ */
+public final class GeoKdTree {
+
+    private final int[] ids;
+    private final double[][] coords;
+    private final byte[] axes;
+
+    private GeoKdTree(int[] ids, double[][] coords) {
+        this.ids = ids;
+        this.coords = coords;
+        this.axes = new byte[ids.length];
+        build(0, ids.length);
+    }
+
+    /**
+     * Builds a tree over {@code latitudes.length} points; point i gets id {@code ids[i]}.
+     */
+    public static GeoKdTree build(int[] ids, double[] latitudes, double[] longitudes) {
+        int n = ids.length;
+        double[][] coords = new double[3][n];
+        for (int i = 0; i < n; i++) {
+            double lat = Math.toRadians(latitudes[i]);
+            double lon = Math.toRadians(longitudes[i]);
+            coords[0][i] = Math.cos(lat) * Math.cos(lon);
+            coords[1][i] = Math.cos(lat) * Math.sin(lon);
+            coords[2][i] = Math.sin(lat);
+        }
+        return new GeoKdTree(ids.clone(), coords);
+    }
+
+    public int size() {
+        return ids.length;
+    }
+
+    /**
+     * Ids of all points within {@code radiusKm} great-circle distance, in no particular order.
+     */
+    public int[] withinRadius(double latitude, double longitude, double radiusKm) {
+        if (radiusKm < 0 || ids.length == 0) {
+            return new int[0];
+        }
+        double[] q = unitVector(latitude, longitude);
+        double chord = chordForKm(radiusKm);
+        IntBuffer found = new IntBuffer();
+        searchRadius(0, ids.length, q, chord * chord, chord, found);
+        return found.toArray();
+    }
+
+    /**
+     * Ids of the {@code k} nearest points, nearest first.
+     */
+    public int[] nearest(double latitude, double longitude, int k) {
+        int limit = Math.min(k, ids.length);
+        if (limit <= 0) {
+            return new int[0];
+        }
+        double[] q = unitVector(latitude, longitude);
+        // Max-heap on squared chord distance holding the best candidates so far
+        int[] heap = new int[limit];
+        double[] heapDist = new double[limit];
+        int[] count = {0};
+        searchNearest(0, ids.length, q, heap, heapDist, count);
+
+        int n = count[0];
+        Integer[] order = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Double.compare(heapDist[a], heapDist[b]));
+        int[] result = new int[n];
+        for (int i = 0; i < n; i++) {
+            result[i] = ids[heap[order[i]]];
+        }
+        return result;
+    }
+
+    private void searchRadius(int lo, int hi, double[] q, double maxSq, double chord, IntBuffer found) {
+        if (lo >= hi) {
+            return;
+        }
+        int mid = (lo + hi) >>> 1;
+        if (distanceSq(mid, q) <= maxSq) {
+            found.add(ids[mid]);
+        }
+        int axis = axes[mid];
+        double diff = q[axis] - coords[axis][mid];
+        if (diff <= 0) {
+            searchRadius(lo, mid, q, maxSq, chord, found);
+            if (-diff <= chord) searchRadius(mid + 1, hi, q, maxSq, chord, found);
+        } else {
+            searchRadius(mid + 1, hi, q, maxSq, chord, found);
+            if (diff <= chord) searchRadius(lo, mid, q, maxSq, chord, found);
+        }
+    }
+
+    private void searchNearest(int lo, int hi, double[] q, int[] heap, double[] heapDist, int[] count) {
+        if (lo >= hi) {
+            return;
+        }
+        int mid = (lo + hi) >>> 1;
+        offer(mid, distanceSq(mid, q), heap, heapDist, count);
+        int axis = axes[mid];
+        double diff = q[axis] - coords[axis][mid];
+        int nearLo = diff <= 0 ? lo : mid + 1;
+        int nearHi = diff <= 0 ? mid : hi;
+        searchNearest(nearLo, nearHi, q, heap, heapDist, count);
+        // The far side can only help while the heap is not full or the split plane is closer than the worst candidate
+        if (count[0] < heap.length || diff * diff < heapDist[0]) {
+            int farLo = diff <= 0 ? mid + 1 : lo;
+            int farHi = diff <= 0 ? hi : mid;
+            searchNearest(farLo, farHi, q, heap, heapDist, count);
+        }
+    }
+
+    private static void offer(int index, double dist, int[] heap, double[] heapDist, int[] count) {
+        int n = count[0];
+        if (n < heap.length) {
+            int i = n;
+            heap[i] = index;
+            heapDist[i] = dist;
+            count[0] = n + 1;
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (heapDist[parent] >= heapDist[i]) break;
+                swap(heap, heapDist, i, parent);
+                i = parent;
+            }
+        } else if (dist < heapDist[0]) {
+            heap[0] = index;
+            heapDist[0] = dist;
+            int i = 0;
+            while (true) {
+                int left = 2 * i + 1;
+                if (left >= n) break;
+                int largest = left + 1 < n && heapDist[left + 1] > heapDist[left] ? left + 1 : left;
+                if (heapDist[i] >= heapDist[largest]) break;
+                swap(heap, heapDist, i, largest);
+                i = largest;
+            }
+        }
+    }
+
+    private static void swap(int[] heap, double[] heapDist, int a, int b) {
+        int t = heap[a];
+        heap[a] = heap[b];
+        heap[b] = t;
+        double d = heapDist[a];
+        heapDist[a] = heapDist[b];
+        heapDist[b] = d;
+    }
+
+    private double distanceSq(int index, double[] q) {
+        double dx = coords[0][index] - q[0];
+        double dy = coords[1][index] - q[1];
+        double dz = coords[2][index] - q[2];
+        return dx * dx + dy * dy + dz * dz;
+    }
+
+    // --- construction ----------------------------------------------------------------
+
+    private void build(int lo, int hi) {
+        if (hi - lo <= 1) {
+            return;
+        }
+        int axis = widestAxis(lo, hi);
+        int mid = (lo + hi) >>> 1;
+        select(lo, hi - 1, mid, coords[axis]);
+        axes[mid] = (byte) axis;
+        build(lo, mid);
+        build(mid + 1, hi);
+    }
+
+    private int widestAxis(int lo, int hi) {
+        int best = 0;
+        double bestSpread = -1;
+        for (int axis = 0; axis < 3; axis++) {
+            double min = Double.POSITIVE_INFINITY;
+            double max = Double.NEGATIVE_INFINITY;
+            for (int i = lo; i < hi; i++) {
+                double v = coords[axis][i];
+                if (v < min) min = v;
+                if (v > max) max = v;
+            }
+            if (max - min > bestSpread) {
+                bestSpread = max - min;
+                best = axis;
+            }
+        }
+        return best;
+    }
+
+    /** Quickselect: places the k-th smallest value of {@code values[left..right]} at k. */
+    private void select(int left, int right, int k, double[] values) {
+        while (right > left) {
+            double pivot = values[(left + right) >>> 1];
+            int i = left;
+            int j = right;
+            while (i <= j) {
+                while (values[i] < pivot) i++;
+                while (values[j] > pivot) j--;
+                if (i <= j) {
+                    swapPoints(i, j);
+                    i++;
+                    j--;
+                }
+            }
+            if (k <= j) {
+                right = j;
+            } else if (k >= i) {
+                left = i;
+            } else {
+                return;
+            }
+        }
+    }
+
+    private void swapPoints(int a, int b) {
+        int t = ids[a];
+        ids[a] = ids[b];
+        ids[b] = t;
+        for (double[] axis : coords) {
+            double v = axis[a];
+            axis[a] = axis[b];
+            axis[b] = v;
+        }
+    }
+
+    private static double[] unitVector(double latitude, double longitude) {
+        double lat = Math.toRadians(latitude);
+        double lon = Math.toRadians(longitude);
+        return new double[] {Math.cos(lat) * Math.cos(lon), Math.cos(lat) * Math.sin(lon), Math.sin(lat)};
+    }
+
+    /** Chord length on the unit sphere for a great-circle distance; 2 (the diameter) beyond half the globe. */
+    private static double chordForKm(double km) {
+        double angle = km / GeoDistance.EARTH_RADIUS_KM;
+        return angle >= Math.PI ? 2.0 : 2 * Math.sin(angle / 2);
+    }
+
+    private static final class IntBuffer {
+        private int[] values = new int[16];
+        private int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.clime.module.utility.model;
+
+/**
+ * One branch from branches.json, with the fields the locator searches on parsed once at
+ * load time. The original JSON is kept pre-serialized for responses so they follow the
+ * Open Banking schema unchanged without re-serializing the tree per request.
+ */
+public class Branch {
+
+    private final int index;
+    private final BranchBrand brand;
+    private final String identification;
+    private final String name;
+    private final String postCode;
+    private final String townName;
+    private final double latitude;
+    private final double longitude;
+    private final byte[] json;
+
+    public Branch(int index, BranchBrand brand, String identification, String name, String postCode,
+                  String townName, double latitude, double longitude, byte[] json) {
+        this.index = index;
+        this.brand = brand;
+        this.identification = identification;
+        this.name = name;
+        this.postCode = postCode;
+        this.townName = townName;
+        this.latitude = latitude;
+        this.longitude = longitude;
+        this.json = json;
+    }
+
+    /** Position in file order. */
+    public int getIndex() { return index; }
+    public BranchBrand getBrand() { return brand; }
+    public String getIdentification() { return identification; }
+    public String getName() { return name; }
+    public String getPostCode() { return postCode; }
+    public String getTownName() { return townName; }
+    public double getLatitude() { return latitude; }
+    public double getLongitude() { return longitude; }
+
+    /** The branch object as UTF-8 JSON. Shared, not copied: callers must not modify it. */
+    public byte[] getJson() { return json; }
+
+    /** False when the branch has no usable geographic coordinates. */
+    public boolean hasLocation() {
+        return !Double.isNaN(latitude) && !Double.isNaN(longitude);
+    }
+}
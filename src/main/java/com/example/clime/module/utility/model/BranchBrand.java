@@ -0,0 +1,25 @@
+package com.example.clime.module.utility.model;
+
+/**
+ * A brand from branches.json, pre-serialized as the JSON that surrounds its branches:
+ * {@code prefix + branch,branch,... + suffix} is the brand object with its Branch array
+ * filled in, fields in file order.
+ */
+public final class BranchBrand {
+
+    private final String name;
+    private final byte[] jsonPrefix;
+    private final byte[] jsonSuffix;
+
+    BranchBrand(String name, byte[] jsonPrefix, byte[] jsonSuffix) {
+        this.name = name;
+        this.jsonPrefix = jsonPrefix;
+        this.jsonSuffix = jsonSuffix;
+    }
+
+    public String getName() { return name; }
+
+    /** Shared, not copied: callers must not modify the returned arrays. */
+    public byte[] getJsonPrefix() { return jsonPrefix; }
+    public byte[] getJsonSuffix() { return jsonSuffix; }
+}
@@ -0,0 +1,225 @@
+package com.example.clime.module.utility.model;
+
+import com.example.clime.module.utility.geo.GeoDistance;
+import com.example.clime.module.utility.geo.GeoKdTree;
+import com.example.clime.module.utility.text.TextIndex;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable snapshot of branches.json: the document serialized once, typed {@link Branch}
+ * entries in file order carrying their own JSON bytes, a spatial index over the branches
+ * that have coordinates and text indexes over postcode and town.
+ *
+ * Branches without a PostalAddress are left out, as the search never matched them.
+ */
+public final class BranchDirectory {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final byte[] documentJson;
+    private final List<Branch> branches;
+    private final GeoKdTree geoIndex;
+    private final TextIndex postcodeIndex;
+    private final TextIndex townIndex;
+
+    private BranchDirectory(byte[] documentJson, List<Branch> branches) {
+        this.documentJson = documentJson;
+        this.branches = Collections.unmodifiableList(branches);
+
+        int located = 0;
+        for (Branch branch : branches) {
+            if (branch.hasLocation()) located++;
+        }
+        int[] ids = new int[located];
+        double[] latitudes = new double[located];
+        double[] longitudes = new double[located];
+        int i = 0;
+        for (Branch branch : branches) {
+            if (branch.hasLocation()) {
+                ids[i] = branch.getIndex();
+                latitudes[i] = branch.getLatitude();
+                longitudes[i] = branch.getLongitude();
+                i++;
+            }
+        }
+        this.geoIndex = GeoKdTree.build(ids, latitudes, longitudes);
+
+        String[] postcodes = new String[branches.size()];
+        String[] towns = new String[branches.size()];
+        for (Branch branch : branches) {
+            postcodes[branch.getIndex()] = branch.getPostCode();
+            towns[branch.getIndex()] = branch.getTownName();
+        }
+        this.postcodeIndex = TextIndex.build(postcodes);
+        this.townIndex = TextIndex.build(towns);
+    }
+
+    public static BranchDirectory empty() {
+        return from(JsonNodeFactory.instance.objectNode());
+    }
+
+    /**
+     * Reads the Open Banking branch document ({@code data[].Brand[].Branch[]}).
+     */
+    public static BranchDirectory from(JsonNode root) {
+        List<Branch> branches = new ArrayList<>();
+        JsonNode dataArray = root.get("data");
+        if (dataArray != null && dataArray.isArray()) {
+            for (JsonNode dataItem : dataArray) {
+                JsonNode brandArray = dataItem.get("Brand");
+                if (brandArray == null || !brandArray.isArray()) continue;
+                for (JsonNode brand : brandArray) {
+                    JsonNode branchArray = brand.get("Branch");
+                    if (branchArray == null || !branchArray.isArray()) continue;
+                    BranchBrand compiled = toBrand(brand);
+                    for (JsonNode branch : branchArray) {
+                        JsonNode address = branch.get("PostalAddress");
+                        if (address == null) continue;
+                        branches.add(toBranch(branches.size(), compiled, branch, address));
+                    }
+                }
+            }
+        }
+        return new BranchDirectory(serialize(root), branches);
+    }
+
+    /**
+     * Serializes the brand's own fields in file order, split where its Branch array's
+     * contents go.
+     */
+    private static BranchBrand toBrand(JsonNode brand) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(256);
+        byte[] prefix = null;
+        try (JsonGenerator generator = MAPPER.getFactory().createGenerator(out)) {
+            generator.writeStartObject();
+            Iterator<Map.Entry<String, JsonNode>> fields = brand.fields();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> field = fields.next();
+                generator.writeFieldName(field.getKey());
+                if (prefix == null && "Branch".equals(field.getKey())) {
+                    generator.writeStartArray();
+                    generator.flush();
+                    prefix = out.toByteArray();
+                    out.reset();
+                    generator.writeEndArray();
+                } else {
+                    generator.writeTree(field.getValue());
+                }
+            }
+            generator.writeEndObject();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return new BranchBrand(text(brand.get("BrandName")), prefix, out.toByteArray());
+    }
+
+    private static byte[] serialize(JsonNode node) {
+        try {
+            return MAPPER.writeValueAsBytes(node);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static Branch toBranch(int index, BranchBrand brand, JsonNode branch, JsonNode address) {
+        JsonNode coordinates = address.path("GeoLocation").path("GeographicCoordinates");
+        double latitude = parseCoordinate(coordinates.get("Latitude"));
+        double longitude = parseCoordinate(coordinates.get("Longitude"));
+        if (!GeoDistance.isValid(latitude, longitude)) {
+            latitude = Double.NaN;
+            longitude = Double.NaN;
+        }
+        return new Branch(index, brand, text(branch.get("Identification")), text(branch.get("Name")),
+                text(address.get("PostCode")), text(address.get("TownName")), latitude, longitude, serialize(branch));
+    }
+
+    private static double parseCoordinate(JsonNode node) {
+        if (node == null) return Double.NaN;
+        try {
+            return Double.parseDouble(node.asText().trim());
+        } catch (NumberFormatException e) {
+            return Double.NaN;
+        }
+    }
+
+    private static String text(JsonNode node) {
+        return node == null || node.isNull() ? null : node.asText();
+    }
+
+    /** The whole document as loaded, as UTF-8 JSON. Shared, not copied: callers must not modify it. */
+    public byte[] getDocumentJson() { return documentJson; }
+    public List<Branch> getBranches() { return branches; }
+    public int size() { return branches.size(); }
+
+    /** Text indexes keyed by branch index. */
+    public TextIndex getPostcodeIndex() { return postcodeIndex; }
+    public TextIndex getTownIndex() { return townIndex; }
+
+    /**
+     * Branches within {@code radiusKm} (haversine) of the point, nearest first.
+     */
+    public List<Branch> withinRadius(double latitude, double longitude, double radiusKm) {
+        int[] ids = geoIndex.withinRadius(latitude, longitude, radiusKm);
+        List<Branch> result = new ArrayList<>(ids.length);
+        for (int id : ids) {
+            Branch branch = branches.get(id);
+            if (distanceKm(branch, latitude, longitude) <= radiusKm) {
+                result.add(branch);
+            }
+        }
+        return sortByDistance(result, latitude, longitude);
+    }
+
+    /**
+     * The {@code k} branches nearest to the point, nearest first.
+     */
+    public List<Branch> nearest(double latitude, double longitude, int k) {
+        int[] ids = geoIndex.nearest(latitude, longitude, k);
+        List<Branch> result = new ArrayList<>(ids.length);
+        for (int id : ids) {
+            result.add(branches.get(id));
+        }
+        return result;
+    }
+
+    /**
+     * Orders branches by distance from the point, ties and branches without coordinates
+     * keeping their relative order (the latter last).
+     */
+    public static List<Branch> sortByDistance(List<Branch> candidates, double latitude, double longitude) {
+        int n = candidates.size();
+        double[] distances = new double[n];
+        Integer[] order = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            distances[i] = distanceKm(candidates.get(i), latitude, longitude);
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Double.compare(distances[a], distances[b]));
+        List<Branch> sorted = new ArrayList<>(n);
+        for (int i : order) {
+            sorted.add(candidates.get(i));
+        }
+        return sorted;
+    }
+
+    /** Haversine distance from the point, or positive infinity for a branch without coordinates. */
+    public static double distanceKm(Branch branch, double latitude, double longitude) {
+        if (!branch.hasLocation()) {
+            return Double.POSITIVE_INFINITY;
+        }
+        return GeoDistance.haversineKm(latitude, longitude, branch.getLatitude(), branch.getLongitude());
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.clime.module.utility.model;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Assembles branch locator responses ({@code {"data":[{"Brand":[{..., "Branch":[...]}]}, ...],
+ * "meta":{...}}}) by concatenating the pre-serialized brand and branch fragments. Branches
+ * are grouped into one data entry per run of the same brand, keeping the given order.
+ */
+public final class BranchJsonWriter {
+
+    private static final byte[] DATA_START = ascii("{\"data\":[");
+    private static final byte[] GROUP_START = ascii("{\"Brand\":[");
+    private static final byte[] GROUP_END = ascii("]}");
+    private static final byte[] META = ascii("],\"meta\":");
+    private static final byte[] END = ascii("}");
+    private static final byte COMMA = ',';
+
+    private BranchJsonWriter() {
+    }
+
+    /** Number of data entries the branches are grouped into. */
+    public static int groupCount(List<Branch> branches) {
+        int groups = 0;
+        BranchBrand current = null;
+        for (Branch branch : branches) {
+            if (groups == 0 || branch.getBrand() != current) {
+                current = branch.getBrand();
+                groups++;
+            }
+        }
+        return groups;
+    }
+
+    /**
+     * The response document, sized exactly up front and filled with array copies.
+     *
+     * @param metaJson the serialized meta object
+     */
+    public static byte[] write(List<Branch> branches, byte[] metaJson) {
+        int length = DATA_START.length + META.length + metaJson.length + END.length;
+        BranchBrand current = null;
+        boolean first = true;
+        for (Branch branch : branches) {
+            if (first || branch.getBrand() != current) {
+                if (!first) {
+                    length += current.getJsonSuffix().length + GROUP_END.length + 1;
+                }
+                current = branch.getBrand();
+                length += GROUP_START.length + current.getJsonPrefix().length;
+            } else {
+                length++;
+            }
+            length += branch.getJson().length;
+            first = false;
+        }
+        if (!first) {
+            length += current.getJsonSuffix().length + GROUP_END.length;
+        }
+
+        byte[] out = new byte[length];
+        int pos = put(out, 0, DATA_START);
+        current = null;
+        first = true;
+        for (Branch branch : branches) {
+            if (first || branch.getBrand() != current) {
+                if (!first) {
+                    pos = put(out, pos, current.getJsonSuffix());
+                    pos = put(out, pos, GROUP_END);
+                    out[pos++] = COMMA;
+                }
+                current = branch.getBrand();
+                pos = put(out, pos, GROUP_START);
+                pos = put(out, pos, current.getJsonPrefix());
+            } else {
+                out[pos++] = COMMA;
+            }
+            pos = put(out, pos, branch.getJson());
+            first = false;
+        }
+        if (!first) {
+            pos = put(out, pos, current.getJsonSuffix());
+            pos = put(out, pos, GROUP_END);
+        }
+        pos = put(out, pos, META);
+        pos = put(out, pos, metaJson);
+        put(out, pos, END);
+        return out;
+    }
+
+    private static int put(byte[] out, int pos, byte[] fragment) {
+        System.arraycopy(fragment, 0, out, pos, fragment.length);
+        return pos + fragment.length;
+    }
+
+    private static byte[] ascii(String value) {
+        return value.getBytes(StandardCharsets.US_ASCII);
+    }
+}
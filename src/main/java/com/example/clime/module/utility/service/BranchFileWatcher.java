@@ -0,0 +1,95 @@
+package com.example.clime.module.utility.service;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Watches one file through a {@link WatchService} on its directory and calls back on a
+ * daemon thread when it is created, modified or moved into place.
+ *
+ * Saving a file usually produces a burst of events, so the callback runs once the
+ * directory has been quiet for {@link #SETTLE_MS}. The callback never runs concurrently
+ * with itself.
+ */
+public class BranchFileWatcher implements Closeable {
+
+    static final long SETTLE_MS = 250;
+
+    private final Path file;
+    private final Consumer<Path> onChange;
+    private final WatchService watchService;
+    private final Thread thread;
+
+    public BranchFileWatcher(Path file, Consumer<Path> onChange) throws IOException {
+        this.file = file.toAbsolutePath().normalize();
+        this.onChange = onChange;
+        Path directory = this.file.getParent();
+        this.watchService = directory.getFileSystem().newWatchService();
+        // A rename into the directory (the atomic way to publish a file) arrives as ENTRY_CREATE
+        directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+        this.thread = new Thread(this::run, "branch-file-watcher");
+        this.thread.setDaemon(true);
+    }
+
+    public void start() {
+        thread.start();
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    private void run() {
+        try {
+            while (true) {
+                WatchKey key = watchService.take();
+                boolean changed = drain(key);
+                if (!key.reset()) {
+                    System.err.println("Branch data directory is no longer watchable: " + file.getParent());
+                    return;
+                }
+                while (changed) {
+                    WatchKey more = watchService.poll(SETTLE_MS, TimeUnit.MILLISECONDS);
+                    if (more == null) break;
+                    drain(more);
+                    more.reset();
+                }
+                if (changed) {
+                    try {
+                        onChange.accept(file);
+                    } catch (RuntimeException e) {
+                        System.err.println("Branch data reload failed: " + e.getMessage());
+                    }
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // Closed
+        }
+    }
+
+    /** True when any event concerns the watched file, or events were lost. */
+    private boolean drain(WatchKey key) {
+        boolean changed = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW
+                    || file.getFileName().equals(event.context())) {
+                changed = true;
+            }
+        }
+        return changed;
+    }
+
+    @Override
+    public void close() throws IOException {
+        watchService.close();
+        thread.interrupt();
+    }
+}
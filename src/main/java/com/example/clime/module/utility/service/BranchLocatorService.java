@@ -0,0 +1,272 @@
+package com.example.clime.module.utility.service;
+
+import com.example.clime.module.utility.geo.GeoDistance;
+import com.example.clime.module.utility.model.Branch;
+import com.example.clime.module.utility.model.BranchDirectory;
+import com.example.clime.module.utility.model.BranchJsonWriter;
+import com.example.clime.module.utility.text.TextIndex;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Branch data for the branch locator, loaded from branches.json into a
+ * {@link BranchDirectory} with a spatial index for location searches and the catalogue
+ * pre-serialized for responses.
+ *
+ * When {@code branch.data.file} names an external file it is preferred over the classpath
+ * copy and, with {@code branch.data.watch} on, watched for changes: a new version is
+ * parsed and indexed on the watcher thread and then swapped in with a single volatile
+ * write. Requests keep reading whichever snapshot they started with and never wait for
+ * a reload; a version that fails to parse leaves the current one in place.
+ */
+@Service("branchLocatorService")
+public class BranchLocatorService {
+
+    static final String BRANCHES_FILE = "branches.json";
+    static final String RELOAD_TIMER = "branch.directory.reload";
+
+    @Value("${branch.data.file:}")
+    private String dataFile;
+
+    @Value("${branch.data.watch:true}")
+    private boolean watchEnabled;
+
+    @Autowired(required = false)
+    private MeterRegistry meterRegistry;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private volatile BranchDirectory directory = BranchDirectory.empty();
+    private volatile String source = "none";
+    private volatile String lastReloadError = null;
+    private volatile long lastReloadMs = -1;
+    private final AtomicLong version = new AtomicLong();
+    private BranchFileWatcher watcher;
+
+    @PostConstruct
+    public void init() {
+        Path external = externalFile();
+        if (external != null && Files.isRegularFile(external)) {
+            reload(external);
+        } else {
+            if (external != null) {
+                System.err.println("Branch data file " + external + " not found, using the bundled " + BRANCHES_FILE);
+            }
+            loadBundled();
+        }
+        if (external != null && watchEnabled) {
+            try {
+                watcher = new BranchFileWatcher(external, this::reload);
+                watcher.start();
+                System.out.println("👀 Watching " + watcher.getFile() + " for branch data changes");
+            } catch (IOException e) {
+                System.err.println("Cannot watch branch data file " + external + ": " + e.getMessage());
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (watcher != null) {
+            try {
+                watcher.close();
+            } catch (IOException e) {
+                System.err.println("Error stopping branch data watcher: " + e.getMessage());
+            }
+        }
+    }
+
+    private void loadBundled() {
+        long start = System.nanoTime();
+        try (InputStream in = new ClassPathResource(BRANCHES_FILE).getInputStream()) {
+            publish(parse(in), "classpath:" + BRANCHES_FILE, start);
+        } catch (IOException | RuntimeException e) {
+            recordReload(start, "failure");
+            lastReloadError = e.getMessage();
+            System.err.println("Error loading branch data: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Parses and indexes {@code file}, then publishes it as the current snapshot.
+     * Reloads are serialised with each other but never with readers.
+     *
+     * @return false if the file could not be read or is not a branch document; the
+     *         previous snapshot stays current
+     */
+    public synchronized boolean reload(Path file) {
+        long start = System.nanoTime();
+        try (InputStream in = Files.newInputStream(file)) {
+            publish(parse(in), file.toString(), start);
+            return true;
+        } catch (IOException | RuntimeException e) {
+            recordReload(start, "failure");
+            lastReloadError = e.getMessage();
+            System.err.println("Error reloading branch data from " + file + ", keeping the current "
+                    + directory.size() + " branches: " + e.getMessage());
+            return false;
+        }
+    }
+
+    private BranchDirectory parse(InputStream in) throws IOException {
+        JsonNode root = objectMapper.readTree(in);
+        if (root == null || !root.path("data").isArray()) {
+            throw new IOException("not a branch document: missing data array");
+        }
+        return BranchDirectory.from(root);
+    }
+
+    private void publish(BranchDirectory loaded, String from, long start) {
+        directory = loaded;
+        source = from;
+        lastReloadError = null;
+        version.incrementAndGet();
+        long elapsedNanos = recordReload(start, "success");
+        lastReloadMs = TimeUnit.NANOSECONDS.toMillis(elapsedNanos);
+        System.out.println("🏦 Loaded " + loaded.size() + " branches from " + from + " in " + lastReloadMs + " ms");
+    }
+
+    private long recordReload(long start, String outcome) {
+        long elapsedNanos = System.nanoTime() - start;
+        if (meterRegistry != null) {
+            Timer.builder(RELOAD_TIMER)
+                    .description("Time to parse, index and publish branch data")
+                    .tag("outcome", outcome)
+                    .register(meterRegistry)
+                    .record(elapsedNanos, TimeUnit.NANOSECONDS);
+        }
+        return elapsedNanos;
+    }
+
+    private Path externalFile() {
+        return dataFile == null || dataFile.trim().isEmpty() ? null : Paths.get(dataFile.trim());
+    }
+
+    public BranchDirectory getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Which snapshot is being served and how the last load went.
+     */
+    public Map<String, Object> getStatus() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("source", source);
+        status.put("branches", directory.size());
+        status.put("version", version.get());
+        status.put("lastReloadMs", lastReloadMs);
+        status.put("lastReloadError", lastReloadError);
+        status.put("watching", watcher == null ? null : watcher.getFile().toString());
+        return status;
+    }
+
+    /**
+     * Branches matching the postcode, the town or the location (within radiusKm); any
+     * one criterion is enough. With no criteria every branch matches. Results are nearest
+     * first when a valid location is given, otherwise best text match first, then in file order.
+     */
+    public List<Branch> search(String postcode, String town, String latitude, String longitude,
+                               double radiusKm, TextIndex.Mode mode) {
+        BranchDirectory snapshot = directory;
+        boolean hasLocation = !isBlank(latitude) && !isBlank(longitude);
+        if (isBlank(postcode) && isBlank(town) && isBlank(latitude) && isBlank(longitude)) {
+            return snapshot.getBranches();
+        }
+
+        // Best score per branch index; 0 means no match
+        int[] scores = new int[snapshot.size()];
+        if (!isBlank(postcode)) {
+            for (TextIndex.Hit hit : snapshot.getPostcodeIndex().search(postcode, mode)) {
+                scores[hit.getId()] = Math.max(scores[hit.getId()], hit.getScore());
+            }
+        }
+        if (!isBlank(town)) {
+            for (TextIndex.Hit hit : snapshot.getTownIndex().search(town, mode)) {
+                scores[hit.getId()] = Math.max(scores[hit.getId()], hit.getScore());
+            }
+        }
+        double[] point = hasLocation ? parseLocation(latitude, longitude) : null;
+        if (point != null) {
+            for (Branch branch : snapshot.withinRadius(point[0], point[1], radiusKm)) {
+                scores[branch.getIndex()] = Math.max(scores[branch.getIndex()], 1);
+            }
+        }
+
+        List<Branch> results = new ArrayList<>();
+        for (Branch branch : snapshot.getBranches()) {
+            if (scores[branch.getIndex()] > 0) {
+                results.add(branch);
+            }
+        }
+        if (point != null) {
+            return BranchDirectory.sortByDistance(results, point[0], point[1]);
+        }
+        results.sort((a, b) -> Integer.compare(scores[b.getIndex()], scores[a.getIndex()]));
+        return results;
+    }
+
+    /**
+     * The {@code limit} branches nearest to the location, nearest first.
+     *
+     * @throws IllegalArgumentException if the coordinates are missing or invalid
+     */
+    public List<Branch> nearest(String latitude, String longitude, int limit) {
+        double[] point = parseLocation(latitude, longitude);
+        if (point == null) {
+            throw new IllegalArgumentException("Valid latitude and longitude are required");
+        }
+        return directory.nearest(point[0], point[1], limit);
+    }
+
+    /**
+     * The Open Banking response for the branches, one {@code {"Brand": [{..., "Branch": [...]}]}}
+     * data entry per run of branches from the same brand in the given order, assembled from
+     * the pre-serialized fragments; only the meta object is serialized per request.
+     */
+    public byte[] toResponseJson(List<Branch> branches, Map<String, Object> meta) {
+        try {
+            return BranchJsonWriter.write(branches, objectMapper.writeValueAsBytes(meta));
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /** [latitude, longitude], or null when either is missing, unparsable or out of range. */
+    public double[] parseLocation(String latitude, String longitude) {
+        if (isBlank(latitude) || isBlank(longitude)) {
+            return null;
+        }
+        try {
+            double lat = Double.parseDouble(latitude);
+            double lon = Double.parseDouble(longitude);
+            return GeoDistance.isValid(lat, lon) ? new double[] {lat, lon} : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.trim().isEmpty();
+    }
+}
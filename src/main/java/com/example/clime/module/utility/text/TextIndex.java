@@ -0,0 +1,307 @@
+package com.example.clime.module.utility.text;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Prebuilt text index over one field (e.g. postcode or town) supporting exact, prefix,
+ * substring and fuzzy lookups with ranked hits.
+ *
+ * Values are normalised once at build time: lower-cased with everything but letters and
+ * digits removed, so "SW1A 1AA" and "sw1a1aa" are the same key. Distinct keys are kept
+ * sorted for prefix ranges and are covered by an n-gram index (all 1- and 2-grams plus
+ * padded trigrams) used to find substring and fuzzy candidates without scanning every
+ * key. The index is immutable and safe for concurrent readers.
+ */
+public final class TextIndex {
+
+    /** Each mode also returns the stronger kinds of match listed before it. */
+    public enum Mode {
+        EXACT, PREFIX, SUBSTRING, FUZZY;
+
+        /** Parses a request parameter, defaulting to SUBSTRING. */
+        public static Mode from(String value) {
+            if (value != null) {
+                for (Mode mode : values()) {
+                    if (mode.name().equalsIgnoreCase(value.trim())) return mode;
+                }
+            }
+            return SUBSTRING;
+        }
+    }
+
+    public static final int SCORE_EXACT = 100;
+    public static final int SCORE_PREFIX = 80;
+    public static final int SCORE_SUBSTRING = 60;
+    /** The query contains the whole key, e.g. a full address typed into the postcode box. */
+    public static final int SCORE_CONTAINED = 50;
+    /** Fuzzy hits score this minus 10 per edit. */
+    public static final int SCORE_FUZZY = 40;
+
+    private static final int MAX_QUERY_LENGTH = 64;
+    private static final char PAD = '$';
+
+    private final String[] keys;
+    private final int[][] idsByKey;
+    private final Map<String, Integer> keyIndex;
+    private final Map<String, int[]> grams;
+    private final int[][] keysByLength;
+
+    private TextIndex(String[] keys, int[][] idsByKey) {
+        this.keys = keys;
+        this.idsByKey = idsByKey;
+        this.keyIndex = new HashMap<>(keys.length * 2);
+        Map<String, List<Integer>> gramLists = new HashMap<>();
+        TreeMap<Integer, List<Integer>> lengthLists = new TreeMap<>();
+        for (int k = 0; k < keys.length; k++) {
+            String key = keys[k];
+            keyIndex.put(key, k);
+            for (String gram : gramsOf(key)) {
+                List<Integer> list = gramLists.computeIfAbsent(gram, g -> new ArrayList<>());
+                // Keys are visited in order, so each posting list stays sorted and unique
+                if (list.isEmpty() || list.get(list.size() - 1) != k) list.add(k);
+            }
+            lengthLists.computeIfAbsent(key.length(), l -> new ArrayList<>()).add(k);
+        }
+        this.grams = new HashMap<>(gramLists.size() * 2);
+        for (Map.Entry<String, List<Integer>> entry : gramLists.entrySet()) {
+            grams.put(entry.getKey(), toArray(entry.getValue()));
+        }
+        int maxLength = lengthLists.isEmpty() ? 0 : lengthLists.lastKey();
+        this.keysByLength = new int[maxLength + 1][];
+        for (int l = 0; l <= maxLength; l++) {
+            List<Integer> list = lengthLists.get(l);
+            keysByLength[l] = list == null ? new int[0] : toArray(list);
+        }
+    }
+
+    /**
+     * Indexes {@code values[i]} under id i; null or blank values are not indexed.
+     */
+    public static TextIndex build(String[] values) {
+        TreeMap<String, List<Integer>> byKey = new TreeMap<>();
+        for (int id = 0; id < values.length; id++) {
+            String key = normalize(values[id]);
+            if (!key.isEmpty()) {
+                byKey.computeIfAbsent(key, k -> new ArrayList<>()).add(id);
+            }
+        }
+        String[] keys = byKey.keySet().toArray(new String[0]);
+        int[][] idsByKey = new int[keys.length][];
+        int k = 0;
+        for (List<Integer> ids : byKey.values()) {
+            idsByKey[k++] = toArray(ids);
+        }
+        return new TextIndex(keys, idsByKey);
+    }
+
+    /** Lower-case letters and digits only. */
+    public static String normalize(String value) {
+        if (value == null) return "";
+        StringBuilder out = new StringBuilder(value.length());
+        String lower = value.toLowerCase(Locale.ROOT);
+        for (int i = 0; i < lower.length(); i++) {
+            char c = lower.charAt(i);
+            if (Character.isLetterOrDigit(c)) out.append(c);
+        }
+        return out.toString();
+    }
+
+    public int keyCount() {
+        return keys.length;
+    }
+
+    /**
+     * Ids matching the query, best score first and by id within a score. An id that
+     * matches in several ways gets its best score.
+     */
+    public List<Hit> search(String query, Mode mode) {
+        String q = normalize(query);
+        if (q.isEmpty() || keys.length == 0) {
+            return Collections.emptyList();
+        }
+        if (q.length() > MAX_QUERY_LENGTH) {
+            q = q.substring(0, MAX_QUERY_LENGTH);
+        }
+        Map<Integer, Integer> keyScores = new LinkedHashMap<>();
+
+        Integer exact = keyIndex.get(q);
+        if (exact != null) {
+            keyScores.put(exact, SCORE_EXACT);
+        }
+        if (mode.compareTo(Mode.PREFIX) >= 0) {
+            int from = lowerBound(q);
+            for (int k = from; k < keys.length && keys[k].startsWith(q); k++) {
+                keyScores.putIfAbsent(k, SCORE_PREFIX);
+            }
+        }
+        if (mode.compareTo(Mode.SUBSTRING) >= 0) {
+            for (int k : substringCandidates(q)) {
+                if (keys[k].contains(q)) keyScores.putIfAbsent(k, SCORE_SUBSTRING);
+            }
+            // Keys contained in the query: look up every substring of the query
+            for (int start = 0; start < q.length(); start++) {
+                for (int end = q.length(); end > start; end--) {
+                    Integer k = keyIndex.get(q.substring(start, end));
+                    if (k != null) keyScores.putIfAbsent(k, SCORE_CONTAINED);
+                }
+            }
+        }
+        if (mode == Mode.FUZZY) {
+            int maxEdits = q.length() <= 5 ? 1 : 2;
+            for (int k : fuzzyCandidates(q, maxEdits)) {
+                if (keyScores.containsKey(k)) continue;
+                int distance = boundedLevenshtein(q, keys[k], maxEdits);
+                if (distance <= maxEdits) keyScores.put(k, SCORE_FUZZY - 10 * distance);
+            }
+        }
+
+        Map<Integer, Integer> idScores = new HashMap<>();
+        for (Map.Entry<Integer, Integer> entry : keyScores.entrySet()) {
+            for (int id : idsByKey[entry.getKey()]) {
+                idScores.merge(id, entry.getValue(), Math::max);
+            }
+        }
+        List<Hit> hits = new ArrayList<>(idScores.size());
+        for (Map.Entry<Integer, Integer> entry : idScores.entrySet()) {
+            hits.add(new Hit(entry.getKey(), entry.getValue()));
+        }
+        hits.sort((a, b) -> a.score != b.score ? Integer.compare(b.score, a.score) : Integer.compare(a.id, b.id));
+        return hits;
+    }
+
+    /** Keys that contain every n-gram of the query; still to be verified with contains(). */
+    private int[] substringCandidates(String q) {
+        if (q.length() <= 2) {
+            int[] posting = grams.get(q);
+            return posting == null ? new int[0] : posting;
+        }
+        int[] candidates = null;
+        for (int i = 0; i + 3 <= q.length(); i++) {
+            int[] posting = grams.get(q.substring(i, i + 3));
+            if (posting == null) return new int[0];
+            candidates = candidates == null ? posting : intersect(candidates, posting);
+            if (candidates.length == 0) break;
+        }
+        return candidates;
+    }
+
+    /**
+     * Keys possibly within maxEdits of the query. Each edit destroys at most three padded
+     * trigrams, so a match shares at least (length + 2) - 3 * maxEdits of them with the
+     * query; when that bound is not positive every key of a close enough length is a candidate.
+     */
+    private List<Integer> fuzzyCandidates(String q, int maxEdits) {
+        List<Integer> candidates = new ArrayList<>();
+        int threshold = (q.length() + 2) - 3 * maxEdits;
+        if (threshold <= 0) {
+            int maxLength = Math.min(keysByLength.length - 1, q.length() + maxEdits);
+            for (int l = Math.max(1, q.length() - maxEdits); l <= maxLength; l++) {
+                for (int k : keysByLength[l]) candidates.add(k);
+            }
+            return candidates;
+        }
+        Map<Integer, Integer> shared = new HashMap<>();
+        for (String gram : paddedTrigrams(q)) {
+            int[] posting = grams.get(gram);
+            if (posting == null) continue;
+            for (int k : posting) shared.merge(k, 1, Integer::sum);
+        }
+        for (Map.Entry<Integer, Integer> entry : shared.entrySet()) {
+            if (entry.getValue() >= threshold) candidates.add(entry.getKey());
+        }
+        return candidates;
+    }
+
+    /** Edit distance, or maxEdits + 1 as soon as it is known to exceed maxEdits. */
+    static int boundedLevenshtein(String a, String b, int maxEdits) {
+        if (Math.abs(a.length() - b.length()) > maxEdits) return maxEdits + 1;
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) previous[j] = j;
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMin = current[0];
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                current[j] = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+                rowMin = Math.min(rowMin, current[j]);
+            }
+            if (rowMin > maxEdits) return maxEdits + 1;
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[b.length()];
+    }
+
+    private int lowerBound(String q) {
+        int index = Arrays.binarySearch(keys, q);
+        return index >= 0 ? index : -index - 1;
+    }
+
+    /** All 1- and 2-grams plus the padded trigrams of a key. */
+    private static List<String> gramsOf(String key) {
+        List<String> result = new ArrayList<>();
+        for (int n = 1; n <= 2; n++) {
+            for (int i = 0; i + n <= key.length(); i++) {
+                result.add(key.substring(i, i + n));
+            }
+        }
+        result.addAll(paddedTrigrams(key));
+        return result;
+    }
+
+    private static List<String> paddedTrigrams(String value) {
+        String padded = "" + PAD + PAD + value + PAD + PAD;
+        List<String> result = new ArrayList<>(value.length() + 2);
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            result.add(padded.substring(i, i + 3));
+        }
+        return result;
+    }
+
+    private static int[] intersect(int[] a, int[] b) {
+        int[] out = new int[Math.min(a.length, b.length)];
+        int i = 0;
+        int j = 0;
+        int n = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] < b[j]) i++;
+            else if (a[i] > b[j]) j++;
+            else {
+                out[n++] = a[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(out, n);
+    }
+
+    private static int[] toArray(List<Integer> values) {
+        int[] out = new int[values.size()];
+        for (int i = 0; i < out.length; i++) out[i] = values.get(i);
+        return out;
+    }
+
+    /** An indexed id with the score of its best match. */
+    public static final class Hit {
+        private final int id;
+        private final int score;
+
+        Hit(int id, int score) {
+            this.id = id;
+            this.score = score;
+        }
+
+        public int getId() { return id; }
+        public int getScore() { return score; }
+    }
+}
@@ -6,13 +6,24 @@ import com.example.clime.module.utility2.model.AirFreightQuoteRequest;
 import com.example.clime.module.utility2.model.AirFreightQuoteResponse;
 import com.example.clime.module.utility2.service.SpotQuoteService;
 import com.example.clime.module.utility2.service.AirFreightQuoteService;
+import com.example.clime.module.quote.QuoteBatchProcessor;
+import com.example.clime.module.quote.QuoteStore;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -27,9 +38,36 @@ public class SpotQuoteController {
     @Qualifier("airFreightQuoteService")
     private AirFreightQuoteService airFreightQuoteService;
     
-    // Store quotes in memory (in real app, use database)
-    private final Map<String, SpotQuoteResponse> quotesDatabase = new HashMap<>();
-    private final Map<String, AirFreightQuoteResponse> airFreightQuotesDatabase = new HashMap<>();
+    @Autowired
+    @Qualifier("quoteBatchProcessor")
+    private QuoteBatchProcessor quoteBatchProcessor;
+    
+    @Value("${quote.store.max-entries:10000}")
+    private int maxQuotes;
+    
+    @Value("${quote.store.ttl-minutes:10080}")
+    private long quoteTtlMinutes;
+    
+    @Value("${quote.store.journal-dir:}")
+    private String quoteJournalDir;
+    
+    // Issued quotes: bounded, expire after quote.store.ttl-minutes, journaled under quote.store.journal-dir
+    private QuoteStore<SpotQuoteResponse> quotesDatabase;
+    private QuoteStore<AirFreightQuoteResponse> airFreightQuotesDatabase;
+    
+    @PostConstruct
+    public void initQuoteStores() {
+        quotesDatabase = QuoteStore.open("utility2-spot-quotes", maxQuotes,
+                Duration.ofMinutes(quoteTtlMinutes), quoteJournalDir, SpotQuoteResponse.class);
+        airFreightQuotesDatabase = QuoteStore.open("utility2-air-freight-quotes", maxQuotes,
+                Duration.ofMinutes(quoteTtlMinutes), quoteJournalDir, AirFreightQuoteResponse.class);
+    }
+    
+    @PreDestroy
+    public void closeQuoteStores() {
+        quotesDatabase.close();
+        airFreightQuotesDatabase.close();
+    }
 
     @PostMapping("/spot-quote")
     public ResponseEntity<SpotQuoteResponse> createSpotQuote(@RequestBody SpotQuoteRequest request) {
@@ -53,6 +91,34 @@ public class SpotQuoteController {
         }
     }
     
+    /**
+     * Quotes a JSON array or NDJSON stream of spot quote requests in parallel, streaming
+     * NDJSON results back as they complete (see {@link QuoteBatchProcessor}).
+     */
+    @PostMapping(value = "/spot-quotes/batch", consumes = {MediaType.APPLICATION_JSON_VALUE, QuoteBatchProcessor.NDJSON})
+    public void createSpotQuoteBatch(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        response.setContentType(QuoteBatchProcessor.NDJSON);
+        long start = System.currentTimeMillis();
+        int count = quoteBatchProcessor.process(request.getInputStream(), SpotQuoteRequest.class, quoteRequest -> {
+            SpotQuoteResponse quote = spotQuoteService.calculateQuote(quoteRequest);
+            quotesDatabase.put(quote.getQuoteId(), quote);
+            return quote;
+        }, response.getOutputStream());
+        System.out.println("📦 Quoted a batch of " + count + " spot quotes in " + (System.currentTimeMillis() - start) + " ms");
+    }
+    
+    @PostMapping(value = "/air-freight-quotes/batch", consumes = {MediaType.APPLICATION_JSON_VALUE, QuoteBatchProcessor.NDJSON})
+    public void createAirFreightQuoteBatch(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        response.setContentType(QuoteBatchProcessor.NDJSON);
+        long start = System.currentTimeMillis();
+        int count = quoteBatchProcessor.process(request.getInputStream(), AirFreightQuoteRequest.class, quoteRequest -> {
+            AirFreightQuoteResponse quote = airFreightQuoteService.calculateAirFreightQuote(quoteRequest);
+            airFreightQuotesDatabase.put(quote.getQuoteId(), quote);
+            return quote;
+        }, response.getOutputStream());
+        System.out.println("📦 Quoted a batch of " + count + " air freight quotes in " + (System.currentTimeMillis() - start) + " ms");
+    }
+    
     @GetMapping("/spot-quote/{quoteId}")
     public ResponseEntity<SpotQuoteResponse> getQuote(@PathVariable String quoteId) {
         SpotQuoteResponse quote = quotesDatabase.get(quoteId);
@@ -73,12 +139,20 @@ public class SpotQuoteController {
     
     @GetMapping("/spot-quotes")
     public ResponseEntity<List<SpotQuoteResponse>> getAllQuotes() {
-        return ResponseEntity.ok(new ArrayList<>(quotesDatabase.values()));
+        return ResponseEntity.ok(quotesDatabase.values());
     }
     
     @GetMapping("/air-freight-quotes")
     public ResponseEntity<List<AirFreightQuoteResponse>> getAllAirFreightQuotes() {
-        return ResponseEntity.ok(new ArrayList<>(airFreightQuotesDatabase.values()));
+        return ResponseEntity.ok(airFreightQuotesDatabase.values());
+    }
+    
+    @GetMapping("/quote-store/stats")
+    public ResponseEntity<Map<String, Object>> getQuoteStoreStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("spotQuotes", quotesDatabase.getStats());
+        stats.put("airFreightQuotes", airFreightQuotesDatabase.getStats());
+        return ResponseEntity.ok(stats);
     }
     
     @GetMapping("/transport-modes")
@@ -1,7 +1,12 @@
 package com.example.clime.module.utility2.service;
 
+import com.example.clime.module.quote.PricingRandom;
+import com.example.clime.module.quote.QuoteIdGenerator;
+import com.example.clime.module.quote.RouteClassifier;
 import com.example.clime.module.utility2.model.AirFreightQuoteRequest;
 import com.example.clime.module.utility2.model.AirFreightQuoteResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 
 import java.util.*;
@@ -13,7 +18,14 @@ public class AirFreightQuoteService {
     private static final Map<String, String[]> AIRPORT_CODES = new HashMap<>();
     private static final Map<String, String> AIRLINE_CARRIERS = new HashMap<>();
     private static final Double VOLUMETRIC_FACTOR = 167.0; // kg/m³ for air freight
-    private final Random random = new Random();
+    
+    @Autowired
+    @Qualifier("quoteIdGenerator")
+    private QuoteIdGenerator quoteIdGenerator;
+    
+    @Autowired
+    @Qualifier("pricingRandom")
+    private PricingRandom random;
     
     static {
         // Base rates per kg for different routes (in USD)
@@ -118,29 +130,11 @@ public class AirFreightQuoteService {
     }
     
     private String generateQuoteId() {
-        return "AF-" + UUID.randomUUID().toString().substring(0, 8).toUpperCase();
+        return quoteIdGenerator.next("AF");
     }
     
     private String determineRouteType(String origin, String destination) {
-        if (origin == null || destination == null) return "REGIONAL";
-        
-        if (origin.equals(destination)) {
-            return "DOMESTIC";
-        }
-        
-        // Define regional groupings
-        Set<String> asia = new HashSet<>(Arrays.asList("India", "China", "Japan", "Thailand", "Singapore", "Malaysia"));
-        Set<String> europe = new HashSet<>(Arrays.asList("United Kingdom", "Germany", "France", "Netherlands", "Italy", "Spain"));
-        Set<String> americas = new HashSet<>(Arrays.asList("United States", "Canada", "Mexico", "Brazil", "Argentina"));
-        Set<String> oceania = new HashSet<>(Arrays.asList("Australia", "New Zealand"));
-        
-        for (Set<String> region : Arrays.asList(asia, europe, americas, oceania)) {
-            if (region.contains(origin) && region.contains(destination)) {
-                return "REGIONAL";
-            }
-        }
-        
-        return "INTERCONTINENTAL";
+        return RouteClassifier.routeType(origin, destination);
     }
     
     private Double calculateHandlingFee(AirFreightQuoteRequest request) {
@@ -1,20 +1,30 @@
 package com.example.clime.module.utility2.service;
 
+import com.example.clime.module.quote.PricingRandom;
+import com.example.clime.module.quote.QuoteIdGenerator;
+import com.example.clime.module.quote.RouteClassifier;
 import com.example.clime.module.utility2.model.SpotQuoteRequest;
 import com.example.clime.module.utility2.model.SpotQuoteResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 
 import java.util.HashMap;
 import java.util.Map;
-import java.util.Random;
-import java.util.UUID;
 
 @Service
 public class SpotQuoteService {
     
     private static final Map<String, Double> BASE_RATES = new HashMap<>();
     private static final Map<String, Integer> DELIVERY_DAYS = new HashMap<>();
-    private final Random random = new Random();
+    
+    @Autowired
+    @Qualifier("quoteIdGenerator")
+    private QuoteIdGenerator quoteIdGenerator;
+    
+    @Autowired
+    @Qualifier("pricingRandom")
+    private PricingRandom random;
     
     static {
         // Base rates per kg for different transport modes (in USD)
@@ -73,7 +83,7 @@ public class SpotQuoteService {
     }
     
     private String generateQuoteId() {
-        return "SQ-" + UUID.randomUUID().toString().substring(0, 8).toUpperCase();
+        return quoteIdGenerator.next("SQ");
     }
     
     private Double getHandlingFee(String transportMode) {
@@ -92,8 +102,8 @@ public class SpotQuoteService {
         if (departure == null || delivery == null) return 1.0;
         
         // If same city/region, apply local factor
-        if (departure.toLowerCase().contains(delivery.toLowerCase()) || 
-            delivery.toLowerCase().contains(departure.toLowerCase())) {
+        if (RouteClassifier.containsIgnoreCase(departure, delivery) || 
+            RouteClassifier.containsIgnoreCase(delivery, departure)) {
             return 0.5; // Local delivery
         }
         
@@ -106,15 +116,7 @@ public class SpotQuoteService {
     }
     
     private boolean isInternational(String departure, String delivery) {
-        String[] internationalKeywords = {"international", "usa", "uk", "europe", "asia", "africa", "australia"};
-        String combined = (departure + " " + delivery).toLowerCase();
-        
-        for (String keyword : internationalKeywords) {
-            if (combined.contains(keyword)) {
-                return true;
-            }
-        }
-        return false;
+        return RouteClassifier.isInternational(departure, delivery);
     }
     
     private String buildRoute(String departure, String delivery, String transportMode) {
@@ -3,13 +3,19 @@ package com.example.clime.module.utility3.controller;
 import com.example.clime.module.utility3.model.SpotQuoteRequest;
 import com.example.clime.module.utility3.model.SpotQuoteResponse;
 import com.example.clime.module.utility3.service.SpotQuoteService;
+import com.example.clime.module.quote.QuoteStore;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -21,8 +27,28 @@ public class SpotQuoteController {
     @Qualifier("utility3SpotQuoteService")
     private SpotQuoteService spotQuoteService;
     
-    // Store quotes in memory (in real app, use database)
-    private final Map<String, SpotQuoteResponse> quotesDatabase = new HashMap<>();
+    @Value("${quote.store.max-entries:10000}")
+    private int maxQuotes;
+    
+    @Value("${quote.store.ttl-minutes:10080}")
+    private long quoteTtlMinutes;
+    
+    @Value("${quote.store.journal-dir:}")
+    private String quoteJournalDir;
+    
+    // Issued quotes: bounded, expire after quote.store.ttl-minutes, journaled under quote.store.journal-dir
+    private QuoteStore<SpotQuoteResponse> quotesDatabase;
+    
+    @PostConstruct
+    public void initQuoteStore() {
+        quotesDatabase = QuoteStore.open("utility3-spot-quotes", maxQuotes,
+                Duration.ofMinutes(quoteTtlMinutes), quoteJournalDir, SpotQuoteResponse.class);
+    }
+    
+    @PreDestroy
+    public void closeQuoteStore() {
+        quotesDatabase.close();
+    }
     
     @PostMapping("/spot-quote")
     public ResponseEntity<SpotQuoteResponse> createSpotQuote(@RequestBody SpotQuoteRequest request) {
@@ -46,7 +72,14 @@ public class SpotQuoteController {
     
     @GetMapping("/spot-quotes")
     public ResponseEntity<List<SpotQuoteResponse>> getAllQuotes() {
-        return ResponseEntity.ok(new ArrayList<>(quotesDatabase.values()));
+        return ResponseEntity.ok(quotesDatabase.values());
+    }
+    
+    @GetMapping("/quote-store/stats")
+    public ResponseEntity<Map<String, Object>> getQuoteStoreStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("spotQuotes", quotesDatabase.getStats());
+        return ResponseEntity.ok(stats);
     }
     
     @GetMapping("/transport-modes")
@@ -0,0 +1,40 @@
+package com.example.clime.module.climatev2.chart;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Locale;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FixedDecimalTest {
+
+    private static void assertMatchesFormat(double value, int precision) {
+        String expected = String.format(Locale.ROOT, "%." + precision + "f", value);
+        assertEquals(expected, FixedDecimal.append(new StringBuilder(), value, precision).toString(),
+                () -> "value " + value + " precision " + precision);
+    }
+
+    @Test
+    void testMatchesFormatterOnEdgeCases() {
+        double[] values = {0.0, -0.0, 0.05, 0.15, 0.25, 2.675, 1.005, -0.04, -0.05, 999.95, 1e-7,
+                1e9 + 0.5, 123456789012.345, 1e20, Double.MAX_VALUE, Double.MIN_VALUE,
+                Double.NaN, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY};
+        for (double value : values) {
+            for (int precision = 0; precision <= 3; precision++) {
+                assertMatchesFormat(value, precision);
+            }
+        }
+    }
+
+    @Test
+    void testMatchesFormatterOnChartRangeValues() {
+        Random random = new Random(42);
+        for (int i = 0; i < 200_000; i++) {
+            double value = i % 2 == 0
+                    ? random.nextDouble() * 3000
+                    : (random.nextInt(2_000_000) - 1_000_000) / 1000.0;
+            assertMatchesFormat(value, i % 3);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.clime.module.climatev2.chart;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SvgWriterTest {
+
+    @Test
+    void testSvgPrimitivesMatchLegacyMarkup() {
+        StringBuilder out = new StringBuilder();
+        SvgWriter svg = new SvgWriter(out);
+        svg.gridLine(60, 670, 86);
+        svg.bar(80, 40, 35, 260, "#3498db");
+        svg.startPolyline("#3498db", 2).point(60, 85.25).point(65.0833, 120.0).endPolyline();
+
+        assertEquals("<line x1='60' y1='86' x2='670' y2='86' stroke='#ecf0f1' stroke-width='1'/>"
+                + "<rect x='80' y='40' width='35' height='260' fill='#3498db' stroke='#2c3e50' stroke-width='1' rx='2'/>"
+                + "<polyline fill='none' stroke='#3498db' stroke-width='2' points='60.0,85.3 65.1,120.0 '/>",
+                out.toString());
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.clime.module.climatev2.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RainfallCubeTest {
+
+    private static RainfallRecord year(int year, double monthly) {
+        return new RainfallRecord(year, monthly, monthly, monthly, monthly, monthly, monthly,
+                monthly, monthly, monthly, monthly, monthly, monthly, monthly * 12);
+    }
+
+    @Test
+    void testYearlyAndMonthlyAggregates() {
+        List<RainfallRecord> records = new ArrayList<>();
+        for (int y = 1901; y <= 1925; y++) {
+            records.add(year(y, y - 1900));
+        }
+        RainfallCube cube = RainfallCube.build(records);
+
+        assertEquals(25, cube.size());
+        assertEquals(1901, cube.getMinYear());
+        assertEquals(1925, cube.getMaxYear());
+        assertEquals(1925, cube.getWettest().getYear());
+        assertEquals(1901, cube.getDriest().getYear());
+        assertEquals(13.0 * 12, cube.getMeanTotal(), 1e-9);
+        assertEquals(13.0, cube.getMonthMean(7), 1e-9);
+        assertEquals(12.0, cube.getTotalTrend()[0], 1e-9);
+        assertEquals(3 * 25.0, cube.getSeasonTotal(24, 1), 1e-9);
+    }
+
+    @Test
+    void testDecadeAndOffsetGroupings() {
+        List<RainfallRecord> records = new ArrayList<>();
+        for (int y = 1901; y <= 1925; y++) {
+            records.add(year(y, 1));
+        }
+        RainfallCube cube = RainfallCube.build(records);
+
+        RainfallCube.Grouping decades = cube.getDecades();
+        assertEquals(3, decades.size());
+        assertEquals("1900s", decades.getLabel(0));
+        assertEquals("1920s", decades.getLabel(2));
+
+        RainfallCube.Grouping offset5 = cube.getOffsetDecades(5);
+        assertEquals("1905-1914", offset5.getLabel(0));
+        assertEquals("1925-1925", offset5.getLabel(2));
+        assertEquals(12.0, offset5.getAverage(0), 1e-9);
+    }
+
+    @Test
+    void testEmptyCube() {
+        RainfallCube cube = RainfallCube.build(Collections.emptyList());
+        assertTrue(cube.isEmpty());
+        assertNull(cube.getWettest());
+        assertNull(cube.getTotalTrend());
+        assertTrue(cube.getDecades().isEmpty());
+        assertEquals("Unknown", cube.getDecades().getWettestLabel());
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.clime.module.climatev2.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChartResponseCacheTest {
+
+    @Test
+    void testRendersOncePerEndpointParamsAndVersion() throws Exception {
+        ChartResponseCache cache = new ChartResponseCache(16, 1 << 20);
+        AtomicInteger renders = new AtomicInteger();
+
+        ChartResponseCache.CachedChart first = cache.get("charts/a", "month=1", 1, () -> "svg" + renders.incrementAndGet());
+        ChartResponseCache.CachedChart second = cache.get("charts/a", "month=1", 1, () -> "svg" + renders.incrementAndGet());
+        assertSame(first, second);
+        assertEquals(1, renders.get());
+
+        cache.get("charts/a", "month=2", 1, () -> "svg" + renders.incrementAndGet());
+        ChartResponseCache.CachedChart reloaded = cache.get("charts/a", "month=1", 2, () -> "svg" + renders.incrementAndGet());
+        assertEquals(3, renders.get());
+        assertNotEquals(first.getEtag(), reloaded.getEtag());
+        assertTrue(first.getEtag().startsWith("\"") && !first.getEtag().startsWith("W/"));
+    }
+
+    @Test
+    void testEvictsLeastRecentlyUsedBeyondByteBudget() throws Exception {
+        ChartResponseCache cache = new ChartResponseCache(16, 10);
+        AtomicInteger renders = new AtomicInteger();
+
+        cache.get("a", "", 1, () -> new byte[4]);
+        cache.get("b", "", 1, () -> new byte[4]);
+        cache.get("a", "", 1, () -> new byte[4]);
+        cache.get("c", "", 1, () -> new byte[4]);
+
+        assertEquals(2, cache.getStats().get("entries"));
+        assertEquals(8L, cache.getStats().get("bytes"));
+        cache.get("a", "", 1, () -> { renders.incrementAndGet(); return new byte[4]; });
+        cache.get("b", "", 1, () -> { renders.incrementAndGet(); return new byte[4]; });
+        assertEquals(1, renders.get());
+    }
+
+    @Test
+    void testRendererFailuresAreNotCached() throws Exception {
+        ChartResponseCache cache = new ChartResponseCache(16, 1 << 20);
+        assertThrows(IllegalStateException.class,
+                () -> cache.get("a", "", 1, () -> { throw new IllegalStateException("boom"); }));
+        assertEquals("ok", cache.get("a", "", 1, () -> "ok").getBody());
+    }
+}
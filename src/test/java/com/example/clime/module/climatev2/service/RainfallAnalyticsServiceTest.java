@@ -0,0 +1,59 @@
+package com.example.clime.module.climatev2.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Output parity with the original String.format based generators; the expected files
+ * under charts/rainfall were rendered by that implementation.
+ */
+class RainfallAnalyticsServiceTest {
+
+    private RainfallAnalyticsService service;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        service = new RainfallAnalyticsService();
+        Field field = RainfallAnalyticsService.class.getDeclaredField("rainfallDataService");
+        field.setAccessible(true);
+        field.set(service, new RainfallDataService());
+    }
+
+    private static String expected(String name) throws IOException {
+        try (InputStream in = RainfallAnalyticsServiceTest.class.getResourceAsStream("/charts/rainfall/" + name)) {
+            assertNotNull(in, name);
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                bytes.write(buffer, 0, read);
+            }
+            return new String(bytes.toByteArray(), StandardCharsets.UTF_8);
+        }
+    }
+
+    @Test
+    void testLineChartsMatchOriginalOutput() throws IOException {
+        assertEquals(expected("yearly-line.html"), service.generateYearlyRainfallLineChartHtml());
+        assertEquals(expected("monthly-trend-11.html"), service.generateMonthlyTrendLineChartHtml(11));
+    }
+
+    @Test
+    void testBarChartsMatchOriginalOutput() throws IOException {
+        assertEquals(expected("decade.html"), service.generateDecadeComparisonChartHtml());
+        assertEquals(expected("decade-offset-5.html"), service.generateDecadeComparisonChartHtmlWithOffset(5));
+    }
+
+    @Test
+    void testTrendAnalysisMatchesOriginalOutput() throws IOException {
+        assertEquals(expected("trend-analysis.html"), service.generateRainfallTrendAnalysisHtml());
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.clime.module.climatev2.service;
+
+import com.example.clime.module.climatev2.model.DataSource;
+import com.example.clime.module.climatev2.model.Station;
+import com.example.clime.module.climatev2.model.StationRainfall;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StationRainfallStoreTest {
+
+    private StationRainfallStore store;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        Path directory = Files.createTempDirectory("stations");
+        Files.write(directory.resolve("stations.csv"), Arrays.asList(
+                "id,name,source,file",
+                "madurai,Madurai,CSV,madurai.csv",
+                "salem,Salem,CSV,salem.csv",
+                "vellore,Vellore,KWS,vellore.csv",
+                "Bad Id,Nowhere,CSV,nowhere.csv"), StandardCharsets.UTF_8);
+        writeStation(directory.resolve("madurai.csv"), 10.0);
+        writeStation(directory.resolve("salem.csv"), 20.0);
+        writeStation(directory.resolve("vellore.csv"), 30.0);
+
+        store = new StationRainfallStore();
+        set("stationRegistry", new StationRegistry(directory.resolve("stations.csv").toString()));
+        set("rainfallDataService", new RainfallDataService());
+        set("maxResident", 2);
+    }
+
+    private static void writeStation(Path file, double monthly) throws Exception {
+        StringBuilder csv = new StringBuilder("Year,Jan,Feb,Mar,April,May,June,July,Aug,Sept,Oct,Nov,Dec,Total\n");
+        for (int year = 2002; year >= 2000; year--) {
+            csv.append(year);
+            for (int month = 0; month < 12; month++) {
+                csv.append(',').append(monthly + year - 2000);
+            }
+            csv.append(",\n");
+        }
+        Files.write(file, csv.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private void set(String name, Object value) throws Exception {
+        Field field = StationRainfallStore.class.getDeclaredField(name);
+        field.setAccessible(true);
+        field.set(store, value);
+    }
+
+    @Test
+    void testLoadsStationsOnFirstAccessAndEvictsLeastRecentlyUsed() {
+        assertEquals(Arrays.asList("chennai", "madurai", "salem", "vellore"),
+                store.getStations().stream().map(Station::getId).collect(Collectors.toList()));
+        assertEquals(0L, store.getStatus().get("loads"));
+
+        StationRainfall madurai = store.get("madurai");
+        assertEquals(DataSource.CSV, madurai.getSource());
+        assertEquals(Arrays.asList(2000, 2001, 2002),
+                madurai.getAllData().stream().map(record -> record.getYear()).collect(Collectors.toList()));
+        assertEquals(120.0, madurai.getDataByYear(2000).get(0).getTotal(), 1e-9);
+        assertSame(madurai, store.get("MADURAI"));
+
+        StationRainfall vellore = store.get("vellore");
+        assertEquals(DataSource.KWS, vellore.getSource());
+        store.get("madurai");
+        store.get("salem");
+
+        Map<String, Object> status = store.getStatus();
+        assertEquals(3L, status.get("loads"));
+        assertEquals(1L, status.get("evictions"));
+        assertEquals(Arrays.asList("madurai/CSV", "salem/CSV"), status.get("resident"));
+
+        StationRainfall reloaded = store.get("vellore");
+        assertNotSame(vellore, reloaded);
+        assertTrue(reloaded.getVersion() > vellore.getVersion());
+    }
+
+    @Test
+    void testRejectsUnknownStationsAndMissingSources() {
+        assertThrows(IllegalArgumentException.class, () -> store.get("nowhere"));
+        assertThrows(IllegalArgumentException.class, () -> store.get("bad id"));
+        assertThrows(IllegalArgumentException.class, () -> store.get("salem", DataSource.KWS));
+
+        List<?> resident = (List<?>) store.getStatus().get("resident");
+        assertTrue(resident.isEmpty());
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.clime.module.dataset.csv;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MappedCsvReaderTest {
+
+    @Test
+    void splitsQuotedMultilineAndShortRows() throws Exception {
+        String csv = "\uFEFFYear,Note,Total\r\n"
+                + "1901, 8.5 ,\"a, \"\"quoted\"\"\nnote\"\r\n"
+                + "\n"
+                + "1902,,\n"
+                + "1903";
+        Path file = Files.createTempFile("rains", ".csv");
+        Files.write(file, csv.getBytes(StandardCharsets.UTF_8));
+        MappedCsvReader reader = MappedCsvReader.open(file);
+
+        assertTrue(reader.nextRow());
+        assertEquals("Year", reader.getString(0));
+
+        assertTrue(reader.nextRow());
+        assertEquals(3, reader.fieldCount());
+        assertEquals(1901, reader.getInt(0));
+        assertEquals(8.5, reader.getDouble(1));
+        assertEquals("a, \"quoted\"\nnote", reader.getString(2));
+
+        assertTrue(reader.nextRow());
+        assertEquals(3, reader.fieldCount());
+        assertTrue(reader.field(1).isBlank());
+        assertThrows(NumberFormatException.class, () -> reader.getDouble(2));
+
+        assertTrue(reader.nextRow());
+        assertEquals(1, reader.fieldCount());
+        assertEquals("", reader.getString(5));
+        assertFalse(reader.nextRow());
+    }
+
+    @Test
+    void numbersMatchTheJdkParsers() {
+        Random random = new Random(42);
+        StringBuilder csv = new StringBuilder();
+        String[] fixed = {"0", "-0.0", "+7", ".5", "5.", "1e3", "12345678901234567890.5", "0.1", "3.4028235E38",
+                "0.30000000000000004", "16777217", "9007199254740993", "1.00000000000000000000001"};
+        for (String value : fixed) {
+            csv.append(value).append('\n');
+        }
+        for (int i = 0; i < 2000; i++) {
+            csv.append(random.nextInt(100000)).append('.').append(random.nextInt(1000000000)).append('\n');
+            csv.append(String.format(Locale.ROOT, "%.6f", random.nextDouble() * 2000 - 1000)).append('\n');
+        }
+        String[] lines = csv.toString().split("\n");
+        MappedCsvReader reader = MappedCsvReader.of(csv.toString().getBytes(StandardCharsets.US_ASCII));
+        for (String line : lines) {
+            assertTrue(reader.nextRow());
+            assertEquals(Double.doubleToRawLongBits(Double.parseDouble(line)), Double.doubleToRawLongBits(reader.getDouble(0)), line);
+            assertEquals(Float.floatToRawIntBits(Float.parseFloat(line)), Float.floatToRawIntBits(reader.getFloat(0)), line);
+        }
+        assertFalse(reader.nextRow());
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.clime.module.dataset.fetch;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HtmlTableStreamParserTest {
+
+    private static List<List<String>> rows(String html) throws IOException {
+        List<List<String>> rows = new ArrayList<>();
+        int count = new HtmlTableStreamParser().parse(new StringReader(html),
+                (rowIndex, cells) -> rows.add(new ArrayList<>(cells)));
+        assertEquals(rows.size(), count);
+        return rows;
+    }
+
+    @Test
+    void testExtractsCellTextLikeTheRegexParser() throws IOException {
+        String html = "<!DOCTYPE html><html><body><!-- <tr><td>ignored</td></tr> -->"
+                + "<table><TR class='h'><th>Day</th><th>Temp</th></TR>\n"
+                + "<tr bgcolor=\"#fff\"><td align=right> 1 </td><td><font color=red>26.2</font></td>"
+                + "<td>&nbsp;</td><td>a&nbsp;b</td></tr>\n"
+                + "<tr><td>2</td>\n<td>\n27.7\n</td></tr></table></body></html>";
+
+        List<List<String>> rows = rows(html);
+
+        assertEquals(3, rows.size());
+        assertTrue(rows.get(0).isEmpty(), "th cells are not collected");
+        assertEquals(Arrays.asList("1", "26.2", "", "a b"), rows.get(1));
+        assertEquals(Arrays.asList("2", "27.7"), rows.get(2));
+    }
+
+    @Test
+    void testHandlesRowsSplitAcrossReadBuffers() throws IOException {
+        StringBuilder html = new StringBuilder("<table><tr><th>x</th></tr>");
+        for (int i = 0; i < 2000; i++) {
+            html.append("<tr><td>").append(i).append("</td><td>value ").append(i).append("</td></tr>\n");
+        }
+        html.append("</table>");
+
+        List<List<String>> rows = rows(html.toString());
+
+        assertEquals(2001, rows.size());
+        assertEquals(Arrays.asList("1999", "value 1999"), rows.get(2000));
+    }
+
+    @Test
+    void testIgnoresUnclosedCellsAndStrayTags() throws IOException {
+        List<List<String>> rows = rows("<td>outside</td><tr><td>a < b</td><td>open</tr><track><td>x</td>");
+
+        assertEquals(1, rows.size());
+        assertEquals(Arrays.asList("a < b"), rows.get(0));
+    }
+}
@@ -0,0 +1,141 @@
+package com.example.clime.module.dataset.fetch;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.YearMonth;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MonthFetchEngineTest {
+
+    @TempDir
+    Path checkpointDir;
+
+    private HttpServer server;
+    private ExecutorService serverThreads;
+    private final Map<String, AtomicInteger> hits = new ConcurrentHashMap<>();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+
+    @BeforeEach
+    void startStubServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/summary/", exchange -> {
+            String page = exchange.getRequestURI().getPath().substring("/summary/".length());
+            int hit = hits.computeIfAbsent(page, k -> new AtomicInteger()).incrementAndGet();
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            int status = 200;
+            try {
+                Thread.sleep(20);
+                if (page.equals("2020_02") && hit <= 2) {
+                    status = 503; // flaky month, succeeds on the third attempt
+                } else if (page.equals("2020_04")) {
+                    status = 404; // permanently missing
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                status = 500;
+            } finally {
+                // Before responding: once the body is out the client may already send its next request
+                inFlight.decrementAndGet();
+            }
+            byte[] body = ("page " + page).getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(status, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        serverThreads = Executors.newFixedThreadPool(8);
+        server.setExecutor(serverThreads);
+        server.start();
+    }
+
+    @AfterEach
+    void stopStubServer() {
+        server.stop(0);
+        serverThreads.shutdownNow();
+    }
+
+    private MonthFetchEngine engine(int parallelism) {
+        return new MonthFetchEngine(new MonthCheckpointStore(checkpointDir), new TokenBucket(0, 1),
+                parallelism, 3, 5, 2000, 2000);
+    }
+
+    private String url(YearMonth month) {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + "/summary/"
+                + String.format("%d_%02d", month.getYear(), month.getMonthValue());
+    }
+
+    private static String read(InputStream in) throws IOException {
+        try (InputStream stream = in) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[256];
+            int read;
+            while ((read = stream.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+            return new String(out.toByteArray(), StandardCharsets.UTF_8);
+        }
+    }
+
+    @Test
+    void testFetchesInParallelRetriesAndCheckpoints() throws IOException {
+        List<YearMonth> months = Arrays.asList(YearMonth.of(2020, 1), YearMonth.of(2020, 2),
+                YearMonth.of(2020, 3), YearMonth.of(2020, 4), YearMonth.of(2020, 5), YearMonth.of(2020, 6));
+        MonthFetchEngine engine = engine(3);
+
+        MonthFetchResult result = engine.fetchAll("test", months, this::url);
+
+        assertEquals(5, result.getFetchedCount());
+        assertEquals(1, result.getFailures().size());
+        assertTrue(result.getFailures().containsKey(YearMonth.of(2020, 4)));
+        assertEquals(3, hits.get("2020_02").get());
+        assertEquals(1, hits.get("2020_04").get(), "4xx responses are not retried");
+        assertTrue(maxInFlight.get() > 1 && maxInFlight.get() <= 3, "max in flight " + maxInFlight.get());
+        assertEquals("page 2020_02", read(engine.open("test", YearMonth.of(2020, 2))));
+    }
+
+    @Test
+    void testRestartOnlyFetchesMissingMonths() {
+        List<YearMonth> months = Arrays.asList(YearMonth.of(2020, 1), YearMonth.of(2020, 3), YearMonth.of(2020, 4));
+        engine(2).fetchAll("test", months, this::url);
+        hits.clear();
+
+        MonthFetchResult second = engine(2).fetchAll("test", months, this::url);
+
+        assertEquals(2, second.getCheckpointedCount());
+        assertEquals(0, second.getFetchedCount());
+        assertEquals(1, hits.size());
+        assertTrue(hits.containsKey("2020_04"));
+        assertEquals(Arrays.asList(YearMonth.of(2020, 1), YearMonth.of(2020, 3)), second.getAvailableMonths());
+    }
+
+    @Test
+    void testTokenBucketLimitsRate() throws InterruptedException {
+        TokenBucket bucket = new TokenBucket(50, 1);
+        long start = System.nanoTime();
+        for (int i = 0; i < 6; i++) {
+            bucket.acquire();
+        }
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+        assertTrue(elapsedMs >= 90, "elapsed " + elapsedMs + " ms");
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.clime.module.dataset.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SeasonalAggregatesTest {
+
+    /** Three years of days (about every third one rainy), 2005-03 to 2008-02. */
+    private static WeatherColumns columns() {
+        Random random = new Random(7);
+        WeatherColumns.Builder builder = new WeatherColumns.Builder(1200);
+        for (int year = 2005; year <= 2008; year++) {
+            for (int month = 1; month <= 12; month++) {
+                if ((year == 2005 && month < 3) || (year == 2008 && month > 2)) continue;
+                for (int day = 1; day <= 28; day++) {
+                    float rain = random.nextInt(3) == 0 ? random.nextInt(400) / 10.0f : 0.0f;
+                    builder.add("ID" + year + month + day, year, month, day,
+                            30.0f, 35.0f, (short) 840, 25.0f, (short) 300, (short) 0, (short) 5, rain,
+                            (short) 3, (short) 10, (short) 780, CompassDirection.NE, 1010.0f, (short) 70, false, "");
+                }
+            }
+        }
+        return builder.build();
+    }
+
+    // The per-season scan each statistics method used to do
+    private static void assertMatchesRowScan(WeatherColumns columns, Season season, SeasonalAggregates.Series series) {
+        Map<Integer, Integer> days = new HashMap<>();
+        Map<Integer, Integer> rainyDays = new HashMap<>();
+        Map<Integer, Double> rainfall = new HashMap<>();
+        for (int row = 0; row < columns.size(); row++) {
+            int month = columns.getMonth(row);
+            if (!season.includes(month)) continue;
+            int year = season.seasonYear(columns.getYear(row), month);
+            days.merge(year, 1, Integer::sum);
+            if (columns.getRain(row) > 0.0) rainyDays.merge(year, 1, Integer::sum);
+            rainfall.merge(year, (double) columns.getRain(row), Double::sum);
+        }
+        for (int year = 2003; year <= 2010; year++) {
+            assertEquals((int) days.getOrDefault(year, 0), series.getDays(year), season + " " + year);
+            assertEquals((int) rainyDays.getOrDefault(year, 0), series.getRainyDays(year), season + " " + year);
+            assertEquals(rainfall.getOrDefault(year, 0.0), series.getRainfall(year), 1e-9, season + " " + year);
+        }
+        assertEquals(days.values().stream().mapToInt(Integer::intValue).sum(), series.getTotalDays());
+        assertEquals(rainfall.values().stream().mapToDouble(Double::doubleValue).sum(), series.getTotalRainfall(), 1e-9);
+    }
+
+    @Test
+    void testBuiltInAndCustomSeasonsMatchRowScan() {
+        WeatherColumns columns = columns();
+        SeasonalAggregates aggregates = SeasonalAggregates.build(columns);
+
+        for (Season season : new Season[] {Season.CALENDAR_YEAR, Season.SUMMER, Season.WINTER,
+                Season.months("monsoon", 6, 7, 8, 9), Season.months("winter", 12, 1, 2), Season.parse("11-2")}) {
+            assertMatchesRowScan(columns, season, aggregates.series(season));
+        }
+
+        // Jan-Feb 2006 belong to winter 2005; Jan-Feb 2005 are not in the data at all
+        SeasonalAggregates.Series winter = aggregates.series(Season.WINTER);
+        assertEquals(6 * 28, winter.getDays(2005));
+        assertEquals(6 * 28, winter.getDays(2007));
+        assertEquals(0, winter.getDays(2004));
+        assertEquals(0, winter.getDays(2008));
+
+        // Built-in seasons are precomputed, whatever they are called
+        assertSame(aggregates.series(Season.SUMMER), aggregates.series(Season.spanning("Mar-Aug", 3, 8)));
+    }
+
+    @Test
+    void testParseMonthSets() {
+        Season range = Season.parse("11-2");
+        assertTrue(range.includes(12) && range.includes(1) && !range.includes(3));
+        assertEquals(2010, range.seasonYear(2011, 2));
+        assertEquals(2011, range.seasonYear(2011, 11));
+
+        Season list = Season.parse("12, 1, 2");
+        assertEquals(2011, list.seasonYear(2011, 2));
+        assertFalse(list.sameMonths(range));
+
+        assertThrows(IllegalArgumentException.class, () -> Season.parse("0-3"));
+        assertThrows(IllegalArgumentException.class, () -> Season.parse("6,x"));
+        assertThrows(IllegalArgumentException.class, () -> Season.parse(""));
+        assertEquals(0, SeasonalAggregates.build(WeatherColumns.empty()).series(Season.SUMMER).getTotalDays());
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.clime.module.dataset.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WeatherFieldsTest {
+
+    @Test
+    void testTimeOfDayRoundTrips() {
+        for (String time : new String[] {"12:00am", "12:42pm", "1:27pm", "11:10am", "6:05am", "11:59pm"}) {
+            assertEquals(time, WeatherFields.formatTime(WeatherFields.parseTime(time)));
+        }
+        assertEquals(0, WeatherFields.parseTime("12:00am"));
+        assertEquals(12 * 60 + 42, WeatherFields.parseTime("12:42pm"));
+        assertEquals(WeatherFields.MISSING_TIME, WeatherFields.parseTime("---"));
+        assertEquals("", WeatherFields.formatTime(WeatherFields.MISSING_TIME));
+    }
+
+    @Test
+    void testNumbersKeepTheirCsvText() {
+        assertEquals("29.4", WeatherFields.format(WeatherFields.parseFloat("29.4")));
+        assertEquals("1009.85", WeatherFields.format(WeatherFields.parseFloat("1009.85")));
+        assertEquals("", WeatherFields.format(WeatherFields.parseFloat("N/A")));
+        assertEquals(1012.3f, WeatherFields.parseLenientFloat("1012.3hPa"));
+        assertEquals("78", WeatherFields.format(WeatherFields.parseShort("78")));
+        assertEquals(WeatherFields.MISSING_SHORT, WeatherFields.parseShort(""));
+        assertEquals(CompassDirection.ENE, CompassDirection.parse(" ene "));
+        assertNull(CompassDirection.parse("variable"));
+    }
+}
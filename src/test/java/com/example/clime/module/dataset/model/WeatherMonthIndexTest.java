@@ -0,0 +1,54 @@
+package com.example.clime.module.dataset.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WeatherMonthIndexTest {
+
+    private static WeatherColumns columns(int[][] dates) {
+        WeatherColumns.Builder builder = new WeatherColumns.Builder(dates.length);
+        for (int[] date : dates) {
+            builder.add("ID" + date[0] + date[1] + date[2], date[0], date[1], date[2],
+                    30.0f, 35.0f, (short) 840, 25.0f, (short) 300, (short) 0, (short) 5, 0.0f,
+                    (short) 3, (short) 10, (short) 780, CompassDirection.NE, 1010.0f, (short) 70, false, "");
+        }
+        return builder.build();
+    }
+
+    @Test
+    void testRowsAreSortedAndMonthSlicesAreContiguous() {
+        WeatherColumns columns = columns(new int[][] {
+            {2006, 1, 2}, {2005, 12, 31}, {2006, 1, 1}, {2005, 12, 1}, {2006, 3, 15}
+        });
+
+        assertEquals(2005, columns.getYear(0));
+        assertEquals(1, columns.getDay(0));
+        assertEquals(15, columns.getDay(4));
+
+        WeatherMonthIndex index = columns.getMonthIndex();
+        WeatherMonthIndex.RowRange january = index.month(2006, 1);
+        assertEquals(2, january.size());
+        assertEquals(1, columns.getDay(january.getStart()));
+        assertEquals(2, columns.getDay(january.getEnd() - 1));
+
+        assertTrue(index.month(2006, 2).isEmpty());
+        assertTrue(index.month(2004, 5).isEmpty());
+        assertTrue(index.month(2006, 13).isEmpty());
+    }
+
+    @Test
+    void testSpansAndYearsAreClampedToDataset() {
+        WeatherColumns columns = columns(new int[][] {
+            {2005, 12, 1}, {2005, 12, 31}, {2006, 1, 1}, {2006, 1, 2}, {2006, 3, 15}
+        });
+        WeatherMonthIndex index = columns.getMonthIndex();
+
+        assertEquals(4, index.months(2005, 12, 2006, 2).size());
+        assertEquals(3, index.year(2006).size());
+        assertEquals(5, index.months(1990, 1, 2100, 12).size());
+        assertTrue(index.months(2006, 3, 2005, 1).isEmpty());
+        assertEquals(2005, index.getFirstYear());
+        assertEquals(2006, index.getLastYear());
+    }
+}
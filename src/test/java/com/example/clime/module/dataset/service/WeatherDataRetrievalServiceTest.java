@@ -0,0 +1,72 @@
+package com.example.clime.module.dataset.service;
+
+import com.example.clime.module.dataset.model.CompassDirection;
+import com.example.clime.module.dataset.model.WeatherColumns;
+import com.example.clime.module.dataset.model.WeatherRecord;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Field;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WeatherDataRetrievalServiceTest {
+
+    private WeatherDataRetrievalService service;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        WeatherColumns.Builder builder = new WeatherColumns.Builder(8);
+        int[][] dates = {{2005, 8, 31}, {2005, 9, 1}, {2005, 9, 2}, {2016, 2, 29}, {2025, 6, 30}, {2025, 7, 1}};
+        for (int i = 0; i < dates.length; i++) {
+            builder.add("ID" + i, dates[i][0], dates[i][1], dates[i][2],
+                    30.0f, 35.0f, (short) 840, 25.0f, (short) 300, (short) 0, (short) 5, 1.5f,
+                    (short) 3, (short) 10, (short) 780, CompassDirection.NE, 1010.0f, (short) 70,
+                    i % 2 == 0, i % 2 == 0 ? "Rain > 200 & wind" : "");
+        }
+        WeatherColumns columns = builder.build();
+
+        // The service only depends on the repository interface
+        WeatherRepository repository = new WeatherRepository() {
+            @Override public WeatherColumns getColumns() { return columns; }
+            @Override public long getVersion() { return 1; }
+            @Override public boolean isDataLoaded() { return true; }
+            @Override public String getLastError() { return null; }
+        };
+
+        service = new WeatherDataRetrievalService();
+        set("unscrambleKey", "secret");
+        set("weatherRepository", repository);
+    }
+
+    private void set(String name, Object value) throws Exception {
+        Field field = WeatherDataRetrievalService.class.getDeclaredField(name);
+        field.setAccessible(true);
+        field.set(service, value);
+    }
+
+    @Test
+    void testRangesStatsAndTable() {
+        assertEquals(2, service.getWeatherData("2005", "9", "secret").size());
+        assertEquals(6, service.getWeatherDataRange("2000", "1", "2030", "12", "secret").size());
+        assertTrue(service.getWeatherData("2005", "x", "secret").isEmpty());
+        assertThrows(SecurityException.class, () -> service.getWeatherData("2005", "9", "wrong"));
+        assertThrows(SecurityException.class, () -> service.getDataStats("wrong"));
+
+        // Only Sep 2005 - Jun 2025 counts; rows 2 and 4 of those four are flagged
+        Map<String, Object> stats = service.getDataStats("secret");
+        assertEquals(4, stats.get("totalRecords"));
+        assertEquals(2, stats.get("flaggedRecords"));
+        assertEquals(2, stats.get("cleanRecords"));
+
+        assertEquals(1, service.getWeatherDataForYear("2016", "secret").size());
+        List<WeatherRecord> records = service.getWeatherData("2005", "9", "secret");
+        String v1 = service.generateHtmlTable(records, "Weather Data");
+        String v2 = service.generateHtmlTable(records, "Weather Data V2");
+        assertTrue(v1.startsWith("<div class='weather-data'><h3>Weather Data</h3><table"));
+        assertEquals(v1.replace("<h3>Weather Data</h3>", "<h3>Weather Data V2</h3>"), v2);
+        assertTrue(v1.contains("<td>Rain &gt; 200 &amp; wind</td>"), v1);
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.clime.module.dataset.service;
+
+import com.example.clime.module.climate.service.WeatherDataService;
+import com.example.clime.module.dataset.model.WeatherColumns;
+import com.example.clime.module.dataset.model.WeatherRecord;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WeatherDatasetRefresherTest {
+
+    private static List<WeatherRecord> month(int year, int month, int days) {
+        List<WeatherRecord> records = new ArrayList<>();
+        for (int day = 1; day <= days; day++) {
+            WeatherRecord record = new WeatherRecord();
+            record.setYear(Integer.toString(year));
+            record.setMonth(Integer.toString(month));
+            record.setDay(Integer.toString(day));
+            record.setMeanTemp("30.5");
+            records.add(record);
+        }
+        return records;
+    }
+
+    @Test
+    void testScrambledIdsRoundTrip() {
+        for (int index : new int[]{0, 1, 4999, 99999}) {
+            assertEquals(index, WeatherDataService.scrambledIdIndex(WeatherDataService.generateScrambledId(index)));
+        }
+        assertEquals(-1, WeatherDataService.scrambledIdIndex("ID7"));
+        assertEquals(-1, WeatherDataService.scrambledIdIndex("SC12a45"));
+    }
+
+    @Test
+    void testNewIdsNeverRepeatIdsOfKeptRows() {
+        List<WeatherRecord> initial = month(2025, 5, 10);
+        initial.addAll(month(2025, 6, 10));
+        WeatherColumns first = WeatherDatasetRefresher.merge(WeatherColumns.empty(), initial);
+
+        // A refresh re-fetches June only: its rows get new IDs while May's are kept
+        WeatherColumns second = WeatherDatasetRefresher.merge(first, month(2025, 6, 10));
+        // The next one fails to fetch June again, so June's rows stay, and adds July
+        WeatherColumns third = WeatherDatasetRefresher.merge(second, month(2025, 7, 10));
+
+        Set<String> ids = new HashSet<>();
+        for (int row = 0; row < third.size(); row++) {
+            assertTrue(ids.add(third.getId(row)), "duplicate id " + third.getId(row));
+        }
+        assertEquals(30, ids.size());
+    }
+}
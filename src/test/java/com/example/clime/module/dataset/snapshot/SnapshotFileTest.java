@@ -0,0 +1,74 @@
+package com.example.clime.module.dataset.snapshot;
+
+import com.example.clime.module.dataset.model.CompassDirection;
+import com.example.clime.module.dataset.model.WeatherColumns;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SnapshotFileTest {
+
+    private static final SourceStamp STAMP = new SourceStamp(1234, 1700000000000L);
+
+    private static WeatherColumns sample() {
+        WeatherColumns.Builder builder = new WeatherColumns.Builder(4);
+        builder.add("B", 2011, 1, 2, 24.5f, Float.NaN, (short) 810, 19.0f, (short) -1, (short) 0, (short) 3,
+                0.0f, (short) 2, (short) 9, (short) 720, null, 1012.5f, (short) 65, false, null);
+        builder.add("A", 2010, 12, 31, 25.0f, 30.5f, (short) 840, 20.0f, (short) 300, (short) 1, (short) 4,
+                12.5f, (short) 3, (short) 10, (short) 780, CompassDirection.NE, 1010.0f, (short) 70, true, "Heavy rain");
+        builder.add("C", 2011, 1, 3, 26.0f, 31.0f, (short) 900, 21.0f, (short) 310, (short) 0, (short) 5,
+                3.0f, (short) 4, (short) 11, (short) 700, CompassDirection.SW, 1009.0f, (short) 80, true, "Heavy rain");
+        return builder.build();
+    }
+
+    @Test
+    void weatherColumnsRoundTripThroughTheMappedFile() throws IOException {
+        Path file = Files.createTempDirectory("snapshots").resolve("weather.snap");
+        WeatherColumns columns = sample();
+        SnapshotFile.write(file, WeatherColumns.SNAPSHOT_SCHEMA, STAMP, columns::writeTo);
+
+        WeatherColumns read = WeatherColumns.readFrom(SnapshotFile.read(file, WeatherColumns.SNAPSHOT_SCHEMA, STAMP));
+
+        assertEquals(3, read.size());
+        for (int row = 0; row < 3; row++) {
+            assertEquals(columns.getId(row), read.getId(row));
+            assertEquals(columns.getYear(row), read.getYear(row));
+            assertEquals(columns.getMonth(row), read.getMonth(row));
+            assertEquals(columns.getDay(row), read.getDay(row));
+            assertEquals(columns.getHighTemp(row), read.getHighTemp(row));
+            assertEquals(columns.getLowTime(row), read.getLowTime(row));
+            assertEquals(columns.getRain(row), read.getRain(row));
+            assertEquals(columns.getDomDir(row), read.getDomDir(row));
+            assertEquals(columns.isFlagged(row), read.isFlagged(row));
+            assertEquals(columns.getAnomalyNote(row), read.getAnomalyNote(row));
+        }
+        assertEquals("A", read.getId(0));
+        assertTrue(Float.isNaN(read.getHighTemp(1)));
+        assertNull(read.getAnomalyNote(1));
+        assertSame(read.getAnomalyNote(0), read.getAnomalyNote(2));
+        assertEquals(2, read.getMonthIndex().months(2011, 1, 2011, 1).size());
+    }
+
+    @Test
+    void staleOrDamagedSnapshotsAreNotUsed() throws IOException {
+        Path file = Files.createTempDirectory("snapshots").resolve("weather.snap");
+        assertNull(SnapshotFile.read(file, 1, STAMP));
+
+        SnapshotFile.write(file, 1, STAMP, sample()::writeTo);
+        assertNull(SnapshotFile.read(file, 1, new SourceStamp(1234, 1700000000001L)));
+        assertNull(SnapshotFile.read(file, 2, STAMP));
+
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[bytes.length - 1] ^= 0x01;
+        Files.write(file, bytes);
+        assertThrows(IOException.class, () -> SnapshotFile.read(file, 1, STAMP));
+
+        // The store falls back to the CSV instead of failing
+        DatasetSnapshots snapshots = new DatasetSnapshots(file.getParent().toString());
+        assertNull(snapshots.load("weather", 1, STAMP, WeatherColumns::readFrom));
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.clime.module.quote;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QuoteBatchProcessorTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final Set<String> threads = ConcurrentHashMap.newKeySet();
+
+    @SuppressWarnings("rawtypes")
+    private final Function<Map, Object> doubler = request -> {
+        threads.add(Thread.currentThread().getName());
+        if (request.containsKey("fail")) {
+            throw new IllegalArgumentException("cannot quote");
+        }
+        return ((Number) request.get("v")).intValue() * 2;
+    };
+
+    /** Output lines keyed by index; fails on a duplicate index. */
+    private TreeMap<Integer, JsonNode> run(QuoteBatchProcessor processor, String body, int expectedRead) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        int read = processor.process(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), Map.class, doubler, out);
+        assertEquals(expectedRead, read);
+        TreeMap<Integer, JsonNode> lines = new TreeMap<>();
+        for (String line : out.toString("UTF-8").split("\n")) {
+            JsonNode node = mapper.readTree(line);
+            assertNull(lines.put(node.get("index").asInt(), node), line);
+        }
+        return lines;
+    }
+
+    @Test
+    void testArrayAndNdjsonBodies() throws Exception {
+        QuoteBatchProcessor processor = new QuoteBatchProcessor(mapper, 4, 10000);
+        StringBuilder array = new StringBuilder("[");
+        StringBuilder ndjson = new StringBuilder();
+        for (int i = 0; i < 500; i++) {
+            array.append(i == 0 ? "" : ",").append("{\"v\":").append(i).append('}');
+            ndjson.append("{\"v\":").append(i).append("}\n");
+        }
+        array.append(']');
+
+        for (String body : new String[] {array.toString(), ndjson.toString()}) {
+            TreeMap<Integer, JsonNode> lines = run(processor, body, 500);
+            assertEquals(500, lines.size());
+            for (Map.Entry<Integer, JsonNode> entry : lines.entrySet()) {
+                assertEquals("ok", entry.getValue().get("status").asText());
+                assertEquals(entry.getKey() * 2, entry.getValue().get("quote").asInt());
+            }
+        }
+        assertTrue(threads.size() > 1, "quotes should run on several pool threads");
+        processor.shutdown();
+    }
+
+    @Test
+    void testFailuresAndMalformedTail() throws Exception {
+        QuoteBatchProcessor processor = new QuoteBatchProcessor(mapper, 2, 10000);
+        TreeMap<Integer, JsonNode> lines = run(processor, "{\"v\":1}\n{\"fail\":true}\n{\"v\":3}\n{\"v\":", 3);
+        assertEquals(4, lines.size());
+        assertEquals(2, lines.get(0).get("quote").asInt());
+        assertEquals("error", lines.get(1).get("status").asText());
+        assertEquals("cannot quote", lines.get(1).get("message").asText());
+        assertEquals(6, lines.get(2).get("quote").asInt());
+        assertTrue(lines.get(3).get("message").asText().startsWith("Invalid request"));
+
+        // The batch limit stops reading after the allowed requests
+        QuoteBatchProcessor limited = new QuoteBatchProcessor(mapper, 2, 2);
+        TreeMap<Integer, JsonNode> capped = run(limited, "[{\"v\":1},{\"v\":2},{\"v\":3},{\"v\":4}]", 2);
+        assertEquals(3, capped.size());
+        assertTrue(capped.get(2).get("message").asText().contains("Batch limit"));
+        processor.shutdown();
+        limited.shutdown();
+    }
+}
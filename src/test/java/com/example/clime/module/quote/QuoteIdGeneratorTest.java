@@ -0,0 +1,80 @@
+package com.example.clime.module.quote;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QuoteIdGeneratorTest {
+
+    private final AtomicLong now = new AtomicLong(QuoteIdGenerator.EPOCH_MS + 86_400_000L);
+
+    @Test
+    void testIdsSortByTimeAndSurviveClockSteps() {
+        QuoteIdGenerator generator = new QuoteIdGenerator(7, now::get);
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < 100_000; i++) {
+            if (i % 1000 == 0) now.addAndGet(1);
+            // A clock stepping back must not reorder or repeat ids
+            if (i == 50_000) now.addAndGet(-5000);
+            ids.add(generator.next("SQ"));
+        }
+        assertTrue(ids.get(0).matches("SQ-[0-9A-HJKMNP-TV-Z]{18}"), ids.get(0));
+        assertEquals(7, generator.getNode());
+        for (int i = 1; i < ids.size(); i++) {
+            assertTrue(ids.get(i - 1).compareTo(ids.get(i)) < 0, ids.get(i - 1) + " !< " + ids.get(i));
+        }
+    }
+
+    @Test
+    void testUniqueAcrossThreadsAndNodes() throws Exception {
+        // Everything in the same millisecond: only the lane and node keep ids apart
+        Set<String> all = ConcurrentHashMap.newKeySet();
+        QuoteIdGenerator nodeA = new QuoteIdGenerator(1, now::get);
+        QuoteIdGenerator nodeB = new QuoteIdGenerator(2, now::get);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            QuoteIdGenerator generator = t % 2 == 0 ? nodeA : nodeB;
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < 20_000; i++) all.add(generator.next("AF"));
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        start.countDown();
+        for (Thread thread : threads) thread.join();
+        assertEquals(8 * 20_000, all.size());
+    }
+
+    @Test
+    void testSeededPricingRandomIsReproducible() {
+        PricingRandom first = PricingRandom.seeded(42);
+        PricingRandom second = PricingRandom.seeded(42);
+        Set<Double> seen = new HashSet<>();
+        for (int i = 0; i < 100; i++) {
+            double value = first.nextDouble();
+            assertEquals(value, second.nextDouble());
+            assertEquals(first.nextInt(3), second.nextInt(3));
+            assertTrue(value >= 0 && value < 1);
+            seen.add(value);
+        }
+        assertTrue(seen.size() > 90);
+        assertNotEquals(PricingRandom.seeded(1).nextDouble(), PricingRandom.seeded(2).nextDouble());
+
+        double unseeded = new PricingRandom().nextDouble();
+        assertTrue(unseeded >= 0 && unseeded < 1);
+    }
+}
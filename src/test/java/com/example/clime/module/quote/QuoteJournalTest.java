@@ -0,0 +1,130 @@
+package com.example.clime.module.quote;
+
+import com.example.clime.module.utility2.model.SpotQuoteResponse;
+import org.junit.jupiter.api.Test;
+
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QuoteJournalTest {
+
+    private static final QuoteJournal.Codec<String> TEXT = new QuoteJournal.Codec<String>() {
+        @Override
+        public byte[] encode(String value) {
+            return value.getBytes(StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public String decode(byte[] payload) {
+            return new String(payload, StandardCharsets.UTF_8);
+        }
+    };
+
+    private final AtomicLong now = new AtomicLong(1_000_000);
+
+    @Test
+    void testQuotesSurviveRestart() throws Exception {
+        Path file = Files.createTempDirectory("quotes").resolve("spot.journal");
+        QuoteStore<String> store = new QuoteStore<>("spot", 100, 60_000, now::get, QuoteJournal.open(file, TEXT));
+        store.put("a", "A");
+        store.put("b", "B");
+        now.addAndGet(30_000);
+        store.put("c", "C");
+        store.put("a", "A2");
+        store.close();
+
+        // b is now 75s old and has expired; c and the rewritten a are 45s old
+        now.addAndGet(45_000);
+        QuoteStore<String> restored = new QuoteStore<>("spot", 100, 60_000, now::get, QuoteJournal.open(file, TEXT));
+        assertEquals("A2", restored.get("a"));
+        assertNull(restored.get("b"));
+        assertEquals(Arrays.asList("C", "A2"), restored.values());
+        restored.close();
+    }
+
+    @Test
+    void testTornRecordIsDroppedAndOverwritten() throws Exception {
+        Path file = Files.createTempDirectory("quotes").resolve("spot.journal");
+        QuoteJournal<String> journal = QuoteJournal.open(file, TEXT);
+        journal.append("a", Long.MAX_VALUE, TEXT.encode("A"));
+        int end = journal.getBytes();
+        journal.append("b", Long.MAX_VALUE, TEXT.encode("B"));
+        journal.close();
+
+        // Corrupt the last payload byte, as if the write was cut short
+        try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "rw")) {
+            raf.seek(journalEnd(file) - 1);
+            raf.write('X');
+        }
+        QuoteJournal<String> reopened = QuoteJournal.open(file, TEXT);
+        assertEquals(1, reopened.getRecords());
+        assertEquals(end, reopened.getBytes());
+        reopened.append("c", Long.MAX_VALUE, TEXT.encode("C"));
+        reopened.close();
+
+        List<String> replayed = new ArrayList<>();
+        QuoteJournal<String> again = QuoteJournal.open(file, TEXT);
+        again.replay((key, expiresAt, value) -> replayed.add(key + "=" + value));
+        assertEquals(Arrays.asList("a=A", "c=C"), replayed);
+        again.close();
+    }
+
+    @Test
+    void testGrowsAndCompacts() throws Exception {
+        Path file = Files.createTempDirectory("quotes").resolve("spot.journal");
+        QuoteJournal<String> journal = QuoteJournal.open(file, TEXT);
+        QuoteStore<String> store = new QuoteStore<>("spot", 50, 60_000, now::get, journal);
+        // ~2 KB quotes: the records kept between compactions outgrow the initial mapping
+        char[] filler = new char[2000];
+        Arrays.fill(filler, 'q');
+        String payload = new String(filler);
+        long largest = 0;
+        for (int i = 0; i < 5000; i++) {
+            store.put("id-" + i, payload + i);
+            largest = Math.max(largest, Files.size(file));
+        }
+        // Compacted in the background along the way: never more than the threshold of records
+        store.awaitCompaction();
+        assertTrue(journal.getRecords() <= 2 * 50 + QuoteStore.COMPACT_SLACK);
+        assertTrue(largest > QuoteJournal.INITIAL_SIZE);
+        store.close();
+
+        QuoteStore<String> restored = new QuoteStore<>("spot", 50, 60_000, now::get, QuoteJournal.open(file, TEXT));
+        assertEquals(50, restored.size());
+        assertEquals(payload + 4999, restored.get("id-4999"));
+        assertNull(restored.get("id-4949"));
+        restored.close();
+    }
+
+    @Test
+    void testJsonCodecRoundTripsQuotes() throws Exception {
+        QuoteJournal.Codec<SpotQuoteResponse> codec = QuoteJournal.jsonCodec(SpotQuoteResponse.class);
+        SpotQuoteResponse quote = new SpotQuoteResponse("SQ-1234ABCD", "ESTIMATED", 1520.5, "USD", 12,
+                "SEA", "India -> Germany", "notes");
+        SpotQuoteResponse decoded = codec.decode(codec.encode(quote));
+        assertEquals(quote.getQuoteId(), decoded.getQuoteId());
+        assertEquals(quote.getEstimatedCost(), decoded.getEstimatedCost());
+        assertEquals(quote.getValidUntil(), decoded.getValidUntil());
+    }
+
+    /** Offset just past the last record, found by walking the length fields. */
+    private static int journalEnd(Path file) throws Exception {
+        try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "r")) {
+            int at = 4;
+            while (true) {
+                raf.seek(at);
+                int length = raf.readInt();
+                if (length == 0) return at;
+                at += 8 + length;
+            }
+        }
+    }
+}
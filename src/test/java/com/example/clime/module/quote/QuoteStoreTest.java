@@ -0,0 +1,80 @@
+package com.example.clime.module.quote;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QuoteStoreTest {
+
+    private final AtomicLong now = new AtomicLong(1_000_000);
+
+    @Test
+    void testLruEvictionAndStats() {
+        QuoteStore<String> store = new QuoteStore<>("test", 3, 60_000, now::get);
+        store.put("a", "A");
+        store.put("b", "B");
+        store.put("c", "C");
+        assertEquals("A", store.get("a"));
+        store.put("d", "D");
+
+        // b was least recently used once a was read
+        assertNull(store.get("b"));
+        assertEquals(Arrays.asList("C", "A", "D"), store.values());
+        assertEquals(3, store.getStats().get("entries"));
+        assertEquals(1L, store.getStats().get("hits"));
+        assertEquals(1L, store.getStats().get("misses"));
+        assertEquals(1L, store.getStats().get("evictions"));
+    }
+
+    @Test
+    void testEntriesExpireAfterTtl() {
+        QuoteStore<String> store = new QuoteStore<>("test", 10, 60_000, now::get);
+        store.put("a", "A");
+        now.addAndGet(30_000);
+        store.put("b", "B");
+        assertEquals("A", store.get("a"));
+
+        now.addAndGet(30_000);
+        assertNull(store.get("a"));
+        assertEquals(Arrays.asList("B"), store.values());
+
+        // Unread entries are swept on a later write
+        now.addAndGet(30_000);
+        store.put("c", "C");
+        assertEquals(1, store.size());
+        assertEquals(2L, store.getStats().get("expirations"));
+    }
+
+    @Test
+    void testConcurrentWritersStayBounded() throws Exception {
+        QuoteStore<Integer> store = new QuoteStore<>("test", 500, 60_000, now::get);
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            int thread = t;
+            futures.add(pool.submit(() -> {
+                for (int i = 0; i < 5000; i++) {
+                    String id = thread + "-" + i;
+                    store.put(id, i);
+                    store.get(id);
+                }
+            }));
+        }
+        for (Future<?> future : futures) future.get();
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(500, store.size());
+        assertEquals(40_000L - 500, store.getStats().get("evictions"));
+        assertEquals(40_000L, (Long) store.getStats().get("hits") + (Long) store.getStats().get("misses"));
+    }
+}
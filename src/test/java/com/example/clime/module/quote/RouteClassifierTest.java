@@ -0,0 +1,90 @@
+package com.example.clime.module.quote;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class RouteClassifierTest {
+
+    private static final String[] COUNTRIES = {"India", "China", "Japan", "Germany", "United Kingdom", "Spain",
+            "United States", "Brazil", "Australia", "New Zealand", "Kenya", "Egypt", "india", null};
+
+    private static final String[] ADDRESSES = {"12 Market Street, Leeds", "Mumbai, India", "Rotterdam, EUROPE",
+            "Chicago USA", "Unit 3, Dukes Park", "Lagos, Africa", "International Airport", "Sydney, Australia",
+            "Berlin", "berlin mitte", "", "Ukraine", "Asian Quarter"};
+
+    // The route rules as AirFreightQuoteService first implemented them
+    private static String originalRouteType(String origin, String destination) {
+        if (origin == null || destination == null) return "REGIONAL";
+        if (origin.equals(destination)) return "DOMESTIC";
+        List<Set<String>> regions = Arrays.asList(
+                new HashSet<>(Arrays.asList("India", "China", "Japan", "Thailand", "Singapore", "Malaysia")),
+                new HashSet<>(Arrays.asList("United Kingdom", "Germany", "France", "Netherlands", "Italy", "Spain")),
+                new HashSet<>(Arrays.asList("United States", "Canada", "Mexico", "Brazil", "Argentina")),
+                new HashSet<>(Arrays.asList("Australia", "New Zealand")));
+        for (Set<String> region : regions) {
+            if (region.contains(origin) && region.contains(destination)) return "REGIONAL";
+        }
+        return "INTERCONTINENTAL";
+    }
+
+    private static boolean originalIsInternational(String departure, String delivery) {
+        String combined = (departure + " " + delivery).toLowerCase(Locale.ROOT);
+        for (String keyword : new String[] {"international", "usa", "uk", "europe", "asia", "africa", "australia"}) {
+            if (combined.contains(keyword)) return true;
+        }
+        return false;
+    }
+
+    @Test
+    void testMatchesOriginalRules() {
+        for (String origin : COUNTRIES) {
+            for (String destination : COUNTRIES) {
+                assertEquals(originalRouteType(origin, destination), RouteClassifier.routeType(origin, destination),
+                        origin + " -> " + destination);
+            }
+        }
+        for (String departure : ADDRESSES) {
+            for (String delivery : ADDRESSES) {
+                assertEquals(originalIsInternational(departure, delivery), RouteClassifier.isInternational(departure, delivery),
+                        departure + " / " + delivery);
+                assertEquals(departure.toLowerCase(Locale.ROOT).contains(delivery.toLowerCase(Locale.ROOT)),
+                        RouteClassifier.containsIgnoreCase(departure, delivery), departure + " / " + delivery);
+            }
+        }
+    }
+
+    @Test
+    void testClassificationDoesNotAllocate() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        assumeTrue(bean instanceof com.sun.management.ThreadMXBean);
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+        assumeTrue(threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled());
+
+        int checksum = 0;
+        for (int round = 0; round < 2; round++) {
+            long before = threads.getThreadAllocatedBytes(Thread.currentThread().getId());
+            for (int i = 0; i < 20_000; i++) {
+                String origin = COUNTRIES[i % 10];
+                String address = ADDRESSES[i % ADDRESSES.length];
+                checksum += RouteClassifier.routeType(origin, COUNTRIES[(i + 3) % 10]).length();
+                checksum += RouteClassifier.isInternational(address, ADDRESSES[(i + 1) % ADDRESSES.length]) ? 1 : 0;
+                checksum += RouteClassifier.containsIgnoreCase(address, "park") ? 1 : 0;
+            }
+            long allocated = threads.getThreadAllocatedBytes(Thread.currentThread().getId()) - before;
+            // The first round warms up; the second should allocate (next to) nothing
+            if (round == 1) {
+                assertTrue(allocated < 16 * 1024, "allocated " + allocated + " bytes");
+            }
+        }
+        assertTrue(checksum > 0);
+    }
+}
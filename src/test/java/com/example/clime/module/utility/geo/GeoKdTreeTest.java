@@ -0,0 +1,76 @@
+package com.example.clime.module.utility.geo;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GeoKdTreeTest {
+
+    private static final int POINTS = 5000;
+
+    private final double[] latitudes = new double[POINTS];
+    private final double[] longitudes = new double[POINTS];
+    private final GeoKdTree tree;
+
+    GeoKdTreeTest() {
+        Random random = new Random(7);
+        int[] ids = new int[POINTS];
+        for (int i = 0; i < POINTS; i++) {
+            ids[i] = i;
+            // Clustered around the UK plus a spread over the globe, including the antimeridian
+            if (i % 2 == 0) {
+                latitudes[i] = 50 + random.nextDouble() * 8;
+                longitudes[i] = -6 + random.nextDouble() * 8;
+            } else {
+                latitudes[i] = -90 + random.nextDouble() * 180;
+                longitudes[i] = -180 + random.nextDouble() * 360;
+            }
+        }
+        tree = GeoKdTree.build(ids, latitudes, longitudes);
+    }
+
+    @Test
+    void testRadiusMatchesBruteForce() {
+        double[][] queries = {{51.5074, -0.1278, 50}, {53.48, -2.24, 200}, {0, 179.9, 1500}, {89.9, 0, 800}, {-33.9, 151.2, 0}};
+        for (double[] q : queries) {
+            int[] found = tree.withinRadius(q[0], q[1], q[2]);
+            Arrays.sort(found);
+            List<Integer> expected = new ArrayList<>();
+            for (int i = 0; i < POINTS; i++) {
+                if (GeoDistance.haversineKm(q[0], q[1], latitudes[i], longitudes[i]) <= q[2]) {
+                    expected.add(i);
+                }
+            }
+            assertArrayEquals(expected.stream().mapToInt(Integer::intValue).toArray(), found,
+                    "radius query " + Arrays.toString(q));
+        }
+    }
+
+    @Test
+    void testNearestMatchesBruteForce() {
+        double[][] queries = {{51.5074, -0.1278}, {0, -179.95}, {-80, 40}};
+        for (double[] q : queries) {
+            int[] found = tree.nearest(q[0], q[1], 10);
+            Integer[] all = new Integer[POINTS];
+            for (int i = 0; i < POINTS; i++) all[i] = i;
+            Arrays.sort(all, Comparator.comparingDouble(i -> GeoDistance.haversineKm(q[0], q[1], latitudes[i], longitudes[i])));
+            for (int k = 0; k < 10; k++) {
+                assertEquals(all[k].intValue(), found[k], "nearest #" + k + " for " + Arrays.toString(q));
+            }
+        }
+    }
+
+    @Test
+    void testHaversineKnownDistance() {
+        // London to Manchester is roughly 262 km
+        assertEquals(262, GeoDistance.haversineKm(51.5074, -0.1278, 53.4808, -2.2426), 2);
+        assertEquals(0, tree.nearest(0, 0, 0).length);
+        assertEquals(POINTS, tree.withinRadius(0, 0, 30000).length);
+    }
+}
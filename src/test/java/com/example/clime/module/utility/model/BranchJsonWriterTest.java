@@ -0,0 +1,83 @@
+package com.example.clime.module.utility.model;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.jupiter.api.Test;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BranchJsonWriterTest {
+
+    private static final String DOCUMENT = "{\"meta\":{\"TotalResults\":4},\"data\":[{\"Brand\":["
+            + "{\"BrandName\":\"Alpha\",\"Branch\":["
+            + "{\"Identification\":\"A1\",\"PostalAddress\":{\"PostCode\":\"AB1 2CD\",\"TownName\":\"Leeds\"}},"
+            + "{\"Identification\":\"A2\",\"Name\":\"No address\"},"
+            + "{\"Identification\":\"A3\",\"PostalAddress\":{\"PostCode\":\"\\u00e9 \\\"q\\\"\"}}],"
+            + "\"Trailing\":[1,2.5,null,true]},"
+            + "{\"Branch\":[{\"Identification\":\"B1\",\"PostalAddress\":{}}],\"BrandName\":\"Beta\"}]}]}";
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @Test
+    void testResponseMatchesTreeBuiltResponse() throws Exception {
+        JsonNode root = mapper.readTree(DOCUMENT);
+        BranchDirectory directory = BranchDirectory.from(root);
+        assertEquals(3, directory.size());
+        assertEquals("Alpha", directory.getBranches().get(0).getBrand().getName());
+        assertArrayEquals(mapper.writeValueAsBytes(root), directory.getDocumentJson());
+
+        List<Branch> all = directory.getBranches();
+        // A2 is skipped; Beta first, then one Alpha run with a repeated branch
+        List<Branch> order = Arrays.asList(all.get(2), all.get(0), all.get(1), all.get(0));
+        ObjectNode meta = mapper.createObjectNode().put("totalBranches", 4);
+        byte[] json = BranchJsonWriter.write(order, mapper.writeValueAsBytes(meta));
+
+        ObjectNode expected = mapper.createObjectNode();
+        ArrayNode data = expected.putArray("data");
+        JsonNode alpha = root.at("/data/0/Brand/0");
+        JsonNode beta = root.at("/data/0/Brand/1");
+        addGroup(data, beta, beta.at("/Branch/0"));
+        addGroup(data, alpha, alpha.at("/Branch/0"), alpha.at("/Branch/2"), alpha.at("/Branch/0"));
+        expected.set("meta", meta);
+        // Byte-for-byte, so field order within each brand is kept as well
+        assertEquals(mapper.writeValueAsString(expected), new String(json, "UTF-8"));
+        assertEquals(2, BranchJsonWriter.groupCount(order));
+    }
+
+    @Test
+    void testEmptyAndBundledCatalogue() throws Exception {
+        byte[] empty = BranchJsonWriter.write(Collections.emptyList(), "{}".getBytes("UTF-8"));
+        assertEquals("{\"data\":[],\"meta\":{}}", new String(empty, "UTF-8"));
+        assertEquals(0, BranchJsonWriter.groupCount(Collections.emptyList()));
+
+        JsonNode root;
+        try (InputStream in = getClass().getClassLoader().getResourceAsStream("branches.json")) {
+            root = mapper.readTree(in);
+        }
+        BranchDirectory directory = BranchDirectory.from(root);
+        assertEquals(root, mapper.readTree(directory.getDocumentJson()));
+        byte[] json = BranchJsonWriter.write(directory.getBranches(), "{}".getBytes("UTF-8"));
+        JsonNode parsed = mapper.readTree(json);
+        List<String> ids = new ArrayList<>();
+        for (JsonNode group : parsed.get("data")) {
+            for (JsonNode branch : group.at("/Brand/0/Branch")) ids.add(branch.get("Identification").asText());
+        }
+        assertEquals(directory.size(), ids.size());
+        assertEquals(directory.getBranches().get(0).getIdentification(), ids.get(0));
+    }
+
+    private static void addGroup(ArrayNode data, JsonNode brand, JsonNode... branches) {
+        ObjectNode brandCopy = brand.deepCopy();
+        ArrayNode branchArray = brandCopy.putArray("Branch");
+        for (JsonNode branch : branches) branchArray.add(branch);
+        data.addObject().putArray("Brand").add(brandCopy);
+    }
+}
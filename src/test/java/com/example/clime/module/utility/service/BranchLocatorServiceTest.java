@@ -0,0 +1,70 @@
+package com.example.clime.module.utility.service;
+
+import com.example.clime.module.utility.model.BranchDirectory;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BranchLocatorServiceTest {
+
+    private static String document(String... ids) {
+        StringBuilder branches = new StringBuilder();
+        for (String id : ids) {
+            if (branches.length() > 0) branches.append(',');
+            branches.append("{\"Identification\":\"").append(id)
+                    .append("\",\"PostalAddress\":{\"PostCode\":\"AB1 2CD\",\"TownName\":\"Leeds\"}}");
+        }
+        return "{\"data\":[{\"Brand\":[{\"BrandName\":\"Test\",\"Branch\":[" + branches + "]}]}]}";
+    }
+
+    @Test
+    void testReloadSwapsSnapshotAndKeepsItOnBadFile() throws Exception {
+        Path dir = Files.createTempDirectory("branches");
+        Path file = dir.resolve("branches.json");
+        BranchLocatorService service = new BranchLocatorService();
+
+        Files.write(file, document("1", "2").getBytes(StandardCharsets.UTF_8));
+        assertTrue(service.reload(file));
+        BranchDirectory first = service.getDirectory();
+        assertEquals(2, first.size());
+        assertEquals(1L, service.getStatus().get("version"));
+
+        Files.write(file, "{\"data\":[{\"Brand\":[".getBytes(StandardCharsets.UTF_8));
+        assertFalse(service.reload(file));
+        Files.write(file, "{\"other\":1}".getBytes(StandardCharsets.UTF_8));
+        assertFalse(service.reload(file));
+        assertSame(first, service.getDirectory());
+        assertEquals(1L, service.getStatus().get("version"));
+        assertNotNull(service.getStatus().get("lastReloadError"));
+    }
+
+    @Test
+    void testWatcherReloadsWhenFileIsReplaced() throws Exception {
+        Path dir = Files.createTempDirectory("branches");
+        Path file = dir.resolve("branches.json");
+        Files.write(file, document("1").getBytes(StandardCharsets.UTF_8));
+        BranchLocatorService service = new BranchLocatorService();
+        assertTrue(service.reload(file));
+
+        CountDownLatch reloaded = new CountDownLatch(1);
+        try (BranchFileWatcher watcher = new BranchFileWatcher(file, changed -> {
+            if (service.reload(changed)) reloaded.countDown();
+        })) {
+            watcher.start();
+            // Unrelated files in the directory are ignored
+            Files.write(dir.resolve("other.json"), document("x").getBytes(StandardCharsets.UTF_8));
+            Path staged = dir.resolve("branches.json.tmp");
+            Files.write(staged, document("1", "2", "3").getBytes(StandardCharsets.UTF_8));
+            Files.move(staged, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            assertTrue(reloaded.await(30, TimeUnit.SECONDS), "watcher did not pick up the new file");
+        }
+        assertEquals(3, service.getDirectory().size());
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.clime.module.utility.text;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TextIndexTest {
+
+    private static final String[] TOWNS = {"London", "Manchester", "Birmingham", "Leeds", "Edinburgh",
+            "Newcastle upon Tyne", "Ely", null, "", "London"};
+
+    private static List<Integer> ids(List<TextIndex.Hit> hits) {
+        List<Integer> ids = new ArrayList<>();
+        for (TextIndex.Hit hit : hits) ids.add(hit.getId());
+        return ids;
+    }
+
+    @Test
+    void testExactAndPrefix() {
+        TextIndex index = TextIndex.build(TOWNS);
+        assertEquals(asList(0, 9), ids(index.search("LONDON", TextIndex.Mode.EXACT)));
+        assertTrue(index.search("lond", TextIndex.Mode.EXACT).isEmpty());
+        assertEquals(asList(0, 9), ids(index.search("Lond", TextIndex.Mode.PREFIX)));
+        assertEquals(asList(5), ids(index.search("newcastle-upon", TextIndex.Mode.PREFIX)));
+        assertTrue(index.search("  ", TextIndex.Mode.SUBSTRING).isEmpty());
+    }
+
+    @Test
+    void testSubstringMatchesContainsInEitherDirection() {
+        Random random = new Random(3);
+        String[] postcodes = new String[2000];
+        for (int i = 0; i < postcodes.length; i++) {
+            postcodes[i] = "" + (char) ('A' + random.nextInt(6)) + (char) ('A' + random.nextInt(6))
+                    + (1 + random.nextInt(20)) + " " + random.nextInt(10) + (char) ('A' + random.nextInt(4)) + "A";
+        }
+        TextIndex index = TextIndex.build(postcodes);
+        String[] queries = {"a", "ab1", "1 2", "B12 3", "zz", "ca7 1ba and more", "1aa"};
+        for (String query : queries) {
+            String q = TextIndex.normalize(query);
+            TreeSet<Integer> expected = new TreeSet<>();
+            for (int i = 0; i < postcodes.length; i++) {
+                String key = TextIndex.normalize(postcodes[i]);
+                if (key.contains(q) || q.contains(key)) expected.add(i);
+            }
+            assertEquals(expected, new TreeSet<>(ids(index.search(query, TextIndex.Mode.SUBSTRING))), query);
+        }
+    }
+
+    @Test
+    void testFuzzyAndRanking() {
+        TextIndex index = TextIndex.build(TOWNS);
+        List<TextIndex.Hit> hits = index.search("Manchster", TextIndex.Mode.FUZZY);
+        assertEquals(1, hits.size());
+        assertEquals(1, hits.get(0).getId());
+        assertEquals(TextIndex.SCORE_FUZZY - 10, hits.get(0).getScore());
+        assertTrue(index.search("Manchster", TextIndex.Mode.SUBSTRING).isEmpty());
+        assertEquals(asList(6), ids(index.search("Elt", TextIndex.Mode.FUZZY)));
+
+        // Exact before prefix before substring
+        TextIndex ranked = TextIndex.build(new String[] {"xleedsx", "leedsburg", "leeds"});
+        List<TextIndex.Hit> order = ranked.search("leeds", TextIndex.Mode.SUBSTRING);
+        assertEquals(asList(2, 1, 0), ids(order));
+        assertEquals(TextIndex.SCORE_EXACT, order.get(0).getScore());
+    }
+
+    private static List<Integer> asList(Integer... values) {
+        List<Integer> list = new ArrayList<>();
+        for (Integer v : values) list.add(v);
+        return list;
+    }
+}